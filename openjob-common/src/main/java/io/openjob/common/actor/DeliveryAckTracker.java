@@ -0,0 +1,149 @@
+package io.openjob.common.actor;
+
+import akka.actor.ActorRef;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Track received deliveries of each sender channel to answer cumulative acks.
+ * A delivery id is made of channel id (high 24 bits) and channel sequence (low 40 bits).
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class DeliveryAckTracker {
+
+    /**
+     * Channel id shift.
+     */
+    public static final int CHANNEL_SHIFT = 40;
+
+    /**
+     * Sequence mask.
+     */
+    private static final long SEQUENCE_MASK = (1L << CHANNEL_SHIFT) - 1;
+
+    /**
+     * Max out of order sequences of a channel.
+     */
+    private static final int MAX_OUT_OF_ORDER = 4096;
+
+    /**
+     * Max channels before expiring idle ones.
+     */
+    private static final int MAX_CHANNELS = 4096;
+
+    /**
+     * Idle channel expire time(ms).
+     */
+    private static final long CHANNEL_EXPIRE_TIME = 10 * 60 * 1000L;
+
+    /**
+     * Channel windows.
+     */
+    private static final Map<String, Window> WINDOWS = new ConcurrentHashMap<>();
+
+    private DeliveryAckTracker() {
+
+    }
+
+    /**
+     * Get delivery id.
+     *
+     * @param channel  channel id
+     * @param sequence channel sequence
+     * @return Long
+     */
+    public static long getDeliveryId(int channel, long sequence) {
+        return ((long) channel << CHANNEL_SHIFT) | sequence;
+    }
+
+    /**
+     * Get channel id.
+     *
+     * @param deliveryId delivery id
+     * @return int
+     */
+    public static int getChannel(long deliveryId) {
+        return (int) (deliveryId >>> CHANNEL_SHIFT);
+    }
+
+    /**
+     * Get channel sequence.
+     *
+     * @param deliveryId delivery id
+     * @return long
+     */
+    public static long getSequence(long deliveryId) {
+        return deliveryId & SEQUENCE_MASK;
+    }
+
+    /**
+     * Record a received delivery.
+     *
+     * @param sender     sender
+     * @param deliveryId delivery id
+     * @return cumulative acknowledged delivery id, null is none.
+     */
+    public static Long ack(ActorRef sender, Long deliveryId) {
+        if (Objects.isNull(sender) || Objects.isNull(deliveryId)) {
+            return null;
+        }
+
+        // Delivery id without channel.
+        int channel = getChannel(deliveryId);
+        if (channel == 0) {
+            return null;
+        }
+
+        // Sender path contains uid, restarted sender is a new channel.
+        String key = sender.path().toSerializationFormat() + "/" + channel;
+        Window window = WINDOWS.get(key);
+        if (Objects.isNull(window)) {
+            expire();
+            window = WINDOWS.computeIfAbsent(key, k -> new Window());
+        }
+
+        long acked = window.ack(getSequence(deliveryId));
+        return acked > 0 ? getDeliveryId(channel, acked) : null;
+    }
+
+    private static void expire() {
+        if (WINDOWS.size() < MAX_CHANNELS) {
+            return;
+        }
+
+        long expireTime = System.currentTimeMillis() - CHANNEL_EXPIRE_TIME;
+        WINDOWS.values().removeIf(w -> w.accessTime < expireTime);
+    }
+
+    private static class Window {
+        private long acked;
+        private final TreeSet<Long> outOfOrder = new TreeSet<>();
+        private volatile long accessTime = System.currentTimeMillis();
+
+        synchronized long ack(long sequence) {
+            this.accessTime = System.currentTimeMillis();
+            if (sequence <= this.acked) {
+                return this.acked;
+            }
+
+            if (sequence == this.acked + 1) {
+                this.acked = sequence;
+                while (!this.outOfOrder.isEmpty() && this.outOfOrder.first() == this.acked + 1) {
+                    this.acked = this.outOfOrder.pollFirst();
+                }
+                return this.acked;
+            }
+
+            // A gap never filled stops tracking, single acks still work.
+            if (this.outOfOrder.size() < MAX_OUT_OF_ORDER) {
+                this.outOfOrder.add(sequence);
+            }
+            return this.acked;
+        }
+    }
+}
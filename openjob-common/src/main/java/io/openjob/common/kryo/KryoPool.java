@@ -0,0 +1,274 @@
+package io.openjob.common.kryo;
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import com.esotericsoftware.kryo.kryo5.io.ByteBufferInput;
+import com.esotericsoftware.kryo.kryo5.io.ByteBufferOutput;
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+import com.esotericsoftware.kryo.kryo5.util.Pool;
+import io.openjob.common.request.ServerCheckTaskMasterRequest;
+import io.openjob.common.request.ServerDelayInstanceStopRequest;
+import io.openjob.common.request.ServerStopJobInstanceRequest;
+import io.openjob.common.request.ServerSubmitJobInstanceRequest;
+import io.openjob.common.request.ServerWorkerHeartbeatRequest;
+import io.openjob.common.request.WorkerDelayAddRequest;
+import io.openjob.common.request.WorkerDelayItemPullRequest;
+import io.openjob.common.request.WorkerDelayPullRequest;
+import io.openjob.common.request.WorkerDelayStatusRequest;
+import io.openjob.common.request.WorkerDelayTaskRequest;
+import io.openjob.common.request.WorkerDelayTopicPullRequest;
+import io.openjob.common.request.WorkerHeartbeatRequest;
+import io.openjob.common.request.WorkerJobInstanceLogRequest;
+import io.openjob.common.request.WorkerJobInstanceStatusRequest;
+import io.openjob.common.request.WorkerJobInstanceTaskLogFieldRequest;
+import io.openjob.common.request.WorkerJobInstanceTaskLogRequest;
+import io.openjob.common.request.WorkerJobInstanceTaskRequest;
+import io.openjob.common.request.WorkerStartRequest;
+import io.openjob.common.request.WorkerStopRequest;
+import io.openjob.common.response.Result;
+import io.openjob.common.response.ServerDelayAddResponse;
+import io.openjob.common.response.ServerDelayInstanceResponse;
+import io.openjob.common.response.ServerDelayPullResponse;
+import io.openjob.common.response.ServerDelayTopicPullResponse;
+import io.openjob.common.response.ServerDelayTopicResponse;
+import io.openjob.common.response.ServerHeartbeatResponse;
+import io.openjob.common.response.ServerHeartbeatSystemResponse;
+import io.openjob.common.response.ServerResponse;
+import io.openjob.common.response.ServerWorkerStartResponse;
+import io.openjob.common.response.WorkerResponse;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Pooled kryo for actor messages. Message classes are registered with stable one byte ids,
+ * so that a class id instead of the class name is written. Classes not registered are still written by name.
+ * Ids must never be changed or reused, new classes are appended with new ids.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class KryoPool {
+
+    /**
+     * Max pooled instances.
+     */
+    private static final int MAX_POOL_SIZE = 256;
+
+    /**
+     * Output buffer size.
+     */
+    private static final int OUTPUT_BUFFER_SIZE = 4096;
+
+    /**
+     * Registrations, class id to class.
+     */
+    private static final Map<Integer, Class<?>> REGISTRATIONS = new TreeMap<>();
+
+    /**
+     * Empty buffer to release pooled input and output.
+     */
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
+    /**
+     * Empty byte buffer to release pooled input and output.
+     */
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
+    private static final Pool<Kryo> KRYO_POOL = new Pool<Kryo>(true, false, MAX_POOL_SIZE) {
+        @Override
+        protected Kryo create() {
+            return createKryo();
+        }
+    };
+
+    private static final Pool<Output> OUTPUT_POOL = new Pool<Output>(true, false, MAX_POOL_SIZE) {
+        @Override
+        protected Output create() {
+            return new Output(OUTPUT_BUFFER_SIZE, -1);
+        }
+    };
+
+    private static final Pool<ByteBufferOutput> BUFFER_OUTPUT_POOL = new Pool<ByteBufferOutput>(true, false, MAX_POOL_SIZE) {
+        @Override
+        protected ByteBufferOutput create() {
+            return new ByteBufferOutput();
+        }
+    };
+
+    private static final Pool<Input> INPUT_POOL = new Pool<Input>(true, false, MAX_POOL_SIZE) {
+        @Override
+        protected Input create() {
+            return new Input();
+        }
+    };
+
+    private static final Pool<ByteBufferInput> BUFFER_INPUT_POOL = new Pool<ByteBufferInput>(true, false, MAX_POOL_SIZE) {
+        @Override
+        protected ByteBufferInput create() {
+            return new ByteBufferInput();
+        }
+    };
+
+    static {
+        // Collections(10-19)
+        register(10, ArrayList.class);
+        register(11, HashMap.class);
+        register(12, HashSet.class);
+        register(13, LinkedHashMap.class);
+        register(14, byte[].class);
+
+        // Requests(20-59)
+        register(20, ServerCheckTaskMasterRequest.class);
+        register(21, ServerDelayInstanceStopRequest.class);
+        register(22, ServerStopJobInstanceRequest.class);
+        register(23, ServerSubmitJobInstanceRequest.class);
+        register(24, ServerWorkerHeartbeatRequest.class);
+        register(25, WorkerDelayAddRequest.class);
+        register(26, WorkerDelayItemPullRequest.class);
+        register(27, WorkerDelayPullRequest.class);
+        register(28, WorkerDelayStatusRequest.class);
+        register(29, WorkerDelayTaskRequest.class);
+        register(30, WorkerDelayTopicPullRequest.class);
+        register(31, WorkerHeartbeatRequest.class);
+        register(32, WorkerJobInstanceLogRequest.class);
+        register(33, WorkerJobInstanceStatusRequest.class);
+        register(34, WorkerJobInstanceTaskLogFieldRequest.class);
+        register(35, WorkerJobInstanceTaskLogRequest.class);
+        register(36, WorkerJobInstanceTaskRequest.class);
+        register(37, WorkerStartRequest.class);
+        register(38, WorkerStartRequest.Metric.class);
+        register(39, WorkerStopRequest.class);
+
+        // Responses(60-79)
+        register(60, Result.class);
+        register(61, ServerDelayAddResponse.class);
+        register(62, ServerDelayInstanceResponse.class);
+        register(63, ServerDelayPullResponse.class);
+        register(64, ServerDelayTopicPullResponse.class);
+        register(65, ServerDelayTopicResponse.class);
+        register(66, ServerHeartbeatResponse.class);
+        register(67, ServerHeartbeatSystemResponse.class);
+        register(68, ServerResponse.class);
+        register(69, ServerWorkerStartResponse.class);
+        register(70, WorkerResponse.class);
+    }
+
+    private KryoPool() {
+
+    }
+
+    /**
+     * Register class with a stable id, ids of worker classes are 80-125.
+     * Ids greater than 125 take two bytes. Must be called before any message is serialized.
+     *
+     * @param id    class id
+     * @param clazz class
+     */
+    public static synchronized void register(Integer id, Class<?> clazz) {
+        Class<?> registered = REGISTRATIONS.get(id);
+        if (Objects.nonNull(registered) && !registered.equals(clazz)) {
+            throw new IllegalArgumentException(String.format("Kryo class id has been registered! id=%d class=%s", id, registered.getName()));
+        }
+
+        REGISTRATIONS.put(id, clazz);
+
+        // Instances created before are dropped.
+        KRYO_POOL.clear();
+    }
+
+    /**
+     * Serialize
+     *
+     * @param object object
+     * @return byte
+     */
+    public static byte[] serialize(Object object) {
+        Kryo kryo = KRYO_POOL.obtain();
+        Output output = OUTPUT_POOL.obtain();
+        try {
+            output.reset();
+            kryo.writeClassAndObject(output, object);
+            return output.toBytes();
+        } finally {
+            KRYO_POOL.free(kryo);
+            OUTPUT_POOL.free(output);
+        }
+    }
+
+    /**
+     * Serialize into buffer, from the buffer position.
+     *
+     * @param object object
+     * @param buffer buffer
+     */
+    public static void serialize(Object object, ByteBuffer buffer) {
+        Kryo kryo = KRYO_POOL.obtain();
+        ByteBufferOutput output = BUFFER_OUTPUT_POOL.obtain();
+        try {
+            // Not growing, buffer overflow is thrown when full.
+            output.setBuffer(buffer, buffer.capacity());
+            kryo.writeClassAndObject(output, object);
+            output.flush();
+        } finally {
+            KRYO_POOL.free(kryo);
+            output.setBuffer(EMPTY_BUFFER);
+            BUFFER_OUTPUT_POOL.free(output);
+        }
+    }
+
+    /**
+     * Deserialize
+     *
+     * @param bytes bytes
+     * @return Object
+     */
+    public static Object deserialize(byte[] bytes) {
+        Kryo kryo = KRYO_POOL.obtain();
+        Input input = INPUT_POOL.obtain();
+        try {
+            input.setBuffer(bytes);
+            return kryo.readClassAndObject(input);
+        } finally {
+            KRYO_POOL.free(kryo);
+            input.setBuffer(EMPTY_BYTES);
+            INPUT_POOL.free(input);
+        }
+    }
+
+    /**
+     * Deserialize from buffer position.
+     *
+     * @param buffer buffer
+     * @return Object
+     */
+    public static Object deserialize(ByteBuffer buffer) {
+        Kryo kryo = KRYO_POOL.obtain();
+        ByteBufferInput input = BUFFER_INPUT_POOL.obtain();
+        try {
+            input.setBuffer(buffer);
+            return kryo.readClassAndObject(input);
+        } finally {
+            KRYO_POOL.free(kryo);
+            input.setBuffer(EMPTY_BUFFER);
+            BUFFER_INPUT_POOL.free(input);
+        }
+    }
+
+    private static synchronized Kryo createKryo() {
+        Kryo kryo = new Kryo();
+
+        // Messages are trees, references only cost space and time.
+        kryo.setReferences(false);
+        kryo.setRegistrationRequired(false);
+        kryo.setClassLoader(Thread.currentThread().getContextClassLoader());
+        REGISTRATIONS.forEach((id, clazz) -> kryo.register(clazz, id));
+        return kryo;
+    }
+}
@@ -1,14 +1,19 @@
 package io.openjob.common.kryo;
 
+import akka.serialization.ByteBufferSerializer;
 import akka.serialization.JSerializer;
-import io.openjob.common.util.KryoUtil;
+
+import java.nio.ByteBuffer;
 
 /**
+ * Kryo serializer. Artery serializes straight into its pooled envelope buffers through
+ * {@link ByteBufferSerializer}, the byte array methods are kept for other transports.
+ *
  * @author stelin swoft@qq.com
  * @see akka https://doc.akka.io/docs/akka/current/serialization.html
  * @since 1.0.0
  */
-public class KryoSerializer extends JSerializer {
+public class KryoSerializer extends JSerializer implements ByteBufferSerializer {
 
     /**
      * Deserialize the given array to object.
@@ -20,19 +25,32 @@ public class KryoSerializer extends JSerializer {
      */
     @Override
     public Object fromBinaryJava(byte[] bytes, Class<?> manifest) {
-        return KryoUtil.deserialize(bytes);
+        return KryoPool.deserialize(bytes);
+    }
+
+    /**
+     * Deserialize from buffer.
+     *
+     * @param buf      buffer
+     * @param manifest manifest
+     * @return object
+     */
+    @Override
+    public Object fromBinary(ByteBuffer buf, String manifest) {
+        return KryoPool.deserialize(buf);
     }
 
     /**
      * Pick a unique identifier for your Serializer,
      * you've got a couple of billions to choose from,
      * 0 - 40 is reserved by Akka itself
+     * Changed with registered class ids, so that an old node fails fast instead of misreading.
      *
      * @return int
      */
     @Override
     public int identifier() {
-        return 123456789;
+        return 123456790;
     }
 
     /**
@@ -43,7 +61,18 @@ public class KryoSerializer extends JSerializer {
      */
     @Override
     public byte[] toBinary(Object o) {
-        return KryoUtil.serialize(o);
+        return KryoPool.serialize(o);
+    }
+
+    /**
+     * Serialize the given object into buffer.
+     *
+     * @param o   object
+     * @param buf buffer
+     */
+    @Override
+    public void toBinary(Object o, ByteBuffer buf) {
+        KryoPool.serialize(o, buf);
     }
 
     /**
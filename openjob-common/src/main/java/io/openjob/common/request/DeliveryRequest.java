@@ -0,0 +1,24 @@
+package io.openjob.common.request;
+
+/**
+ * Request delivered at least once, acknowledged by delivery id.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public interface DeliveryRequest {
+
+    /**
+     * Get delivery id.
+     *
+     * @return Long
+     */
+    Long getDeliveryId();
+
+    /**
+     * Set delivery id.
+     *
+     * @param deliveryId delivery id
+     */
+    void setDeliveryId(Long deliveryId);
+}
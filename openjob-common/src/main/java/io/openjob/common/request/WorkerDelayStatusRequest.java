@@ -10,7 +10,7 @@ import java.util.List;
  * @since 1.0.0
  */
 @Data
-public class WorkerDelayStatusRequest implements Serializable {
+public class WorkerDelayStatusRequest implements Serializable, DeliveryRequest {
 
     /**
      * Delivery id.
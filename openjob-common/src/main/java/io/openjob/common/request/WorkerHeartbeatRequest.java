@@ -21,6 +21,37 @@ public class WorkerHeartbeatRequest implements Serializable {
 
     /**
      * Running job instance ids.
+     * Full list, only sent when running base version is null.
      */
     private List<Long> runningJobInstanceIds;
+
+    /**
+     * Version of running job instance ids acknowledged by server, null is full list.
+     */
+    private Long runningBaseVersion;
+
+    /**
+     * Version of running job instance ids after delta applied.
+     */
+    private Long runningVersion;
+
+    /**
+     * Running job instance ids added since base version.
+     */
+    private List<Long> addedJobInstanceIds;
+
+    /**
+     * Running job instance ids removed since base version.
+     */
+    private List<Long> removedJobInstanceIds;
+
+    /**
+     * Online worker version known by worker, null is full list.
+     */
+    private Long workerVersion;
+
+    /**
+     * Runtime load of worker.
+     */
+    private WorkerStartRequest.Metric metric;
 }
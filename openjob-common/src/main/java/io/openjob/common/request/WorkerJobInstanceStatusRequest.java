@@ -5,6 +5,7 @@ import lombok.Data;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
 
 import io.openjob.common.constant.InstanceStatusEnum;
 
@@ -13,7 +14,7 @@ import io.openjob.common.constant.InstanceStatusEnum;
  * @since 1.0.0
  */
 @Data
-public class WorkerJobInstanceStatusRequest implements Serializable {
+public class WorkerJobInstanceStatusRequest implements Serializable, DeliveryRequest {
 
     /**
      * Job id.
@@ -59,4 +60,16 @@ public class WorkerJobInstanceStatusRequest implements Serializable {
      * Aggregation many circle task, if second delay task.
      */
     private List<WorkerJobInstanceTaskRequest> taskRequestList;
+
+    /**
+     * Task count group by status.
+     * Only for summary report, task request list only contains failed and sampled tasks.
+     */
+    private Map<Integer, Long> taskStatusCount;
+
+    /**
+     * Gzip compressed and kryo serialized `WorkerJobInstanceTaskRequest` list.
+     * Used to upload task detail in bulk.
+     */
+    private byte[] compressedTaskList;
 }
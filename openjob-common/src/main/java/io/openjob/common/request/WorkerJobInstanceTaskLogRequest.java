@@ -12,4 +12,9 @@ import java.util.List;
 @Data
 public class WorkerJobInstanceTaskLogRequest implements Serializable {
     private List<List<WorkerJobInstanceTaskLogFieldRequest>> fieldList;
+
+    /**
+     * Log lines encoded by LogFieldUtil.encodeFields, field list is not sent when set.
+     */
+    private byte[] content;
 }
@@ -23,9 +23,51 @@ public class WorkerStartRequest implements Serializable {
 
     private Metric metric;
 
+    /**
+     * Runtime load of worker, reported on start and in each heartbeat.
+     */
     @Data
-    public static class Metric {
+    public static class Metric implements Serializable {
 
+        /**
+         * Process cpu load(0-1), -1 is unknown.
+         */
+        private Double cpuLoad;
+
+        /**
+         * Available processors.
+         */
+        private Integer processors;
+
+        /**
+         * Heap used(bytes).
+         */
+        private Long heapUsed;
+
+        /**
+         * Heap max(bytes).
+         */
+        private Long heapMax;
+
+        /**
+         * Active threads of task containers.
+         */
+        private Integer containerThreads;
+
+        /**
+         * Task container pool size.
+         */
+        private Integer containerSize;
+
+        /**
+         * Delay tasks waiting in delay containers.
+         */
+        private Integer delayQueueSize;
+
+        /**
+         * Job logs dropped by appenders since started.
+         */
+        private Long logDropped;
     }
 }
 
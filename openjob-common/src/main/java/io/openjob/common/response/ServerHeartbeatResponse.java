@@ -3,7 +3,6 @@ package io.openjob.common.response;
 import lombok.Data;
 
 import java.io.Serializable;
-import java.util.List;
 import java.util.Set;
 
 /**
@@ -15,8 +14,29 @@ public class ServerHeartbeatResponse implements Serializable {
 
     /**
      * Worker address list.
+     * Full list, null when delta is returned.
      */
     private Set<String> workerAddressList;
 
+    /**
+     * Online worker version.
+     */
+    private Long workerVersion;
+
+    /**
+     * Workers added since the version known by worker.
+     */
+    private Set<String> addedWorkerAddresses;
+
+    /**
+     * Workers removed since the version known by worker.
+     */
+    private Set<String> removedWorkerAddresses;
+
+    /**
+     * Acknowledged version of running job instance ids, null means full list is required.
+     */
+    private Long runningVersion;
+
     private ServerHeartbeatSystemResponse systemResponse;
 }
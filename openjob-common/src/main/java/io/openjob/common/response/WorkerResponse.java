@@ -12,6 +12,11 @@ import java.io.Serializable;
 public class WorkerResponse implements Serializable {
     private Long deliveryId;
 
+    /**
+     * Cumulative acknowledged delivery id, all deliveries of the channel up to it are received.
+     */
+    private Long ackDeliveryId;
+
     /**
      * Non arg constructor for Serializable.
      */
@@ -22,4 +27,9 @@ public class WorkerResponse implements Serializable {
     public WorkerResponse(Long deliveryId) {
         this.deliveryId = deliveryId;
     }
+
+    public WorkerResponse(Long deliveryId, Long ackDeliveryId) {
+        this.deliveryId = deliveryId;
+        this.ackDeliveryId = ackDeliveryId;
+    }
 }
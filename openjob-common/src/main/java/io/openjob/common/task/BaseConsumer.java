@@ -3,6 +3,7 @@ package io.openjob.common.task;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.LinkedBlockingDeque;
@@ -32,6 +33,18 @@ public abstract class BaseConsumer<T> {
     protected ThreadPoolExecutor pullExecutor;
     protected AtomicInteger activePollNum = new AtomicInteger(0);
 
+    protected BatchPolicy<T> batchPolicy;
+
+    /**
+     * Whether the pull thread is draining queue.
+     */
+    private volatile boolean draining;
+
+    /**
+     * Tasks drained and not consumed.
+     */
+    private volatile int pendingSize;
+
     /**
      * New BaseConsumer
      *
@@ -123,18 +136,13 @@ public abstract class BaseConsumer<T> {
                 TimeUnit.MILLISECONDS,
                 new LinkedBlockingDeque<>(1), r -> new Thread(r, "pull"));
 
+        if (Objects.isNull(this.batchPolicy)) {
+            this.batchPolicy = BatchPolicy.of(this.pollSize, this.pollSleepTime);
+        }
+
         this.pullExecutor.submit(() -> {
             try {
-                while (!Thread.currentThread().isInterrupted()) {
-                    List<T> tasks = this.pollTasks();
-                    if (tasks.size() < this.pollSize) {
-                        if (tasks.isEmpty()) {
-                            Thread.sleep(this.pollIdleTime);
-                            continue;
-                        }
-                        Thread.sleep(this.pollSleepTime);
-                    }
-                }
+                this.pull();
             } catch (Throwable ex) {
                 log.warn("Task consumer failed! message={}", ex.getMessage());
             }
@@ -172,25 +180,124 @@ public abstract class BaseConsumer<T> {
         }
     }
 
+    /**
+     * Set batch policy, default is poll size with poll sleep time as linger time.
+     * Must be set before start.
+     *
+     * @param batchPolicy batch policy
+     */
+    public void setBatchPolicy(BatchPolicy<T> batchPolicy) {
+        this.batchPolicy = batchPolicy;
+    }
+
     /**
      * Whether is active.
      *
      * @return boolean
      */
-    public synchronized boolean isActive() {
-        return queues.size() > 0 || activePollNum.get() > 0;
+    public boolean isActive() {
+        // Queue is read first, drained tasks are seen by draining or pending size.
+        return queues.size() > 0 || this.draining || this.pendingSize > 0 || activePollNum.get() > 0;
     }
 
     public AtomicInteger getActivePollNum() {
         return activePollNum;
     }
 
-    private synchronized List<T> pollTasks() {
-        List<T> tasks = queues.poll(this.pollSize);
-        if (!tasks.isEmpty()) {
+    /**
+     * Pull batches by policy.
+     * Arrival rate of tasks is estimated on each drain. A batch not full lingers only when
+     * next task is expected within linger time left, so batches grow under load and are consumed at once when idle.
+     *
+     * @throws InterruptedException InterruptedException
+     */
+    @SuppressWarnings("unchecked")
+    private void pull() throws InterruptedException {
+        int maxSize = this.batchPolicy.getMaxSize();
+        long maxLinger = TimeUnit.MILLISECONDS.toNanos(this.batchPolicy.getMaxLinger());
+        boolean bytesLimited = this.batchPolicy.isBytesLimited();
+
+        Object[] buffer = new Object[maxSize];
+        int index = 0;
+        int count = 0;
+        List<T> batch = new ArrayList<>(maxSize);
+        long batchBytes = 0L;
+        long batchStart = 0L;
+
+        // Tasks per nanosecond, before and after latest drain.
+        double rate = 0D;
+        double previousRate = 0D;
+        long lastDrain = System.nanoTime();
+
+        while (!Thread.currentThread().isInterrupted()) {
+            if (index == count) {
+                this.draining = true;
+                count = this.queues.drainTo(buffer, maxSize - batch.size());
+                index = 0;
+                this.pendingSize = batch.size() + count;
+                this.draining = false;
+
+                long now = System.nanoTime();
+                previousRate = rate;
+                rate = estimateRate(rate, count, now - lastDrain, maxLinger);
+                lastDrain = now;
+            }
+
+            while (index < count && batch.size() < maxSize && (!bytesLimited || batchBytes < this.batchPolicy.getMaxBytes())) {
+                T task = (T) buffer[index];
+                buffer[index++] = null;
+                if (batch.isEmpty()) {
+                    batchStart = System.nanoTime();
+                }
+                batch.add(task);
+                batchBytes += this.batchPolicy.weigh(task);
+            }
+
+            if (batch.isEmpty()) {
+                this.queues.await(1, this.pollIdleTime);
+                continue;
+            }
+
+            boolean full = batch.size() >= maxSize || (bytesLimited && batchBytes >= this.batchPolicy.getMaxBytes());
+            long remaining = maxLinger - (System.nanoTime() - batchStart);
+            if (!full && remaining > 0) {
+                if (this.queues.size() > 0) {
+                    continue;
+                }
+
+                // A task after idle or the end of a burst is not expected to be followed.
+                if (Math.min(previousRate, rate) * remaining >= 1D) {
+                    this.queues.await(maxSize - batch.size(), TimeUnit.NANOSECONDS.toMillis(remaining) + 1);
+                    continue;
+                }
+            }
+
+            // Counted before pending size is reduced, so that isActive never misses the batch.
             this.activePollNum.incrementAndGet();
+            List<T> tasks = batch;
+            batch = new ArrayList<>(maxSize);
+            batchBytes = 0L;
+            this.pendingSize = count - index;
             this.consume(id, tasks);
         }
-        return tasks;
+    }
+
+    /**
+     * Arrival rate decayed over the linger time, so that rate of an idle consumer drops to zero within max linger.
+     *
+     * @param rate   rate
+     * @param count  tasks drained
+     * @param nanos  time since last drain
+     * @param window max linger(ns)
+     * @return double
+     */
+    private static double estimateRate(double rate, int count, long nanos, long window) {
+        long decay = Math.max(1L, window);
+        if (nanos <= 0) {
+            return rate + (double) count / decay;
+        }
+
+        double weight = Math.exp(-(double) nanos / decay);
+        return weight * rate + (1D - weight) * count / nanos;
     }
 }
@@ -0,0 +1,93 @@
+package io.openjob.common.task;
+
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * Batch policy of consumer.
+ * A batch is consumed when it reaches max size or max bytes, when it lingers for max linger time,
+ * or at once when tasks are not expected to arrive within the linger time left.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class BatchPolicy<T> {
+
+    /**
+     * Max tasks of batch.
+     */
+    private final Integer maxSize;
+
+    /**
+     * Max linger time(ms) of batch.
+     */
+    private final Long maxLinger;
+
+    /**
+     * Max bytes of batch, not limited when not positive.
+     */
+    private final Long maxBytes;
+
+    /**
+     * Estimated bytes of task, null when bytes are not limited.
+     */
+    private final ToLongFunction<T> weigher;
+
+    /**
+     * New BatchPolicy
+     *
+     * @param maxSize   max tasks of batch
+     * @param maxLinger max linger time(ms) of batch
+     * @param maxBytes  max bytes of batch, not limited when not positive
+     * @param weigher   estimated bytes of task
+     */
+    public BatchPolicy(Integer maxSize, Long maxLinger, Long maxBytes, ToLongFunction<T> weigher) {
+        this.maxSize = maxSize;
+        this.maxLinger = maxLinger;
+        this.maxBytes = maxBytes;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Batch policy without bytes limit.
+     *
+     * @param maxSize   max tasks of batch
+     * @param maxLinger max linger time(ms) of batch
+     * @param <T>       task type
+     * @return BatchPolicy
+     */
+    public static <T> BatchPolicy<T> of(Integer maxSize, Long maxLinger) {
+        return new BatchPolicy<>(maxSize, maxLinger, 0L, null);
+    }
+
+    /**
+     * Whether bytes of batch are limited.
+     *
+     * @return boolean
+     */
+    public boolean isBytesLimited() {
+        return Objects.nonNull(this.weigher) && this.maxBytes > 0;
+    }
+
+    /**
+     * Estimated bytes of task.
+     *
+     * @param task task
+     * @return long
+     */
+    public long weigh(T task) {
+        return this.isBytesLimited() ? this.weigher.applyAsLong(task) : 0L;
+    }
+
+    public Integer getMaxSize() {
+        return maxSize;
+    }
+
+    public Long getMaxLinger() {
+        return maxLinger;
+    }
+
+    public Long getMaxBytes() {
+        return maxBytes;
+    }
+}
@@ -0,0 +1,142 @@
+package io.openjob.common.task;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded task queue that never blocks the submitter.
+ * A task replaces the pending task with the same key and keeps its position.
+ * When the queue is full, the oldest pending task is dropped.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class CoalescingTaskQueue<T> extends TaskQueue<T> {
+
+    /**
+     * Task key.
+     */
+    private final Function<T, Object> keyFunction;
+
+    /**
+     * Pending tasks by key.
+     */
+    private final Map<Object, T> tasks = new ConcurrentHashMap<>();
+
+    /**
+     * Pending keys, oldest first.
+     */
+    private final Queue<Object> keys = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger size = new AtomicInteger(0);
+    private final AtomicLong droppedCount = new AtomicLong(0);
+    private final AtomicLong coalescedCount = new AtomicLong(0);
+
+    /**
+     * New CoalescingTaskQueue
+     *
+     * @param id          id
+     * @param capacity    capacity
+     * @param keyFunction task key function
+     */
+    public CoalescingTaskQueue(Long id, Integer capacity, Function<T, Object> keyFunction) {
+        super(id, capacity, null);
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * Submit without blocking.
+     *
+     * @param task task
+     */
+    @Override
+    public void submit(T task) {
+        assert task != null;
+        Object key = this.keyFunction.apply(task);
+        if (Objects.nonNull(this.tasks.put(key, task))) {
+            this.coalescedCount.incrementAndGet();
+            return;
+        }
+
+        this.keys.offer(key);
+        if (this.size.incrementAndGet() > this.getCapacity()) {
+            this.dropOldest();
+        }
+        this.signal();
+    }
+
+    /**
+     * Offer without blocking, never fails.
+     *
+     * @param task task
+     * @return true
+     */
+    @Override
+    public boolean offer(T task) {
+        this.submit(task);
+        return true;
+    }
+
+    @Override
+    public synchronized int drainTo(Object[] elements, int max) {
+        int limit = Math.min(max, elements.length);
+        int count = 0;
+        while (count < limit) {
+            Object key = this.keys.poll();
+            if (Objects.isNull(key)) {
+                break;
+            }
+
+            T task = this.tasks.remove(key);
+            if (Objects.nonNull(task)) {
+                this.size.decrementAndGet();
+                elements[count++] = task;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized void clear() {
+        this.keys.clear();
+        this.tasks.clear();
+        this.size.set(0);
+    }
+
+    @Override
+    public Integer size() {
+        return Math.max(0, this.size.get());
+    }
+
+    /**
+     * Dropped tasks since created.
+     *
+     * @return long
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    /**
+     * Tasks replaced by newer ones since created.
+     *
+     * @return long
+     */
+    public long getCoalescedCount() {
+        return this.coalescedCount.get();
+    }
+
+    private void dropOldest() {
+        Object oldest = this.keys.poll();
+        if (Objects.nonNull(oldest) && Objects.nonNull(this.tasks.remove(oldest))) {
+            this.size.decrementAndGet();
+            this.droppedCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package io.openjob.common.task;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for multiple producers and a single consumer.
+ * Producers claim a slot by moving the tail and publish the element into it,
+ * the consumer drains published elements in order and releases their slots by moving the head.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class MpscRingBuffer<T> {
+
+    /**
+     * Max array length of power of two.
+     */
+    private static final int MAX_ARRAY_LENGTH = 1 << 30;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> buffer;
+
+    /**
+     * Next sequence to claim, moved by producers.
+     */
+    private final AtomicLong tail = new AtomicLong(0);
+
+    /**
+     * Next sequence to consume, moved by consumer only.
+     */
+    private final AtomicLong head = new AtomicLong(0);
+
+    /**
+     * New MpscRingBuffer
+     *
+     * @param capacity capacity
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > MAX_ARRAY_LENGTH) {
+            throw new IllegalArgumentException("Ring buffer capacity must be in (0, 2^30]! capacity=" + capacity);
+        }
+
+        int length = 1;
+        while (length < capacity) {
+            length <<= 1;
+        }
+        this.capacity = capacity;
+        this.mask = length - 1;
+        this.buffer = new AtomicReferenceArray<>(length);
+    }
+
+    /**
+     * Offer without blocking, safe for multiple producers.
+     *
+     * @param element element
+     * @return false when full.
+     */
+    public boolean offer(T element) {
+        while (true) {
+            long sequence = this.tail.get();
+
+            // The slot of sequence has been released once head passed sequence - capacity.
+            if (sequence - this.head.get() >= this.capacity) {
+                return false;
+            }
+
+            if (this.tail.compareAndSet(sequence, sequence + 1)) {
+                this.buffer.lazySet(this.index(sequence), element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Drain published elements into array, for single consumer.
+     * Drain stops at a claimed slot not published yet, so that order is kept.
+     *
+     * @param elements array to fill from index 0
+     * @param max      max elements
+     * @return elements drained
+     */
+    public int drainTo(Object[] elements, int max) {
+        long sequence = this.head.get();
+        int limit = Math.min(max, elements.length);
+        int count = 0;
+        while (count < limit) {
+            int index = this.index(sequence);
+            T element = this.buffer.get(index);
+            if (element == null) {
+                break;
+            }
+
+            this.buffer.lazySet(index, null);
+            elements[count++] = element;
+            sequence++;
+        }
+
+        if (count > 0) {
+            this.head.lazySet(sequence);
+        }
+        return count;
+    }
+
+    /**
+     * Elements claimed and not consumed.
+     *
+     * @return int
+     */
+    public int size() {
+        // Read head first, so that size is never negative.
+        long consumed = this.head.get();
+        long claimed = this.tail.get();
+        return (int) Math.max(0L, Math.min(this.capacity, claimed - consumed));
+    }
+
+    /**
+     * Capacity.
+     *
+     * @return int
+     */
+    public int capacity() {
+        return this.capacity;
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & this.mask;
+    }
+}
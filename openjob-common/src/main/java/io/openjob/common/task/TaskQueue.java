@@ -1,20 +1,44 @@
 package io.openjob.common.task;
 
-import com.google.common.collect.Lists;
-
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
+ * Bounded task queue for multiple producers and a single consumer.
+ * Tasks are kept in a lock-free ring buffer, and the consumer parks until enough tasks are submitted.
+ *
  * @author stelin swoft@qq.com
  * @since 1.0.0
  */
 public class TaskQueue<T> {
+
+    /**
+     * Park time(ns) of submitter when queue is full.
+     */
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * Tasks drained at a time when clear.
+     */
+    private static final int CLEAR_BATCH_SIZE = 1024;
+
     private final Long id;
     private final Integer capacity;
-    private final BlockingQueue<T> queues;
+    private final MpscRingBuffer<T> queues;
+
+    /**
+     * Parked consumer.
+     */
+    private volatile Thread waiter;
+
+    /**
+     * Tasks the parked consumer waits for.
+     */
+    private volatile int waitSize;
 
     /**
      * Task queue.
@@ -23,20 +47,52 @@ public class TaskQueue<T> {
      * @param capacity capacity
      */
     public TaskQueue(Long id, Integer capacity) {
+        this(id, capacity, new MpscRingBuffer<>(capacity));
+    }
+
+    /**
+     * Task queue with own storage, subclass overrides submit, drainTo, clear and size.
+     *
+     * @param id       id
+     * @param capacity capacity
+     * @param queues   ring buffer, null for own storage
+     */
+    protected TaskQueue(Long id, Integer capacity, MpscRingBuffer<T> queues) {
         this.id = id;
         this.capacity = capacity;
-        this.queues = new LinkedBlockingQueue<>(capacity);
+        this.queues = queues;
     }
 
     /**
-     * Submit
+     * Submit, parked until there is free space.
      *
      * @param task task
      * @throws InterruptedException InterruptedException
      */
     public void submit(T task) throws InterruptedException {
         assert task != null;
-        queues.put(task);
+        while (!this.queues.offer(task)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+        this.signal();
+    }
+
+    /**
+     * Offer without blocking.
+     *
+     * @param task task
+     * @return false when full.
+     */
+    public boolean offer(T task) {
+        assert task != null;
+        if (!this.queues.offer(task)) {
+            return false;
+        }
+        this.signal();
+        return true;
     }
 
     /**
@@ -45,24 +101,72 @@ public class TaskQueue<T> {
      * @param size size
      * @return List
      */
+    @SuppressWarnings("unchecked")
     public List<T> poll(Integer size) {
-        List<T> list = Lists.newLinkedList();
-        for (int i = 0; i < size; i++) {
-            T task = queues.poll();
-            if (Objects.isNull(task)) {
-                break;
-            }
+        Object[] elements = new Object[Math.max(0, Math.min(size, this.capacity))];
+        int count = this.drainTo(elements, elements.length);
 
-            list.add(task);
+        List<T> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add((T) elements[i]);
         }
         return list;
     }
 
+    /**
+     * Drain tasks into array from index 0, so that the consumer reuses the array.
+     *
+     * @param elements array
+     * @param max      max tasks
+     * @return tasks drained
+     */
+    public synchronized int drainTo(Object[] elements, int max) {
+        return this.queues.drainTo(elements, max);
+    }
+
+    /**
+     * Park consumer until there are at least size tasks or timeout.
+     *
+     * @param size tasks
+     * @param ms   timeout(ms)
+     * @return false when timeout.
+     * @throws InterruptedException InterruptedException
+     */
+    public boolean await(int size, long ms) throws InterruptedException {
+        if (this.size() >= size) {
+            return true;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ms);
+        this.waitSize = size;
+        this.waiter = Thread.currentThread();
+        try {
+            // Size is checked after waiter is published, so that a concurrent submit is not missed.
+            while (this.size() < size) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return true;
+        } finally {
+            this.waiter = null;
+        }
+    }
+
     /**
      * Clear
      */
-    public void clear() {
-        queues.clear();
+    public synchronized void clear() {
+        Object[] elements = new Object[Math.min(this.capacity, CLEAR_BATCH_SIZE)];
+        while (this.queues.drainTo(elements, elements.length) > 0) {
+            Arrays.fill(elements, null);
+        }
     }
 
     /**
@@ -71,7 +175,7 @@ public class TaskQueue<T> {
      * @return Integer
      */
     public Integer size() {
-        return queues.size();
+        return this.queues.size();
     }
 
     /**
@@ -91,4 +195,14 @@ public class TaskQueue<T> {
     public Integer getCapacity() {
         return capacity;
     }
+
+    /**
+     * Unpark consumer when enough tasks are submitted.
+     */
+    protected void signal() {
+        Thread thread = this.waiter;
+        if (Objects.nonNull(thread) && this.size() >= this.waitSize) {
+            LockSupport.unpark(thread);
+        }
+    }
 }
@@ -0,0 +1,55 @@
+package io.openjob.common.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class CompressUtil {
+    private static final Integer BUFFER_SIZE = 4096;
+
+    private CompressUtil() {
+
+    }
+
+    /**
+     * Gzip compress
+     *
+     * @param bytes bytes
+     * @return byte
+     */
+    public static byte[] compress(byte[] bytes) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, BUFFER_SIZE)) {
+            gzipOutputStream.write(bytes);
+        } catch (IOException e) {
+            throw new RuntimeException("Compress failed!", e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Gzip decompress
+     *
+     * @param bytes bytes
+     * @return byte
+     */
+    public static byte[] decompress(byte[] bytes) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length * 4);
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(bytes), BUFFER_SIZE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int n;
+            while ((n = gzipInputStream.read(buffer)) > 0) {
+                outputStream.write(buffer, 0, n);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Decompress failed!", e);
+        }
+        return outputStream.toByteArray();
+    }
+}
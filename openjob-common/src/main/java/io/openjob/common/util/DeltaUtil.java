@@ -0,0 +1,95 @@
+package io.openjob.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Set delta helpers. A set version is an order independent hash of its elements,
+ * so that nodes holding equal sets agree on the version without sharing any counter.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class DeltaUtil {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private DeltaUtil() {
+
+    }
+
+    /**
+     * Set version.
+     *
+     * @param values values
+     * @return Long
+     */
+    public static Long version(Collection<?> values) {
+        long version = values.size();
+        for (Object value : values) {
+            version += mix(hash(value));
+        }
+        return version;
+    }
+
+    /**
+     * Elements in source but not in target.
+     *
+     * @param source source
+     * @param target target
+     * @param <T>    type
+     * @return Set
+     */
+    public static <T> Set<T> difference(Collection<T> source, Collection<T> target) {
+        Set<T> difference = new HashSet<>(source);
+        difference.removeAll(target);
+        return difference;
+    }
+
+    /**
+     * Apply delta to a copy of base.
+     *
+     * @param base    base
+     * @param added   added
+     * @param removed removed
+     * @param <T>     type
+     * @return Set
+     */
+    public static <T> Set<T> apply(Collection<T> base, Collection<T> added, Collection<T> removed) {
+        Set<T> result = new HashSet<>(base);
+        if (Objects.nonNull(removed)) {
+            result.removeAll(removed);
+        }
+        if (Objects.nonNull(added)) {
+            result.addAll(added);
+        }
+        return result;
+    }
+
+    private static long hash(Object value) {
+        if (value instanceof Long) {
+            return (Long) value;
+        }
+
+        if (value instanceof String) {
+            long hash = FNV_OFFSET;
+            for (byte b : ((String) value).getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= FNV_PRIME;
+            }
+            return hash;
+        }
+        return Objects.hashCode(value);
+    }
+
+    private static long mix(long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
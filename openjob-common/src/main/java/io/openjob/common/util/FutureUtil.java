@@ -8,6 +8,7 @@ import scala.concurrent.Await;
 import scala.concurrent.Future;
 import scala.concurrent.duration.Duration;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -46,4 +47,29 @@ public class FutureUtil {
             throw new RuntimeException(String.format("Must ask fail! path=%s anchor=%s", path, anchor), ex);
         }
     }
+
+    /**
+     * Ask without blocking, the returned future completes with the result data.
+     *
+     * @param selection   selection
+     * @param request     request
+     * @param ignoredType ignored type
+     * @param ms          milliseconds
+     * @param <T>         ignoredType
+     * @return CompletableFuture
+     */
+    public static <T> CompletableFuture<T> ask(ActorSelection selection, Object request, Class<T> ignoredType, Long ms) {
+        String path = selection.pathString();
+        String anchor = selection.anchorPath().toString();
+        return Patterns.ask(selection, request, java.time.Duration.ofMillis(ms))
+                .toCompletableFuture()
+                .thenApply(r -> {
+                    @SuppressWarnings("unchecked")
+                    Result<T> result = (Result<T>) r;
+                    if (!ResultUtil.isSuccess(result)) {
+                        throw new RuntimeException(String.format("Ask result fail! message=%s path=%s anchor=%s", result.getMessage(), path, anchor));
+                    }
+                    return result.getData();
+                });
+    }
 }
@@ -0,0 +1,200 @@
+package io.openjob.common.util;
+
+import io.openjob.common.request.WorkerJobInstanceTaskLogFieldRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class LogFieldUtil {
+
+    /**
+     * Version of encoded fields.
+     */
+    private static final int FIELDS_VERSION = 1;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    /**
+     * Bits of var int group.
+     */
+    private static final int VAR_INT_BITS = 7;
+
+    /**
+     * Var int group mask.
+     */
+    private static final int VAR_INT_MASK = 0x7F;
+
+    /**
+     * Var int continuation flag.
+     */
+    private static final int VAR_INT_MORE = 0x80;
+
+    private LogFieldUtil() {
+
+    }
+
+    /**
+     * Estimated bytes of log fields, as chars of names and values.
+     *
+     * @param fieldList field list
+     * @return long
+     */
+    public static long fieldSize(List<WorkerJobInstanceTaskLogFieldRequest> fieldList) {
+        if (Objects.isNull(fieldList)) {
+            return 0L;
+        }
+
+        long size = 0L;
+        for (WorkerJobInstanceTaskLogFieldRequest field : fieldList) {
+            size += length(field.getName()) + length(field.getValue());
+        }
+        return size;
+    }
+
+    /**
+     * Encode log lines compactly.
+     * Field names are written once into a dictionary and referenced by index,
+     * lengths are var ints, and the block is deflated for speed.
+     *
+     * @param fieldList log lines
+     * @return byte[]
+     */
+    public static byte[] encodeFields(List<List<WorkerJobInstanceTaskLogFieldRequest>> fieldList) {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (List<WorkerJobInstanceTaskLogFieldRequest> fields : fieldList) {
+            for (WorkerJobInstanceTaskLogFieldRequest field : fields) {
+                dictionary.putIfAbsent(field.getName(), dictionary.size());
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater, BUFFER_SIZE))) {
+            out.writeByte(FIELDS_VERSION);
+            writeVarInt(out, dictionary.size());
+            for (String name : dictionary.keySet()) {
+                writeString(out, name);
+            }
+
+            writeVarInt(out, fieldList.size());
+            for (List<WorkerJobInstanceTaskLogFieldRequest> fields : fieldList) {
+                writeVarInt(out, fields.size());
+                for (WorkerJobInstanceTaskLogFieldRequest field : fields) {
+                    writeVarInt(out, dictionary.get(field.getName()));
+                    writeString(out, field.getValue());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Encode log fields failed!", e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode log lines encoded by encodeFields.
+     *
+     * @param content encoded content
+     * @return List
+     */
+    public static List<List<WorkerJobInstanceTaskLogFieldRequest>> decodeFields(byte[] content) {
+        Inflater inflater = new Inflater();
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(content), inflater, BUFFER_SIZE))) {
+            int version = in.readUnsignedByte();
+            if (version != FIELDS_VERSION) {
+                throw new IOException(String.format("Unsupported log fields version! version=%d", version));
+            }
+
+            int dictionarySize = readVarInt(in);
+            String[] dictionary = new String[dictionarySize];
+            for (int i = 0; i < dictionarySize; i++) {
+                dictionary[i] = readString(in);
+            }
+
+            int lines = readVarInt(in);
+            List<List<WorkerJobInstanceTaskLogFieldRequest>> fieldList = new ArrayList<>(lines);
+            for (int i = 0; i < lines; i++) {
+                int size = readVarInt(in);
+                List<WorkerJobInstanceTaskLogFieldRequest> fields = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    String name = dictionary[readVarInt(in)];
+                    fields.add(new WorkerJobInstanceTaskLogFieldRequest(name, readString(in)));
+                }
+                fieldList.add(fields);
+            }
+            return fieldList;
+        } catch (IOException | ArrayIndexOutOfBoundsException e) {
+            throw new RuntimeException("Decode log fields failed!", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int length(String value) {
+        return Objects.isNull(value) ? 0 : value.length();
+    }
+
+    /**
+     * Write string as var int length and utf8 bytes, length 0 is null.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (Objects.isNull(value)) {
+            writeVarInt(out, 0);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~VAR_INT_MASK) != 0) {
+            out.writeByte((remaining & VAR_INT_MASK) | VAR_INT_MORE);
+            remaining >>>= VAR_INT_BITS;
+        }
+        out.writeByte(remaining);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (b & VAR_INT_MASK) << shift;
+            shift += VAR_INT_BITS;
+        } while ((b & VAR_INT_MORE) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,97 @@
+package io.openjob.common.kryo;
+
+import io.openjob.common.request.WorkerJobInstanceStatusRequest;
+import io.openjob.common.request.WorkerJobInstanceTaskRequest;
+import io.openjob.common.response.Result;
+import io.openjob.common.response.ServerResponse;
+import io.openjob.common.util.KryoUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class KryoSerializerTest {
+    @Test
+    public void testByteBuffer() {
+        KryoSerializer serializer = new KryoSerializer();
+        WorkerJobInstanceStatusRequest request = this.newStatusRequest();
+
+        // Written from buffer position.
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        buffer.putInt(1);
+        serializer.toBinary(request, buffer);
+        int length = buffer.position() - 4;
+        Assertions.assertArrayEquals(serializer.toBinary(request), this.getBytes(buffer, 4, length));
+
+        buffer.flip();
+        buffer.getInt();
+        WorkerJobInstanceStatusRequest read = (WorkerJobInstanceStatusRequest) serializer.fromBinary(buffer, "");
+        Assertions.assertEquals(request, read);
+
+        // Generic result.
+        Result<ServerResponse> result = Result.success(new ServerResponse(1L, 2L));
+        Result<?> readResult = (Result<?>) serializer.fromBinary(serializer.toBinary(result));
+        Assertions.assertEquals(2L, ((ServerResponse) readResult.getData()).getAckDeliveryId());
+    }
+
+    @Test
+    public void testCompare() {
+        KryoSerializer serializer = new KryoSerializer();
+        WorkerJobInstanceStatusRequest request = this.newStatusRequest();
+
+        // No larger than KryoUtil, and read back the same.
+        byte[] oldBytes = KryoUtil.serialize(request);
+        byte[] newBytes = serializer.toBinary(request);
+        Assertions.assertTrue(newBytes.length <= oldBytes.length, String.format("old=%d new=%d", oldBytes.length, newBytes.length));
+        Assertions.assertEquals(KryoUtil.deserialize(oldBytes), serializer.fromBinary(newBytes));
+    }
+
+    private WorkerJobInstanceStatusRequest newStatusRequest() {
+        // Rows read from storage are distinct string instances.
+        int port = 25588;
+        List<WorkerJobInstanceTaskRequest> taskList = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            WorkerJobInstanceTaskRequest task = new WorkerJobInstanceTaskRequest();
+            task.setJobId(1L);
+            task.setJobInstanceId(100L);
+            task.setCircleId(1L);
+            task.setTaskId("100_1_" + i);
+            task.setTaskName("task" + i);
+            task.setStatus(5);
+            task.setWorkerAddress("127.0.0.1:" + port);
+            task.setCreateTime(1700000000L);
+            task.setUpdateTime(1700000001L);
+            taskList.add(task);
+        }
+
+        Map<Integer, Long> statusCount = new HashMap<>(4);
+        statusCount.put(5, 16L);
+
+        WorkerJobInstanceStatusRequest request = new WorkerJobInstanceStatusRequest();
+        request.setJobId(1L);
+        request.setJobInstanceId(100L);
+        request.setCircleId(1L);
+        request.setStatus(5);
+        request.setDeliveryId(1L);
+        request.setPage(1L);
+        request.setTaskRequestList(taskList);
+        request.setTaskStatusCount(statusCount);
+        return request;
+    }
+
+    private byte[] getBytes(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,110 @@
+package io.openjob.common.task;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class BaseConsumerTest {
+
+    @Test
+    public void testIdleConsumedAtOnce() throws InterruptedException {
+        TaskQueue<String> queue = new TaskQueue<>(0L, 1024);
+        BatchConsumer consumer = new BatchConsumer(queue);
+        consumer.setBatchPolicy(BatchPolicy.of(100, 2000L));
+        consumer.start();
+        try {
+            // Wait for the pull thread to be idle.
+            TimeUnit.MILLISECONDS.sleep(100);
+
+            long start = System.nanoTime();
+            queue.submit("a");
+            while (consumer.batches.isEmpty()) {
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+
+            // Not lingered for 2s, no more tasks are expected.
+            Assertions.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1000));
+            Assertions.assertEquals(1, consumer.batches.get(0).size());
+        } finally {
+            consumer.stop();
+        }
+    }
+
+    @Test
+    public void testBatchGrowsUnderLoad() throws InterruptedException {
+        TaskQueue<String> queue = new TaskQueue<>(0L, 1024);
+        BatchConsumer consumer = new BatchConsumer(queue);
+        consumer.setBatchPolicy(BatchPolicy.of(100, 200L));
+        consumer.start();
+        try {
+            // A task every 1ms.
+            int tasks = 1000;
+            for (int i = 0; i < tasks; i++) {
+                queue.submit("t" + i);
+                TimeUnit.MICROSECONDS.sleep(1000);
+            }
+            while (consumer.consumed() < tasks) {
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+
+            // Batches grow over a task, and are not over max size.
+            Assertions.assertEquals(tasks, consumer.consumed());
+            Assertions.assertTrue(consumer.batches.size() < tasks / 5, "batches=" + consumer.batches.size());
+            consumer.batches.forEach(b -> Assertions.assertTrue(!b.isEmpty() && b.size() <= 100, "size=" + b.size()));
+        } finally {
+            consumer.stop();
+        }
+    }
+
+    @Test
+    public void testBytesLimit() throws InterruptedException {
+        TaskQueue<String> queue = new TaskQueue<>(0L, 1024);
+        BatchConsumer consumer = new BatchConsumer(queue);
+        consumer.setBatchPolicy(new BatchPolicy<>(100, 500L, 10L, s -> (long) s.length()));
+
+        // Queued before start, so that batches are cut by bytes.
+        for (int i = 0; i < 10; i++) {
+            queue.submit("abcd");
+        }
+        consumer.start();
+        try {
+            // Inactive after the last batch is consumed.
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (consumer.isActive() && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+            Assertions.assertFalse(consumer.isActive());
+            Assertions.assertEquals(10, consumer.consumed());
+            Assertions.assertEquals(4, consumer.batches.size());
+            Assertions.assertEquals(3, consumer.batches.get(0).size());
+            Assertions.assertEquals(1, consumer.batches.get(3).size());
+        } finally {
+            consumer.stop();
+        }
+    }
+
+    private static class BatchConsumer extends BaseConsumer<String> {
+        private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+        private BatchConsumer(TaskQueue<String> queue) {
+            super(0L, 1, 1, "test-consumer", 100, "test-consumer-poll", queue);
+        }
+
+        @Override
+        public void consume(Long id, List<String> tasks) {
+            this.batches.add(tasks);
+            this.activePollNum.decrementAndGet();
+        }
+
+        private int consumed() {
+            return this.batches.stream().mapToInt(List::size).sum();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.openjob.common.task;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class CoalescingTaskQueueTest {
+
+    @Test
+    public void testCoalesceAndDropOldest() {
+        CoalescingTaskQueue<String> queue = new CoalescingTaskQueue<>(0L, 3, s -> s.split(":")[0]);
+        queue.submit("a:1");
+        queue.submit("b:1");
+        queue.submit("a:2");
+        Assertions.assertEquals(2, queue.size());
+        Assertions.assertEquals(1, queue.getCoalescedCount());
+
+        // Oldest is dropped.
+        queue.submit("c:1");
+        queue.submit("d:1");
+        Assertions.assertEquals(3, queue.size());
+        Assertions.assertEquals(1, queue.getDroppedCount());
+
+        List<String> tasks = queue.poll(10);
+        Assertions.assertEquals("b:1", tasks.get(0));
+        Assertions.assertEquals("c:1", tasks.get(1));
+        Assertions.assertEquals("d:1", tasks.get(2));
+        Assertions.assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testNeverBlocks() throws InterruptedException {
+        CoalescingTaskQueue<Integer> queue = new CoalescingTaskQueue<>(0L, 64, i -> i % 1000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch latch = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 100000; i++) {
+                    queue.submit(i);
+                }
+                latch.countDown();
+            });
+        }
+
+        // Nothing is consumed, submitters still finish.
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executor.shutdownNow();
+        Assertions.assertTrue(queue.size() <= 64);
+        Assertions.assertTrue(queue.getDroppedCount() > 0);
+        Assertions.assertEquals(queue.size(), queue.poll(1000).size());
+    }
+}
@@ -0,0 +1,80 @@
+package io.openjob.common.task;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class MpscRingBufferTest {
+
+    @Test
+    public void testCapacity() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+        Assertions.assertTrue(buffer.offer(1));
+        Assertions.assertTrue(buffer.offer(2));
+        Assertions.assertTrue(buffer.offer(3));
+        Assertions.assertFalse(buffer.offer(4));
+        Assertions.assertEquals(3, buffer.size());
+
+        Object[] elements = new Object[2];
+        Assertions.assertEquals(2, buffer.drainTo(elements, 10));
+        Assertions.assertEquals(1, elements[0]);
+        Assertions.assertEquals(2, elements[1]);
+
+        // Released slots are reused.
+        Assertions.assertTrue(buffer.offer(4));
+        Assertions.assertTrue(buffer.offer(5));
+        Assertions.assertFalse(buffer.offer(6));
+        Assertions.assertEquals(2, buffer.drainTo(elements, 2));
+        Assertions.assertEquals(3, elements[0]);
+        Assertions.assertEquals(4, elements[1]);
+        Assertions.assertEquals(1, buffer.drainTo(elements, 2));
+        Assertions.assertEquals(5, elements[0]);
+        Assertions.assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void testMultipleProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 100_000;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(1024);
+        ExecutorService executorService = Executors.newFixedThreadPool(producers);
+        CountDownLatch latch = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executorService.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    long[] element = new long[]{producer, i};
+                    while (!buffer.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+                latch.countDown();
+            });
+        }
+
+        // Every element is received once, in order per producer.
+        long[] next = new long[producers];
+        Object[] elements = new Object[64];
+        int received = 0;
+        while (received < producers * perProducer) {
+            int count = buffer.drainTo(elements, elements.length);
+            for (int i = 0; i < count; i++) {
+                long[] element = (long[]) elements[i];
+                Assertions.assertEquals(next[(int) element[0]]++, element[1]);
+            }
+            received += count;
+        }
+
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, buffer.size());
+        executorService.shutdownNow();
+    }
+}
@@ -0,0 +1,120 @@
+package io.openjob.common.task;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class TaskQueueTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int TASKS = 50_000;
+    private static final int BATCH = 64;
+
+    @Test
+    public void testAwait() throws InterruptedException {
+        TaskQueue<Integer> queue = new TaskQueue<>(0L, 16);
+        Assertions.assertFalse(queue.await(1, 10L));
+
+        // Consumer is woken by submit long before timeout.
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(() -> {
+            TimeUnit.MILLISECONDS.sleep(50);
+            queue.submit(1);
+            return null;
+        });
+        long start = System.nanoTime();
+        Assertions.assertTrue(queue.await(1, 5000L));
+        Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+
+        // Waits for a full batch.
+        queue.submit(2);
+        Assertions.assertFalse(queue.await(3, 10L));
+        queue.submit(3);
+        Assertions.assertTrue(queue.await(3, 10L));
+
+        List<Integer> tasks = queue.poll(10);
+        Assertions.assertEquals(3, tasks.size());
+        Assertions.assertEquals(1, tasks.get(0));
+        Assertions.assertEquals(0, queue.size());
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testSubmitWhenFull() throws InterruptedException {
+        TaskQueue<Integer> queue = new TaskQueue<>(0L, 2);
+        queue.submit(1);
+        queue.submit(2);
+        Assertions.assertFalse(queue.offer(3));
+
+        // Submitter is parked until the consumer frees space.
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        CountDownLatch submitted = new CountDownLatch(1);
+        executorService.submit(() -> {
+            queue.submit(3);
+            submitted.countDown();
+            return null;
+        });
+        Assertions.assertFalse(submitted.await(50, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(1, queue.poll(1).size());
+        Assertions.assertTrue(submitted.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, queue.size());
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Several producers and one consumer polling in batches, over a small ring so that it wraps and producers are parked.
+     * No task is lost or duplicated, and tasks of a producer are in order.
+     */
+    @Test
+    public void testMultiProducers() throws InterruptedException {
+        TaskQueue<Integer> queue = new TaskQueue<>(0L, 64);
+        ExecutorService executorService = Executors.newFixedThreadPool(PRODUCERS);
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            executorService.submit(() -> {
+                for (int i = 0; i < TASKS; i++) {
+                    queue.submit(producer * TASKS + i);
+                }
+                return null;
+            });
+        }
+
+        int[] next = new int[PRODUCERS];
+        int received = 0;
+        Object[] elements = new Object[BATCH];
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        try {
+            while (received < PRODUCERS * TASKS) {
+                Assertions.assertTrue(System.nanoTime() < deadline, "received=" + received);
+                int count = queue.drainTo(elements, BATCH);
+                if (count == 0) {
+                    queue.await(1, 10L);
+                }
+
+                for (int i = 0; i < count; i++) {
+                    int task = (Integer) elements[i];
+                    int producer = task / TASKS;
+                    Assertions.assertEquals(producer * TASKS + next[producer], task);
+                    next[producer]++;
+                }
+                received += count;
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        for (int count : next) {
+            Assertions.assertEquals(TASKS, count);
+        }
+        Assertions.assertEquals(0, queue.size());
+    }
+}
@@ -0,0 +1,25 @@
+package io.openjob.common.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class CompressUtilTest {
+    @Test
+    public void testCompress() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.append("task_").append(i).append("_success;");
+        }
+
+        byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = CompressUtil.compress(bytes);
+        Assertions.assertTrue(compressed.length < bytes.length);
+        Assertions.assertArrayEquals(bytes, CompressUtil.decompress(compressed));
+    }
+}
@@ -0,0 +1,40 @@
+package io.openjob.common.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class DeltaUtilTest {
+    @Test
+    public void testVersion() {
+        // Order independent
+        Assertions.assertEquals(DeltaUtil.version(Arrays.asList(1L, 2L, 3L)), DeltaUtil.version(Arrays.asList(3L, 1L, 2L)));
+        Assertions.assertEquals(DeltaUtil.version(Arrays.asList("a:1", "b:2")), DeltaUtil.version(Arrays.asList("b:2", "a:1")));
+
+        Assertions.assertNotEquals(DeltaUtil.version(Arrays.asList(1L, 2L)), DeltaUtil.version(Arrays.asList(1L, 3L)));
+        Assertions.assertNotEquals(DeltaUtil.version(Collections.emptyList()), DeltaUtil.version(Collections.singletonList(0L)));
+    }
+
+    @Test
+    public void testApply() {
+        Set<Long> base = new HashSet<>(Arrays.asList(1L, 2L, 3L));
+        Set<Long> target = new HashSet<>(Arrays.asList(2L, 3L, 4L));
+
+        Set<Long> added = DeltaUtil.difference(target, base);
+        Set<Long> removed = DeltaUtil.difference(base, target);
+        Assertions.assertEquals(Collections.singleton(4L), added);
+        Assertions.assertEquals(Collections.singleton(1L), removed);
+
+        Set<Long> applied = DeltaUtil.apply(base, added, removed);
+        Assertions.assertEquals(target, applied);
+        Assertions.assertEquals(DeltaUtil.version(target), DeltaUtil.version(applied));
+    }
+}
@@ -0,0 +1,68 @@
+package io.openjob.common.util;
+
+import io.openjob.common.constant.LogFieldConstant;
+import io.openjob.common.request.WorkerJobInstanceTaskLogFieldRequest;
+import io.openjob.common.request.WorkerJobInstanceTaskLogRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class LogFieldUtilTest {
+
+    @Test
+    public void testEncodeAndDecode() {
+        char[] chars = new char[70000];
+        Arrays.fill(chars, '中');
+        List<List<WorkerJobInstanceTaskLogFieldRequest>> fieldList = Arrays.asList(
+                Arrays.asList(new WorkerJobInstanceTaskLogFieldRequest(LogFieldConstant.MESSAGE, "hello"),
+                        new WorkerJobInstanceTaskLogFieldRequest(LogFieldConstant.THROWABLE, null)),
+                Collections.emptyList(),
+                Collections.singletonList(new WorkerJobInstanceTaskLogFieldRequest(LogFieldConstant.MESSAGE, new String(chars)))
+        );
+
+        List<List<WorkerJobInstanceTaskLogFieldRequest>> decoded = LogFieldUtil.decodeFields(LogFieldUtil.encodeFields(fieldList));
+        Assertions.assertEquals(fieldList, decoded);
+        Assertions.assertThrows(RuntimeException.class, () -> LogFieldUtil.decodeFields(new byte[]{1, 2, 3}));
+    }
+
+    /**
+     * Bytes on the wire per thousand log lines.
+     */
+    @Test
+    public void testBytesPerThousandLines() {
+        List<List<WorkerJobInstanceTaskLogFieldRequest>> fieldList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            List<WorkerJobInstanceTaskLogFieldRequest> fields = new ArrayList<>();
+            fields.add(new WorkerJobInstanceTaskLogFieldRequest(LogFieldConstant.WORKER_ADDRESS, "192.168.1.10:25588"));
+            fields.add(new WorkerJobInstanceTaskLogFieldRequest(LogFieldConstant.JOB_ID, "1024"));
+            fields.add(new WorkerJobInstanceTaskLogFieldRequest(LogFieldConstant.JOB_INSTANCE_ID, "8842150"));
+            fields.add(new WorkerJobInstanceTaskLogFieldRequest(LogFieldConstant.TASK_ID, "1024_8842150_0_" + (i % 16)));
+            fields.add(new WorkerJobInstanceTaskLogFieldRequest(LogFieldConstant.TIME, "2023-06-01 10:00:00." + (100 + i % 900)));
+            fields.add(new WorkerJobInstanceTaskLogFieldRequest(LogFieldConstant.TIME_STAMP, String.valueOf(1685584800000L + i)));
+            fields.add(new WorkerJobInstanceTaskLogFieldRequest(LogFieldConstant.LEVEL, i % 10 == 0 ? "WARN" : "INFO"));
+            fields.add(new WorkerJobInstanceTaskLogFieldRequest(LogFieldConstant.THREAD, "Openjob-container-" + (i % 8)));
+            fields.add(new WorkerJobInstanceTaskLogFieldRequest(LogFieldConstant.MESSAGE, "Process order success! orderId=" + (100000 + i * 7)));
+            fields.add(new WorkerJobInstanceTaskLogFieldRequest(LogFieldConstant.LOCATION, "io.openjob.demo.OrderProcessor.process(OrderProcessor.java:42)"));
+            fieldList.add(fields);
+        }
+
+        WorkerJobInstanceTaskLogRequest verbose = new WorkerJobInstanceTaskLogRequest();
+        verbose.setFieldList(fieldList);
+        WorkerJobInstanceTaskLogRequest encoded = new WorkerJobInstanceTaskLogRequest();
+        encoded.setContent(LogFieldUtil.encodeFields(fieldList));
+
+        int verboseBytes = KryoUtil.serialize(verbose).length;
+        int encodedBytes = KryoUtil.serialize(encoded).length;
+        double ratio = (double) verboseBytes / encodedBytes;
+        Assertions.assertTrue(ratio > 5D, String.format("verbose=%d encoded=%d ratio=%.1f", verboseBytes, encodedBytes, ratio));
+        Assertions.assertEquals(fieldList, LogFieldUtil.decodeFields(encoded.getContent()));
+    }
+}
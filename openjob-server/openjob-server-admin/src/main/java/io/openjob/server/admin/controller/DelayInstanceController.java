@@ -6,6 +6,7 @@ import io.openjob.server.admin.request.delay.DeleteDelayRequest;
 import io.openjob.server.admin.request.delay.ListDelayInstanceLogRequest;
 import io.openjob.server.admin.request.delay.ListDelayInstanceRequest;
 import io.openjob.server.admin.request.delay.StopDelayInstanceRequest;
+import io.openjob.server.admin.request.delay.TailDelayInstanceLogRequest;
 import io.openjob.server.admin.vo.delay.DeleteDelayInstanceVO;
 import io.openjob.server.admin.service.DelayInstanceService;
 import io.openjob.server.admin.vo.delay.ListDelayInstanceLogVO;
@@ -15,12 +16,14 @@ import io.openjob.server.common.vo.PageVO;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.Valid;
 
@@ -63,4 +66,10 @@ public class DelayInstanceController {
     public Result<ListDelayInstanceLogVO> listProcessorLog(@Valid @ModelAttribute ListDelayInstanceLogRequest request) {
         return Result.success(this.delayInstanceService.listProcessorLog(request));
     }
+
+    @ApiOperation("Tail delay instance log")
+    @GetMapping(value = "/tail-processor-log", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter tailProcessorLog(@Valid @ModelAttribute TailDelayInstanceLogRequest request) {
+        return this.delayInstanceService.tailProcessorLog(request);
+    }
 }
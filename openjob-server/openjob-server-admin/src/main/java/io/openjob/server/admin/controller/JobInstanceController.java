@@ -2,11 +2,19 @@ package io.openjob.server.admin.controller;
 
 import io.openjob.common.response.Result;
 import io.openjob.server.admin.request.job.DeleteJobInstanceRequest;
+import io.openjob.server.admin.request.job.GetJobInstanceTaskCountRequest;
+import io.openjob.server.admin.request.job.ListJobInstanceArchiveLogRequest;
+import io.openjob.server.admin.request.job.ListJobInstanceArchiveRequest;
 import io.openjob.server.admin.request.job.ListJobInstanceRequest;
+import io.openjob.server.admin.request.job.ListJobInstanceTaskRequest;
 import io.openjob.server.admin.request.job.ListProcessorLogRequest;
 import io.openjob.server.admin.request.job.StopJobInstanceRequest;
+import io.openjob.server.admin.request.job.TailProcessorLogRequest;
 import io.openjob.server.admin.service.JobInstanceService;
 import io.openjob.server.admin.vo.job.DeleteJobInstanceVO;
+import io.openjob.server.admin.vo.job.GetJobInstanceTaskCountVO;
+import io.openjob.server.admin.vo.job.ListJobInstanceArchiveDateVO;
+import io.openjob.server.admin.vo.job.ListJobInstanceTaskVO;
 import io.openjob.server.admin.vo.job.ListJobInstanceVO;
 import io.openjob.server.admin.vo.job.ListProcessorLogVO;
 import io.openjob.server.admin.vo.job.StopJobInstanceVO;
@@ -14,12 +22,14 @@ import io.openjob.server.common.vo.PageVO;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.Valid;
 
@@ -61,4 +71,40 @@ public class JobInstanceController {
     public Result<ListProcessorLogVO> listProcessorLog(@Valid @ModelAttribute ListProcessorLogRequest request) {
         return Result.success(this.jobInstanceService.getProcessorList(request));
     }
+
+    @ApiOperation("Tail job instance log")
+    @GetMapping(value = "/tail-processor-log", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter tailProcessorLog(@Valid @ModelAttribute TailProcessorLogRequest request) {
+        return this.jobInstanceService.tailProcessorLog(request);
+    }
+
+    @ApiOperation("Get job instance task count")
+    @GetMapping("/task-count")
+    public Result<GetJobInstanceTaskCountVO> getTaskCount(@Valid @ModelAttribute GetJobInstanceTaskCountRequest request) {
+        return Result.success(this.jobInstanceService.getTaskCount(request));
+    }
+
+    @ApiOperation("List job instance tasks")
+    @GetMapping("/list-task")
+    public Result<PageVO<ListJobInstanceTaskVO>> listTask(@Valid @ModelAttribute ListJobInstanceTaskRequest request) {
+        return Result.success(this.jobInstanceService.getTaskPageList(request));
+    }
+
+    @ApiOperation("List archived dates of job instances")
+    @GetMapping("/list-archive-date")
+    public Result<ListJobInstanceArchiveDateVO> listArchiveDate() {
+        return Result.success(this.jobInstanceService.getArchiveDateList());
+    }
+
+    @ApiOperation("List archived job instances")
+    @GetMapping("/list-archive")
+    public Result<PageVO<ListJobInstanceVO>> listArchive(@Valid @ModelAttribute ListJobInstanceArchiveRequest request) {
+        return Result.success(this.jobInstanceService.getArchivePageList(request));
+    }
+
+    @ApiOperation("List archived job instance logs")
+    @GetMapping("/list-archive-log")
+    public Result<ListProcessorLogVO> listArchiveLog(@Valid @ModelAttribute ListJobInstanceArchiveLogRequest request) {
+        return Result.success(this.jobInstanceService.getArchiveLogList(request));
+    }
 }
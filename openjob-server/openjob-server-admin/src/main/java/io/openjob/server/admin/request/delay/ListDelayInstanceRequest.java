@@ -32,4 +32,7 @@ public class ListDelayInstanceRequest extends PageRequest {
 
     @ApiModelProperty(value = "Job end time.")
     private Long endTime;
+
+    @ApiModelProperty(value = "Cursor of the previous page, instead of page offset.")
+    private Long cursor;
 }
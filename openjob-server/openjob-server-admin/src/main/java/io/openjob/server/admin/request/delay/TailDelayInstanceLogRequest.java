@@ -0,0 +1,20 @@
+package io.openjob.server.admin.request.delay;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Data
+public class TailDelayInstanceLogRequest {
+    @NotBlank
+    @ApiModelProperty(value = "Task id", required = true)
+    private String taskId;
+
+    @ApiModelProperty(value = "Processor time, default is zero.", required = true)
+    private Long time = 0L;
+}
@@ -0,0 +1,23 @@
+package io.openjob.server.admin.request.job;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Data
+@ApiModel()
+public class ListJobInstanceArchiveLogRequest {
+    @NotNull
+    @ApiModelProperty(value = "Archive date, such as 20231001", required = true)
+    private Integer date;
+
+    @NotNull
+    @ApiModelProperty(value = "Job instance id", required = true)
+    private Long jobInstanceId;
+}
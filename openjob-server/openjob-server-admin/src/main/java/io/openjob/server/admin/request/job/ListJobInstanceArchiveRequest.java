@@ -0,0 +1,38 @@
+package io.openjob.server.admin.request.job;
+
+import io.openjob.server.admin.request.PageRequest;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ApiModel()
+public class ListJobInstanceArchiveRequest extends PageRequest {
+    @NotNull
+    @ApiModelProperty(value = "Archive date, such as 20231001", required = true)
+    private Integer date;
+
+    @NotNull
+    @ApiModelProperty(value = "Namespace primary id", required = true)
+    private Long namespaceId;
+
+    @ApiModelProperty(value = "Instance id")
+    private Long id;
+
+    @ApiModelProperty(value = "App primary id")
+    private Long appId;
+
+    @ApiModelProperty(value = "Job id")
+    private Long jobId;
+
+    @ApiModelProperty(value = "Job instance status")
+    private Integer status;
+}
@@ -0,0 +1,25 @@
+package io.openjob.server.admin.request.job;
+
+import io.openjob.server.admin.request.PageRequest;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ApiModel()
+public class ListJobInstanceTaskRequest extends PageRequest {
+    @NotNull
+    @ApiModelProperty(value = "Job instance id", required = true)
+    private Long jobInstanceId;
+
+    @ApiModelProperty(value = "Task status")
+    private Integer status;
+}
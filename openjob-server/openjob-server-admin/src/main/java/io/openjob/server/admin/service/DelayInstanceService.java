@@ -5,11 +5,13 @@ import io.openjob.server.admin.request.delay.DeleteDelayRequest;
 import io.openjob.server.admin.request.delay.ListDelayInstanceLogRequest;
 import io.openjob.server.admin.request.delay.ListDelayInstanceRequest;
 import io.openjob.server.admin.request.delay.StopDelayInstanceRequest;
+import io.openjob.server.admin.request.delay.TailDelayInstanceLogRequest;
 import io.openjob.server.admin.vo.delay.DeleteDelayInstanceVO;
 import io.openjob.server.admin.vo.delay.ListDelayInstanceLogVO;
 import io.openjob.server.admin.vo.delay.ListDelayInstanceVO;
 import io.openjob.server.admin.vo.delay.StopDelayInstanceVO;
 import io.openjob.server.common.vo.PageVO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * @author stelin swoft@qq.com
@@ -48,4 +50,12 @@ public interface DelayInstanceService {
      * @return ListDelayInstanceLogVO
      */
     ListDelayInstanceLogVO listProcessorLog(ListDelayInstanceLogRequest request);
+
+    /**
+     * Tail log
+     *
+     * @param request request
+     * @return SseEmitter
+     */
+    SseEmitter tailProcessorLog(TailDelayInstanceLogRequest request);
 }
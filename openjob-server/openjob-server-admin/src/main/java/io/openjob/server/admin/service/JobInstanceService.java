@@ -1,14 +1,23 @@
 package io.openjob.server.admin.service;
 
 import io.openjob.server.admin.request.job.DeleteJobInstanceRequest;
+import io.openjob.server.admin.request.job.GetJobInstanceTaskCountRequest;
+import io.openjob.server.admin.request.job.ListJobInstanceArchiveLogRequest;
+import io.openjob.server.admin.request.job.ListJobInstanceArchiveRequest;
 import io.openjob.server.admin.request.job.ListJobInstanceRequest;
+import io.openjob.server.admin.request.job.ListJobInstanceTaskRequest;
 import io.openjob.server.admin.request.job.ListProcessorLogRequest;
 import io.openjob.server.admin.request.job.StopJobInstanceRequest;
+import io.openjob.server.admin.request.job.TailProcessorLogRequest;
 import io.openjob.server.admin.vo.job.DeleteJobInstanceVO;
+import io.openjob.server.admin.vo.job.GetJobInstanceTaskCountVO;
+import io.openjob.server.admin.vo.job.ListJobInstanceArchiveDateVO;
+import io.openjob.server.admin.vo.job.ListJobInstanceTaskVO;
 import io.openjob.server.admin.vo.job.ListJobInstanceVO;
 import io.openjob.server.admin.vo.job.ListProcessorLogVO;
 import io.openjob.server.admin.vo.job.StopJobInstanceVO;
 import io.openjob.server.common.vo.PageVO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * @author stelin swoft@qq.com
@@ -47,4 +56,51 @@ public interface JobInstanceService {
      * @return ListProcessorLogVO
      */
     ListProcessorLogVO getProcessorList(ListProcessorLogRequest request);
+
+    /**
+     * Tail processor log.
+     *
+     * @param request request
+     * @return SseEmitter
+     */
+    SseEmitter tailProcessorLog(TailProcessorLogRequest request);
+
+    /**
+     * Get task count by status.
+     *
+     * @param request request
+     * @return GetJobInstanceTaskCountVO
+     */
+    GetJobInstanceTaskCountVO getTaskCount(GetJobInstanceTaskCountRequest request);
+
+    /**
+     * List job instance tasks.
+     *
+     * @param request request
+     * @return PageVO
+     */
+    PageVO<ListJobInstanceTaskVO> getTaskPageList(ListJobInstanceTaskRequest request);
+
+    /**
+     * List archived dates.
+     *
+     * @return ListJobInstanceArchiveDateVO
+     */
+    ListJobInstanceArchiveDateVO getArchiveDateList();
+
+    /**
+     * List archived job instances of a date.
+     *
+     * @param request request
+     * @return PageVO
+     */
+    PageVO<ListJobInstanceVO> getArchivePageList(ListJobInstanceArchiveRequest request);
+
+    /**
+     * List archived logs of job instance.
+     *
+     * @param request request
+     * @return ListProcessorLogVO
+     */
+    ListProcessorLogVO getArchiveLogList(ListJobInstanceArchiveLogRequest request);
 }
@@ -7,7 +7,9 @@ import io.openjob.server.admin.request.delay.DeleteDelayInstanceRequest;
 import io.openjob.server.admin.request.delay.ListDelayInstanceLogRequest;
 import io.openjob.server.admin.request.delay.ListDelayInstanceRequest;
 import io.openjob.server.admin.request.delay.StopDelayInstanceRequest;
+import io.openjob.server.admin.request.delay.TailDelayInstanceLogRequest;
 import io.openjob.server.admin.service.DelayInstanceService;
+import io.openjob.server.admin.tail.ProcessorLogTailer;
 import io.openjob.server.admin.util.LogFormatUtil;
 import io.openjob.server.admin.vo.delay.DeleteDelayInstanceVO;
 import io.openjob.server.admin.vo.delay.ListDelayInstanceLogVO;
@@ -19,8 +21,10 @@ import io.openjob.server.common.util.PageUtil;
 import io.openjob.server.common.vo.PageVO;
 import io.openjob.server.log.dao.LogDAO;
 import io.openjob.server.log.dto.ProcessorLogDTO;
+import io.openjob.server.repository.constant.InstanceStatTypeEnum;
 import io.openjob.server.repository.dao.DelayDAO;
 import io.openjob.server.repository.dao.DelayInstanceDAO;
+import io.openjob.server.repository.dao.InstanceStatDAO;
 import io.openjob.server.repository.dto.DelayInstancePageDTO;
 import io.openjob.server.repository.entity.Delay;
 import io.openjob.server.repository.entity.DelayInstance;
@@ -28,10 +32,13 @@ import io.openjob.server.scheduler.dto.DelayInstanceDeleteRequestDTO;
 import io.openjob.server.scheduler.dto.DelayInstanceStopRequestDTO;
 import io.openjob.server.scheduler.dto.DelayInstanceStopResponseDTO;
 import io.openjob.server.scheduler.scheduler.DelayInstanceScheduler;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -47,14 +54,29 @@ public class DelayInstanceServiceImpl implements DelayInstanceService {
     private final LogDAO logDAO;
     private final DelayDAO delayDAO;
     private final DelayInstanceDAO delayInstanceDAO;
+    private final InstanceStatDAO instanceStatDAO;
     private final DelayInstanceScheduler delayInstanceScheduler;
-
+    private final ProcessorLogTailer processorLogTailer;
+
+    /**
+     * New DelayInstanceServiceImpl
+     *
+     * @param logDAO                 logDAO
+     * @param delayDAO               delayDAO
+     * @param delayInstanceDAO       delayInstanceDAO
+     * @param instanceStatDAO        instanceStatDAO
+     * @param delayInstanceScheduler delayInstanceScheduler
+     * @param processorLogTailer     processorLogTailer
+     */
     @Autowired
-    public DelayInstanceServiceImpl(LogDAO logDAO, DelayDAO delayDAO, DelayInstanceDAO delayInstanceDAO, DelayInstanceScheduler delayInstanceScheduler) {
+    public DelayInstanceServiceImpl(LogDAO logDAO, DelayDAO delayDAO, DelayInstanceDAO delayInstanceDAO, InstanceStatDAO instanceStatDAO,
+                                    DelayInstanceScheduler delayInstanceScheduler, ProcessorLogTailer processorLogTailer) {
         this.logDAO = logDAO;
         this.delayDAO = delayDAO;
         this.delayInstanceDAO = delayInstanceDAO;
+        this.instanceStatDAO = instanceStatDAO;
         this.delayInstanceScheduler = delayInstanceScheduler;
+        this.processorLogTailer = processorLogTailer;
     }
 
     @Override
@@ -66,6 +88,7 @@ public class DelayInstanceServiceImpl implements DelayInstanceService {
         if (CollectionUtils.isEmpty(pageDTO.getList())) {
             return PageUtil.empty(pageDTO);
         }
+        pageDTO.setTotal(this.countTotal(delayInstancePageDTO, pageDTO));
 
         // Delay map
         List<Long> delayIds = pageDTO.getList().stream().map(DelayInstance::getDelayId)
@@ -142,4 +165,37 @@ public class DelayInstanceServiceImpl implements DelayInstanceService {
         listInstanceVO.setComplete(isComplete);
         return listInstanceVO;
     }
+
+    @Override
+    public SseEmitter tailProcessorLog(TailDelayInstanceLogRequest request) {
+        return this.processorLogTailer.tail(request.getTaskId(), request.getTime(), Collections.emptyList(), () -> {
+            DelayInstance delayInstance = this.delayInstanceDAO.getByTaskId(request.getTaskId());
+            return Objects.isNull(delayInstance) || TaskStatusEnum.FINISH_LIST.contains(delayInstance.getStatus());
+        });
+    }
+
+    /**
+     * Total of page list. The last page is exact, instances only filtered by namespace, status and time are counted by stats.
+     *
+     * @param instancePageDTO instancePageDTO
+     * @param pageDTO         pageDTO
+     * @return Long
+     */
+    private Long countTotal(DelayInstancePageDTO instancePageDTO, PageDTO<DelayInstance> pageDTO) {
+        long rows = (long) (instancePageDTO.getPage() - 1) * instancePageDTO.getSize() + pageDTO.getList().size();
+        if (Objects.isNull(pageDTO.getCursor())) {
+            return rows;
+        }
+
+        boolean statFilter = Objects.isNull(instancePageDTO.getAppId()) && Objects.isNull(instancePageDTO.getDelayId())
+                && StringUtils.isEmpty(instancePageDTO.getTaskId());
+        if (!statFilter) {
+            return this.delayInstanceDAO.countTotal(instancePageDTO);
+        }
+
+        // More rows after the page.
+        Long total = this.instanceStatDAO.countApproximate(InstanceStatTypeEnum.DELAY.getType(), instancePageDTO.getNamespaceId(),
+                instancePageDTO.getBeginTime(), instancePageDTO.getEndTime(), instancePageDTO.getStatus());
+        return Math.max(total, rows + 1);
+    }
 }
@@ -15,13 +15,13 @@ import io.openjob.server.admin.vo.home.DelayChartVO;
 import io.openjob.server.admin.vo.home.JobChartVO;
 import io.openjob.server.admin.vo.home.SystemDataVO;
 import io.openjob.server.admin.vo.home.TaskDataVO;
+import io.openjob.server.repository.constant.InstanceStatTypeEnum;
 import io.openjob.server.repository.constant.ServerStatusEnum;
 import io.openjob.server.repository.constant.WorkerStatusEnum;
 import io.openjob.server.repository.dao.AppDAO;
 import io.openjob.server.repository.dao.DelayDAO;
-import io.openjob.server.repository.dao.DelayInstanceDAO;
+import io.openjob.server.repository.dao.InstanceStatDAO;
 import io.openjob.server.repository.dao.JobDAO;
-import io.openjob.server.repository.dao.JobInstanceDAO;
 import io.openjob.server.repository.dao.JobSlotsDAO;
 import io.openjob.server.repository.dao.ServerDAO;
 import io.openjob.server.repository.dao.WorkerDAO;
@@ -44,9 +44,8 @@ import java.util.stream.Stream;
 @Service
 public class HomeServiceImpl implements HomeService {
     private final JobDAO jobDAO;
-    private final JobInstanceDAO jobInstanceDAO;
     private final DelayDAO delayDAO;
-    private final DelayInstanceDAO delayInstanceDAO;
+    private final InstanceStatDAO instanceStatDAO;
     private final AppDAO appDAO;
     private final ServerDAO serverDAO;
     private final JobSlotsDAO jobSlotsDAO;
@@ -55,17 +54,15 @@ public class HomeServiceImpl implements HomeService {
     @Autowired
     public HomeServiceImpl(
             JobDAO jobDAO,
-            JobInstanceDAO jobInstanceDAO,
             DelayDAO delayDAO,
-            DelayInstanceDAO delayInstanceDAO,
+            InstanceStatDAO instanceStatDAO,
             AppDAO appDAO,
             ServerDAO serverDAO,
             JobSlotsDAO jobSlotsDAO,
             WorkerDAO workerDAO) {
         this.jobDAO = jobDAO;
-        this.jobInstanceDAO = jobInstanceDAO;
         this.delayDAO = delayDAO;
-        this.delayInstanceDAO = delayInstanceDAO;
+        this.instanceStatDAO = instanceStatDAO;
         this.appDAO = appDAO;
         this.serverDAO = serverDAO;
         this.jobSlotsDAO = jobSlotsDAO;
@@ -78,6 +75,7 @@ public class HomeServiceImpl implements HomeService {
         Long namespaceId = taskDataRequest.getNamespaceId();
         Long zeroTimestamp = DateUtil.getZeroTimestamp();
         Long timestamp = DateUtil.timestamp();
+        Integer zeroHour = DateUtil.formatHourByTimestamp(zeroTimestamp);
 
         // Job
         Long jobTotal = this.jobDAO.countByNamespace(namespaceId);
@@ -85,8 +83,8 @@ public class HomeServiceImpl implements HomeService {
         taskDataVO.setJob(new DataItemVO(jobTotal, jobNew));
 
         // Job Instance
-        Long jobInstanceTotal = this.jobInstanceDAO.countTotalByNamespace(namespaceId);
-        Long jobInstanceNew = this.jobInstanceDAO.countTotalByNamespaceAndCreateTime(namespaceId, zeroTimestamp, timestamp, null);
+        Long jobInstanceTotal = this.instanceStatDAO.countTotal(InstanceStatTypeEnum.JOB.getType(), namespaceId, 0);
+        Long jobInstanceNew = this.instanceStatDAO.countTotal(InstanceStatTypeEnum.JOB.getType(), namespaceId, zeroHour);
         taskDataVO.setJobInstance(new DataItemVO(jobInstanceTotal, jobInstanceNew));
 
         //Delay
@@ -95,8 +93,8 @@ public class HomeServiceImpl implements HomeService {
         taskDataVO.setDelay(new DataItemVO(delayTotal, delayNew));
 
         //DelaInstance
-        Long delayInstanceTotal = this.delayInstanceDAO.countTotalByNamespace(namespaceId);
-        Long delayInstanceNew = this.delayInstanceDAO.countTotalByNamespaceAndCreateTime(namespaceId, zeroTimestamp, timestamp, null);
+        Long delayInstanceTotal = this.instanceStatDAO.countTotal(InstanceStatTypeEnum.DELAY.getType(), namespaceId, 0);
+        Long delayInstanceNew = this.instanceStatDAO.countTotal(InstanceStatTypeEnum.DELAY.getType(), namespaceId, zeroHour);
         taskDataVO.setDelayInstance(new DataItemVO(delayInstanceTotal, delayInstanceNew));
         return taskDataVO;
     }
@@ -132,16 +130,19 @@ public class HomeServiceImpl implements HomeService {
         List<Long> failData = new ArrayList<>();
         List<Long> runningData = new ArrayList<>();
 
+        // Stats are counted by hour
+        Integer type = InstanceStatTypeEnum.JOB.getType();
+        Long namespaceId = jobChartRequest.getNamespaceId();
+        Integer beginHour = DateUtil.formatHourByTimestamp(jobChartRequest.getBeginTime());
+        Integer endHour = DateUtil.formatHourByTimestamp(jobChartRequest.getEndTime());
+
         // Query by date
         if (this.isQueryByDay(jobChartRequest.getBeginTime(), jobChartRequest.getEndTime())) {
-            Map<Integer, Long> successDateMap = this.jobInstanceDAO.countByNamespaceGroupByDateTime(
-                            jobChartRequest.getNamespaceId(), jobChartRequest.getBeginTime(), jobChartRequest.getEndTime(), InstanceStatusEnum.SUCCESS.getStatus())
+            Map<Integer, Long> successDateMap = this.instanceStatDAO.countGroupByDate(type, namespaceId, beginHour, endHour, InstanceStatusEnum.SUCCESS.getStatus())
                     .stream().collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount));
-            Map<Integer, Long> failDateMap = this.jobInstanceDAO.countByNamespaceGroupByDateTime(
-                            jobChartRequest.getNamespaceId(), jobChartRequest.getBeginTime(), jobChartRequest.getEndTime(), InstanceStatusEnum.FAIL.getStatus())
+            Map<Integer, Long> failDateMap = this.instanceStatDAO.countGroupByDate(type, namespaceId, beginHour, endHour, InstanceStatusEnum.FAIL.getStatus())
                     .stream().collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount));
-            Map<Integer, Long> runningMap = this.jobInstanceDAO.countByNamespaceGroupByDateTime(
-                            jobChartRequest.getNamespaceId(), jobChartRequest.getBeginTime(), jobChartRequest.getEndTime(), InstanceStatusEnum.RUNNING.getStatus())
+            Map<Integer, Long> runningMap = this.instanceStatDAO.countGroupByDate(type, namespaceId, beginHour, endHour, InstanceStatusEnum.RUNNING.getStatus())
                     .stream().collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount));
 
             // Date list data
@@ -154,14 +155,11 @@ public class HomeServiceImpl implements HomeService {
                     });
         } else {
             // Query by hour
-            Map<Integer, Long> successHourMap = this.jobInstanceDAO.countByNamespaceGroupByHourTime(
-                            jobChartRequest.getNamespaceId(), jobChartRequest.getBeginTime(), jobChartRequest.getEndTime(), InstanceStatusEnum.SUCCESS.getStatus())
+            Map<Integer, Long> successHourMap = this.instanceStatDAO.countGroupByHour(type, namespaceId, beginHour, endHour, InstanceStatusEnum.SUCCESS.getStatus())
                     .stream().collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount));
-            Map<Integer, Long> failHourMap = this.jobInstanceDAO.countByNamespaceGroupByHourTime(
-                            jobChartRequest.getNamespaceId(), jobChartRequest.getBeginTime(), jobChartRequest.getEndTime(), InstanceStatusEnum.FAIL.getStatus())
+            Map<Integer, Long> failHourMap = this.instanceStatDAO.countGroupByHour(type, namespaceId, beginHour, endHour, InstanceStatusEnum.FAIL.getStatus())
                     .stream().collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount));
-            Map<Integer, Long> runningMap = this.jobInstanceDAO.countByNamespaceGroupByHourTime(
-                            jobChartRequest.getNamespaceId(), jobChartRequest.getBeginTime(), jobChartRequest.getEndTime(), InstanceStatusEnum.RUNNING.getStatus())
+            Map<Integer, Long> runningMap = this.instanceStatDAO.countGroupByHour(type, namespaceId, beginHour, endHour, InstanceStatusEnum.RUNNING.getStatus())
                     .stream().collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount));
 
             // Hour list data
@@ -175,7 +173,7 @@ public class HomeServiceImpl implements HomeService {
         }
 
         // Status map
-        Map<Integer, Long> statusGroupMap = this.jobInstanceDAO.countByNamespaceGroupByStatus(jobChartRequest.getNamespaceId(), jobChartRequest.getBeginTime(), jobChartRequest.getEndTime())
+        Map<Integer, Long> statusGroupMap = this.instanceStatDAO.countGroupByStatus(type, namespaceId, beginHour, endHour)
                 .stream().collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount));
 
         // Percent list
@@ -206,16 +204,19 @@ public class HomeServiceImpl implements HomeService {
         List<Long> failData = new ArrayList<>();
         List<Long> runningData = new ArrayList<>();
 
+        // Stats are counted by hour
+        Integer type = InstanceStatTypeEnum.DELAY.getType();
+        Long namespaceId = delayChartRequest.getNamespaceId();
+        Integer beginHour = DateUtil.formatHourByTimestamp(delayChartRequest.getBeginTime());
+        Integer endHour = DateUtil.formatHourByTimestamp(delayChartRequest.getEndTime());
+
         // Query by date
         if (this.isQueryByDay(delayChartRequest.getBeginTime(), delayChartRequest.getEndTime())) {
-            Map<Integer, Long> successDateMap = this.delayInstanceDAO.countByNamespaceGroupByDateTime(
-                            delayChartRequest.getNamespaceId(), delayChartRequest.getBeginTime(), delayChartRequest.getEndTime(), TaskStatusEnum.SUCCESS.getStatus())
+            Map<Integer, Long> successDateMap = this.instanceStatDAO.countGroupByDate(type, namespaceId, beginHour, endHour, TaskStatusEnum.SUCCESS.getStatus())
                     .stream().collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount));
-            Map<Integer, Long> failDateMap = this.delayInstanceDAO.countByNamespaceGroupByDateTime(
-                            delayChartRequest.getNamespaceId(), delayChartRequest.getBeginTime(), delayChartRequest.getEndTime(), TaskStatusEnum.FAILED.getStatus())
+            Map<Integer, Long> failDateMap = this.instanceStatDAO.countGroupByDate(type, namespaceId, beginHour, endHour, TaskStatusEnum.FAILED.getStatus())
                     .stream().collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount));
-            Map<Integer, Long> runningDateMap = this.delayInstanceDAO.countByNamespaceGroupByDateTime(
-                            delayChartRequest.getNamespaceId(), delayChartRequest.getBeginTime(), delayChartRequest.getEndTime(), TaskStatusEnum.RUNNING.getStatus())
+            Map<Integer, Long> runningDateMap = this.instanceStatDAO.countGroupByDate(type, namespaceId, beginHour, endHour, TaskStatusEnum.RUNNING.getStatus())
                     .stream().collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount));
 
             // Date list data
@@ -228,14 +229,11 @@ public class HomeServiceImpl implements HomeService {
                     });
         } else {
             // Query by hour
-            Map<Integer, Long> successHourMap = this.delayInstanceDAO.countByNamespaceGroupByHourTime(
-                            delayChartRequest.getNamespaceId(), delayChartRequest.getBeginTime(), delayChartRequest.getEndTime(), TaskStatusEnum.SUCCESS.getStatus())
+            Map<Integer, Long> successHourMap = this.instanceStatDAO.countGroupByHour(type, namespaceId, beginHour, endHour, TaskStatusEnum.SUCCESS.getStatus())
                     .stream().collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount));
-            Map<Integer, Long> failHourMap = this.delayInstanceDAO.countByNamespaceGroupByHourTime(
-                            delayChartRequest.getNamespaceId(), delayChartRequest.getBeginTime(), delayChartRequest.getEndTime(), TaskStatusEnum.FAILED.getStatus())
+            Map<Integer, Long> failHourMap = this.instanceStatDAO.countGroupByHour(type, namespaceId, beginHour, endHour, TaskStatusEnum.FAILED.getStatus())
                     .stream().collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount));
-            Map<Integer, Long> runningHourMap = this.delayInstanceDAO.countByNamespaceGroupByHourTime(
-                            delayChartRequest.getNamespaceId(), delayChartRequest.getBeginTime(), delayChartRequest.getEndTime(), TaskStatusEnum.RUNNING.getStatus())
+            Map<Integer, Long> runningHourMap = this.instanceStatDAO.countGroupByHour(type, namespaceId, beginHour, endHour, TaskStatusEnum.RUNNING.getStatus())
                     .stream().collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount));
 
             // Hour list data
@@ -249,7 +247,7 @@ public class HomeServiceImpl implements HomeService {
         }
 
         // Status map
-        Map<Integer, Long> statusGroupMap = this.delayInstanceDAO.countByNamespaceGroupByStatus(delayChartRequest.getNamespaceId(), delayChartRequest.getBeginTime(), delayChartRequest.getEndTime())
+        Map<Integer, Long> statusGroupMap = this.instanceStatDAO.countGroupByStatus(type, namespaceId, beginHour, endHour)
                 .stream().collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount));
 
         // Percent list
@@ -8,40 +8,60 @@ import io.openjob.common.constant.InstanceStatusEnum;
 import io.openjob.common.util.DateUtil;
 import io.openjob.common.util.TaskUtil;
 import io.openjob.server.admin.request.job.DeleteJobInstanceRequest;
+import io.openjob.server.admin.request.job.GetJobInstanceTaskCountRequest;
+import io.openjob.server.admin.request.job.ListJobInstanceArchiveLogRequest;
+import io.openjob.server.admin.request.job.ListJobInstanceArchiveRequest;
 import io.openjob.server.admin.request.job.ListJobInstanceRequest;
+import io.openjob.server.admin.request.job.ListJobInstanceTaskRequest;
 import io.openjob.server.admin.request.job.ListProcessorLogRequest;
 import io.openjob.server.admin.request.job.StopJobInstanceRequest;
+import io.openjob.server.admin.request.job.TailProcessorLogRequest;
 import io.openjob.server.admin.service.JobInstanceService;
+import io.openjob.server.admin.tail.ProcessorLogTailer;
 import io.openjob.server.admin.util.LogFormatUtil;
 import io.openjob.server.admin.vo.job.DeleteJobInstanceVO;
+import io.openjob.server.admin.vo.job.GetJobInstanceTaskCountVO;
+import io.openjob.server.admin.vo.job.ListJobInstanceArchiveDateVO;
+import io.openjob.server.admin.vo.job.ListJobInstanceTaskVO;
 import io.openjob.server.admin.vo.job.ListJobInstanceVO;
 import io.openjob.server.admin.vo.job.ListProcessorLogVO;
 import io.openjob.server.admin.vo.job.StopJobInstanceVO;
+import io.openjob.server.cluster.storage.TaskFileStorage;
 import io.openjob.server.common.dto.PageDTO;
 import io.openjob.server.common.util.BeanMapperUtil;
 import io.openjob.server.common.util.PageUtil;
 import io.openjob.server.common.vo.PageVO;
 import io.openjob.server.log.dao.LogDAO;
 import io.openjob.server.log.dto.ProcessorLogDTO;
+import io.openjob.server.repository.constant.InstanceStatTypeEnum;
+import io.openjob.server.repository.dao.InstanceStatDAO;
 import io.openjob.server.repository.dao.JobDAO;
 import io.openjob.server.repository.dao.JobInstanceDAO;
 import io.openjob.server.repository.dao.JobInstanceLogDAO;
+import io.openjob.server.repository.dao.JobInstanceTaskCountDAO;
+import io.openjob.server.repository.dao.JobInstanceTaskDAO;
 import io.openjob.server.repository.dto.JobInstancePageDTO;
 import io.openjob.server.repository.entity.Job;
 import io.openjob.server.repository.entity.JobInstance;
 import io.openjob.server.repository.entity.JobInstanceLog;
+import io.openjob.server.repository.entity.JobInstanceTask;
 import io.openjob.server.scheduler.dto.JobInstanceStopRequestDTO;
 import io.openjob.server.scheduler.dto.JobInstanceStopResponseDTO;
 import io.openjob.server.scheduler.scheduler.JobInstanceScheduler;
+import io.openjob.server.scheduler.service.InstancePartitionService;
+import io.openjob.server.scheduler.storage.InstanceArchiveStorage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -53,38 +73,51 @@ public class JobInstanceServiceImpl implements JobInstanceService {
     private final LogDAO logDAO;
     private final JobDAO jobDAO;
     private final JobInstanceDAO jobInstanceDAO;
+    private final InstanceStatDAO instanceStatDAO;
     private final JobInstanceLogDAO jobInstanceLogDAO;
     private final JobInstanceScheduler jobInstanceScheduler;
+    private final JobInstanceTaskDAO jobInstanceTaskDAO;
+    private final JobInstanceTaskCountDAO jobInstanceTaskCountDAO;
+    private final TaskFileStorage taskFileStorage;
+    private final ProcessorLogTailer processorLogTailer;
+    private final InstanceArchiveStorage instanceArchiveStorage;
 
     @Autowired
-    public JobInstanceServiceImpl(JobInstanceDAO jobInstanceDAO, LogDAO logDAO, JobInstanceLogDAO jobInstanceLogDAO, JobDAO jobDAO, JobInstanceScheduler jobInstanceScheduler) {
+    public JobInstanceServiceImpl(JobInstanceDAO jobInstanceDAO,
+                                  InstanceStatDAO instanceStatDAO,
+                                  LogDAO logDAO,
+                                  JobInstanceLogDAO jobInstanceLogDAO,
+                                  JobDAO jobDAO,
+                                  JobInstanceScheduler jobInstanceScheduler,
+                                  JobInstanceTaskDAO jobInstanceTaskDAO,
+                                  JobInstanceTaskCountDAO jobInstanceTaskCountDAO,
+                                  TaskFileStorage taskFileStorage,
+                                  ProcessorLogTailer processorLogTailer,
+                                  InstanceArchiveStorage instanceArchiveStorage) {
         this.logDAO = logDAO;
         this.jobInstanceDAO = jobInstanceDAO;
+        this.instanceStatDAO = instanceStatDAO;
         this.jobInstanceLogDAO = jobInstanceLogDAO;
         this.jobDAO = jobDAO;
         this.jobInstanceScheduler = jobInstanceScheduler;
+        this.jobInstanceTaskDAO = jobInstanceTaskDAO;
+        this.jobInstanceTaskCountDAO = jobInstanceTaskCountDAO;
+        this.taskFileStorage = taskFileStorage;
+        this.processorLogTailer = processorLogTailer;
+        this.instanceArchiveStorage = instanceArchiveStorage;
     }
 
     @Override
     public PageVO<ListJobInstanceVO> getPageList(ListJobInstanceRequest request) {
-        PageDTO<JobInstance> pageDTO = this.jobInstanceDAO.pageList(BeanMapperUtil.map(request, JobInstancePageDTO.class));
+        JobInstancePageDTO instancePageDTO = BeanMapperUtil.map(request, JobInstancePageDTO.class);
+        PageDTO<JobInstance> pageDTO = this.jobInstanceDAO.pageList(instancePageDTO);
 
         // Empty
         if (CollectionUtils.isEmpty(pageDTO.getList())) {
             return PageUtil.empty(pageDTO);
         }
-
-        // Job map
-        List<Long> jobIds = pageDTO.getList().stream().map(JobInstance::getJobId).distinct().collect(Collectors.toList());
-        Map<Long, Job> jobMap = this.jobDAO.getByIds(jobIds).stream().collect(Collectors.toMap(Job::getId, j -> j));
-        return PageUtil.convert(pageDTO, n -> {
-            ListJobInstanceVO listJobInstanceVO = BeanMapperUtil.map(n, ListJobInstanceVO.class);
-            Job job = jobMap.get(n.getJobId());
-            if (Objects.nonNull(job)) {
-                listJobInstanceVO.setJobName(job.getName());
-            }
-            return listJobInstanceVO;
-        });
+        pageDTO.setTotal(this.countTotal(instancePageDTO, pageDTO));
+        return this.convertPage(pageDTO);
     }
 
     @Override
@@ -155,6 +188,150 @@ public class JobInstanceServiceImpl implements JobInstanceService {
         return listProcessorLogVO;
     }
 
+    @Override
+    public SseEmitter tailProcessorLog(TailProcessorLogRequest request) {
+        // Job instance log first.
+        List<String> headLines = Lists.newArrayList();
+        if (request.getTime().equals(0L) && ExecuteTypeEnum.isStandalone(request.getExecuteType())) {
+            this.jobInstanceLogDAO.getByJobInstanceId(request.getJobInstanceId()).forEach(j -> headLines.add(this.formatLogInstanceLog(j)));
+        }
+
+        String taskId = TaskUtil.getRandomUniqueId(request.getJobId(), request.getJobInstanceId(), 0L, 0L);
+        return this.processorLogTailer.tail(taskId, request.getTime(), headLines, () -> {
+            JobInstance queryInstance = this.jobInstanceDAO.getById(request.getJobInstanceId());
+            return Objects.isNull(queryInstance) || !InstanceStatusEnum.NOT_COMPLETE.contains(queryInstance.getStatus());
+        });
+    }
+
+    @Override
+    public GetJobInstanceTaskCountVO getTaskCount(GetJobInstanceTaskCountRequest request) {
+        // Aggregate storage first, then detail storage.
+        Map<Integer, Long> statusCount = this.jobInstanceTaskCountDAO.getStatusCount(request.getJobInstanceId());
+        if (CollectionUtils.isEmpty(statusCount)) {
+            statusCount = this.jobInstanceTaskDAO.getStatusCount(request.getJobInstanceId());
+        }
+
+        GetJobInstanceTaskCountVO taskCountVO = new GetJobInstanceTaskCountVO();
+        taskCountVO.setStatusCount(statusCount);
+        taskCountVO.setTotal(statusCount.values().stream().mapToLong(Long::longValue).sum());
+        taskCountVO.setArchived(this.taskFileStorage.exists(request.getJobInstanceId()) ? CommonConstant.YES : CommonConstant.NO);
+        return taskCountVO;
+    }
+
+    @Override
+    public PageVO<ListJobInstanceTaskVO> getTaskPageList(ListJobInstanceTaskRequest request) {
+        PageDTO<JobInstanceTask> pageDTO;
+
+        // Task file has all tasks, database may only have failed tasks in aggregate storage.
+        if (this.taskFileStorage.exists(request.getJobInstanceId())) {
+            try {
+                pageDTO = this.taskFileStorage.pageList(request.getJobInstanceId(), request.getStatus(), request.getPage(), request.getSize());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        } else {
+            pageDTO = this.jobInstanceTaskDAO.pageList(request.getJobInstanceId(), request.getStatus(), request.getPage(), request.getSize());
+        }
+        return PageUtil.convert(pageDTO, t -> BeanMapperUtil.map(t, ListJobInstanceTaskVO.class));
+    }
+
+    @Override
+    public ListJobInstanceArchiveDateVO getArchiveDateList() {
+        ListJobInstanceArchiveDateVO archiveDateVO = new ListJobInstanceArchiveDateVO();
+        try {
+            archiveDateVO.setList(this.instanceArchiveStorage.getDates(InstancePartitionService.JOB_INSTANCE));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return archiveDateVO;
+    }
+
+    @Override
+    public PageVO<ListJobInstanceVO> getArchivePageList(ListJobInstanceArchiveRequest request) {
+        Predicate<JobInstance> filter = j -> request.getNamespaceId().equals(j.getNamespaceId())
+                && (Objects.isNull(request.getId()) || request.getId().equals(j.getId()))
+                && (Objects.isNull(request.getAppId()) || request.getAppId().equals(j.getAppId()))
+                && (Objects.isNull(request.getJobId()) || request.getJobId().equals(j.getJobId()))
+                && (Objects.isNull(request.getStatus()) || request.getStatus().equals(j.getStatus()));
+
+        PageDTO<JobInstance> pageDTO;
+        try {
+            pageDTO = this.instanceArchiveStorage.pageList(InstancePartitionService.JOB_INSTANCE, request.getDate(), JobInstance.class,
+                    filter, request.getPage(), request.getSize());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        // Empty
+        if (CollectionUtils.isEmpty(pageDTO.getList())) {
+            return PageUtil.empty(pageDTO);
+        }
+        return this.convertPage(pageDTO);
+    }
+
+    @Override
+    public ListProcessorLogVO getArchiveLogList(ListJobInstanceArchiveLogRequest request) {
+        List<JobInstanceLog> jobInstanceLogs;
+        try {
+            jobInstanceLogs = this.instanceArchiveStorage.getList(InstancePartitionService.JOB_INSTANCE_LOG, request.getDate(), JobInstanceLog.class,
+                    l -> request.getJobInstanceId().equals(l.getJobInstanceId()));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        // Processor logs are kept in log storage, only job instance logs are archived.
+        ListProcessorLogVO listProcessorLogVO = new ListProcessorLogVO();
+        listProcessorLogVO.setList(jobInstanceLogs.stream().map(this::formatLogInstanceLog).collect(Collectors.toList()));
+        listProcessorLogVO.setTime(0L);
+        listProcessorLogVO.setComplete(CommonConstant.YES);
+        return listProcessorLogVO;
+    }
+
+    /**
+     * Convert page of job instances with job names.
+     *
+     * @param pageDTO pageDTO
+     * @return PageVO
+     */
+    private PageVO<ListJobInstanceVO> convertPage(PageDTO<JobInstance> pageDTO) {
+        // Job map
+        List<Long> jobIds = pageDTO.getList().stream().map(JobInstance::getJobId).distinct().collect(Collectors.toList());
+        Map<Long, Job> jobMap = this.jobDAO.getByIds(jobIds).stream().collect(Collectors.toMap(Job::getId, j -> j));
+        return PageUtil.convert(pageDTO, n -> {
+            ListJobInstanceVO listJobInstanceVO = BeanMapperUtil.map(n, ListJobInstanceVO.class);
+            Job job = jobMap.get(n.getJobId());
+            if (Objects.nonNull(job)) {
+                listJobInstanceVO.setJobName(job.getName());
+            }
+            return listJobInstanceVO;
+        });
+    }
+
+    /**
+     * Total of page list. The last page is exact, instances only filtered by namespace, status and time are counted by stats.
+     *
+     * @param instancePageDTO instancePageDTO
+     * @param pageDTO         pageDTO
+     * @return Long
+     */
+    private Long countTotal(JobInstancePageDTO instancePageDTO, PageDTO<JobInstance> pageDTO) {
+        long rows = (long) (instancePageDTO.getPage() - 1) * instancePageDTO.getSize() + pageDTO.getList().size();
+        if (Objects.isNull(pageDTO.getCursor())) {
+            return rows;
+        }
+
+        boolean statFilter = Objects.isNull(instancePageDTO.getId()) && Objects.isNull(instancePageDTO.getAppId())
+                && Objects.isNull(instancePageDTO.getJobId());
+        if (!statFilter) {
+            return this.jobInstanceDAO.countTotal(instancePageDTO);
+        }
+
+        // More rows after the page.
+        Long total = this.instanceStatDAO.countApproximate(InstanceStatTypeEnum.JOB.getType(), instancePageDTO.getNamespaceId(),
+                instancePageDTO.getBeginTime(), instancePageDTO.getEndTime(), instancePageDTO.getStatus());
+        return Math.max(total, rows + 1);
+    }
+
     private String formatLogInstanceLog(JobInstanceLog jobInstanceLog) {
         return String.format(
                 LogFormatUtil.LOG_FORMAT,
@@ -0,0 +1,213 @@
+package io.openjob.server.admin.tail;
+
+import io.openjob.common.constant.CommonConstant;
+import io.openjob.server.admin.util.LogFormatUtil;
+import io.openjob.server.admin.vo.part.TailProcessorLogVO;
+import io.openjob.server.log.dao.LogDAO;
+import io.openjob.server.log.dto.ProcessorLogDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Tail of a task, logs written by current node are pushed, and log storage is read only to catch up.
+ * Storage is read on start, after pushed logs overflow, and at idle ticks for logs written by other nodes or the end of task.
+ * Storage is read from its own cursor, so that logs of other nodes before pushed logs are still read, and pushed logs are not sent again.
+ * Ticks of a tail never overlap, the emitter is only sent by ticks.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Slf4j
+public class ProcessorLogTail implements Consumer<List<ProcessorLogDTO>> {
+
+    /**
+     * Event name of logs.
+     */
+    public static final String EVENT_NAME = "log";
+
+    private final String taskId;
+    private final List<String> headLines;
+    private final BooleanSupplier completed;
+    private final SseEmitter emitter;
+    private final LogDAO logDAO;
+    private final Integer pageSize;
+    private final Integer maxPending;
+    private final Integer storeTicks;
+
+    private final Queue<ProcessorLogDTO> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger(0);
+    private volatile boolean overflow;
+
+    /**
+     * Time of the last log sent.
+     */
+    private long time;
+
+    /**
+     * Time of the last log read from storage, pushed logs not after it have been sent.
+     */
+    private long storeTime;
+
+    /**
+     * Pushed logs sent after store time, skipped when read from storage.
+     */
+    private final Set<ProcessorLogDTO> pushedLogs = new HashSet<>();
+
+    /**
+     * Ticks without pushed logs, storage is read on start.
+     */
+    private int idleTicks;
+
+    /**
+     * New ProcessorLogTail
+     *
+     * @param taskId     task unique id
+     * @param time       time of the last log shown
+     * @param headLines  lines shown before processor logs
+     * @param completed  whether task is completed, logs are read once more after completed
+     * @param emitter    emitter
+     * @param logDAO     logDAO
+     * @param pageSize   logs of a storage read
+     * @param maxPending max pushed logs not sent, storage is read after overflow
+     * @param storeTicks idle ticks to read storage
+     */
+    public ProcessorLogTail(String taskId, Long time, List<String> headLines, BooleanSupplier completed, SseEmitter emitter,
+                            LogDAO logDAO, Integer pageSize, Integer maxPending, Integer storeTicks) {
+        this.taskId = taskId;
+        this.time = time;
+        this.storeTime = time;
+        this.headLines = headLines;
+        this.completed = completed;
+        this.emitter = emitter;
+        this.logDAO = logDAO;
+        this.pageSize = pageSize;
+        this.maxPending = maxPending;
+        this.storeTicks = storeTicks;
+        this.idleTicks = storeTicks;
+    }
+
+    @Override
+    public void accept(List<ProcessorLogDTO> logs) {
+        if (this.pendingCount.addAndGet(logs.size()) > this.maxPending) {
+            this.pendingCount.addAndGet(-logs.size());
+            this.overflow = true;
+            return;
+        }
+        this.pending.addAll(logs);
+    }
+
+    /**
+     * Tick
+     *
+     * @return true when tail is finished.
+     */
+    public boolean tick() {
+        try {
+            List<ProcessorLogDTO> logs = this.drain();
+            if (!this.headLines.isEmpty()) {
+                this.send(new ArrayList<>(this.headLines), CommonConstant.NO);
+                this.headLines.clear();
+            }
+
+            // Pushed logs
+            if (!logs.isEmpty() && !this.overflow) {
+                this.idleTicks = 0;
+                List<ProcessorLogDTO> pushed = logs.stream().filter(l -> l.getTime() > this.storeTime)
+                        .sorted(Comparator.comparing(ProcessorLogDTO::getTime))
+                        .collect(Collectors.toList());
+                this.pushedLogs.addAll(pushed);
+                this.sendLogs(pushed);
+
+                // Storage is read to release pushed logs.
+                this.overflow = this.pushedLogs.size() > this.maxPending;
+                return false;
+            }
+
+            if (!this.overflow && ++this.idleTicks < this.storeTicks) {
+                return false;
+            }
+
+            // Storage, status is checked first so that the last logs are read after completed.
+            this.idleTicks = 0;
+            this.overflow = false;
+            boolean complete = this.completed.getAsBoolean();
+            int read = this.readStore();
+            if (complete) {
+                this.send(new ArrayList<>(), CommonConstant.YES);
+                this.emitter.complete();
+                return true;
+            }
+
+            // Keep alive, broken connection is found by sending.
+            if (read == 0) {
+                this.emitter.send(SseEmitter.event().comment(""));
+            }
+            return false;
+        } catch (Throwable throwable) {
+            log.info("Processor log tail closed! taskId={} message={}", this.taskId, throwable.getMessage());
+            this.emitter.completeWithError(throwable);
+            return true;
+        }
+    }
+
+    private List<ProcessorLogDTO> drain() {
+        List<ProcessorLogDTO> logs = new ArrayList<>();
+        ProcessorLogDTO processorLog;
+        while ((processorLog = this.pending.poll()) != null) {
+            logs.add(processorLog);
+        }
+        this.pendingCount.addAndGet(-logs.size());
+        return logs;
+    }
+
+    private int readStore() throws Exception {
+        int read = 0;
+        List<ProcessorLogDTO> logs;
+        do {
+            logs = this.logDAO.queryByScroll(this.taskId, this.storeTime, this.pageSize);
+            read += logs.size();
+            if (!logs.isEmpty()) {
+                this.storeTime = logs.get(logs.size() - 1).getTime();
+            }
+            this.sendLogs(logs.stream().filter(l -> !this.pushedLogs.remove(l)).collect(Collectors.toList()));
+        } while (logs.size() >= this.pageSize);
+
+        // Pushed logs not after store time have been read.
+        this.pushedLogs.removeIf(l -> l.getTime() <= this.storeTime);
+        return read;
+    }
+
+    private void sendLogs(List<ProcessorLogDTO> logs) throws IOException {
+        if (logs.isEmpty()) {
+            return;
+        }
+
+        this.time = Math.max(this.time, logs.get(logs.size() - 1).getTime());
+        this.send(logs.stream().map(LogFormatUtil::formatLog).collect(Collectors.toList()), CommonConstant.NO);
+    }
+
+    private void send(List<String> lines, Integer complete) throws IOException {
+        TailProcessorLogVO tailProcessorLogVO = new TailProcessorLogVO();
+        tailProcessorLogVO.setList(lines);
+        tailProcessorLogVO.setTime(this.time);
+        tailProcessorLogVO.setComplete(complete);
+        this.emitter.send(SseEmitter.event().name(EVENT_NAME).data(tailProcessorLogVO));
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+}
@@ -0,0 +1,123 @@
+package io.openjob.server.admin.tail;
+
+import io.openjob.server.cluster.data.TaskLogTailTable;
+import io.openjob.server.log.dao.LogDAO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Stream processor logs of running tasks by server-sent events, instead of scroll queries polled by the admin UI.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+public class ProcessorLogTailer implements DisposableBean {
+
+    /**
+     * Tick interval(ms) to send pushed logs.
+     */
+    private static final Long TICK_INTERVAL = 500L;
+
+    /**
+     * Idle ticks to read storage, as 5 seconds.
+     */
+    private static final Integer STORE_TICKS = 10;
+
+    /**
+     * Logs of a storage read.
+     */
+    private static final Integer PAGE_SIZE = 200;
+
+    /**
+     * Max pushed logs not sent of a tail.
+     */
+    private static final Integer MAX_PENDING = 10000;
+
+    /**
+     * Tail timeout(ms), the UI tails again after timeout.
+     */
+    private static final Long TIMEOUT = TimeUnit.MINUTES.toMillis(30);
+
+    private final LogDAO logDAO;
+    private final TaskLogTailTable taskLogTailTable;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * New ProcessorLogTailer
+     *
+     * @param logDAO           logDAO
+     * @param taskLogTailTable taskLogTailTable
+     */
+    @Autowired
+    public ProcessorLogTailer(LogDAO logDAO, TaskLogTailTable taskLogTailTable) {
+        this.logDAO = logDAO;
+        this.taskLogTailTable = taskLogTailTable;
+
+        AtomicInteger index = new AtomicInteger(1);
+        this.executor = new ScheduledThreadPoolExecutor(2, r -> new Thread(r, "openjob-log-tail-" + index.getAndIncrement()));
+    }
+
+    /**
+     * Tail processor logs of task.
+     *
+     * @param taskId    task unique id
+     * @param time      time of the last log shown
+     * @param headLines lines shown before processor logs
+     * @param completed whether task is completed
+     * @return SseEmitter
+     */
+    public SseEmitter tail(String taskId, Long time, List<String> headLines, BooleanSupplier completed) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT);
+        ProcessorLogTail tail = new ProcessorLogTail(taskId, time, new ArrayList<>(headLines), completed, emitter,
+                this.logDAO, PAGE_SIZE, MAX_PENDING, STORE_TICKS);
+
+        // Subscribe before the first storage read, so that no logs are missed.
+        this.taskLogTailTable.subscribe(taskId, tail);
+        AtomicBoolean closed = new AtomicBoolean(false);
+        AtomicReference<ScheduledFuture<?>> future = new AtomicReference<>();
+        Runnable close = () -> {
+            if (closed.compareAndSet(false, true)) {
+                this.taskLogTailTable.unsubscribe(taskId, tail);
+            }
+            Optional.ofNullable(future.get()).ifPresent(f -> f.cancel(false));
+        };
+        emitter.onCompletion(close);
+        emitter.onTimeout(close);
+        emitter.onError(t -> close.run());
+
+        future.set(this.executor.scheduleWithFixedDelay(() -> {
+            if (tail.tick()) {
+                close.run();
+            }
+        }, 0L, TICK_INTERVAL, TimeUnit.MILLISECONDS));
+
+        // Closed before scheduled.
+        if (closed.get()) {
+            future.get().cancel(false);
+        }
+        log.info("Processor log tail started! taskId={} time={}", taskId, time);
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+}
@@ -0,0 +1,22 @@
+package io.openjob.server.admin.vo.job;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Data
+public class GetJobInstanceTaskCountVO {
+    @ApiModelProperty(value = "Task total")
+    private Long total;
+
+    @ApiModelProperty(value = "Task count by status")
+    private Map<Integer, Long> statusCount;
+
+    @ApiModelProperty(value = "Whether all tasks are archived in task file. 1=yes 2=no")
+    private Integer archived;
+}
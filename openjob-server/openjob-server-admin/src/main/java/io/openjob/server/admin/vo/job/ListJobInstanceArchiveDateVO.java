@@ -0,0 +1,16 @@
+package io.openjob.server.admin.vo.job;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Data
+public class ListJobInstanceArchiveDateVO {
+    @ApiModelProperty(value = "Archived dates, the latest first")
+    private List<Integer> list;
+}
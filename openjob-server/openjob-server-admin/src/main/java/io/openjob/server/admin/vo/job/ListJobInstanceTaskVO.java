@@ -0,0 +1,44 @@
+package io.openjob.server.admin.vo.job;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Data
+public class ListJobInstanceTaskVO {
+    @ApiModelProperty(value = "Job id")
+    private Long jobId;
+
+    @ApiModelProperty(value = "Job instance id")
+    private Long jobInstanceId;
+
+    @ApiModelProperty(value = "Circle id")
+    private Long circleId;
+
+    @ApiModelProperty(value = "Task id")
+    private String taskId;
+
+    @ApiModelProperty(value = "Parent task id")
+    private String parentTaskId;
+
+    @ApiModelProperty(value = "Task name")
+    private String taskName;
+
+    @ApiModelProperty(value = "Task status")
+    private Integer status;
+
+    @ApiModelProperty(value = "Task result")
+    private String result;
+
+    @ApiModelProperty(value = "Worker address")
+    private String workerAddress;
+
+    @ApiModelProperty(value = "Create time")
+    private Long createTime;
+
+    @ApiModelProperty(value = "Update time")
+    private Long updateTime;
+}
@@ -0,0 +1,22 @@
+package io.openjob.server.admin.vo.part;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Data
+public class TailProcessorLogVO {
+    @ApiModelProperty(value = "List")
+    private List<String> list;
+
+    @ApiModelProperty(value = "Time")
+    private Long time;
+
+    @ApiModelProperty(value = "Load complete")
+    private Integer complete;
+}
@@ -0,0 +1,196 @@
+package io.openjob.server.admin.tail;
+
+import io.openjob.common.constant.CommonConstant;
+import io.openjob.common.constant.LogFieldConstant;
+import io.openjob.server.admin.vo.part.TailProcessorLogVO;
+import io.openjob.server.common.dto.PageDTO;
+import io.openjob.server.log.dao.LogDAO;
+import io.openjob.server.log.dto.ProcessorLogDTO;
+import io.openjob.server.log.dto.ProcessorLogFieldDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class ProcessorLogTailTest {
+    private static final String TASK_ID = "taskId";
+
+    @Test
+    public void testPushedWithoutStoreReads() {
+        StoreLogDAO logDAO = new StoreLogDAO(this.newLog(1L), this.newLog(2L));
+        RecordEmitter emitter = new RecordEmitter();
+        ProcessorLogTail tail = new ProcessorLogTail(TASK_ID, 0L, new ArrayList<>(Collections.singletonList("head")), () -> false,
+                emitter, logDAO, 10, 100, 3);
+
+        // History is read from storage on start.
+        Assertions.assertFalse(tail.tick());
+        Assertions.assertEquals(1, logDAO.reads);
+        Assertions.assertEquals(Arrays.asList(1, 2), emitter.sizes());
+        Assertions.assertEquals(2L, emitter.last().getTime());
+
+        // Pushed logs are sent without reads, logs read from storage are not sent again.
+        tail.accept(Arrays.asList(this.newLog(4L), this.newLog(2L), this.newLog(3L)));
+        Assertions.assertFalse(tail.tick());
+        Assertions.assertEquals(1, logDAO.reads);
+        Assertions.assertEquals(2, emitter.last().getList().size());
+        Assertions.assertEquals(4L, emitter.last().getTime());
+
+        // Storage is read at idle ticks.
+        Assertions.assertFalse(tail.tick());
+        Assertions.assertFalse(tail.tick());
+        Assertions.assertEquals(1, logDAO.reads);
+        Assertions.assertFalse(tail.tick());
+        Assertions.assertEquals(2, logDAO.reads);
+        Assertions.assertEquals(1, emitter.comments);
+    }
+
+    @Test
+    public void testStoreReadBeforePushed() {
+        StoreLogDAO logDAO = new StoreLogDAO(this.newLog(1L));
+        RecordEmitter emitter = new RecordEmitter();
+        ProcessorLogTail tail = new ProcessorLogTail(TASK_ID, 0L, new ArrayList<>(), () -> false, emitter, logDAO, 10, 100, 2);
+        Assertions.assertFalse(tail.tick());
+
+        // Log of another node is stored after a later log is pushed.
+        ProcessorLogDTO pushed = this.newLog(3L);
+        tail.accept(Collections.singletonList(pushed));
+        Assertions.assertFalse(tail.tick());
+        logDAO.logs.add(this.newLog(2L));
+        logDAO.logs.add(pushed);
+
+        // Storage is read from its own cursor, pushed log is not sent again.
+        Assertions.assertFalse(tail.tick());
+        Assertions.assertFalse(tail.tick());
+        Assertions.assertEquals(2, logDAO.reads);
+        Assertions.assertEquals(Arrays.asList(1, 1, 1), emitter.sizes());
+        Assertions.assertTrue(emitter.last().getList().get(0).endsWith(": message2"));
+        Assertions.assertEquals(3L, emitter.last().getTime());
+    }
+
+    @Test
+    public void testCompleted() {
+        StoreLogDAO logDAO = new StoreLogDAO();
+        RecordEmitter emitter = new RecordEmitter();
+        AtomicBoolean completed = new AtomicBoolean(false);
+        ProcessorLogTail tail = new ProcessorLogTail(TASK_ID, 0L, new ArrayList<>(), completed::get, emitter, logDAO, 10, 100, 1);
+        Assertions.assertFalse(tail.tick());
+
+        // The last logs are read after completed.
+        completed.set(true);
+        logDAO.logs.add(this.newLog(5L));
+        Assertions.assertTrue(tail.tick());
+        Assertions.assertEquals(Arrays.asList(1, 0), emitter.sizes());
+        Assertions.assertEquals(CommonConstant.YES, emitter.last().getComplete());
+        Assertions.assertEquals(5L, emitter.last().getTime());
+    }
+
+    @Test
+    public void testOverflow() {
+        StoreLogDAO logDAO = new StoreLogDAO();
+        RecordEmitter emitter = new RecordEmitter();
+        ProcessorLogTail tail = new ProcessorLogTail(TASK_ID, 0L, new ArrayList<>(), () -> false, emitter, logDAO, 2, 2, 100);
+        Assertions.assertFalse(tail.tick());
+        Assertions.assertEquals(1, logDAO.reads);
+
+        // Pushed logs over max pending are read from storage by pages.
+        List<ProcessorLogDTO> logs = Arrays.asList(this.newLog(1L), this.newLog(2L), this.newLog(3L));
+        logDAO.logs.addAll(logs);
+        tail.accept(logs);
+        Assertions.assertFalse(tail.tick());
+        Assertions.assertEquals(3, logDAO.reads);
+        Assertions.assertEquals(Arrays.asList(2, 1), emitter.sizes());
+        Assertions.assertEquals(3L, emitter.last().getTime());
+    }
+
+    private ProcessorLogDTO newLog(Long time) {
+        ProcessorLogDTO processorLogDTO = new ProcessorLogDTO();
+        processorLogDTO.setTaskId(TASK_ID);
+        processorLogDTO.setTime(time);
+        processorLogDTO.setWorkerAddress("127.0.0.1:25588");
+        processorLogDTO.setFields(Arrays.asList(new ProcessorLogFieldDTO(LogFieldConstant.MESSAGE, "message" + time),
+                new ProcessorLogFieldDTO(LogFieldConstant.LEVEL, "INFO"), new ProcessorLogFieldDTO(LogFieldConstant.TIME_STAMP, String.valueOf(time)),
+                new ProcessorLogFieldDTO(LogFieldConstant.LOCATION, "io.openjob.worker.samples.processor.JavaProcessorSample.process(JavaProcessorSample.java:25)")));
+        return processorLogDTO;
+    }
+
+    private static class RecordEmitter extends SseEmitter {
+        private final List<TailProcessorLogVO> events = new ArrayList<>();
+        private int comments;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            List<Object> data = builder.build().stream().map(d -> d.getData())
+                    .filter(d -> d instanceof TailProcessorLogVO)
+                    .collect(Collectors.toList());
+            if (data.isEmpty()) {
+                this.comments++;
+                return;
+            }
+            data.forEach(d -> this.events.add((TailProcessorLogVO) d));
+        }
+
+        @Override
+        public synchronized void complete() {
+
+        }
+
+        private List<Integer> sizes() {
+            return this.events.stream().map(e -> e.getList().size()).collect(Collectors.toList());
+        }
+
+        private TailProcessorLogVO last() {
+            return this.events.get(this.events.size() - 1);
+        }
+    }
+
+    private static class StoreLogDAO implements LogDAO {
+        private final List<ProcessorLogDTO> logs;
+        private int reads;
+
+        private StoreLogDAO(ProcessorLogDTO... logs) {
+            this.logs = new ArrayList<>(Arrays.asList(logs));
+        }
+
+        @Override
+        public void batchAdd(List<ProcessorLogDTO> jobInstanceTaskLogs) {
+            this.logs.addAll(jobInstanceTaskLogs);
+        }
+
+        @Override
+        public List<ProcessorLogDTO> queryByScroll(String taskUniqueId, Long time, Integer size) {
+            this.reads++;
+            return this.logs.stream().filter(l -> l.getTime() > time).limit(size).collect(Collectors.toList());
+        }
+
+        @Override
+        public PageDTO<ProcessorLogDTO> queryByPageSize(String taskUniqueId, String searchKey, Integer page, Integer size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ProcessorLogDTO> queryBySearch(String taskUniqueId, String searchKey, Long time, Integer size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteByLastTime(Long lastTime) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Integer deleteByLastTime(Long lastTime, Integer size) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
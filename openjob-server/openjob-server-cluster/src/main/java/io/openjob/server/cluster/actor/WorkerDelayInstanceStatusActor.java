@@ -1,6 +1,7 @@
 package io.openjob.server.cluster.actor;
 
 import io.openjob.common.actor.BaseActor;
+import io.openjob.common.actor.DeliveryAckTracker;
 import io.openjob.common.request.WorkerDelayStatusRequest;
 import io.openjob.common.response.Result;
 import io.openjob.common.response.ServerResponse;
@@ -43,7 +44,7 @@ public class WorkerDelayInstanceStatusActor extends BaseActor {
     public void handleDelayStatus(WorkerDelayStatusRequest statusRequest) {
         this.workerDelayService.handleDelayStatus(statusRequest);
 
-        ServerResponse serverResponse = new ServerResponse(statusRequest.getDeliveryId());
+        ServerResponse serverResponse = new ServerResponse(statusRequest.getDeliveryId(), DeliveryAckTracker.ack(getSender(), statusRequest.getDeliveryId()));
         getSender().tell(Result.success(serverResponse), getSelf());
     }
 }
@@ -1,6 +1,7 @@
 package io.openjob.server.cluster.actor;
 
 import io.openjob.common.actor.BaseActor;
+import io.openjob.common.actor.DeliveryAckTracker;
 import io.openjob.common.request.WorkerJobInstanceLogRequest;
 import io.openjob.common.request.WorkerJobInstanceStatusRequest;
 import io.openjob.common.response.Result;
@@ -45,7 +46,7 @@ public class WorkerJobInstanceActor extends BaseActor {
         this.instanceService.handleInstanceStatus(statusRequest);
 
         // Response
-        ServerResponse serverResponse = new ServerResponse(statusRequest.getDeliveryId());
+        ServerResponse serverResponse = new ServerResponse(statusRequest.getDeliveryId(), DeliveryAckTracker.ack(getSender(), statusRequest.getDeliveryId()));
         getSender().tell(Result.success(serverResponse), getSelf());
     }
 
@@ -4,6 +4,7 @@ import io.openjob.common.actor.BaseActor;
 import io.openjob.common.request.WorkerJobInstanceTaskLogRequest;
 import io.openjob.common.response.Result;
 import io.openjob.common.response.ServerResponse;
+import io.openjob.common.util.LogFieldUtil;
 import io.openjob.server.cluster.service.JobInstanceTaskLogService;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +12,8 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import java.util.Objects;
+
 /**
  * @author stelin swoft@qq.com
  * @since 1.0.0
@@ -34,8 +37,28 @@ public class WorkerJobInstanceTaskLogActor extends BaseActor {
                 .build();
     }
 
+    /**
+     * Handle log, encoded lines are decoded in bulk before acknowledged, and rejected when log buffer is full.
+     *
+     * @param logRequest log request
+     */
     public void handleLog(WorkerJobInstanceTaskLogRequest logRequest) {
-        this.jobInstanceTaskLogService.handleInstanceTaskLog(logRequest);
+        if (Objects.nonNull(logRequest.getContent())) {
+            try {
+                logRequest.setFieldList(LogFieldUtil.decodeFields(logRequest.getContent()));
+                logRequest.setContent(null);
+            } catch (Throwable throwable) {
+                log.error("Decode task log failed!", throwable);
+                getSender().tell(Result.fail(throwable.getMessage()), getSelf());
+                return;
+            }
+        }
+
+        // Worker retries later or on other servers, when log storage lags.
+        if (!this.jobInstanceTaskLogService.handleInstanceTaskLog(logRequest)) {
+            getSender().tell(Result.fail("Task log buffer is full!"), getSelf());
+            return;
+        }
         getSender().tell(Result.success(new ServerResponse()), getSelf());
     }
 }
@@ -1,8 +1,13 @@
 package io.openjob.server.cluster.autoconfigure;
 
+import io.openjob.server.cluster.constant.TaskStorageEnum;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.io.File;
+
 /**
  * @author stelin swoft@qq.com
  * @since 1.0.0
@@ -16,6 +21,26 @@ public class ClusterProperties {
      */
     private ClusterProperties.Worker worker = new ClusterProperties.Worker();
 
+    /**
+     * Job instance task.
+     */
+    private ClusterProperties.Task task = new ClusterProperties.Task();
+
+    /**
+     * Batch of job instance status consumer.
+     */
+    private ClusterProperties.Batch jobInstanceBatch = new ClusterProperties.Batch(50, 1000L, 0L);
+
+    /**
+     * Batch of task log consumer.
+     */
+    private ClusterProperties.Batch taskLogBatch = new ClusterProperties.Batch(50, 1000L, 4 * 1024 * 1024L);
+
+    /**
+     * Max task log lines accepted and not written, workers are asked to retry when full.
+     */
+    private Integer taskLogBufferSize = 100000;
+
     /**
      * Ping timeout(ms).
      */
@@ -63,5 +88,55 @@ public class ClusterProperties {
          * Worker offline period(s).
          */
         private Integer offlinePeriod = 20;
+
+        /**
+         * Heartbeats in memory are flushed to database every period(s).
+         */
+        private Integer heartbeatFlushPeriod = 5;
+
+        /**
+         * Pending heartbeats, one for each worker, the oldest is dropped when full.
+         */
+        private Integer heartbeatQueueSize = 10240;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Batch {
+
+        /**
+         * Max requests of batch.
+         */
+        private Integer maxSize;
+
+        /**
+         * Max linger time(ms) of batch, a batch is consumed at once when idle.
+         */
+        private Long maxLinger;
+
+        /**
+         * Max bytes of batch, not limited when not positive.
+         */
+        private Long maxBytes;
+    }
+
+    @Data
+    public static class Task {
+
+        /**
+         * Task storage: detail or aggregate.
+         */
+        private String storage = TaskStorageEnum.DETAIL.getStorage();
+
+        /**
+         * Whether to archive all tasks into compressed file in aggregate storage.
+         */
+        private Boolean fileEnable = false;
+
+        /**
+         * Task file directory, should be shared by all server nodes.
+         */
+        private String fileDir = System.getProperty("java.io.tmpdir") + File.separator + "openjob" + File.separator + "task";
     }
 }
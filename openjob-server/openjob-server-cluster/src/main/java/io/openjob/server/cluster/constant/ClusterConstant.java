@@ -10,4 +10,49 @@ public class ClusterConstant {
      * Worker check delay(ms)
      */
     public static final long WORKER_CHECK_DELAY = 20000L;
+
+    /**
+     * Heartbeat flush check delay(ms)
+     */
+    public static final long HEARTBEAT_FLUSH_DELAY = 1000L;
+
+    /**
+     * Pending worker heartbeats.
+     */
+    public static final String METRIC_HEARTBEAT_QUEUE_SIZE = "openjob.server.heartbeat.queue.size";
+
+    /**
+     * Worker heartbeats dropped when queue is full.
+     */
+    public static final String METRIC_HEARTBEAT_DROPPED = "openjob.server.heartbeat.dropped";
+
+    /**
+     * Worker heartbeats replaced by newer ones of the same worker.
+     */
+    public static final String METRIC_HEARTBEAT_COALESCED = "openjob.server.heartbeat.coalesced";
+
+    /**
+     * Job logs dropped by workers reported to current node.
+     */
+    public static final String METRIC_WORKER_LOG_DROPPED = "openjob.server.worker.log.dropped";
+
+    /**
+     * Task log lines accepted and not written.
+     */
+    public static final String METRIC_TASK_LOG_BUFFERED = "openjob.server.task.log.buffered";
+
+    /**
+     * Task log lines written to log storage.
+     */
+    public static final String METRIC_TASK_LOG_WRITTEN = "openjob.server.task.log.written";
+
+    /**
+     * Task log lines accepted and failed to write.
+     */
+    public static final String METRIC_TASK_LOG_DROPPED = "openjob.server.task.log.dropped";
+
+    /**
+     * Task log lines rejected when buffer is full, workers retry them.
+     */
+    public static final String METRIC_TASK_LOG_REJECTED = "openjob.server.task.log.rejected";
 }
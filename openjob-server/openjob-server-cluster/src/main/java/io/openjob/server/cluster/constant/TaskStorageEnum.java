@@ -0,0 +1,39 @@
+package io.openjob.server.cluster.constant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Getter
+@AllArgsConstructor
+public enum TaskStorageEnum {
+
+    /**
+     * All tasks are saved.
+     */
+    DETAIL("detail"),
+
+    /**
+     * Only status count and failed tasks are saved.
+     */
+    AGGREGATE("aggregate"),
+    ;
+
+    /**
+     * Storage
+     */
+    private final String storage;
+
+    /**
+     * Whether is aggregate storage.
+     *
+     * @param storage storage
+     * @return Boolean
+     */
+    public static Boolean isAggregate(String storage) {
+        return AGGREGATE.storage.equals(storage);
+    }
+}
@@ -0,0 +1,84 @@
+package io.openjob.server.cluster.data;
+
+import io.openjob.server.log.dto.ProcessorLogDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In memory table of task logs tailed on current node.
+ * Logs written by current node are pushed to tails of the task, logs written by other nodes are read from log storage by tails.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+public class TaskLogTailTable {
+
+    /**
+     * Tails of tasks.
+     * Key is task unique id.
+     */
+    private final Map<String, Set<Consumer<List<ProcessorLogDTO>>>> tails = new ConcurrentHashMap<>();
+
+    /**
+     * Subscribe logs of task, tail must not block.
+     *
+     * @param taskId task unique id
+     * @param tail   tail
+     */
+    public void subscribe(String taskId, Consumer<List<ProcessorLogDTO>> tail) {
+        this.tails.computeIfAbsent(taskId, k -> new CopyOnWriteArraySet<>()).add(tail);
+    }
+
+    /**
+     * Unsubscribe logs of task.
+     *
+     * @param taskId task unique id
+     * @param tail   tail
+     */
+    public void unsubscribe(String taskId, Consumer<List<ProcessorLogDTO>> tail) {
+        this.tails.computeIfPresent(taskId, (k, v) -> {
+            v.remove(tail);
+            return v.isEmpty() ? null : v;
+        });
+    }
+
+    /**
+     * Publish logs written.
+     *
+     * @param logs logs
+     */
+    public void publish(List<ProcessorLogDTO> logs) {
+        if (this.tails.isEmpty()) {
+            return;
+        }
+
+        logs.stream().filter(l -> this.tails.containsKey(l.getTaskId()))
+                .collect(Collectors.groupingBy(ProcessorLogDTO::getTaskId))
+                .forEach((taskId, taskLogs) -> this.tails.getOrDefault(taskId, ConcurrentHashMap.newKeySet()).forEach(t -> {
+                    try {
+                        t.accept(taskLogs);
+                    } catch (Throwable throwable) {
+                        log.error("Task log tail failed! taskId={}", taskId, throwable);
+                    }
+                }));
+    }
+
+    /**
+     * Tasks tailed.
+     *
+     * @return int
+     */
+    public int size() {
+        return this.tails.size();
+    }
+}
@@ -0,0 +1,139 @@
+package io.openjob.server.cluster.data;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In memory heartbeat table of workers reported to current node.
+ * Heartbeats of a worker are coalesced to the latest one until they are drained to flush.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Component
+public class WorkerHeartbeatTable {
+
+    /**
+     * Latest heartbeat time(s) of workers.
+     * Key is worker address.
+     */
+    private final Map<String, Long> heartbeats = new ConcurrentHashMap<>();
+
+    /**
+     * Heartbeat time(s) of workers not flushed.
+     * Key is worker address.
+     */
+    private final Map<String, Long> dirtyWorkers = new ConcurrentHashMap<>();
+
+    /**
+     * Report time(s) of running job instances not flushed.
+     * Key is job instance id.
+     */
+    private final Map<Long, Long> dirtyInstances = new ConcurrentHashMap<>();
+
+    /**
+     * Record worker heartbeat.
+     *
+     * @param address worker address
+     * @param time    heartbeat time(s)
+     */
+    public void recordWorker(String address, Long time) {
+        this.heartbeats.merge(address, time, Math::max);
+        this.dirtyWorkers.merge(address, time, Math::max);
+    }
+
+    /**
+     * Record running job instance.
+     *
+     * @param instanceId job instance id
+     * @param time       report time(s)
+     */
+    public void recordInstance(Long instanceId, Long time) {
+        this.dirtyInstances.merge(instanceId, time, Math::max);
+    }
+
+    /**
+     * Latest heartbeat time of worker.
+     *
+     * @param address worker address
+     * @return Long, null when not reported to current node.
+     */
+    public Long getLastHeartbeatTime(String address) {
+        return this.heartbeats.get(address);
+    }
+
+    /**
+     * Latest heartbeat time from memory or database.
+     *
+     * @param address       worker address
+     * @param persistedTime heartbeat time in database
+     * @return Long
+     */
+    public Long getLastHeartbeatTime(String address, Long persistedTime) {
+        Long time = this.heartbeats.get(address);
+        if (Objects.isNull(time)) {
+            return persistedTime;
+        }
+        return Objects.isNull(persistedTime) ? time : Math.max(time, persistedTime);
+    }
+
+    /**
+     * Drain workers not flushed.
+     *
+     * @return Map
+     */
+    public Map<String, Long> drainWorkers() {
+        return drain(this.dirtyWorkers);
+    }
+
+    /**
+     * Drain job instances not flushed.
+     *
+     * @return Map
+     */
+    public Map<Long, Long> drainInstances() {
+        return drain(this.dirtyInstances);
+    }
+
+    /**
+     * Put back drained workers when flush failed, newer heartbeats are kept.
+     *
+     * @param workers workers
+     */
+    public void restoreWorkers(Map<String, Long> workers) {
+        workers.forEach((k, v) -> this.dirtyWorkers.merge(k, v, Math::max));
+    }
+
+    /**
+     * Put back drained job instances when flush failed, newer reports are kept.
+     *
+     * @param instances instances
+     */
+    public void restoreInstances(Map<Long, Long> instances) {
+        instances.forEach((k, v) -> this.dirtyInstances.merge(k, v, Math::max));
+    }
+
+    /**
+     * Remove heartbeats older than time.
+     *
+     * @param time time(s)
+     */
+    public void expire(Long time) {
+        this.heartbeats.values().removeIf(t -> t < time);
+    }
+
+    private static <K> Map<K, Long> drain(Map<K, Long> dirty) {
+        Map<K, Long> drained = new HashMap<>(dirty.size());
+        for (K key : dirty.keySet()) {
+            Long time = dirty.remove(key);
+            if (Objects.nonNull(time)) {
+                drained.put(key, time);
+            }
+        }
+        return drained;
+    }
+}
@@ -1,25 +1,45 @@
 package io.openjob.server.cluster.executor;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
 import io.openjob.common.request.WorkerHeartbeatRequest;
-import io.openjob.common.task.TaskQueue;
+import io.openjob.common.task.CoalescingTaskQueue;
+import io.openjob.server.cluster.autoconfigure.ClusterProperties;
+import io.openjob.server.cluster.constant.ClusterConstant;
 import io.openjob.server.cluster.task.WorkerHeartConsumer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
+ * Heartbeats are submitted from actor threads, so that submit never blocks.
+ * Pending heartbeats of a worker are coalesced, and the oldest are dropped when full.
+ *
  * @author stelin swoft@qq.com
  * @since 1.0.3
  */
 @Slf4j
 @Component
 public class WorkerHeartbeatExecutor {
-    private final TaskQueue<WorkerHeartbeatRequest> queue;
+    private final CoalescingTaskQueue<WorkerHeartbeatRequest> queue;
 
     /**
      * New
+     *
+     * @param clusterProperties clusterProperties
      */
-    public WorkerHeartbeatExecutor() {
-        this.queue = new TaskQueue<>(0L, 64);
+    @Autowired
+    public WorkerHeartbeatExecutor(ClusterProperties clusterProperties) {
+        this.queue = new CoalescingTaskQueue<>(0L, clusterProperties.getWorker().getHeartbeatQueueSize(), WorkerHeartbeatRequest::getAddress);
+
+        // Metrics
+        Gauge.builder(ClusterConstant.METRIC_HEARTBEAT_QUEUE_SIZE, this.queue, q -> q.size())
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder(ClusterConstant.METRIC_HEARTBEAT_DROPPED, this.queue, CoalescingTaskQueue::getDroppedCount)
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder(ClusterConstant.METRIC_HEARTBEAT_COALESCED, this.queue, CoalescingTaskQueue::getCoalescedCount)
+                .register(Metrics.globalRegistry);
 
         //Consumer
         WorkerHeartConsumer consumer = new WorkerHeartConsumer(
@@ -35,15 +55,33 @@ public class WorkerHeartbeatExecutor {
     }
 
     /**
-     * Submit request
+     * Submit request without blocking.
      *
      * @param request request
      */
     public void submit(WorkerHeartbeatRequest request) {
-        try {
-            this.queue.submit(request);
-        } catch (InterruptedException e) {
-            log.error("Worker heartbeat submit failed!", e);
+        long dropped = this.queue.getDroppedCount();
+        this.queue.submit(request);
+        if (this.queue.getDroppedCount() > dropped) {
+            log.warn("Worker heartbeat queue is full, the oldest is dropped! capacity={}", this.queue.getCapacity());
         }
     }
+
+    /**
+     * Pending heartbeats.
+     *
+     * @return Integer
+     */
+    public Integer size() {
+        return this.queue.size();
+    }
+
+    /**
+     * Dropped heartbeats.
+     *
+     * @return long
+     */
+    public long getDroppedCount() {
+        return this.queue.getDroppedCount();
+    }
 }
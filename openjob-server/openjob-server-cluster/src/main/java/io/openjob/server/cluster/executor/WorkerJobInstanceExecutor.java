@@ -1,9 +1,12 @@
 package io.openjob.server.cluster.executor;
 
 import io.openjob.common.request.WorkerJobInstanceStatusRequest;
+import io.openjob.common.task.BatchPolicy;
 import io.openjob.common.task.TaskQueue;
+import io.openjob.server.cluster.autoconfigure.ClusterProperties;
 import io.openjob.server.cluster.task.WorkerJobInstanceConsumer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
@@ -17,8 +20,12 @@ public class WorkerJobInstanceExecutor {
 
     /**
      * New
+     *
+     * @param clusterProperties clusterProperties
      */
-    public WorkerJobInstanceExecutor() {
+    @Autowired
+    public WorkerJobInstanceExecutor(ClusterProperties clusterProperties) {
+        ClusterProperties.Batch batch = clusterProperties.getJobInstanceBatch();
         this.queue = new TaskQueue<>(0L, 1024);
 
         //Consumer
@@ -27,10 +34,11 @@ public class WorkerJobInstanceExecutor {
                 1,
                 32,
                 "Openjob-heartbeat-executor",
-                50,
+                batch.getMaxSize(),
                 "Openjob-heartbeat-consumer",
                 this.queue
         );
+        consumer.setBatchPolicy(BatchPolicy.of(batch.getMaxSize(), batch.getMaxLinger()));
         consumer.start();
     }
 
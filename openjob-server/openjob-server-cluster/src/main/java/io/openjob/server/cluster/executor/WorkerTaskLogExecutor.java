@@ -1,49 +1,181 @@
 package io.openjob.server.cluster.executor;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.openjob.common.OpenjobSpringContext;
 import io.openjob.common.request.WorkerJobInstanceTaskLogRequest;
+import io.openjob.common.task.BatchPolicy;
 import io.openjob.common.task.TaskQueue;
+import io.openjob.common.util.LogFieldUtil;
+import io.openjob.server.cluster.autoconfigure.ClusterProperties;
+import io.openjob.server.cluster.constant.ClusterConstant;
+import io.openjob.server.cluster.service.JobInstanceTaskLogService;
 import io.openjob.server.cluster.task.WorkerTaskLogConsumer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
 /**
+ * Write-behind buffer of task logs.
+ * Log batches of all workers are merged by size and linger time, and written by a single writer,
+ * so that log storage sees a few large transactions instead of one for each worker batch.
+ * Lines accepted and not written are bounded, batches over the bound are rejected without blocking actor threads,
+ * and workers retry them later or on other servers.
+ *
  * @author stelin swoft@qq.com
  * @since 1.0.3
  */
 @Slf4j
 @Component
 public class WorkerTaskLogExecutor {
+
+    /**
+     * Max worker batches in queue.
+     */
+    private static final int QUEUE_CAPACITY = 4096;
+
     private final TaskQueue<WorkerJobInstanceTaskLogRequest> queue;
+    private final WorkerTaskLogConsumer consumer;
+    private final Consumer<List<WorkerJobInstanceTaskLogRequest>> writer;
+    private final long bufferSize;
+
+    private final AtomicLong bufferedCount = new AtomicLong(0);
+    private final AtomicLong writtenCount = new AtomicLong(0);
+    private final AtomicLong droppedCount = new AtomicLong(0);
+    private final AtomicLong rejectedCount = new AtomicLong(0);
+
+    /**
+     * New
+     *
+     * @param clusterProperties clusterProperties
+     */
+    @Autowired
+    public WorkerTaskLogExecutor(ClusterProperties clusterProperties) {
+        this(clusterProperties, r -> OpenjobSpringContext.getBean(JobInstanceTaskLogService.class).batchInstanceTaskLog(r));
+    }
 
     /**
      * New
+     *
+     * @param clusterProperties clusterProperties
+     * @param writer            writer of merged batch
      */
-    public WorkerTaskLogExecutor() {
-        this.queue = new TaskQueue<>(0L, 64);
+    public WorkerTaskLogExecutor(ClusterProperties clusterProperties, Consumer<List<WorkerJobInstanceTaskLogRequest>> writer) {
+        ClusterProperties.Batch batch = clusterProperties.getTaskLogBatch();
+        this.queue = new TaskQueue<>(0L, QUEUE_CAPACITY);
+        this.writer = writer;
+        this.bufferSize = clusterProperties.getTaskLogBufferSize();
+
+        // Metrics
+        Gauge.builder(ClusterConstant.METRIC_TASK_LOG_BUFFERED, this.bufferedCount, AtomicLong::get)
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder(ClusterConstant.METRIC_TASK_LOG_WRITTEN, this.writtenCount, AtomicLong::get)
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder(ClusterConstant.METRIC_TASK_LOG_DROPPED, this.droppedCount, AtomicLong::get)
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder(ClusterConstant.METRIC_TASK_LOG_REJECTED, this.rejectedCount, AtomicLong::get)
+                .register(Metrics.globalRegistry);
 
-        // Consumer
-        WorkerTaskLogConsumer consumer = new WorkerTaskLogConsumer(
+        // Consumer, a single writer keeps one connection busy at most.
+        this.consumer = new WorkerTaskLogConsumer(
                 0L,
                 1,
-                32,
+                1,
                 "Openjob-log-executor",
-                50,
+                batch.getMaxSize(),
                 "Openjob-log-consumer",
-                this.queue
+                this.queue,
+                this::write
         );
-        consumer.start();
+        this.consumer.setBatchPolicy(new BatchPolicy<>(batch.getMaxSize(), batch.getMaxLinger(), batch.getMaxBytes(),
+                r -> Objects.isNull(r.getFieldList()) ? 0L : r.getFieldList().stream().mapToLong(LogFieldUtil::fieldSize).sum()));
+        this.consumer.start();
     }
 
     /**
-     * Submit request
+     * Submit request without blocking.
      *
      * @param request request
+     * @return false when buffer is full, request should be retried by worker.
+     */
+    public boolean submit(WorkerJobInstanceTaskLogRequest request) {
+        // A batch larger than buffer is accepted when buffer is empty.
+        long lines = getLines(request);
+        long buffered = this.bufferedCount.addAndGet(lines);
+        boolean full = buffered > this.bufferSize && buffered > lines;
+        if (full || !this.queue.offer(request)) {
+            this.bufferedCount.addAndGet(-lines);
+            this.rejectedCount.addAndGet(lines);
+            log.warn("Worker task log buffer is full! lines={} buffered={} bufferSize={}", lines, this.bufferedCount.get(), this.bufferSize);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stop
+     */
+    public void stop() {
+        this.consumer.stop();
+    }
+
+    /**
+     * Lines accepted and not written.
+     *
+     * @return long
+     */
+    public long getBufferedCount() {
+        return this.bufferedCount.get();
+    }
+
+    /**
+     * Lines written since started.
+     *
+     * @return long
+     */
+    public long getWrittenCount() {
+        return this.writtenCount.get();
+    }
+
+    /**
+     * Lines failed to write since started.
+     *
+     * @return long
      */
-    public void submit(WorkerJobInstanceTaskLogRequest request) {
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    /**
+     * Lines rejected when buffer is full since started.
+     *
+     * @return long
+     */
+    public long getRejectedCount() {
+        return this.rejectedCount.get();
+    }
+
+    private void write(List<WorkerJobInstanceTaskLogRequest> requests) {
+        long lines = requests.stream().mapToLong(WorkerTaskLogExecutor::getLines).sum();
         try {
-            this.queue.submit(request);
-        } catch (InterruptedException e) {
-            log.error("Worker task log submit failed!", e);
+            this.writer.accept(requests);
+            this.writtenCount.addAndGet(lines);
+        } catch (Throwable throwable) {
+            // Batches have been acknowledged to workers.
+            this.droppedCount.addAndGet(lines);
+            log.error("Worker task log dropped! lines={}", lines, throwable);
+        } finally {
+            this.bufferedCount.addAndGet(-lines);
         }
     }
+
+    private static long getLines(WorkerJobInstanceTaskLogRequest request) {
+        return Objects.isNull(request.getFieldList()) ? 0L : request.getFieldList().size();
+    }
 }
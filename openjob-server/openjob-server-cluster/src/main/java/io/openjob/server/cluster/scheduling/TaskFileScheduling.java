@@ -0,0 +1,45 @@
+package io.openjob.server.cluster.scheduling;
+
+import io.openjob.common.util.DateUtil;
+import io.openjob.server.cluster.autoconfigure.ClusterProperties;
+import io.openjob.server.cluster.storage.TaskFileStorage;
+import io.openjob.server.common.ClusterContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+public class TaskFileScheduling {
+    private final TaskFileStorage taskFileStorage;
+    private final ClusterProperties clusterProperties;
+
+    @Autowired
+    public TaskFileScheduling(TaskFileStorage taskFileStorage, ClusterProperties clusterProperties) {
+        this.taskFileStorage = taskFileStorage;
+        this.clusterProperties = clusterProperties;
+    }
+
+    /**
+     * Task files are kept as long as job instances.
+     */
+    @Scheduled(initialDelay = 60000L, fixedDelay = 3600000L)
+    public void clearTaskFile() {
+        if (!this.clusterProperties.getTask().getFileEnable()) {
+            return;
+        }
+
+        try {
+            long keepSeconds = 60 * 60 * 24L * ClusterContext.getSystem().getJobKeepDays();
+            Integer count = this.taskFileStorage.deleteByLastTime(DateUtil.timestamp() - keepSeconds);
+            log.info("Task file clear success! count={}", count);
+        } catch (Throwable throwable) {
+            log.error("Task file clear failed!", throwable);
+        }
+    }
+}
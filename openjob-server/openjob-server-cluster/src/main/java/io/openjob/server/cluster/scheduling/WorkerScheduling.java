@@ -1,27 +1,66 @@
 package io.openjob.server.cluster.scheduling;
 
+import io.openjob.server.cluster.autoconfigure.ClusterProperties;
 import io.openjob.server.cluster.constant.ClusterConstant;
+import io.openjob.server.cluster.service.WorkerHeartbeatService;
 import io.openjob.server.cluster.service.WorkerService;
-import io.openjob.server.common.ClusterContext;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author stelin swoft@qq.com
  * @since 1.0.0
  */
+@Slf4j
 @Component
 public class WorkerScheduling {
     private final WorkerService workerService;
+    private final WorkerHeartbeatService workerHeartbeatService;
+    private final ClusterProperties clusterProperties;
+
+    /**
+     * Last heartbeat flush time(ms).
+     */
+    private long lastFlushTime = System.currentTimeMillis();
 
+    /**
+     * New WorkerScheduling
+     *
+     * @param workerService          workerService
+     * @param workerHeartbeatService workerHeartbeatService
+     * @param clusterProperties      clusterProperties
+     */
     @Autowired
-    public WorkerScheduling(WorkerService workerService) {
+    public WorkerScheduling(WorkerService workerService, WorkerHeartbeatService workerHeartbeatService, ClusterProperties clusterProperties) {
         this.workerService = workerService;
+        this.workerHeartbeatService = workerHeartbeatService;
+        this.clusterProperties = clusterProperties;
     }
 
     @Scheduled(initialDelay = 3000L, fixedDelay = ClusterConstant.WORKER_CHECK_DELAY)
     public void workerCheck() {
         this.workerService.workerCheck();
     }
+
+    /**
+     * Flush heartbeats in memory by configured period.
+     */
+    @Scheduled(initialDelay = 3000L, fixedDelay = ClusterConstant.HEARTBEAT_FLUSH_DELAY)
+    public void heartbeatFlush() {
+        long now = System.currentTimeMillis();
+        if (now - this.lastFlushTime < TimeUnit.SECONDS.toMillis(this.clusterProperties.getWorker().getHeartbeatFlushPeriod())) {
+            return;
+        }
+
+        this.lastFlushTime = now;
+        try {
+            this.workerHeartbeatService.flushHeartbeat();
+        } catch (Throwable throwable) {
+            log.error("Worker heartbeat flush failed!", throwable);
+        }
+    }
 }
@@ -3,19 +3,28 @@ package io.openjob.server.cluster.service;
 import io.openjob.common.constant.CommonConstant;
 import io.openjob.common.constant.FailStatusEnum;
 import io.openjob.common.constant.InstanceStatusEnum;
+import io.openjob.common.constant.TaskStatusEnum;
 import io.openjob.common.request.WorkerJobInstanceLogRequest;
 import io.openjob.common.request.WorkerJobInstanceStatusRequest;
+import io.openjob.common.request.WorkerJobInstanceTaskRequest;
+import io.openjob.common.util.CompressUtil;
 import io.openjob.common.util.DateUtil;
+import io.openjob.common.util.KryoUtil;
 import io.openjob.server.alarm.constant.AlarmEventEnum;
 import io.openjob.server.alarm.dto.AlarmEventDTO;
 import io.openjob.server.alarm.event.AlarmEvent;
 import io.openjob.server.alarm.event.AlarmEventPublisher;
+import io.openjob.server.cluster.autoconfigure.ClusterProperties;
+import io.openjob.server.cluster.constant.TaskStorageEnum;
 import io.openjob.server.cluster.executor.WorkerJobInstanceExecutor;
+import io.openjob.server.cluster.storage.TaskFileStorage;
 import io.openjob.server.repository.dao.JobInstanceDAO;
 import io.openjob.server.repository.dao.JobInstanceLogDAO;
+import io.openjob.server.repository.dao.JobInstanceTaskCountDAO;
 import io.openjob.server.repository.dao.JobInstanceTaskDAO;
 import io.openjob.server.repository.entity.JobInstanceLog;
 import io.openjob.server.repository.entity.JobInstanceTask;
+import io.openjob.server.repository.entity.JobInstanceTaskCount;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -24,8 +33,12 @@ import org.springframework.transaction.UnexpectedRollbackException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -38,17 +51,26 @@ public class JobInstanceService {
     private final JobInstanceTaskDAO jobInstanceTaskDAO;
     private final JobInstanceLogDAO jobInstanceLogDAO;
     private final JobInstanceDAO jobInstanceDAO;
+    private final JobInstanceTaskCountDAO jobInstanceTaskCountDAO;
     private final WorkerJobInstanceExecutor workerJobInstanceExecutor;
+    private final TaskFileStorage taskFileStorage;
+    private final ClusterProperties clusterProperties;
 
     @Autowired
     public JobInstanceService(JobInstanceTaskDAO jobInstanceTaskDAO,
                               JobInstanceLogDAO jobInstanceLogDAO,
                               JobInstanceDAO jobInstanceDAO,
-                              WorkerJobInstanceExecutor workerJobInstanceExecutor) {
+                              JobInstanceTaskCountDAO jobInstanceTaskCountDAO,
+                              WorkerJobInstanceExecutor workerJobInstanceExecutor,
+                              TaskFileStorage taskFileStorage,
+                              ClusterProperties clusterProperties) {
         this.jobInstanceTaskDAO = jobInstanceTaskDAO;
         this.jobInstanceLogDAO = jobInstanceLogDAO;
         this.jobInstanceDAO = jobInstanceDAO;
+        this.jobInstanceTaskCountDAO = jobInstanceTaskCountDAO;
         this.workerJobInstanceExecutor = workerJobInstanceExecutor;
+        this.taskFileStorage = taskFileStorage;
+        this.clusterProperties = clusterProperties;
     }
 
     @Transactional(rollbackFor = Exception.class, timeout = 1)
@@ -63,6 +85,9 @@ public class JobInstanceService {
      */
     @Transactional(rollbackFor = Exception.class)
     public void handleConsumerInstanceStatus(WorkerJobInstanceStatusRequest statusRequest) {
+        // Decompress task list uploaded in bulk.
+        statusRequest.setTaskRequestList(this.getTaskRequestList(statusRequest));
+
         // First page to update job instance status.
         if (CommonConstant.FIRST_PAGE.equals(statusRequest.getPage())) {
             // Update status
@@ -71,26 +96,20 @@ public class JobInstanceService {
         }
 
         // Save job instance task
-        List<JobInstanceTask> taskList = new ArrayList<>();
-        statusRequest.getTaskRequestList().forEach(t -> {
-            JobInstanceTask jobInstanceTask = new JobInstanceTask();
-            jobInstanceTask.setJobId(t.getJobId());
-            jobInstanceTask.setJobInstanceId(t.getJobInstanceId());
-            jobInstanceTask.setCircleId(t.getCircleId());
-            jobInstanceTask.setTaskId(t.getTaskId());
-            jobInstanceTask.setParentTaskId(t.getParentTaskId());
-            jobInstanceTask.setTaskName(t.getTaskName());
-            jobInstanceTask.setStatus(t.getStatus());
-            jobInstanceTask.setResult(t.getResult());
-            jobInstanceTask.setWorkerAddress(t.getWorkerAddress());
-            jobInstanceTask.setDeleted(CommonConstant.NO);
-            jobInstanceTask.setDeleteTime(0L);
-            jobInstanceTask.setCreateTime(t.getCreateTime());
-            jobInstanceTask.setUpdateTime(t.getUpdateTime());
-            taskList.add(jobInstanceTask);
-        });
+        List<JobInstanceTask> taskList = statusRequest.getTaskRequestList().stream()
+                .map(this::convertToJobInstanceTask)
+                .collect(Collectors.toList());
+
+        // Aggregate storage only saves status count and failed tasks.
+        List<JobInstanceTaskCount> countList = new ArrayList<>();
+        if (TaskStorageEnum.isAggregate(this.clusterProperties.getTask().getStorage())) {
+            countList = this.getTaskCountList(statusRequest, taskList);
+            this.archiveTaskList(statusRequest, taskList);
+            taskList = taskList.stream().filter(t -> TaskStatusEnum.isFailed(t.getStatus())).collect(Collectors.toList());
+        }
 
         try {
+            this.jobInstanceTaskCountDAO.batchSave(countList);
             this.jobInstanceTaskDAO.batchSave(taskList);
         } catch (DataIntegrityViolationException | UnexpectedRollbackException exception) {
             log.warn("Data has been saved! {}", taskList.stream().map(JobInstanceTask::getTaskId).collect(Collectors.toList()));
@@ -118,6 +137,97 @@ public class JobInstanceService {
         this.jobInstanceLogDAO.save(jobInstanceLog);
     }
 
+    /**
+     * Get task request list, include plain and compressed tasks.
+     *
+     * @param statusRequest status request.
+     * @return List
+     */
+    @SuppressWarnings("unchecked")
+    protected List<WorkerJobInstanceTaskRequest> getTaskRequestList(WorkerJobInstanceStatusRequest statusRequest) {
+        List<WorkerJobInstanceTaskRequest> taskRequestList = new ArrayList<>();
+        if (!CollectionUtils.isEmpty(statusRequest.getTaskRequestList())) {
+            taskRequestList.addAll(statusRequest.getTaskRequestList());
+        }
+
+        if (Objects.nonNull(statusRequest.getCompressedTaskList())) {
+            byte[] taskBytes = CompressUtil.decompress(statusRequest.getCompressedTaskList());
+            taskRequestList.addAll((List<WorkerJobInstanceTaskRequest>) KryoUtil.deserialize(taskBytes));
+        }
+        return taskRequestList;
+    }
+
+    /**
+     * Get task count list of the reported page, summary report is saved as summary page.
+     *
+     * @param statusRequest status request.
+     * @param taskList      task list.
+     * @return List
+     */
+    protected List<JobInstanceTaskCount> getTaskCountList(WorkerJobInstanceStatusRequest statusRequest, List<JobInstanceTask> taskList) {
+        Long page = statusRequest.getPage();
+        Map<Integer, Long> statusCount = statusRequest.getTaskStatusCount();
+        if (CollectionUtils.isEmpty(statusCount)) {
+            statusCount = taskList.stream().collect(Collectors.groupingBy(JobInstanceTask::getStatus, Collectors.counting()));
+        } else {
+            page = JobInstanceTaskCount.SUMMARY_PAGE;
+        }
+
+        Long now = DateUtil.timestamp();
+        List<JobInstanceTaskCount> countList = new ArrayList<>();
+        for (Map.Entry<Integer, Long> entry : statusCount.entrySet()) {
+            JobInstanceTaskCount taskCount = new JobInstanceTaskCount();
+            taskCount.setJobId(statusRequest.getJobId());
+            taskCount.setJobInstanceId(statusRequest.getJobInstanceId());
+            taskCount.setCircleId(statusRequest.getCircleId());
+            taskCount.setReportPage(page);
+            taskCount.setStatus(entry.getKey());
+            taskCount.setTaskCount(entry.getValue());
+            taskCount.setDeleted(CommonConstant.NO);
+            taskCount.setDeleteTime(0L);
+            taskCount.setCreateTime(now);
+            taskCount.setUpdateTime(now);
+            countList.add(taskCount);
+        }
+        return countList;
+    }
+
+    /**
+     * Archive all tasks into task file, failure is ignored as status count has been saved.
+     *
+     * @param statusRequest status request.
+     * @param taskList      task list.
+     */
+    protected void archiveTaskList(WorkerJobInstanceStatusRequest statusRequest, List<JobInstanceTask> taskList) {
+        if (!this.clusterProperties.getTask().getFileEnable() || CollectionUtils.isEmpty(taskList)) {
+            return;
+        }
+
+        try {
+            this.taskFileStorage.append(statusRequest.getJobInstanceId(), statusRequest.getCircleId(), statusRequest.getPage(), taskList);
+        } catch (IOException e) {
+            log.error("Task file append failed! jobInstanceId={} page={}", statusRequest.getJobInstanceId(), statusRequest.getPage(), e);
+        }
+    }
+
+    protected JobInstanceTask convertToJobInstanceTask(WorkerJobInstanceTaskRequest t) {
+        JobInstanceTask jobInstanceTask = new JobInstanceTask();
+        jobInstanceTask.setJobId(t.getJobId());
+        jobInstanceTask.setJobInstanceId(t.getJobInstanceId());
+        jobInstanceTask.setCircleId(t.getCircleId());
+        jobInstanceTask.setTaskId(t.getTaskId());
+        jobInstanceTask.setParentTaskId(t.getParentTaskId());
+        jobInstanceTask.setTaskName(t.getTaskName());
+        jobInstanceTask.setStatus(t.getStatus());
+        jobInstanceTask.setResult(t.getResult());
+        jobInstanceTask.setWorkerAddress(t.getWorkerAddress());
+        jobInstanceTask.setDeleted(CommonConstant.NO);
+        jobInstanceTask.setDeleteTime(0L);
+        jobInstanceTask.setCreateTime(t.getCreateTime());
+        jobInstanceTask.setUpdateTime(t.getUpdateTime());
+        return jobInstanceTask;
+    }
+
     protected void addAlarmEvent(WorkerJobInstanceStatusRequest statusRequest) {
         if (InstanceStatusEnum.isFailed(statusRequest.getStatus())) {
             AlarmEventDTO alarmEventDTO = new AlarmEventDTO();
@@ -135,6 +245,13 @@ public class JobInstanceService {
             if (!CollectionUtils.isEmpty(statusRequest.getTaskRequestList())) {
                 alarmEventDTO.setMessage(statusRequest.getTaskRequestList().get(0).getResult());
             }
+
+            // Summary report
+            if (!CollectionUtils.isEmpty(statusRequest.getTaskStatusCount())) {
+                Long failedCount = statusRequest.getTaskStatusCount().getOrDefault(TaskStatusEnum.FAILED.getStatus(), 0L);
+                Long totalCount = statusRequest.getTaskStatusCount().values().stream().mapToLong(Long::longValue).sum();
+                alarmEventDTO.setMessage(String.format("%d/%d tasks failed! %s", failedCount, totalCount, Optional.ofNullable(alarmEventDTO.getMessage()).orElse("")));
+            }
             AlarmEventPublisher.publishEvent(new AlarmEvent(alarmEventDTO));
         }
     }
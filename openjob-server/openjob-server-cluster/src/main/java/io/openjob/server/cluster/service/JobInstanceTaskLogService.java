@@ -4,6 +4,7 @@ import com.google.common.collect.Lists;
 import io.openjob.common.constant.LogFieldConstant;
 import io.openjob.common.request.WorkerJobInstanceTaskLogFieldRequest;
 import io.openjob.common.request.WorkerJobInstanceTaskLogRequest;
+import io.openjob.server.cluster.data.TaskLogTailTable;
 import io.openjob.server.cluster.executor.WorkerTaskLogExecutor;
 import io.openjob.server.common.util.BeanMapperUtil;
 import io.openjob.server.log.dao.LogDAO;
@@ -27,20 +28,30 @@ import java.util.stream.Collectors;
 public class JobInstanceTaskLogService {
     private final LogDAO logDAO;
     private final WorkerTaskLogExecutor executor;
+    private final TaskLogTailTable taskLogTailTable;
 
+    /**
+     * New JobInstanceTaskLogService
+     *
+     * @param logDAO           logDAO
+     * @param executor         executor
+     * @param taskLogTailTable taskLogTailTable
+     */
     @Autowired
-    public JobInstanceTaskLogService(LogDAO logDAO, WorkerTaskLogExecutor executor) {
+    public JobInstanceTaskLogService(LogDAO logDAO, WorkerTaskLogExecutor executor, TaskLogTailTable taskLogTailTable) {
         this.logDAO = logDAO;
         this.executor = executor;
+        this.taskLogTailTable = taskLogTailTable;
     }
 
     /**
      * Handle instance log.
      *
      * @param logReq log request.
+     * @return false when log buffer is full.
      */
-    public void handleInstanceTaskLog(WorkerJobInstanceTaskLogRequest logReq) {
-        this.executor.submit(logReq);
+    public boolean handleInstanceTaskLog(WorkerJobInstanceTaskLogRequest logReq) {
+        return this.executor.submit(logReq);
     }
 
     /**
@@ -80,5 +91,8 @@ public class JobInstanceTaskLogService {
             log.error("Batch add task log failed!", e);
             throw new RuntimeException(e);
         }
+
+        // Tails are pushed after written, history of tails is read from storage.
+        this.taskLogTailTable.publish(processorLogList);
     }
 }
@@ -4,22 +4,33 @@ import io.openjob.common.request.WorkerHeartbeatRequest;
 import io.openjob.common.response.ServerHeartbeatResponse;
 import io.openjob.common.response.ServerHeartbeatSystemResponse;
 import io.openjob.common.util.DateUtil;
+import io.openjob.common.util.DeltaUtil;
+import io.openjob.server.cluster.autoconfigure.ClusterProperties;
+import io.openjob.server.cluster.data.WorkerHeartbeatTable;
 import io.openjob.server.cluster.executor.WorkerHeartbeatExecutor;
 import io.openjob.server.cluster.util.ClusterUtil;
 import io.openjob.server.common.ClusterContext;
+import io.openjob.server.common.WorkerMembership;
 import io.openjob.server.common.dto.SystemDTO;
 import io.openjob.server.repository.dao.JobInstanceDAO;
 import io.openjob.server.repository.dao.WorkerDAO;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * @author stelin swoft@qq.com
@@ -28,17 +39,46 @@ import java.util.Set;
 @Service
 @Log4j2
 public class WorkerHeartbeatService {
+
+    /**
+     * Running job instances expire time(ms) without heartbeat.
+     */
+    private static final long RUNNING_EXPIRE_TIME = 10 * 60 * 1000L;
+
+    /**
+     * Heartbeats in memory expire after offline periods.
+     */
+    private static final long EXPIRE_PERIODS = 3L;
+
+    /**
+     * Max workers or job instances of a flush statement, below the 1000 items limit of Oracle in list.
+     */
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
     private final WorkerDAO workerDAO;
     private final JobInstanceDAO jobInstanceDAO;
     private final WorkerHeartbeatExecutor workerHeartbeatExecutor;
+    private final WorkerHeartbeatTable workerHeartbeatTable;
+    private final ClusterProperties clusterProperties;
+
+    /**
+     * Running job instances of workers.
+     * Key is worker address.
+     */
+    private final Map<String, RunningInstances> runningInstances = new ConcurrentHashMap<>();
+    private volatile long lastExpireTime = System.currentTimeMillis();
 
     @Autowired
     public WorkerHeartbeatService(WorkerDAO workerDAO,
                                   JobInstanceDAO jobInstanceDAO,
-                                  WorkerHeartbeatExecutor workerHeartbeatExecutor) {
+                                  WorkerHeartbeatExecutor workerHeartbeatExecutor,
+                                  WorkerHeartbeatTable workerHeartbeatTable,
+                                  ClusterProperties clusterProperties) {
         this.workerDAO = workerDAO;
         this.jobInstanceDAO = jobInstanceDAO;
         this.workerHeartbeatExecutor = workerHeartbeatExecutor;
+        this.workerHeartbeatTable = workerHeartbeatTable;
+        this.clusterProperties = clusterProperties;
     }
 
     /**
@@ -47,10 +87,17 @@ public class WorkerHeartbeatService {
      * @param heartbeatReq heartbeat request.
      */
     public ServerHeartbeatResponse workerHeartbeat(WorkerHeartbeatRequest heartbeatReq) {
+        ServerHeartbeatResponse response = new ServerHeartbeatResponse();
+
+        // Latest worker load, kept in memory only.
+        ClusterUtil.refreshWorkerMetric(heartbeatReq.getAddress(), heartbeatReq.getMetric());
+
+        // Running job instances, delta is resolved before submitting.
+        response.setRunningVersion(this.resolveRunningInstances(heartbeatReq));
+
         //Submit request
         this.workerHeartbeatExecutor.submit(heartbeatReq);
 
-        ServerHeartbeatResponse response = new ServerHeartbeatResponse();
         ServerHeartbeatSystemResponse systemResponse = new ServerHeartbeatSystemResponse();
 
         // System information.
@@ -59,39 +106,123 @@ public class WorkerHeartbeatService {
         systemResponse.setClusterDelayVersion(system.getClusterDelayVersion());
         response.setSystemResponse(systemResponse);
 
-        // Online workers  and exclude start worker.
-        Set<String> onlineWorkers = ClusterUtil.getOnlineWorkers(heartbeatReq.getAppId());
-        response.setWorkerAddressList(onlineWorkers);
+        // Online workers, only changes since the version known by worker.
+        WorkerMembership.Delta delta = ClusterContext.getMembership(heartbeatReq.getAppId()).getDelta(heartbeatReq.getWorkerVersion());
+        response.setWorkerVersion(delta.getVersion());
+        if (Objects.nonNull(delta.getWorkers())) {
+            response.setWorkerAddressList(new HashSet<>(delta.getWorkers()));
+        } else {
+            response.setAddedWorkerAddresses(delta.getAdded());
+            response.setRemovedWorkerAddresses(delta.getRemoved());
+        }
         return response;
     }
 
     /**
-     * Batch heartbeat
+     * Resolve running job instances of worker.
+     *
+     * @param heartbeatReq heartbeat request.
+     * @return acknowledged running version, null means full list is required.
+     */
+    private Long resolveRunningInstances(WorkerHeartbeatRequest heartbeatReq) {
+        this.expireRunningInstances();
+
+        // Full list.
+        if (Objects.isNull(heartbeatReq.getRunningBaseVersion())) {
+            List<Long> runningIds = Optional.ofNullable(heartbeatReq.getRunningJobInstanceIds()).orElseGet(ArrayList::new);
+            RunningInstances running = new RunningInstances(new HashSet<>(runningIds));
+            this.runningInstances.put(heartbeatReq.getAddress(), running);
+            return running.version;
+        }
+
+        // Delta on the acknowledged version.
+        RunningInstances running = this.runningInstances.computeIfPresent(heartbeatReq.getAddress(), (address, base) -> {
+            if (!base.version.equals(heartbeatReq.getRunningBaseVersion())) {
+                return base;
+            }
+
+            Set<Long> ids = DeltaUtil.apply(base.ids, heartbeatReq.getAddedJobInstanceIds(), heartbeatReq.getRemovedJobInstanceIds());
+            return new RunningInstances(ids);
+        });
+
+        if (Objects.isNull(running) || !running.version.equals(heartbeatReq.getRunningVersion())) {
+            log.info("Running job instances version not matched, full list is required! address={}", heartbeatReq.getAddress());
+            this.runningInstances.remove(heartbeatReq.getAddress());
+            return null;
+        }
+
+        running.updateTime = System.currentTimeMillis();
+        heartbeatReq.setRunningJobInstanceIds(new ArrayList<>(running.ids));
+        return running.version;
+    }
+
+    private void expireRunningInstances() {
+        long now = System.currentTimeMillis();
+        if (now - this.lastExpireTime < RUNNING_EXPIRE_TIME) {
+            return;
+        }
+
+        this.lastExpireTime = now;
+        this.runningInstances.values().removeIf(r -> now - r.updateTime > RUNNING_EXPIRE_TIME);
+    }
+
+    /**
+     * Batch heartbeat, only recorded in memory and flushed later.
      *
      * @param requests requests
      */
-    @Transactional(rollbackFor = Exception.class)
     public void batchHeartbeat(List<WorkerHeartbeatRequest> requests) {
         Long timestamp = DateUtil.timestamp();
-        Set<String> addressList = new HashSet<>();
-        Set<Long> instanceIds = new HashSet<>();
-
-        // Merge requests
         requests.forEach(r -> {
-            addressList.add(r.getAddress());
+            this.workerHeartbeatTable.recordWorker(r.getAddress(), timestamp);
             if (!CollectionUtils.isEmpty(r.getRunningJobInstanceIds())) {
-                instanceIds.addAll(r.getRunningJobInstanceIds());
+                r.getRunningJobInstanceIds().forEach(id -> this.workerHeartbeatTable.recordInstance(id, timestamp));
             }
         });
+    }
 
+    /**
+     * Flush heartbeats recorded in memory, by chunks of workers and job instances.
+     * The earliest time of a chunk is written, so that liveness is never overstated.
+     * Each chunk is committed alone, only chunks failed are put back and flushed next time.
+     */
+    public void flushHeartbeat() {
         // Worker heartbeat
-        if (!CollectionUtils.isEmpty(addressList)) {
-            this.workerDAO.updateLastHeartbeatTimeByAddresses(new ArrayList<>(addressList), timestamp);
-        }
+        Map<String, Long> workers = this.workerHeartbeatTable.drainWorkers();
+        this.flushChunks("worker", workers, this.workerDAO::updateLastHeartbeatTimeByAddresses, this.workerHeartbeatTable::restoreWorkers);
 
         // Instance last report time.
-        if (!CollectionUtils.isEmpty(instanceIds)) {
-            this.jobInstanceDAO.updateLastReportTimeByIds(new ArrayList<>(instanceIds), timestamp);
+        Map<Long, Long> instances = this.workerHeartbeatTable.drainInstances();
+        this.flushChunks("instance", instances, this.jobInstanceDAO::updateLastReportTimeByIds, this.workerHeartbeatTable::restoreInstances);
+
+        // Heartbeats of workers gone away.
+        long offlinePeriod = this.clusterProperties.getWorker().getOfflinePeriod();
+        this.workerHeartbeatTable.expire(DateUtil.timestamp() - offlinePeriod * EXPIRE_PERIODS);
+    }
+
+    private <K> void flushChunks(String type, Map<K, Long> dirty, BiConsumer<List<K>, Long> update, Consumer<Map<K, Long>> restore) {
+        List<K> keys = new ArrayList<>(dirty.keySet());
+        for (int i = 0; i < keys.size(); i += FLUSH_CHUNK_SIZE) {
+            Map<K, Long> chunk = new HashMap<>(FLUSH_CHUNK_SIZE);
+            keys.subList(i, Math.min(i + FLUSH_CHUNK_SIZE, keys.size())).forEach(k -> chunk.put(k, dirty.get(k)));
+            try {
+                update.accept(new ArrayList<>(chunk.keySet()), Collections.min(chunk.values()));
+            } catch (Throwable throwable) {
+                // Flushed next time.
+                restore.accept(chunk);
+                log.error("Worker heartbeat flush failed! type={} size={}", type, chunk.size(), throwable);
+            }
+        }
+    }
+
+    private static class RunningInstances {
+        private final Set<Long> ids;
+        private final Long version;
+        private volatile long updateTime = System.currentTimeMillis();
+
+        RunningInstances(Set<Long> ids) {
+            this.ids = ids;
+            this.version = DeltaUtil.version(ids);
         }
     }
 }
@@ -7,10 +7,12 @@ import io.openjob.common.request.WorkerStartRequest;
 import io.openjob.common.request.WorkerStopRequest;
 import io.openjob.common.response.ServerWorkerStartResponse;
 import io.openjob.common.util.DateUtil;
+import io.openjob.common.util.JsonUtil;
 import io.openjob.server.cluster.autoconfigure.ClusterProperties;
 import io.openjob.server.cluster.dto.WorkerFailDTO;
 import io.openjob.server.cluster.dto.WorkerJoinDTO;
 import io.openjob.server.cluster.data.RefreshData;
+import io.openjob.server.cluster.data.WorkerHeartbeatTable;
 import io.openjob.server.cluster.util.ClusterUtil;
 import io.openjob.server.common.ClusterContext;
 import io.openjob.server.common.util.SlotsUtil;
@@ -45,13 +47,28 @@ public class WorkerService {
     private final AppDAO appDAO;
     private final ClusterProperties clusterProperties;
     private final RefreshData refreshManager;
+    private final WorkerHeartbeatTable workerHeartbeatTable;
 
+    /**
+     * New WorkerService
+     *
+     * @param workerDAO            workerDAO
+     * @param appDAO               appDAO
+     * @param clusterProperties    clusterProperties
+     * @param refreshManager       refreshManager
+     * @param workerHeartbeatTable workerHeartbeatTable
+     */
     @Autowired
-    public WorkerService(WorkerDAO workerDAO, AppDAO appDAO, ClusterProperties clusterProperties, RefreshData refreshManager) {
+    public WorkerService(WorkerDAO workerDAO,
+                         AppDAO appDAO,
+                         ClusterProperties clusterProperties,
+                         RefreshData refreshManager,
+                         WorkerHeartbeatTable workerHeartbeatTable) {
         this.workerDAO = workerDAO;
         this.appDAO = appDAO;
         this.clusterProperties = clusterProperties;
         this.refreshManager = refreshManager;
+        this.workerHeartbeatTable = workerHeartbeatTable;
     }
 
     /**
@@ -63,6 +80,9 @@ public class WorkerService {
         // Check app name.
         App app = this.checkAppName(startRequest.getAppName());
 
+        // Start load of worker.
+        ClusterUtil.refreshWorkerMetric(startRequest.getAddress(), startRequest.getMetric());
+
         // Do worker start.
         OpenjobSpringContext.getBean(this.getClass()).doWorkerStart(startRequest, app);
 
@@ -170,7 +190,7 @@ public class WorkerService {
         offlineWorkers.forEach(w -> {
             // Join worker
             // Ignore just off the line
-            if (w.getUpdateTime() < onlinePos && w.getLastHeartbeatTime() > onlinePos) {
+            if (w.getUpdateTime() < onlinePos && this.getLastHeartbeatTime(w) > onlinePos) {
                 WorkerStartRequest workerStartRequest = new WorkerStartRequest();
                 workerStartRequest.setAddress(w.getAddress());
                 workerStartRequest.setAppName(w.getAppName());
@@ -187,7 +207,7 @@ public class WorkerService {
         List<Worker> onlineWorkers = Optional.ofNullable(workerMap.get(WorkerStatusEnum.ONLINE.getStatus())).orElseGet(ArrayList::new);
         onlineWorkers.forEach(w -> {
             // Fail worker
-            if (w.getLastHeartbeatTime() < offlinePos) {
+            if (this.getLastHeartbeatTime(w) < offlinePos) {
                 WorkerStopRequest workerStopRequest = new WorkerStopRequest();
                 workerStopRequest.setWorkerKey(w.getWorkerKey());
                 workerStopRequest.setAddress(w.getAddress());
@@ -199,6 +219,16 @@ public class WorkerService {
         });
     }
 
+    /**
+     * Latest heartbeat time, heartbeats reported to current node are not flushed yet.
+     *
+     * @param worker worker
+     * @return Long
+     */
+    private Long getLastHeartbeatTime(Worker worker) {
+        return this.workerHeartbeatTable.getLastHeartbeatTime(worker.getAddress(), worker.getLastHeartbeatTime());
+    }
+
     private void refreshClusterContext() {
         List<Worker> workers = workerDAO.listOnlineWorkers();
         ClusterUtil.refreshAppWorkers(workers);
@@ -237,6 +267,7 @@ public class WorkerService {
             worker.setNamespaceId(app.getNamespaceId());
             worker.setAppId(app.getId());
             worker.setProtocolType(startReq.getProtocolType());
+            worker.setMetric(this.encodeMetric(startReq));
             workerDAO.save(worker);
             return;
         }
@@ -255,11 +286,15 @@ public class WorkerService {
         saveWorker.setNamespaceId(app.getNamespaceId());
         saveWorker.setProtocolType(startReq.getProtocolType());
         saveWorker.setVersion(startReq.getVersion());
-        saveWorker.setMetric("");
+        saveWorker.setMetric(this.encodeMetric(startReq));
         saveWorker.setVersion("");
         saveWorker.setWorkerKey("");
         saveWorker.setDeleteTime(0L);
         saveWorker.setDeleted(CommonConstant.NO);
         workerDAO.save(saveWorker);
     }
+
+    private String encodeMetric(WorkerStartRequest startReq) {
+        return Optional.ofNullable(startReq.getMetric()).map(JsonUtil::encode).orElse("");
+    }
 }
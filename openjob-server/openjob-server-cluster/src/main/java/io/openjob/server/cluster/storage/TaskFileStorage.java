@@ -0,0 +1,309 @@
+package io.openjob.server.cluster.storage;
+
+import io.openjob.server.cluster.autoconfigure.ClusterProperties;
+import io.openjob.server.common.dto.PageDTO;
+import io.openjob.server.repository.entity.JobInstanceTask;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archive tasks of job instance into a compressed column file, one file for each job instance.
+ * The file is a sequence of length prefixed gzip blocks, one block for each reported page. In a block
+ * columns are stored one after another, status column first, so that filter and count only decode it.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+public class TaskFileStorage {
+
+    /**
+     * Task file suffix.
+     */
+    private static final String FILE_SUFFIX = ".task";
+
+    /**
+     * Lock stripes for appending.
+     */
+    private static final int LOCK_SIZE = 64;
+
+    /**
+     * Null string length.
+     */
+    private static final int NULL_LENGTH = -1;
+
+    private final ClusterProperties clusterProperties;
+    private final Object[] locks = new Object[LOCK_SIZE];
+
+    @Autowired
+    public TaskFileStorage(ClusterProperties clusterProperties) {
+        this.clusterProperties = clusterProperties;
+        for (int i = 0; i < LOCK_SIZE; i++) {
+            this.locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Append a reported page of tasks.
+     *
+     * @param jobInstanceId job instance id
+     * @param circleId      circle id
+     * @param page          report page
+     * @param taskList      task list
+     * @throws IOException IOException
+     */
+    public void append(Long jobInstanceId, Long circleId, Long page, List<JobInstanceTask> taskList) throws IOException {
+        // Compress out of lock.
+        byte[] block = this.encodeBlock(circleId, page, taskList);
+
+        Path path = this.getPath(jobInstanceId);
+        synchronized (this.locks[(int) (jobInstanceId % LOCK_SIZE)]) {
+            Files.createDirectories(path.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+                out.writeInt(block.length);
+                out.write(block);
+            }
+        }
+    }
+
+    /**
+     * Whether task file exists.
+     *
+     * @param jobInstanceId job instance id
+     * @return Boolean
+     */
+    public Boolean exists(Long jobInstanceId) {
+        return Files.exists(this.getPath(jobInstanceId));
+    }
+
+    /**
+     * Page list. Pages reported more than once are only read one time.
+     *
+     * @param jobInstanceId job instance id
+     * @param status        status, null is all
+     * @param page          page
+     * @param size          size
+     * @return PageDTO
+     * @throws IOException IOException
+     */
+    public PageDTO<JobInstanceTask> pageList(Long jobInstanceId, Integer status, Integer page, Integer size) throws IOException {
+        long offset = (long) (page - 1) * size;
+        long matched = 0;
+        List<JobInstanceTask> list = new ArrayList<>();
+        Set<String> readPages = new HashSet<>();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.getPath(jobInstanceId))))) {
+            while (true) {
+                byte[] block;
+                try {
+                    block = new byte[in.readInt()];
+                    in.readFully(block);
+                } catch (EOFException eofException) {
+                    break;
+                }
+
+                // Status column only.
+                List<Integer> rows = new ArrayList<>();
+                try (DataInputStream blockIn = this.openBlock(block)) {
+                    long circleId = blockIn.readLong();
+                    long reportPage = blockIn.readLong();
+                    if (!readPages.add(circleId + ":" + reportPage)) {
+                        continue;
+                    }
+
+                    int rowCount = blockIn.readInt();
+                    for (int i = 0; i < rowCount; i++) {
+                        int rowStatus = blockIn.readInt();
+                        if (Objects.isNull(status) || status.equals(rowStatus)) {
+                            if (matched >= offset && list.size() + rows.size() < size) {
+                                rows.add(i);
+                            }
+                            matched++;
+                        }
+                    }
+                }
+
+                // Decode all columns when rows are in current page.
+                if (!rows.isEmpty()) {
+                    List<JobInstanceTask> blockTasks = this.decodeBlock(block, jobInstanceId);
+                    rows.forEach(i -> list.add(blockTasks.get(i)));
+                }
+            }
+        }
+
+        PageDTO<JobInstanceTask> pageDTO = new PageDTO<>();
+        pageDTO.setPage(page);
+        pageDTO.setSize(size);
+        pageDTO.setTotal(matched);
+        pageDTO.setList(list);
+        return pageDTO;
+    }
+
+    /**
+     * Delete task files not modified since last time.
+     *
+     * @param lastTime last time(s)
+     * @return Integer
+     * @throws IOException IOException
+     */
+    public Integer deleteByLastTime(Long lastTime) throws IOException {
+        Path directory = Paths.get(this.clusterProperties.getTask().getFileDir());
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        int count = 0;
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                File file = path.toFile();
+                if (file.getName().endsWith(FILE_SUFFIX) && file.lastModified() < lastTime * 1000 && file.delete()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private Path getPath(Long jobInstanceId) {
+        return Paths.get(this.clusterProperties.getTask().getFileDir(), jobInstanceId + FILE_SUFFIX);
+    }
+
+    private byte[] encodeBlock(Long circleId, Long page, List<JobInstanceTask> taskList) throws IOException {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(byteOut))) {
+            out.writeLong(circleId);
+            out.writeLong(page);
+            out.writeInt(taskList.size());
+
+            // Fixed length columns.
+            for (JobInstanceTask task : taskList) {
+                out.writeInt(task.getStatus());
+            }
+            for (JobInstanceTask task : taskList) {
+                out.writeLong(getLong(task.getJobId()));
+            }
+            for (JobInstanceTask task : taskList) {
+                out.writeLong(getLong(task.getCreateTime()));
+            }
+            for (JobInstanceTask task : taskList) {
+                out.writeLong(getLong(task.getUpdateTime()));
+            }
+
+            // Variable length columns.
+            for (JobInstanceTask task : taskList) {
+                writeString(out, task.getTaskId());
+            }
+            for (JobInstanceTask task : taskList) {
+                writeString(out, task.getParentTaskId());
+            }
+            for (JobInstanceTask task : taskList) {
+                writeString(out, task.getTaskName());
+            }
+            for (JobInstanceTask task : taskList) {
+                writeString(out, task.getWorkerAddress());
+            }
+            for (JobInstanceTask task : taskList) {
+                writeString(out, task.getResult());
+            }
+        }
+        return byteOut.toByteArray();
+    }
+
+    private List<JobInstanceTask> decodeBlock(byte[] block, Long jobInstanceId) throws IOException {
+        try (DataInputStream in = this.openBlock(block)) {
+            long circleId = in.readLong();
+            in.readLong();
+            int rowCount = in.readInt();
+
+            List<JobInstanceTask> taskList = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                JobInstanceTask task = new JobInstanceTask();
+                task.setJobInstanceId(jobInstanceId);
+                task.setCircleId(circleId);
+                task.setStatus(in.readInt());
+                taskList.add(task);
+            }
+            for (JobInstanceTask task : taskList) {
+                task.setJobId(in.readLong());
+            }
+            for (JobInstanceTask task : taskList) {
+                task.setCreateTime(in.readLong());
+            }
+            for (JobInstanceTask task : taskList) {
+                task.setUpdateTime(in.readLong());
+            }
+            for (JobInstanceTask task : taskList) {
+                task.setTaskId(readString(in));
+            }
+            for (JobInstanceTask task : taskList) {
+                task.setParentTaskId(readString(in));
+            }
+            for (JobInstanceTask task : taskList) {
+                task.setTaskName(readString(in));
+            }
+            for (JobInstanceTask task : taskList) {
+                task.setWorkerAddress(readString(in));
+            }
+            for (JobInstanceTask task : taskList) {
+                task.setResult(readString(in));
+            }
+            return taskList;
+        }
+    }
+
+    private DataInputStream openBlock(byte[] block) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(block))));
+    }
+
+    private static long getLong(Long value) {
+        return Objects.isNull(value) ? 0L : value;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (Objects.isNull(value)) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,13 +1,12 @@
 package io.openjob.server.cluster.task;
 
-import io.openjob.common.OpenjobSpringContext;
 import io.openjob.common.request.WorkerJobInstanceTaskLogRequest;
 import io.openjob.common.task.BaseConsumer;
 import io.openjob.common.task.TaskQueue;
-import io.openjob.server.cluster.service.JobInstanceTaskLogService;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author stelin swoft@qq.com
@@ -15,33 +14,50 @@ import java.util.List;
  */
 @Slf4j
 public class WorkerTaskLogConsumer extends BaseConsumer<WorkerJobInstanceTaskLogRequest> {
+    private final Consumer<List<WorkerJobInstanceTaskLogRequest>> writer;
 
+    /**
+     * New WorkerTaskLogConsumer
+     *
+     * @param id                    id
+     * @param consumerCoreThreadNum consumerCoreThreadNum
+     * @param consumerMaxThreadNum  consumerMaxThreadNum
+     * @param consumerThreadName    consumerThreadName
+     * @param pollSize              pollSize
+     * @param pollThreadName        pollThreadName
+     * @param queues                queues
+     * @param writer                writer of merged batch
+     */
     public WorkerTaskLogConsumer(Long id,
                                  Integer consumerCoreThreadNum,
                                  Integer consumerMaxThreadNum,
                                  String consumerThreadName,
                                  Integer pollSize,
                                  String pollThreadName,
-                                 TaskQueue<WorkerJobInstanceTaskLogRequest> queues) {
+                                 TaskQueue<WorkerJobInstanceTaskLogRequest> queues,
+                                 Consumer<List<WorkerJobInstanceTaskLogRequest>> writer) {
         super(id, consumerCoreThreadNum, consumerMaxThreadNum, consumerThreadName, pollSize, pollThreadName, queues, 1000L, 1000L);
+        this.writer = writer;
     }
 
     @Override
     public void consume(Long id, List<WorkerJobInstanceTaskLogRequest> tasks) {
-        this.consumerExecutor.submit(new WorkerTaskLogRunnable(tasks));
+        this.consumerExecutor.submit(new WorkerTaskLogRunnable(tasks, this.writer));
     }
 
     private static class WorkerTaskLogRunnable implements Runnable {
         private final List<WorkerJobInstanceTaskLogRequest> tasks;
+        private final Consumer<List<WorkerJobInstanceTaskLogRequest>> writer;
 
-        private WorkerTaskLogRunnable(List<WorkerJobInstanceTaskLogRequest> tasks) {
+        private WorkerTaskLogRunnable(List<WorkerJobInstanceTaskLogRequest> tasks, Consumer<List<WorkerJobInstanceTaskLogRequest>> writer) {
             this.tasks = tasks;
+            this.writer = writer;
         }
 
         @Override
         public void run() {
             try {
-                OpenjobSpringContext.getBean(JobInstanceTaskLogService.class).batchInstanceTaskLog(this.tasks);
+                this.writer.accept(this.tasks);
             } catch (Throwable throwable) {
                 log.error("Job instance log failed!", throwable);
             }
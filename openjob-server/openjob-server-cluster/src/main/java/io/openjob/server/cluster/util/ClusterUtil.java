@@ -1,12 +1,16 @@
 package io.openjob.server.cluster.util;
 
 import akka.actor.ActorRef;
+import io.micrometer.core.instrument.Metrics;
 import io.openjob.common.context.Node;
+import io.openjob.common.request.WorkerStartRequest;
 import io.openjob.common.util.FutureUtil;
+import io.openjob.server.cluster.constant.ClusterConstant;
 import io.openjob.server.cluster.dto.NodeResponseDTO;
 import io.openjob.server.cluster.exception.ClusterNodeOperatingException;
 import io.openjob.server.common.ClusterContext;
 import io.openjob.server.common.dto.WorkerDTO;
+import io.openjob.server.common.dto.WorkerMetricDTO;
 import io.openjob.server.common.util.ServerUtil;
 import io.openjob.server.repository.entity.Server;
 import io.openjob.server.repository.entity.Worker;
@@ -17,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
@@ -71,6 +76,40 @@ public class ClusterUtil {
         log.info("Refresh app workers {}", appWorkers);
     }
 
+    /**
+     * Refresh worker metric reported to current node.
+     *
+     * @param address worker address
+     * @param metric  metric
+     */
+    public static void refreshWorkerMetric(String address, WorkerStartRequest.Metric metric) {
+        if (Objects.isNull(metric)) {
+            return;
+        }
+
+        WorkerMetricDTO metricDTO = new WorkerMetricDTO();
+        metricDTO.setCpuLoad(metric.getCpuLoad());
+        metricDTO.setProcessors(metric.getProcessors());
+        metricDTO.setHeapUsed(metric.getHeapUsed());
+        metricDTO.setHeapMax(metric.getHeapMax());
+        metricDTO.setContainerThreads(metric.getContainerThreads());
+        metricDTO.setContainerSize(metric.getContainerSize());
+        metricDTO.setDelayQueueSize(metric.getDelayQueueSize());
+        metricDTO.setLogDropped(metric.getLogDropped());
+        metricDTO.setReportTime(System.currentTimeMillis());
+
+        // Logs dropped since last report, counter of worker is reset on restart.
+        WorkerMetricDTO previous = ClusterContext.getWorkerMetric(address);
+        long previousDropped = Objects.isNull(previous) || Objects.isNull(previous.getLogDropped()) ? 0L : previous.getLogDropped();
+        long dropped = Objects.isNull(metric.getLogDropped()) ? 0L : metric.getLogDropped();
+        long droppedDelta = dropped >= previousDropped ? dropped - previousDropped : dropped;
+        if (droppedDelta > 0) {
+            Metrics.counter(ClusterConstant.METRIC_WORKER_LOG_DROPPED).increment(droppedDelta);
+            log.warn("Worker dropped job logs! address={} dropped={} total={}", address, droppedDelta, dropped);
+        }
+        ClusterContext.refreshWorkerMetric(address, metricDTO);
+    }
+
     /**
      * Online workers.
      *
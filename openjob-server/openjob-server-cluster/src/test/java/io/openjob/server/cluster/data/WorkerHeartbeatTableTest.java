@@ -0,0 +1,54 @@
+package io.openjob.server.cluster.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class WorkerHeartbeatTableTest {
+
+    @Test
+    public void testCoalesce() {
+        WorkerHeartbeatTable table = new WorkerHeartbeatTable();
+        for (long i = 1; i <= 100; i++) {
+            table.recordWorker("127.0.0.1:25001", i);
+            table.recordWorker("127.0.0.1:25002", i * 2);
+            table.recordInstance(1L, i);
+        }
+
+        Map<String, Long> workers = table.drainWorkers();
+        Assertions.assertEquals(2, workers.size());
+        Assertions.assertEquals(100L, workers.get("127.0.0.1:25001"));
+        Assertions.assertEquals(200L, workers.get("127.0.0.1:25002"));
+        Assertions.assertEquals(1, table.drainInstances().size());
+
+        // Drained once.
+        Assertions.assertTrue(table.drainWorkers().isEmpty());
+        Assertions.assertTrue(table.drainInstances().isEmpty());
+
+        // Liveness from memory.
+        Assertions.assertEquals(100L, table.getLastHeartbeatTime("127.0.0.1:25001", 50L));
+        Assertions.assertEquals(300L, table.getLastHeartbeatTime("127.0.0.1:25001", 300L));
+        Assertions.assertEquals(30L, table.getLastHeartbeatTime("127.0.0.1:25003", 30L));
+
+        table.expire(150L);
+        Assertions.assertNull(table.getLastHeartbeatTime("127.0.0.1:25001"));
+        Assertions.assertEquals(200L, table.getLastHeartbeatTime("127.0.0.1:25002"));
+    }
+
+    @Test
+    public void testRestore() {
+        WorkerHeartbeatTable table = new WorkerHeartbeatTable();
+        table.recordWorker("127.0.0.1:25001", 10L);
+        Map<String, Long> workers = table.drainWorkers();
+
+        // Newer heartbeat during a failed flush is kept.
+        table.recordWorker("127.0.0.1:25001", 20L);
+        table.restoreWorkers(workers);
+        Assertions.assertEquals(20L, table.drainWorkers().get("127.0.0.1:25001"));
+    }
+}
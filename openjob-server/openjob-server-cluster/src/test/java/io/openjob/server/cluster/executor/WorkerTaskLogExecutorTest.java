@@ -0,0 +1,108 @@
+package io.openjob.server.cluster.executor;
+
+import io.openjob.common.request.WorkerJobInstanceTaskLogFieldRequest;
+import io.openjob.common.request.WorkerJobInstanceTaskLogRequest;
+import io.openjob.server.cluster.autoconfigure.ClusterProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class WorkerTaskLogExecutorTest {
+
+    @Test
+    public void testBackpressure() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WorkerTaskLogExecutor executor = new WorkerTaskLogExecutor(this.newProperties(3), r -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            // Writer is blocked by the first batch.
+            Assertions.assertTrue(executor.submit(this.newRequest(2)));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            Assertions.assertFalse(executor.submit(this.newRequest(2)));
+            Assertions.assertTrue(executor.submit(this.newRequest(1)));
+            Assertions.assertEquals(3L, executor.getBufferedCount());
+            Assertions.assertEquals(2L, executor.getRejectedCount());
+
+            // Lines are released when written.
+            release.countDown();
+            this.waitFor(() -> executor.getBufferedCount() == 0L);
+            Assertions.assertEquals(3L, executor.getWrittenCount());
+            Assertions.assertEquals(0L, executor.getDroppedCount());
+
+            // A batch larger than buffer is accepted when buffer is empty.
+            Assertions.assertTrue(executor.submit(this.newRequest(5)));
+            this.waitFor(() -> executor.getWrittenCount() == 8L);
+        } finally {
+            release.countDown();
+            executor.stop();
+        }
+    }
+
+    @Test
+    public void testDropped() throws Exception {
+        List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+        WorkerTaskLogExecutor executor = new WorkerTaskLogExecutor(this.newProperties(100), r -> {
+            batches.add(r.size());
+            throw new IllegalStateException("Log storage is down!");
+        });
+
+        try {
+            for (int i = 0; i < 10; i++) {
+                Assertions.assertTrue(executor.submit(this.newRequest(2)));
+            }
+            // Buffered lines are released after counting dropped.
+            this.waitFor(() -> executor.getDroppedCount() == 20L && executor.getBufferedCount() == 0L);
+            Assertions.assertEquals(0L, executor.getWrittenCount());
+            Assertions.assertEquals(10, batches.stream().mapToInt(Integer::intValue).sum());
+        } finally {
+            executor.stop();
+        }
+    }
+
+    private ClusterProperties newProperties(int bufferSize) {
+        ClusterProperties properties = new ClusterProperties();
+        properties.setTaskLogBufferSize(bufferSize);
+        return properties;
+    }
+
+    private WorkerJobInstanceTaskLogRequest newRequest(int lines) {
+        List<List<WorkerJobInstanceTaskLogFieldRequest>> fieldList = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            WorkerJobInstanceTaskLogFieldRequest field = new WorkerJobInstanceTaskLogFieldRequest();
+            field.setName("message");
+            field.setValue("line " + i);
+            fieldList.add(Collections.singletonList(field));
+        }
+
+        WorkerJobInstanceTaskLogRequest request = new WorkerJobInstanceTaskLogRequest();
+        request.setFieldList(fieldList);
+        return request;
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+}
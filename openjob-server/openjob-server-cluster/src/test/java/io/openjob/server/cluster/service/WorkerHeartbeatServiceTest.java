@@ -0,0 +1,76 @@
+package io.openjob.server.cluster.service;
+
+import io.openjob.server.cluster.autoconfigure.ClusterProperties;
+import io.openjob.server.cluster.data.WorkerHeartbeatTable;
+import io.openjob.server.cluster.executor.WorkerHeartbeatExecutor;
+import io.openjob.server.repository.dao.JobInstanceDAO;
+import io.openjob.server.repository.dao.WorkerDAO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class WorkerHeartbeatServiceTest {
+
+    @Test
+    public void testFlushByChunks() {
+        WorkerHeartbeatTable table = new WorkerHeartbeatTable();
+        for (long i = 1; i <= 1200; i++) {
+            table.recordInstance(i, i);
+        }
+        table.recordWorker("127.0.0.1:25001", 1L);
+
+        // The second chunk of job instances fails.
+        List<List<Long>> chunks = new ArrayList<>();
+        JobInstanceDAO jobInstanceDAO = this.newDAO(JobInstanceDAO.class, "updateLastReportTimeByIds", args -> {
+            @SuppressWarnings("unchecked")
+            List<Long> ids = (List<Long>) args[0];
+            chunks.add(ids);
+            if (chunks.size() == 2) {
+                throw new IllegalStateException("ORA-01795");
+            }
+            return ids.size();
+        });
+        List<String> addresses = new ArrayList<>();
+        WorkerDAO workerDAO = this.newDAO(WorkerDAO.class, "updateLastHeartbeatTimeByAddresses", args -> {
+            @SuppressWarnings("unchecked")
+            List<String> list = (List<String>) args[0];
+            addresses.addAll(list);
+            return null;
+        });
+
+        ClusterProperties clusterProperties = new ClusterProperties();
+        WorkerHeartbeatService service = new WorkerHeartbeatService(workerDAO, jobInstanceDAO,
+                new WorkerHeartbeatExecutor(clusterProperties), table, clusterProperties);
+        service.flushHeartbeat();
+
+        Assertions.assertEquals(1, addresses.size());
+        Assertions.assertEquals(3, chunks.size());
+        chunks.forEach(c -> Assertions.assertTrue(c.size() <= 500));
+        Assertions.assertEquals(1200, chunks.stream().mapToInt(List::size).sum());
+
+        // Only the failed chunk is put back.
+        Map<Long, Long> restored = table.drainInstances();
+        Assertions.assertEquals(chunks.get(1).size(), restored.size());
+        Assertions.assertTrue(restored.keySet().containsAll(chunks.get(1)));
+        Assertions.assertTrue(table.drainWorkers().isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T newDAO(Class<T> type, String name, Function<Object[], Object> function) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (name.equals(method.getName())) {
+                return function.apply(args);
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package io.openjob.server.cluster.storage;
+
+import io.openjob.common.constant.TaskStatusEnum;
+import io.openjob.server.cluster.autoconfigure.ClusterProperties;
+import io.openjob.server.common.dto.PageDTO;
+import io.openjob.server.repository.entity.JobInstanceTask;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class TaskFileStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testPageList() throws Exception {
+        ClusterProperties clusterProperties = new ClusterProperties();
+        clusterProperties.getTask().setFileDir(this.tempDir.toString());
+        TaskFileStorage taskFileStorage = new TaskFileStorage(clusterProperties);
+
+        // Page 1 is reported twice.
+        taskFileStorage.append(1L, 1L, 1L, this.newTaskList(0, 100));
+        taskFileStorage.append(1L, 1L, 1L, this.newTaskList(0, 100));
+        taskFileStorage.append(1L, 1L, 2L, this.newTaskList(100, 50));
+        Assertions.assertTrue(taskFileStorage.exists(1L));
+        Assertions.assertFalse(taskFileStorage.exists(2L));
+
+        PageDTO<JobInstanceTask> allPage = taskFileStorage.pageList(1L, null, 2, 60);
+        Assertions.assertEquals(150L, allPage.getTotal());
+        Assertions.assertEquals(60, allPage.getList().size());
+        Assertions.assertEquals("task-60", allPage.getList().get(0).getTaskId());
+        Assertions.assertEquals("task-119", allPage.getList().get(59).getTaskId());
+
+        // Every tenth task is failed.
+        PageDTO<JobInstanceTask> failedPage = taskFileStorage.pageList(1L, TaskStatusEnum.FAILED.getStatus(), 1, 100);
+        Assertions.assertEquals(15L, failedPage.getTotal());
+        Assertions.assertEquals("failed-140", failedPage.getList().get(14).getResult());
+        Assertions.assertNull(allPage.getList().get(1).getResult());
+    }
+
+    private List<JobInstanceTask> newTaskList(int start, int size) {
+        List<JobInstanceTask> taskList = new ArrayList<>();
+        for (int i = start; i < start + size; i++) {
+            boolean failed = i % 10 == 0;
+            JobInstanceTask task = new JobInstanceTask();
+            task.setJobId(1L);
+            task.setTaskId("task-" + i);
+            task.setParentTaskId("0");
+            task.setTaskName("name-" + i);
+            task.setStatus(failed ? TaskStatusEnum.FAILED.getStatus() : TaskStatusEnum.SUCCESS.getStatus());
+            task.setResult(failed ? "failed-" + i : null);
+            task.setWorkerAddress("127.0.0.1:25588");
+            task.setCreateTime(1L);
+            task.setUpdateTime(2L);
+            taskList.add(task);
+        }
+        return taskList;
+    }
+}
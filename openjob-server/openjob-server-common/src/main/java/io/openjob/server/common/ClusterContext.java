@@ -5,6 +5,7 @@ import com.google.common.collect.Maps;
 import io.openjob.common.context.Node;
 import io.openjob.server.common.dto.SystemDTO;
 import io.openjob.server.common.dto.WorkerDTO;
+import io.openjob.server.common.dto.WorkerMetricDTO;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -12,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * @author stelin swoft@qq.com
@@ -51,6 +53,18 @@ public class ClusterContext {
      */
     private static final Map<Long, List<WorkerDTO>> APP_WORKERS = Maps.newConcurrentMap();
 
+    /**
+     * App worker membership.
+     * Key is appid, Value is versioned online workers.
+     */
+    private static final Map<Long, WorkerMembership> APP_MEMBERSHIPS = Maps.newConcurrentMap();
+
+    /**
+     * Latest worker metrics reported to current node.
+     * Key is worker address.
+     */
+    private static final Map<String, WorkerMetricDTO> WORKER_METRICS = Maps.newConcurrentMap();
+
     /**
      * Refresh Current node.
      *
@@ -79,6 +93,24 @@ public class ClusterContext {
     public static synchronized void refreshAppWorkers(Map<Long, List<WorkerDTO>> workers) {
         APP_WORKERS.clear();
         APP_WORKERS.putAll(workers);
+
+        // Apps without worker keep an empty membership, so that workers see the removal.
+        APP_MEMBERSHIPS.forEach((appId, m) -> m.update(getOnlineWorkers(appId)));
+        workers.keySet().forEach(appId -> APP_MEMBERSHIPS.computeIfAbsent(appId, id -> new WorkerMembership()).update(getOnlineWorkers(appId)));
+
+        // Metrics of offline workers.
+        Set<String> addresses = workers.values().stream().flatMap(List::stream).map(WorkerDTO::getAddress).collect(Collectors.toSet());
+        WORKER_METRICS.keySet().retainAll(addresses);
+    }
+
+    /**
+     * Refresh worker metric.
+     *
+     * @param address worker address
+     * @param metric  metric
+     */
+    public static void refreshWorkerMetric(String address, WorkerMetricDTO metric) {
+        WORKER_METRICS.put(address, metric);
     }
 
     /**
@@ -120,11 +152,39 @@ public class ClusterContext {
         return APP_WORKERS;
     }
 
+    /**
+     * App worker membership.
+     *
+     * @param appId appId
+     * @return WorkerMembership
+     */
+    public static WorkerMembership getMembership(Long appId) {
+        return APP_MEMBERSHIPS.computeIfAbsent(appId, id -> {
+            WorkerMembership membership = new WorkerMembership();
+            membership.update(getOnlineWorkers(id));
+            return membership;
+        });
+    }
+
     public static List<WorkerDTO> getWorkersByAppId(Long appId) {
         return Optional.ofNullable(APP_WORKERS.get(appId))
                 .orElseGet(ArrayList::new);
     }
 
+    /**
+     * Latest worker metric.
+     *
+     * @param address worker address
+     * @return WorkerMetricDTO, null when not reported to current node.
+     */
+    public static WorkerMetricDTO getWorkerMetric(String address) {
+        return WORKER_METRICS.get(address);
+    }
+
+    private static Set<String> getOnlineWorkers(Long appId) {
+        return getWorkersByAppId(appId).stream().map(WorkerDTO::getAddress).collect(Collectors.toSet());
+    }
+
     /**
      * Return current slots.
      *
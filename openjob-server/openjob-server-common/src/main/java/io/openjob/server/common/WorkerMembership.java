@@ -0,0 +1,147 @@
+package io.openjob.server.common;
+
+import io.openjob.common.util.DeltaUtil;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Online workers of an app with recent changes, so that a worker only receives changes since its known version.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class WorkerMembership {
+
+    /**
+     * Max changes kept.
+     */
+    private static final int MAX_CHANGES = 16;
+
+    /**
+     * Current version.
+     */
+    private Long version;
+
+    /**
+     * Current workers.
+     */
+    private Set<String> workers;
+
+    /**
+     * Recent changes, oldest first.
+     */
+    private final Deque<Change> changes = new ArrayDeque<>();
+
+    public WorkerMembership() {
+        this.workers = Collections.emptySet();
+        this.version = DeltaUtil.version(this.workers);
+    }
+
+    /**
+     * Update workers.
+     *
+     * @param newWorkers new workers
+     */
+    public synchronized void update(Set<String> newWorkers) {
+        Long newVersion = DeltaUtil.version(newWorkers);
+        if (newVersion.equals(this.version)) {
+            return;
+        }
+
+        Change change = new Change(this.version, DeltaUtil.difference(newWorkers, this.workers), DeltaUtil.difference(this.workers, newWorkers));
+        this.changes.addLast(change);
+        if (this.changes.size() > MAX_CHANGES) {
+            this.changes.removeFirst();
+        }
+
+        this.workers = Collections.unmodifiableSet(new HashSet<>(newWorkers));
+        this.version = newVersion;
+    }
+
+    /**
+     * Changes since version.
+     *
+     * @param knownVersion known version
+     * @return Delta, full workers are returned when known version is null or too old.
+     */
+    public synchronized Delta getDelta(Long knownVersion) {
+        if (Objects.isNull(knownVersion)) {
+            return new Delta(this.version, this.workers, null, null);
+        }
+
+        Set<String> added = new HashSet<>();
+        Set<String> removed = new HashSet<>();
+        if (knownVersion.equals(this.version)) {
+            return new Delta(this.version, null, added, removed);
+        }
+
+        // Find the change from known version, then merge the changes after it.
+        boolean found = false;
+        Iterator<Change> iterator = this.changes.descendingIterator();
+        Deque<Change> merging = new ArrayDeque<>();
+        while (iterator.hasNext()) {
+            Change change = iterator.next();
+            merging.addFirst(change);
+            if (change.fromVersion.equals(knownVersion)) {
+                found = true;
+                break;
+            }
+        }
+
+        if (!found) {
+            return new Delta(this.version, this.workers, null, null);
+        }
+
+        for (Change change : merging) {
+            change.removed.forEach(w -> {
+                if (!added.remove(w)) {
+                    removed.add(w);
+                }
+            });
+            change.added.forEach(w -> {
+                if (!removed.remove(w)) {
+                    added.add(w);
+                }
+            });
+        }
+        return new Delta(this.version, null, added, removed);
+    }
+
+    @Getter
+    public static class Delta {
+        private final Long version;
+
+        /**
+         * Full workers, null when only changes are returned.
+         */
+        private final Set<String> workers;
+        private final Set<String> added;
+        private final Set<String> removed;
+
+        Delta(Long version, Set<String> workers, Set<String> added, Set<String> removed) {
+            this.version = version;
+            this.workers = workers;
+            this.added = added;
+            this.removed = removed;
+        }
+    }
+
+    private static class Change {
+        private final Long fromVersion;
+        private final Set<String> added;
+        private final Set<String> removed;
+
+        Change(Long fromVersion, Set<String> added, Set<String> removed) {
+            this.fromVersion = fromVersion;
+            this.added = added;
+            this.removed = removed;
+        }
+    }
+}
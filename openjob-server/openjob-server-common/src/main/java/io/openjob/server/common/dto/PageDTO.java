@@ -24,6 +24,11 @@ public class PageDTO<T> {
      */
     private Long total;
 
+    /**
+     * Cursor of next page, id of the last row, null for the last page.
+     */
+    private Long cursor;
+
     /**
      * Page List
      */
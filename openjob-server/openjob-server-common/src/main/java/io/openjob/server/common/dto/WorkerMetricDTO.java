@@ -0,0 +1,47 @@
+package io.openjob.server.common.dto;
+
+import lombok.Data;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latest runtime load reported by worker.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Data
+public class WorkerMetricDTO {
+
+    /**
+     * Process cpu load(0-1), -1 is unknown.
+     */
+    private Double cpuLoad;
+
+    private Integer processors;
+
+    private Long heapUsed;
+
+    private Long heapMax;
+
+    private Integer containerThreads;
+
+    private Integer containerSize;
+
+    private Integer delayQueueSize;
+
+    /**
+     * Job logs dropped by worker since started.
+     */
+    private Long logDropped;
+
+    /**
+     * Report time(ms).
+     */
+    private Long reportTime;
+
+    /**
+     * Dispatched by this server since reported, so that one report does not attract all dispatches.
+     */
+    private final AtomicInteger dispatched = new AtomicInteger(0);
+}
@@ -31,6 +31,7 @@ public class PageUtil {
         pageVO.setSize(pageDTO.getSize());
         pageVO.setPage(pageDTO.getPage());
         pageVO.setTotal(pageDTO.getTotal());
+        pageVO.setCursor(pageDTO.getCursor());
 
         List<T> list = Lists.newArrayList();
         if (!CollectionUtils.isEmpty(pageDTO.getList())) {
@@ -54,6 +55,7 @@ public class PageUtil {
         pageVO.setSize(pageDTO.getSize());
         pageVO.setPage(pageDTO.getPage());
         pageVO.setTotal(pageDTO.getTotal());
+        pageVO.setCursor(pageDTO.getCursor());
         pageVO.setList(new ArrayList<>());
         return pageVO;
     }
@@ -20,6 +20,9 @@ public class PageVO<T> {
     @ApiModelProperty("Page total.")
     private Long total;
 
+    @ApiModelProperty("Cursor of next page, null for the last page.")
+    private Long cursor;
+
     @ApiModelProperty("Data list.")
     private List<T> list;
 }
@@ -0,0 +1,49 @@
+package io.openjob.server.common;
+
+import io.openjob.common.util.DeltaUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class WorkerMembershipTest {
+    @Test
+    public void testDelta() {
+        WorkerMembership membership = new WorkerMembership();
+        membership.update(new HashSet<>(Arrays.asList("w1", "w2", "w3")));
+        Long known = membership.getDelta(null).getVersion();
+
+        // Unknown version is full.
+        WorkerMembership.Delta full = membership.getDelta(null);
+        Assertions.assertEquals(3, full.getWorkers().size());
+
+        // Not changed.
+        WorkerMembership.Delta none = membership.getDelta(known);
+        Assertions.assertNull(none.getWorkers());
+        Assertions.assertTrue(none.getAdded().isEmpty());
+        Assertions.assertTrue(none.getRemoved().isEmpty());
+
+        // Changes are merged, w4 added then removed is not returned.
+        membership.update(new HashSet<>(Arrays.asList("w1", "w2", "w4")));
+        membership.update(new HashSet<>(Arrays.asList("w1", "w2", "w5")));
+        WorkerMembership.Delta delta = membership.getDelta(known);
+        Assertions.assertEquals(Collections.singleton("w5"), delta.getAdded());
+        Assertions.assertEquals(Collections.singleton("w3"), delta.getRemoved());
+
+        Set<String> applied = DeltaUtil.apply(Arrays.asList("w1", "w2", "w3"), delta.getAdded(), delta.getRemoved());
+        Assertions.assertEquals(delta.getVersion(), DeltaUtil.version(applied));
+
+        // Version too old.
+        for (int i = 0; i < 20; i++) {
+            membership.update(Collections.singleton("w" + i));
+        }
+        Assertions.assertNotNull(membership.getDelta(known).getWorkers());
+    }
+}
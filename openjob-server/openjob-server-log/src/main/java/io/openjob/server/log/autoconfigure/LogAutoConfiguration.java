@@ -5,6 +5,7 @@ import io.openjob.server.log.client.H2Client;
 import io.openjob.server.log.client.MysqlClient;
 import io.openjob.server.log.client.OracleClient;
 import io.openjob.server.log.client.PostgresqlClient;
+import io.openjob.server.log.constant.LogPartitionEnum;
 import io.openjob.server.log.constant.LogStorageConstant;
 import io.openjob.server.log.dao.LogDAO;
 import io.openjob.server.log.dao.impl.Elasticsearch7DAOImpl;
@@ -32,6 +33,10 @@ public class LogAutoConfiguration {
         this.logProperties = logProperties;
     }
 
+    private LogPartitionEnum getPartition() {
+        return LogPartitionEnum.parse(this.logProperties.getStorage().getPartition());
+    }
+
     @ConditionalOnProperty(prefix = "openjob.log.storage", name = "selector", havingValue = LogStorageConstant.H2)
     public class H2AutoConfiguration {
         @Bean
@@ -41,7 +46,7 @@ public class LogAutoConfiguration {
 
         @Bean
         public LogDAO h2LogDAO(H2Client h2Client) {
-            return new H2LogDAOImpl(h2Client);
+            return new H2LogDAOImpl(h2Client, getPartition());
         }
     }
 
@@ -54,7 +59,7 @@ public class LogAutoConfiguration {
 
         @Bean
         public LogDAO h2LogDAO(MysqlClient mysqlClient) {
-            return new MysqlLogDAOImpl(mysqlClient);
+            return new MysqlLogDAOImpl(mysqlClient, getPartition());
         }
     }
 
@@ -67,7 +72,7 @@ public class LogAutoConfiguration {
 
         @Bean
         public LogDAO h2LogDAO(PostgresqlClient postgresqlClient) {
-            return new PostgresqlDAOImpl(postgresqlClient);
+            return new PostgresqlDAOImpl(postgresqlClient, getPartition());
         }
     }
 
@@ -80,7 +85,7 @@ public class LogAutoConfiguration {
 
         @Bean
         public LogDAO h2LogDAO(OracleClient oracleClient) {
-            return new OracleDAOImpl(oracleClient);
+            return new OracleDAOImpl(oracleClient, getPartition());
         }
     }
 
@@ -1,5 +1,6 @@
 package io.openjob.server.log.autoconfigure;
 
+import io.openjob.server.log.constant.LogPartitionEnum;
 import io.openjob.server.log.constant.LogStorageConstant;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -18,6 +19,11 @@ public class LogProperties {
     public static class Storage {
         private String selector = LogStorageConstant.H2;
         private Integer queryMaxSize;
+
+        /**
+         * Partition of jdbc log tables, none/day/hour.
+         */
+        private String partition = LogPartitionEnum.NONE.getPartition();
         private H2Properties h2 = new H2Properties();
         private MysqlProperties mysql = new MysqlProperties();
         private PostgresqlProperties postgresql = new PostgresqlProperties();
@@ -62,6 +68,26 @@ public class LogProperties {
         private Integer socketTimeout = 3000;
         private Integer responseTimeout = 3000;
         private Integer bufferLimit = 104857600;
+
+        /**
+         * Bulk is flushed when actions reached.
+         */
+        private Integer bulkActions = 1000;
+
+        /**
+         * Bulk is flushed when bytes reached.
+         */
+        private Long bulkSize = 5242880L;
+
+        /**
+         * Bulk is flushed at interval(ms) whatever the actions or bytes.
+         */
+        private Long flushInterval = 1000L;
+
+        /**
+         * Bulk requests in flight, adding logs waits when reached, zero is to flush in the adding thread.
+         */
+        private Integer concurrentRequests = 2;
     }
 
     @Data
@@ -5,13 +5,22 @@ import io.openjob.server.log.autoconfigure.LogProperties;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author stelin swoft@qq.com
  * @since 1.0.0
  */
 public abstract class AbstractJdbcHikariClient implements Client {
+    /**
+     * Log table, partition tables are named with suffix of time.
+     */
+    public static final String PROCESSOR_LOG = "processor_log";
+
     /**
      * Data source.
      */
@@ -44,14 +53,39 @@ public abstract class AbstractJdbcHikariClient implements Client {
      * @throws SQLException SQLException
      */
     public void initTable() throws SQLException {
-        String createSql = "CREATE TABLE IF NOT EXISTS `processor_log` ("
+        this.createTable(PROCESSOR_LOG);
+
+        try (Connection connection = this.getConnection()) {
+            // Table created by older versions.
+            try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), null, PROCESSOR_LOG, "message")) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("ALTER TABLE `processor_log` ADD COLUMN `message` longtext");
+                statement.executeUpdate("ALTER TABLE `processor_log` ADD FULLTEXT KEY `ftx_message` (`message`)");
+            }
+        }
+    }
+
+    /**
+     * Create log table if not exists.
+     *
+     * @param table table
+     * @throws SQLException SQLException
+     */
+    public void createTable(String table) throws SQLException {
+        String createSql = "CREATE TABLE IF NOT EXISTS `" + table + "` ("
                 + "  `id` bigint(20) unsigned NOT NULL AUTO_INCREMENT,"
                 + "  `task_id` varchar(128) NOT NULL DEFAULT '',"
                 + "  `worker_address` varchar(128) NOT NULL DEFAULT '',"
                 + "  `content` longtext NOT NULL,"
+                + "  `message` longtext,"
                 + "  `time` bigint(16) NOT NULL,"
                 + "  PRIMARY KEY (`id`),"
-                + "  KEY `idx_task_id_time` (`task_id`,`time`)"
+                + "  KEY `idx_task_id_time` (`task_id`,`time`),"
+                + "  FULLTEXT KEY `ftx_message` (`message`)"
                 + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;";
 
         try (Connection connection = this.getConnection(); PreparedStatement ps = connection.prepareStatement(createSql)) {
@@ -59,6 +93,36 @@ public abstract class AbstractJdbcHikariClient implements Client {
         }
     }
 
+    /**
+     * Drop log table if exists.
+     *
+     * @param table table
+     * @throws SQLException SQLException
+     */
+    public void dropTable(String table) throws SQLException {
+        try (Connection connection = this.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DROP TABLE IF EXISTS `" + table + "`");
+        }
+    }
+
+    /**
+     * List tables by name prefix.
+     *
+     * @param prefix prefix
+     * @return List
+     * @throws SQLException SQLException
+     */
+    public List<String> listTables(String prefix) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Connection connection = this.getConnection();
+                ResultSet rs = connection.getMetaData().getTables(connection.getCatalog(), connection.getSchema(), prefix + "%", new String[]{"TABLE"})) {
+            while (rs.next()) {
+                tables.add(rs.getString("TABLE_NAME"));
+            }
+        }
+        return tables;
+    }
+
     /**
      * Get connection from data source.
      *
@@ -4,8 +4,8 @@ import io.openjob.server.log.autoconfigure.LogProperties;
 import io.openjob.server.log.constant.LogJdbcDriverConstant;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Objects;
 
 /**
@@ -38,20 +38,58 @@ public class H2Client extends AbstractJdbcHikariClient {
 
     @Override
     public void initTable() throws SQLException {
-        String createSql = "CREATE TABLE IF NOT EXISTS `processor_log` ("
+        this.createTable(PROCESSOR_LOG);
+
+        // Table created by older versions.
+        try (Connection connection = this.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("ALTER TABLE `processor_log` ADD COLUMN IF NOT EXISTS `message` longtext");
+        }
+    }
+
+    @Override
+    public void createTable(String table) throws SQLException {
+        // Index names are unique in schema.
+        String createSql = "CREATE TABLE IF NOT EXISTS `" + table + "` ("
                 + "  `id` bigint(20) unsigned NOT NULL AUTO_INCREMENT,"
                 + "  `task_id` varchar(128) NOT NULL DEFAULT '',"
                 + "  `worker_address` varchar(128) NOT NULL DEFAULT '',"
                 + "  `content` longtext NOT NULL,"
+                + "  `message` longtext,"
                 + "  `time` bigint(16) NOT NULL,"
                 + "  PRIMARY KEY (`id`),"
-                + "  KEY `idx_task_id_time` (`task_id`,`time`)"
+                + "  KEY `idx_" + table + "_task_id_time` (`task_id`,`time`)"
+                + ");";
+
+        // Words of message, as full-text index.
+        String tokenTable = getTokenTable(table);
+        String createTokenSql = "CREATE TABLE IF NOT EXISTS `" + tokenTable + "` ("
+                + "  `token` varchar(64) NOT NULL,"
+                + "  `task_id` varchar(128) NOT NULL DEFAULT '',"
+                + "  `time` bigint(16) NOT NULL,"
+                + "  `log_id` bigint(20) NOT NULL,"
+                + "  KEY `idx_" + tokenTable + "_task_id_token_time` (`task_id`,`token`,`time`,`log_id`),"
+                + "  KEY `idx_" + tokenTable + "_time` (`time`)"
                 + ");";
 
-        try (Connection connection = this.getConnection(); PreparedStatement ps = connection.prepareStatement(createSql)) {
-            ps.executeUpdate();
+        try (Connection connection = this.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate(createSql);
+            statement.executeUpdate(createTokenSql);
         }
     }
-}
 
+    @Override
+    public void dropTable(String table) throws SQLException {
+        super.dropTable(getTokenTable(table));
+        super.dropTable(table);
+    }
 
+    /**
+     * Token table of log table.
+     *
+     * @param table log table
+     * @return String
+     */
+    public static String getTokenTable(String table) {
+        return "processor_log_token" + table.substring(PROCESSOR_LOG.length());
+    }
+}
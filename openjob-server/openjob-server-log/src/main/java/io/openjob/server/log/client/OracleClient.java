@@ -3,7 +3,9 @@ package io.openjob.server.log.client;
 import io.openjob.server.log.autoconfigure.LogProperties;
 import io.openjob.server.log.constant.LogJdbcDriverConstant;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Objects;
 
 /**
@@ -17,10 +19,45 @@ public class OracleClient extends AbstractJdbcHikariClient {
         this.oracleProperties = oracleProperties;
     }
 
+    /**
+     * Name is already used by an existing object.
+     */
+    private static final int ERROR_NAME_EXISTS = 955;
+
+    /**
+     * Table or view does not exist.
+     */
+    private static final int ERROR_TABLE_NOT_EXISTS = 942;
+
     @Override
     public void initTable() throws SQLException {
     }
 
+    @Override
+    public void createTable(String table) throws SQLException {
+        // Columns of `processor_log` created by migration, ids are from `processor_log_id` sequence.
+        try (Connection connection = this.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE \"" + table + "\" AS SELECT * FROM \"processor_log\" WHERE 1 = 0");
+            statement.executeUpdate("ALTER TABLE \"" + table + "\" ADD PRIMARY KEY (\"id\")");
+            statement.executeUpdate("CREATE INDEX \"idx_" + table + "\" ON \"" + table + "\" (\"task_id\", \"time\")");
+        } catch (SQLException e) {
+            if (e.getErrorCode() != ERROR_NAME_EXISTS) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void dropTable(String table) throws SQLException {
+        try (Connection connection = this.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DROP TABLE \"" + table + "\" PURGE");
+        } catch (SQLException e) {
+            if (e.getErrorCode() != ERROR_TABLE_NOT_EXISTS) {
+                throw e;
+            }
+        }
+    }
+
     @Override
     public void afterPropertiesSet() {
         // Driver
@@ -3,6 +3,9 @@ package io.openjob.server.log.client;
 import io.openjob.server.log.autoconfigure.LogProperties;
 import io.openjob.server.log.constant.LogJdbcDriverConstant;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Objects;
 
 /**
@@ -21,6 +24,22 @@ public class PostgresqlClient extends AbstractJdbcHikariClient {
 
     }
 
+    @Override
+    public void createTable(String table) throws SQLException {
+        // Columns, sequence default and indexes of `processor_log` created by migration.
+        String createSql = "CREATE TABLE IF NOT EXISTS \"" + table + "\" (LIKE \"processor_log\" INCLUDING ALL)";
+        try (Connection connection = this.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate(createSql);
+        }
+    }
+
+    @Override
+    public void dropTable(String table) throws SQLException {
+        try (Connection connection = this.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DROP TABLE IF EXISTS \"" + table + "\"");
+        }
+    }
+
     @Override
     public void afterPropertiesSet() {
         // Driver
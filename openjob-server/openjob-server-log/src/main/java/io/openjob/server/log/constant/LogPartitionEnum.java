@@ -0,0 +1,61 @@
+package io.openjob.server.log.constant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Getter
+@AllArgsConstructor
+public enum LogPartitionEnum {
+
+    /**
+     * All logs are saved in one table.
+     */
+    NONE("none", 0L, null),
+
+    /**
+     * Logs are saved in a table of each day.
+     */
+    DAY("day", TimeUnit.DAYS.toMillis(1), DateTimeFormatter.ofPattern("yyyyMMdd")),
+
+    /**
+     * Logs are saved in a table of each hour.
+     */
+    HOUR("hour", TimeUnit.HOURS.toMillis(1), DateTimeFormatter.ofPattern("yyyyMMddHH")),
+    ;
+
+    /**
+     * Partition
+     */
+    private final String partition;
+
+    /**
+     * Period(ms) of a partition.
+     */
+    private final Long period;
+
+    /**
+     * Table suffix formatter, in UTC.
+     */
+    private final DateTimeFormatter formatter;
+
+    /**
+     * Parse partition, none when unknown.
+     *
+     * @param partition partition
+     * @return LogPartitionEnum
+     */
+    public static LogPartitionEnum parse(String partition) {
+        return Arrays.stream(values())
+                .filter(p -> p.partition.equalsIgnoreCase(partition))
+                .findFirst()
+                .orElse(NONE);
+    }
+}
@@ -42,6 +42,19 @@ public interface LogDAO {
      */
     PageDTO<ProcessorLogDTO> queryByPageSize(String taskUniqueId, String searchKey, Integer page, Integer size) throws Exception;
 
+    /**
+     * Query by search key after time, so that pages are read by keyset instead of offset.
+     * Lines written before the search column was added by v1.0.8 migrations are not matched.
+     *
+     * @param taskUniqueId taskUniqueId
+     * @param searchKey    searchKey, blank is the same as query by scroll.
+     * @param time         time of last log read
+     * @param size         size
+     * @return List
+     * @throws Exception Exception
+     */
+    List<ProcessorLogDTO> queryBySearch(String taskUniqueId, String searchKey, Long time, Integer size) throws Exception;
+
     /**
      * Delete by last time
      *
@@ -49,4 +62,14 @@ public interface LogDAO {
      * @throws Exception Exception
      */
     void deleteByLastTime(Long lastTime) throws Exception;
+
+    /**
+     * Delete a chunk of logs before last time, so that rows are deleted in small transactions.
+     *
+     * @param lastTime lastTime
+     * @param size     max rows to delete
+     * @return Integer rows deleted, including rows of search index, less than size when no logs left.
+     * @throws Exception Exception
+     */
+    Integer deleteByLastTime(Long lastTime, Integer size) throws Exception;
 }
@@ -1,6 +1,6 @@
 package io.openjob.server.log.dao.impl;
 
-import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import io.openjob.common.constant.LogFieldConstant;
 import io.openjob.common.util.DateUtil;
 import io.openjob.common.util.JsonUtil;
@@ -15,6 +15,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.index.IndexRequest;
@@ -26,6 +27,7 @@ import org.elasticsearch.client.indices.CreateIndexRequest;
 import org.elasticsearch.client.indices.CreateIndexResponse;
 import org.elasticsearch.client.indices.GetIndexRequest;
 import org.elasticsearch.client.indices.GetIndexResponse;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.query.BoolQueryBuilder;
@@ -37,6 +39,7 @@ import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.sort.FieldSortBuilder;
 import org.elasticsearch.search.sort.SortOrder;
+import org.springframework.beans.factory.DisposableBean;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -45,23 +48,27 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 /**
  * Elasticsearch7 client document
  * <a href="https://www.elastic.co/guide/en/elasticsearch/client/java-rest/current/java-rest-high-getting-started-maven.html">...</a>
+ * Logs are written by a bulk processor, flushed by actions, bytes or interval with concurrent requests in flight.
+ * Logs are indexed by day of log time, such as `openjob_20230101`, so that expired logs are deleted by dropping indices.
  *
  * @author stelin swoft@qq.com
  * @since 1.0.2
  */
 @Slf4j
-public class Elasticsearch7DAOImpl implements LogDAO {
+public class Elasticsearch7DAOImpl implements LogDAO, DisposableBean {
 
     /**
-     * Index split size
+     * Seconds to wait for bulk requests in flight on close.
      */
-    private static final Integer INDEX_SPLIT_SIZE = 2;
+    private static final Long CLOSE_TIMEOUT = 10L;
 
     /**
      * Index already message
@@ -70,16 +77,31 @@ public class Elasticsearch7DAOImpl implements LogDAO {
 
     private final Elasticsearch7Client elasticsearch7Client;
     private final LogProperties.Elasticsearch7Properties properties;
-    private final Map<String, Boolean> indexMap = Maps.newConcurrentMap();
+    private final Set<String> createdIndices = Sets.newConcurrentHashSet();
+    private final BulkProcessor bulkProcessor;
 
+    /**
+     * New Elasticsearch7DAOImpl
+     *
+     * @param elasticsearch7Client elasticsearch7Client
+     * @param properties           properties
+     */
     public Elasticsearch7DAOImpl(Elasticsearch7Client elasticsearch7Client, LogProperties.Elasticsearch7Properties properties) {
         this.elasticsearch7Client = elasticsearch7Client;
         this.properties = properties;
+        BiConsumer<BulkRequest, ActionListener<BulkResponse>> consumer =
+                (r, l) -> this.elasticsearch7Client.getClient().bulkAsync(r, this.elasticsearch7Client.getRequestOptions(), l);
+        this.bulkProcessor = BulkProcessor.builder(consumer, new BulkListener())
+                .setBulkActions(properties.getBulkActions())
+                .setBulkSize(new ByteSizeValue(properties.getBulkSize()))
+                .setFlushInterval(TimeValue.timeValueMillis(properties.getFlushInterval()))
+                .setConcurrentRequests(properties.getConcurrentRequests())
+                .build();
     }
 
     @Override
     public void batchAdd(List<ProcessorLogDTO> jobInstanceTaskLogs) {
-        BulkRequest bulkRequest = new BulkRequest();
+        List<IndexRequest> indexRequests = new ArrayList<>(jobInstanceTaskLogs.size());
         jobInstanceTaskLogs.forEach(p -> {
             try {
                 ProcessorLogElasticDTO processorLogElasticDTO = new ProcessorLogElasticDTO();
@@ -107,18 +129,31 @@ public class Elasticsearch7DAOImpl implements LogDAO {
                 // Json
                 String jsonLog = JsonUtil.encode(processorLogElasticDTO);
 
-                // Index request
-                IndexRequest indexRequest = new IndexRequest(this.getCreateIndex());
-                indexRequest.id(UUID.randomUUID().toString()).source(jsonLog, XContentType.JSON);
-                bulkRequest.add(indexRequest);
+                // Index request, id is generated by elasticsearch to append without version lookups.
+                IndexRequest indexRequest = new IndexRequest(this.getCreateIndex(p.getTime()));
+                indexRequest.source(jsonLog, XContentType.JSON);
+                indexRequests.add(indexRequest);
             } catch (Exception exception) {
                 throw new RuntimeException("Elasticsearch7 format ", exception);
             }
         });
 
-        // Async bulk
-        bulkRequest.timeout(TimeValue.timeValueMillis(this.properties.getSocketTimeout()));
-        this.elasticsearch7Client.getClient().bulkAsync(bulkRequest, this.elasticsearch7Client.getRequestOptions(), new BulkListener());
+        // Waits only when concurrent requests are in flight.
+        indexRequests.forEach(this.bulkProcessor::add);
+    }
+
+    /**
+     * Flush logs added and not sent.
+     */
+    public void flush() {
+        this.bulkProcessor.flush();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (!this.bulkProcessor.awaitClose(CLOSE_TIMEOUT, TimeUnit.SECONDS)) {
+            log.warn("Elasticsearch7 bulk processor close timeout! timeout={}s", CLOSE_TIMEOUT);
+        }
     }
 
     @Override
@@ -145,6 +180,28 @@ public class Elasticsearch7DAOImpl implements LogDAO {
         return this.queryResult(searchRequest, 0, size).getList();
     }
 
+    @Override
+    public List<ProcessorLogDTO> queryBySearch(String taskUniqueId, String searchKey, Long time, Integer size) throws Exception {
+        SearchRequest searchRequest = new SearchRequest(this.getIndex());
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+
+        // `taskId=?` and `time > ?` and ( message=? or throwable=?)
+        BoolQueryBuilder boolBuilder = QueryBuilders.boolQuery();
+        boolBuilder.must(QueryBuilders.termQuery("taskId" + ".keyword", taskUniqueId));
+        boolBuilder.must(QueryBuilders.rangeQuery("time").gt(time));
+        if (StringUtils.isNotBlank(searchKey)) {
+            MultiMatchQueryBuilder multiMatchQueryBuilder = QueryBuilders.multiMatchQuery(searchKey, LogFieldConstant.MESSAGE, LogFieldConstant.THROWABLE);
+            multiMatchQueryBuilder.operator(Operator.OR);
+            boolBuilder.must(multiMatchQueryBuilder);
+        }
+
+        searchSourceBuilder.query(boolBuilder);
+        searchSourceBuilder.size(size);
+        searchSourceBuilder.sort(new FieldSortBuilder("time").order(SortOrder.ASC));
+        searchRequest.source(searchSourceBuilder);
+        return this.queryResult(searchRequest, 0, size).getList();
+    }
+
     @Override
     public PageDTO<ProcessorLogDTO> queryByPageSize(String taskUniqueId, String searchKey, Integer page, Integer size) throws IOException {
 
@@ -208,6 +265,12 @@ public class Elasticsearch7DAOImpl implements LogDAO {
         return pageDTO;
     }
 
+    /**
+     * Drop indices of days before the day of last time, logs are kept for a day longer at most.
+     *
+     * @param lastTime last time(ms)
+     * @throws Exception Exception
+     */
     @Override
     public void deleteByLastTime(Long lastTime) throws Exception {
         RequestOptions requestOptions = this.elasticsearch7Client.getRequestOptions();
@@ -221,20 +284,22 @@ public class Elasticsearch7DAOImpl implements LogDAO {
         }
 
         // Get index
+        // Indices of other prefixes are matched by pattern too, such as `openjob2_20230101`.
         GetIndexResponse getIndexResponse = this.elasticsearch7Client.getClient().indices().get(request, requestOptions);
+        String prefix = this.properties.getIndex() + "_";
+        int lastDate = DateUtil.formatDateByTimestamp(TimeUnit.MILLISECONDS.toSeconds(lastTime));
         Arrays.stream(getIndexResponse.getIndices()).forEach(i -> {
-            String[] indexSplit = i.split("_");
-            if (indexSplit.length != INDEX_SPLIT_SIZE) {
+            String indexDate = i.substring(Math.min(prefix.length(), i.length()));
+            if (!i.startsWith(prefix) || !StringUtils.isNumeric(indexDate)) {
                 return;
             }
 
             // Delete index
-            int lastDate = DateUtil.formatDateByTimestamp(lastTime);
-            int indexDate = Integer.parseInt(indexSplit[1]);
-            if (indexDate < lastDate) {
+            if (Integer.parseInt(indexDate) < lastDate) {
                 DeleteIndexRequest deleteIndexRequest = new DeleteIndexRequest(i);
                 try {
                     AcknowledgedResponse deleteResponse = this.elasticsearch7Client.getClient().indices().delete(deleteIndexRequest, requestOptions);
+                    this.createdIndices.remove(i);
                     if (deleteResponse.isAcknowledged()) {
                         log.info("Elasticsearch7 delete index success! index={}", i);
                     }
@@ -245,26 +310,42 @@ public class Elasticsearch7DAOImpl implements LogDAO {
         });
     }
 
-    public static class BulkListener implements ActionListener<BulkResponse> {
+    @Override
+    public Integer deleteByLastTime(Long lastTime, Integer size) throws Exception {
+        // Indices are deleted as a whole.
+        this.deleteByLastTime(lastTime);
+        return 0;
+    }
+
+    public static class BulkListener implements BulkProcessor.Listener {
         @Override
-        public void onResponse(BulkResponse bulkItemResponses) {
+        public void beforeBulk(long executionId, BulkRequest request) {
+
+        }
 
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+            if (response.hasFailures()) {
+                log.error("Elasticsearch7 bulk failed! actions={} message={}", request.numberOfActions(), response.buildFailureMessage());
+            }
         }
 
         @Override
-        public void onFailure(Exception e) {
-            log.error("Elasticsearch7 bulk failed!", e);
+        public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+            log.error("Elasticsearch7 bulk failed! actions={}", request.numberOfActions(), failure);
         }
     }
 
     /**
-     * Get create index
+     * Get create index of log time
      *
+     * @param time log time(ms)
      * @return String
      */
-    public String getCreateIndex() {
-        String formatIndex = String.format("%s_%d", this.properties.getIndex(), DateUtil.getNowFormatDate());
-        if (this.indexMap.containsKey(formatIndex)) {
+    public String getCreateIndex(Long time) {
+        int date = DateUtil.formatDateByTimestamp(TimeUnit.MILLISECONDS.toSeconds(time));
+        String formatIndex = String.format("%s_%d", this.properties.getIndex(), date);
+        if (this.createdIndices.contains(formatIndex)) {
             return formatIndex;
         }
 
@@ -290,15 +371,13 @@ public class Elasticsearch7DAOImpl implements LogDAO {
                     log.info("Elasticsearch7 create index success! index={}", indexName);
                 }
             }
-            this.indexMap.clear();
-            this.indexMap.put(indexName, true);
+            this.createdIndices.add(indexName);
         } catch (Throwable throwable) {
             // Create index already exists
             // Elasticsearch exception [type=resource_already_exists_exception, reason=index [openjob_test/jDZBK4ECRy6yMgVb89cKUg] already exists]
             String message = throwable.getMessage();
             if (message.contains(INDEX_ALREADY_MESSAGE)) {
-                this.indexMap.clear();
-                this.indexMap.put(indexName, true);
+                this.createdIndices.add(indexName);
                 log.info("Elasticsearch7 index already exists! index={}", indexName);
                 return;
             }
@@ -1,14 +1,217 @@
 package io.openjob.server.log.dao.impl;
 
 import io.openjob.server.log.client.H2Client;
+import io.openjob.server.log.constant.LogPartitionEnum;
+import io.openjob.server.log.dto.ProcessorLogDTO;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 /**
+ * H2 has no full-text index of its own fit for log search, so words of message are indexed in `processor_log_token`.
+ * Search is driven by the longest word through (`task_id`,`token`,`time`), other words are matched on message.
+ *
  * @author stelin swoft@qq.com
  * @since 1.0.0
  */
 public class H2LogDAOImpl extends JdbcDAOImpl {
 
+    /**
+     * Max length of token, longer is truncated.
+     */
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    /**
+     * Prefix of search condition on token table.
+     */
+    private static final String TOKEN_CONDITION = " AND t.`token`=?";
+
+    /**
+     * Order by `time` with equal columns before, so that rows are read in index order and limit stops early.
+     */
+    private static final String TOKEN_ORDER = "t.`task_id` ASC, t.`token` ASC, t.`time` ASC, t.`log_id` ASC";
+
     public H2LogDAOImpl(H2Client h2Client) {
         super(h2Client);
     }
+
+    public H2LogDAOImpl(H2Client h2Client, LogPartitionEnum partition) {
+        super(h2Client, partition);
+    }
+
+    @Override
+    protected void batchAddByTable(String table, List<ProcessorLogDTO> processorLogList) throws Exception {
+        String tokenSql = "INSERT INTO `" + H2Client.getTokenTable(table) + "` (`token`, `task_id`, `time`, `log_id`) VALUES (?, ?, ?, ?)";
+        try (Connection connection = this.jdbcHikariClient.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(this.getBatchAddSql(table), Statement.RETURN_GENERATED_KEYS);
+                    PreparedStatement tokenPs = connection.prepareStatement(tokenSql)) {
+                List<String> messages = new ArrayList<>(processorLogList.size());
+                for (ProcessorLogDTO processorLog : processorLogList) {
+                    String message = this.getMessage(processorLog.getFields());
+                    messages.add(message);
+
+                    ps.setString(1, processorLog.getTaskId());
+                    ps.setString(2, processorLog.getWorkerAddress());
+                    ps.setString(3, this.getContent(processorLog.getFields()));
+                    ps.setString(4, message);
+                    ps.setLong(5, processorLog.getTime());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                // Index tokens by generated ids, in order of batch.
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int index = 0;
+                    while (keys.next()) {
+                        ProcessorLogDTO processorLog = processorLogList.get(index);
+                        for (String token : tokenize(messages.get(index++))) {
+                            tokenPs.setString(1, token);
+                            tokenPs.setString(2, processorLog.getTaskId());
+                            tokenPs.setLong(3, processorLog.getTime());
+                            tokenPs.setLong(4, keys.getLong(1));
+                            tokenPs.addBatch();
+                        }
+                    }
+                }
+                tokenPs.executeBatch();
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    @Override
+    public Integer deleteByLastTime(Long lastTime, Integer size) throws Exception {
+        // Tokens of partitions are dropped with partitions, tokens of a chunk are counted as rows deleted.
+        String sql = "delete from `processor_log_token` where `time` < ? limit ?";
+        int tokenCount;
+        try (Connection connection = this.jdbcHikariClient.getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, lastTime);
+            ps.setInt(2, size);
+            tokenCount = ps.executeUpdate();
+        }
+
+        // Logs are deleted after all their tokens.
+        if (tokenCount >= size) {
+            return tokenCount;
+        }
+        return tokenCount + super.deleteByLastTime(lastTime, size - tokenCount);
+    }
+
+    @Override
+    protected String getDeleteSql(String table) {
+        return "delete from `" + table + "` where `time` < ? limit ?";
+    }
+
+    @Override
+    protected String getQueryBySearchSql(String table, String condition) {
+        if (!condition.startsWith(TOKEN_CONDITION)) {
+            return super.getQueryBySearchSql(table, condition);
+        }
+        return "SELECT p.* FROM `" + H2Client.getTokenTable(table) + "` t INNER JOIN `" + table + "` p ON p.`id`=t.`log_id`"
+                + " WHERE t.`task_id`=? AND t.`time` > ?" + condition + " ORDER BY " + TOKEN_ORDER + " limit ?";
+    }
+
+    @Override
+    protected String getPageBySearchSql(String table, String condition) {
+        if (!condition.startsWith(TOKEN_CONDITION)) {
+            return super.getPageBySearchSql(table, condition);
+        }
+        return "SELECT p.* FROM `" + H2Client.getTokenTable(table) + "` t INNER JOIN `" + table + "` p ON p.`id`=t.`log_id`"
+                + " WHERE t.`task_id`=?" + condition + " ORDER BY " + TOKEN_ORDER + " limit ?, ?";
+    }
+
+    @Override
+    protected String getCountBySearchSql(String table, String condition) {
+        if (!condition.startsWith(TOKEN_CONDITION)) {
+            return super.getCountBySearchSql(table, condition);
+        }
+        return "SELECT COUNT(*) FROM `" + H2Client.getTokenTable(table) + "` t INNER JOIN `" + table + "` p ON p.`id`=t.`log_id`"
+                + " WHERE t.`task_id`=?" + condition;
+    }
+
+    @Override
+    protected String getSearchCondition(String searchKey) {
+        // Search key without words is matched on message only.
+        Set<String> tokens = tokenize(searchKey);
+        if (tokens.isEmpty()) {
+            return super.getSearchCondition(searchKey);
+        }
+
+        StringBuilder condition = new StringBuilder(TOKEN_CONDITION);
+        for (int i = 1; i < tokens.size(); i++) {
+            condition.append(" AND LOWER(p.`message`) LIKE ?");
+        }
+        return condition.toString();
+    }
+
+    @Override
+    protected List<Object> getSearchParameters(String searchKey) {
+        Set<String> tokens = tokenize(searchKey);
+        if (tokens.isEmpty()) {
+            return super.getSearchParameters(searchKey);
+        }
+
+        // Longest token is the most selective one for index.
+        List<String> sorted = new ArrayList<>(tokens);
+        sorted.sort(Comparator.comparingInt(String::length).reversed());
+
+        List<Object> parameters = new ArrayList<>(sorted.size());
+        parameters.add(sorted.get(0));
+        sorted.subList(1, sorted.size()).forEach(t -> parameters.add("%" + t + "%"));
+        return parameters;
+    }
+
+    /**
+     * Split text to lower case tokens of letters and digits, each ideograph is a token.
+     * All distinct tokens are kept, so that words deep in a throwable are found as on other databases.
+     *
+     * @param text text
+     * @return Set
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        StringBuilder token = new StringBuilder();
+        int offset = 0;
+        while (offset < text.length()) {
+            int codePoint = text.codePointAt(offset);
+            offset += Character.charCount(codePoint);
+
+            boolean ideographic = Character.isIdeographic(codePoint);
+            if (!ideographic && Character.isLetterOrDigit(codePoint)) {
+                if (token.length() < MAX_TOKEN_LENGTH) {
+                    token.appendCodePoint(codePoint);
+                }
+                continue;
+            }
+
+            addToken(tokens, token);
+            if (ideographic) {
+                token.appendCodePoint(codePoint);
+                addToken(tokens, token);
+            }
+        }
+        addToken(tokens, token);
+        return tokens;
+    }
+
+    private static void addToken(Set<String> tokens, StringBuilder token) {
+        if (token.length() > 0) {
+            tokens.add(token.toString().toLowerCase(Locale.ROOT));
+            token.setLength(0);
+        }
+    }
 }
@@ -1,24 +1,27 @@
 package io.openjob.server.log.dao.impl;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openjob.common.constant.LogFieldConstant;
 import io.openjob.server.common.dto.PageDTO;
 import io.openjob.server.log.client.AbstractJdbcHikariClient;
+import io.openjob.server.log.constant.LogPartitionEnum;
 import io.openjob.server.log.dao.LogDAO;
 import io.openjob.server.log.dto.ProcessorLogDTO;
 import io.openjob.server.log.dto.ProcessorLogFieldDTO;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * @author stelin swoft@qq.com
@@ -26,16 +29,111 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class JdbcDAOImpl implements LogDAO {
+
+    /**
+     * Rows of a delete chunk, when deleted without a size.
+     */
+    private static final int DELETE_SIZE = 1000;
+
+    /**
+     * Max rows to fetch in a round trip.
+     */
+    private static final int MAX_FETCH_SIZE = 1000;
+
     protected final AbstractJdbcHikariClient jdbcHikariClient;
+    protected final ProcessorLogTables tables;
 
     public JdbcDAOImpl(AbstractJdbcHikariClient jdbcHikariClient) {
+        this(jdbcHikariClient, LogPartitionEnum.NONE);
+    }
+
+    public JdbcDAOImpl(AbstractJdbcHikariClient jdbcHikariClient, LogPartitionEnum partition) {
         this.jdbcHikariClient = jdbcHikariClient;
+        this.tables = new ProcessorLogTables(jdbcHikariClient, partition);
     }
 
     @Override
     public void batchAdd(List<ProcessorLogDTO> processorLogList) throws Exception {
+        // Logs of a batch are mostly in one partition.
+        Map<String, List<ProcessorLogDTO>> tableLogs = new LinkedHashMap<>();
+        for (ProcessorLogDTO processorLog : processorLogList) {
+            String table = this.tables.getOrCreate(processorLog.getTime());
+            tableLogs.computeIfAbsent(table, t -> new ArrayList<>()).add(processorLog);
+        }
+
+        for (Map.Entry<String, List<ProcessorLogDTO>> entry : tableLogs.entrySet()) {
+            this.batchAddByTable(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public List<ProcessorLogDTO> queryByScroll(String taskUniqueId, Long time, Integer size) throws Exception {
+        return this.queryByTables(time, size, this::getQueryByScrollSql, Arrays.<Object>asList(taskUniqueId, time));
+    }
+
+    @Override
+    public PageDTO<ProcessorLogDTO> queryByPageSize(String taskUniqueId, String searchKey, Integer page, Integer size) throws Exception {
+        try {
+            return this.doQueryByPageSize(taskUniqueId, searchKey, page, size);
+        } catch (SQLException e) {
+            if (!this.tables.isPartitioned()) {
+                throw e;
+            }
+
+            // Table may be dropped by other servers.
+            this.tables.refresh();
+            return this.doQueryByPageSize(taskUniqueId, searchKey, page, size);
+        }
+    }
+
+    @Override
+    public List<ProcessorLogDTO> queryBySearch(String taskUniqueId, String searchKey, Long time, Integer size) throws Exception {
+        // `time` before search parameters for all dialects.
+        String condition = this.getCondition(searchKey);
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(taskUniqueId);
+        parameters.add(time);
+        parameters.addAll(this.getParameters(searchKey));
+        return this.queryByTables(time, size, t -> this.getQueryBySearchSql(t, condition), parameters);
+    }
+
+    @Override
+    public void deleteByLastTime(Long lastTime) throws Exception {
+        long logCount = 0;
+        int count;
+        do {
+            count = this.deleteByLastTime(lastTime, DELETE_SIZE);
+            logCount += count;
+        } while (count >= DELETE_SIZE);
+        log.info("System data clear success!logCount={}", logCount);
+    }
+
+    @Override
+    public Integer deleteByLastTime(Long lastTime, Integer size) throws Exception {
+        // Partitions are dropped as a whole, the table written by older versions is deleted by rows.
+        List<String> droppedTables = this.tables.dropBefore(lastTime);
+        if (!droppedTables.isEmpty()) {
+            log.info("Processor log tables dropped! tables={}", droppedTables);
+        }
+
+        String sql = this.getDeleteSql(AbstractJdbcHikariClient.PROCESSOR_LOG);
+        try (Connection connection = this.jdbcHikariClient.getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, lastTime);
+            ps.setInt(2, size);
+            return ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Batch add logs to table.
+     *
+     * @param table            table
+     * @param processorLogList processor logs
+     * @throws Exception Exception
+     */
+    protected void batchAddByTable(String table, List<ProcessorLogDTO> processorLogList) throws Exception {
         PreparedStatement ps = null;
-        String sql = this.getBatchAddSql();
+        String sql = this.getBatchAddSql(table);
         try (Connection connection = this.jdbcHikariClient.getConnection()) {
             ps = connection.prepareStatement(sql);
             connection.setAutoCommit(false);
@@ -43,7 +141,8 @@ public class JdbcDAOImpl implements LogDAO {
                 ps.setString(1, processorLog.getTaskId());
                 ps.setString(2, processorLog.getWorkerAddress());
                 ps.setString(3, this.getContent(processorLog.getFields()));
-                ps.setLong(4, processorLog.getTime());
+                ps.setString(4, this.getMessage(processorLog.getFields()));
+                ps.setLong(5, processorLog.getTime());
                 ps.addBatch();
             }
             ps.executeBatch();
@@ -57,94 +156,250 @@ public class JdbcDAOImpl implements LogDAO {
         }
     }
 
-    @Override
-    public List<ProcessorLogDTO> queryByScroll(String taskUniqueId, Long time, Integer size) throws Exception {
-        ResultSet rs = null;
-        String sql = this.getQueryByScrollSql();
-        try (Connection connection = this.jdbcHikariClient.getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, taskUniqueId);
-            ps.setLong(2, time);
-            ps.setLong(3, size);
-            rs = ps.executeQuery();
+    private PageDTO<ProcessorLogDTO> doQueryByPageSize(String taskUniqueId, String searchKey, Integer page, Integer size) throws Exception {
+        String condition = this.getCondition(searchKey);
+        List<Object> searchParameters = this.getParameters(searchKey);
 
-            List<ProcessorLogDTO> taskLogList = new ArrayList<>();
-            while (rs.next()) {
-                taskLogList.add(convert(rs));
+        PageDTO<ProcessorLogDTO> pageDTO = new PageDTO<>();
+        pageDTO.setPage(page);
+        pageDTO.setSize(size);
+        try (Connection connection = this.jdbcHikariClient.getConnection()) {
+            // Count of each table
+            List<String> tableList = this.tables.getTables(null);
+            long[] counts = new long[tableList.size()];
+            long total = 0L;
+            for (int i = 0; i < tableList.size(); i++) {
+                try (PreparedStatement ps = connection.prepareStatement(this.getCountBySearchSql(tableList.get(i), condition))) {
+                    ps.setString(1, taskUniqueId);
+                    this.setParameters(ps, 2, searchParameters);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        counts[i] = rs.next() ? rs.getLong(1) : 0L;
+                    }
+                }
+                total += counts[i];
             }
-            return taskLogList;
-        } finally {
-            if (Objects.nonNull(rs)) {
-                rs.close();
+            pageDTO.setTotal(total);
+
+            // Page list, `offset` before `limit` for all dialects.
+            List<ProcessorLogDTO> taskLogList = new ArrayList<>();
+            long offset = (long) (page - 1) * size;
+            for (int i = 0; i < tableList.size() && taskLogList.size() < size; i++) {
+                if (offset >= counts[i]) {
+                    offset -= counts[i];
+                    continue;
+                }
+
+                try (PreparedStatement ps = connection.prepareStatement(this.getPageBySearchSql(tableList.get(i), condition))) {
+                    ps.setString(1, taskUniqueId);
+                    int index = this.setParameters(ps, 2, searchParameters);
+                    ps.setLong(index++, offset);
+                    ps.setLong(index, size - taskLogList.size());
+                    ps.setFetchSize(this.getFetchSize(size - taskLogList.size()));
+                    try (ResultSet rs = ps.executeQuery()) {
+                        this.convert(rs, taskLogList);
+                    }
+                }
+                offset = 0L;
             }
+            pageDTO.setList(taskLogList);
         }
+        return pageDTO;
     }
 
+    /**
+     * Query tables after time in order, until size is reached.
+     *
+     * @param time        time
+     * @param size        size
+     * @param sqlFunction sql of table, limit is the last parameter.
+     * @param parameters  parameters before limit
+     * @return List
+     * @throws Exception Exception
+     */
+    private List<ProcessorLogDTO> queryByTables(Long time, Integer size, Function<String, String> sqlFunction, List<Object> parameters) throws Exception {
+        try {
+            return this.doQueryByTables(time, size, sqlFunction, parameters);
+        } catch (SQLException e) {
+            if (!this.tables.isPartitioned()) {
+                throw e;
+            }
 
-    @Override
-    public PageDTO<ProcessorLogDTO> queryByPageSize(String taskUniqueId, String searchKey, Integer page, Integer size) {
-        return null;
+            // Table may be dropped by other servers.
+            this.tables.refresh();
+            return this.doQueryByTables(time, size, sqlFunction, parameters);
+        }
     }
 
-    @Override
-    public void deleteByLastTime(Long lastTime) throws Exception {
-        String sql = this.getDeleteSql();
-        try (Connection connection = this.jdbcHikariClient.getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setLong(1, lastTime);
-            int logCount = ps.executeUpdate();
-            log.info("System data clear success!logCount={}", logCount);
+    private List<ProcessorLogDTO> doQueryByTables(Long time, Integer size, Function<String, String> sqlFunction, List<Object> parameters) throws Exception {
+        List<ProcessorLogDTO> taskLogList = new ArrayList<>();
+        try (Connection connection = this.jdbcHikariClient.getConnection()) {
+            for (String table : this.tables.getTables(time)) {
+                try (PreparedStatement ps = connection.prepareStatement(sqlFunction.apply(table))) {
+                    int index = this.setParameters(ps, 1, parameters);
+                    ps.setLong(index, size - taskLogList.size());
+                    ps.setFetchSize(this.getFetchSize(size - taskLogList.size()));
+                    try (ResultSet rs = ps.executeQuery()) {
+                        this.convert(rs, taskLogList);
+                    }
+                }
+
+                if (taskLogList.size() >= size) {
+                    break;
+                }
+            }
         }
+        return taskLogList;
     }
 
-    protected String getBatchAddSql() {
-        return "INSERT INTO `processor_log` ("
+    protected String getBatchAddSql(String table) {
+        return "INSERT INTO `" + table + "` ("
                 + "`task_id`,"
                 + "`worker_address`,"
                 + "`content`,"
+                + "`message`,"
                 + "`time`"
-                + ") VALUES (?, ?, ?, ?)";
+                + ") VALUES (?, ?, ?, ?, ?)";
     }
 
-    protected String getQueryByScrollSql() {
-        return "SELECT * FROM `processor_log` WHERE `task_id`=? AND `time` > ? ORDER BY `time` ASC limit ?";
+    protected String getQueryByScrollSql(String table) {
+        return "SELECT * FROM `" + table + "` WHERE `task_id`=? AND `time` > ? ORDER BY `time` ASC limit ?";
     }
 
-    protected String getDeleteSql() {
-        return "delete from `processor_log` where `time` < ?";
+    /**
+     * Delete sql of a chunk, parameters are time and limit.
+     *
+     * @param table table
+     * @return String
+     */
+    protected String getDeleteSql(String table) {
+        return "delete from `" + table + "` where `time` < ? order by `id` asc limit ?";
     }
 
-    protected String getContent(List<ProcessorLogFieldDTO> fields) {
-        Map<String, String> fieldMap = fields.stream()
-                .collect(Collectors.toMap(ProcessorLogFieldDTO::getName, ProcessorLogFieldDTO::getValue));
+    /**
+     * Keyset query sql, parameters are task id, time, search parameters and limit.
+     *
+     * @param table     table
+     * @param condition search condition, empty when search key is blank.
+     * @return String
+     */
+    protected String getQueryBySearchSql(String table, String condition) {
+        return "SELECT * FROM `" + table + "` WHERE `task_id`=? AND `time` > ?" + condition + " ORDER BY `time` ASC limit ?";
+    }
 
-        // Format log fields
-        try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            return objectMapper.writeValueAsString(fieldMap);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+    /**
+     * Page query sql, parameters are task id, search parameters, offset and limit.
+     *
+     * @param table     table
+     * @param condition search condition, empty when search key is blank.
+     * @return String
+     */
+    protected String getPageBySearchSql(String table, String condition) {
+        return "SELECT * FROM `" + table + "` WHERE `task_id`=?" + condition + " ORDER BY `time` ASC, `id` ASC limit ?, ?";
+    }
+
+    /**
+     * Count sql, parameters are task id and search parameters.
+     *
+     * @param table     table
+     * @param condition search condition, empty when search key is blank.
+     * @return String
+     */
+    protected String getCountBySearchSql(String table, String condition) {
+        return "SELECT COUNT(*) FROM `" + table + "` WHERE `task_id`=?" + condition;
+    }
+
+    /**
+     * Search condition on message column, appended to `task_id` condition.
+     *
+     * @param searchKey search key, not blank.
+     * @return String
+     */
+    protected String getSearchCondition(String searchKey) {
+        return " AND `message` LIKE ? ESCAPE '!'";
+    }
+
+    /**
+     * Parameters of search condition.
+     *
+     * @param searchKey search key, not blank.
+     * @return List
+     */
+    protected List<Object> getSearchParameters(String searchKey) {
+        String escaped = searchKey.trim()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return Collections.singletonList("%" + escaped + "%");
+    }
+
+    /**
+     * Searchable text of log, message and throwable are searched like elasticsearch.
+     *
+     * @param fields fields
+     * @return String
+     */
+    protected String getMessage(List<ProcessorLogFieldDTO> fields) {
+        StringBuilder message = new StringBuilder();
+        for (ProcessorLogFieldDTO field : fields) {
+            boolean searchable = LogFieldConstant.MESSAGE.equals(field.getName()) || LogFieldConstant.THROWABLE.equals(field.getName());
+            if (searchable && StringUtils.isNotEmpty(field.getValue())) {
+                if (message.length() > 0) {
+                    message.append("\n");
+                }
+                message.append(field.getValue());
+            }
         }
+        return message.toString();
     }
 
+    private String getCondition(String searchKey) {
+        return StringUtils.isBlank(searchKey) ? "" : this.getSearchCondition(searchKey);
+    }
 
-    protected ProcessorLogDTO convert(ResultSet rs) throws SQLException {
-        ProcessorLogDTO taskLog = new ProcessorLogDTO();
-        taskLog.setTaskId(rs.getString("task_id"));
-        taskLog.setWorkerAddress(rs.getString("worker_address"));
-        taskLog.setTime(rs.getLong("time"));
-        String content = rs.getString("content");
+    private List<Object> getParameters(String searchKey) {
+        return StringUtils.isBlank(searchKey) ? Collections.emptyList() : this.getSearchParameters(searchKey);
+    }
 
-        // Parse log fields
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            Map<String, String> fieldMap = mapper.readValue(content, new TypeReference<Map<String, String>>() {
-            });
-
-            List<ProcessorLogFieldDTO> fieldsList = new ArrayList<>();
-            fieldMap.forEach((name, value) -> fieldsList.add(new ProcessorLogFieldDTO(name, value)));
-            taskLog.setFields(fieldsList);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+    private int setParameters(PreparedStatement ps, int index, List<Object> parameters) throws SQLException {
+        for (Object parameter : parameters) {
+            ps.setObject(index++, parameter);
+        }
+        return index;
+    }
+
+    protected String getContent(List<ProcessorLogFieldDTO> fields) {
+        return ProcessorLogFieldCodec.encode(fields);
+    }
+
+    /**
+     * Rows to fetch in a round trip, so that a page is read at once.
+     *
+     * @param size rows of query
+     * @return int
+     */
+    protected int getFetchSize(long size) {
+        return (int) Math.min(size, MAX_FETCH_SIZE);
+    }
+
+    /**
+     * Convert rows as read, columns are looked up once for the result set.
+     *
+     * @param rs          result set
+     * @param taskLogList list to add to
+     * @throws SQLException SQLException
+     */
+    protected void convert(ResultSet rs, List<ProcessorLogDTO> taskLogList) throws SQLException {
+        int taskIdIndex = rs.findColumn("task_id");
+        int workerAddressIndex = rs.findColumn("worker_address");
+        int timeIndex = rs.findColumn("time");
+        int contentIndex = rs.findColumn("content");
+        while (rs.next()) {
+            ProcessorLogDTO taskLog = new ProcessorLogDTO();
+            taskLog.setTaskId(rs.getString(taskIdIndex));
+            taskLog.setWorkerAddress(rs.getString(workerAddressIndex));
+            taskLog.setTime(rs.getLong(timeIndex));
+            taskLog.setFields(ProcessorLogFieldCodec.decode(rs.getString(contentIndex)));
+            taskLogList.add(taskLog);
         }
-        return taskLog;
     }
 }
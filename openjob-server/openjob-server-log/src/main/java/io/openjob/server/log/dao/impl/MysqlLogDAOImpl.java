@@ -1,6 +1,10 @@
 package io.openjob.server.log.dao.impl;
 
 import io.openjob.server.log.client.MysqlClient;
+import io.openjob.server.log.constant.LogPartitionEnum;
+
+import java.util.Collections;
+import java.util.List;
 
 /**
  * @author stelin swoft@qq.com
@@ -10,4 +14,19 @@ public class MysqlLogDAOImpl extends JdbcDAOImpl {
     public MysqlLogDAOImpl(MysqlClient mysqlClient) {
         super(mysqlClient);
     }
+
+    public MysqlLogDAOImpl(MysqlClient mysqlClient, LogPartitionEnum partition) {
+        super(mysqlClient, partition);
+    }
+
+    @Override
+    protected String getSearchCondition(String searchKey) {
+        // Natural language mode on `ftx_message` full-text index, words are matched like elasticsearch `OR`.
+        return " AND MATCH(`message`) AGAINST(? IN NATURAL LANGUAGE MODE)";
+    }
+
+    @Override
+    protected List<Object> getSearchParameters(String searchKey) {
+        return Collections.singletonList(searchKey.trim());
+    }
 }
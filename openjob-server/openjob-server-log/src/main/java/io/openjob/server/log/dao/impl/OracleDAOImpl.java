@@ -1,6 +1,7 @@
 package io.openjob.server.log.dao.impl;
 
 import io.openjob.server.log.client.AbstractJdbcHikariClient;
+import io.openjob.server.log.constant.LogPartitionEnum;
 import io.openjob.server.log.dto.ProcessorLogDTO;
 
 import java.sql.Connection;
@@ -21,15 +22,20 @@ public class OracleDAOImpl extends JdbcDAOImpl {
         super(jdbcHikariClient);
     }
 
+    public OracleDAOImpl(AbstractJdbcHikariClient jdbcHikariClient, LogPartitionEnum partition) {
+        super(jdbcHikariClient, partition);
+    }
+
     @Override
-    public void batchAdd(List<ProcessorLogDTO> processorLogList) throws Exception {
-        String sql = "INSERT INTO \"processor_log\" ("
+    protected void batchAddByTable(String table, List<ProcessorLogDTO> processorLogList) throws Exception {
+        String sql = "INSERT INTO \"" + table + "\" ("
                 + "\"id\","
                 + "\"task_id\","
                 + "\"worker_address\","
                 + "\"content\","
+                + "\"message\","
                 + "\"time\""
-                + ") VALUES (?,?, ?, ?, ?)";
+                + ") VALUES (?,?, ?, ?, ?, ?)";
 
         PreparedStatement ps = null;
         try (Connection connection = this.jdbcHikariClient.getConnection()) {
@@ -40,7 +46,8 @@ public class OracleDAOImpl extends JdbcDAOImpl {
                 ps.setString(2, processorLog.getTaskId());
                 ps.setString(3, processorLog.getWorkerAddress());
                 ps.setString(4, this.getContent(processorLog.getFields()));
-                ps.setLong(5, processorLog.getTime());
+                ps.setString(5, this.getMessage(processorLog.getFields()));
+                ps.setLong(6, processorLog.getTime());
                 ps.addBatch();
             }
             ps.executeBatch();
@@ -55,13 +62,36 @@ public class OracleDAOImpl extends JdbcDAOImpl {
     }
 
     @Override
-    protected String getQueryByScrollSql() {
-        return "SELECT * FROM \"processor_log\" WHERE \"task_id\"=? AND \"time\" > ? AND rownum< ? ORDER BY \"time\" ASC";
+    protected String getQueryByScrollSql(String table) {
+        return "SELECT * FROM \"" + table + "\" WHERE \"task_id\"=? AND \"time\" > ? ORDER BY \"time\" ASC FETCH NEXT ? ROWS ONLY";
+    }
+
+    @Override
+    protected String getDeleteSql(String table) {
+        return "delete from \"" + table + "\" where \"time\" < ? and rownum <= ?";
+    }
+
+    @Override
+    protected String getQueryBySearchSql(String table, String condition) {
+        return "SELECT * FROM \"" + table + "\" WHERE \"task_id\"=? AND \"time\" > ?" + condition
+                + " ORDER BY \"time\" ASC FETCH NEXT ? ROWS ONLY";
+    }
+
+    @Override
+    protected String getPageBySearchSql(String table, String condition) {
+        return "SELECT * FROM \"" + table + "\" WHERE \"task_id\"=?" + condition
+                + " ORDER BY \"time\" ASC, \"id\" ASC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+    }
+
+    @Override
+    protected String getCountBySearchSql(String table, String condition) {
+        return "SELECT COUNT(*) FROM \"" + table + "\" WHERE \"task_id\"=?" + condition;
     }
 
     @Override
-    protected String getDeleteSql() {
-        return "delete from \"processor_log\" where \"time\" < ?";
+    protected String getSearchCondition(String searchKey) {
+        // Oracle Text is optional, so message is matched by `LIKE`.
+        return " AND \"message\" LIKE ? ESCAPE '!'";
     }
 
     /**
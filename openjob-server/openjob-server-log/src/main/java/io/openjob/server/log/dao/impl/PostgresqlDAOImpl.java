@@ -1,6 +1,10 @@
 package io.openjob.server.log.dao.impl;
 
 import io.openjob.server.log.client.AbstractJdbcHikariClient;
+import io.openjob.server.log.constant.LogPartitionEnum;
+
+import java.util.Collections;
+import java.util.List;
 
 /**
  * @author stelin swoft@qq.com
@@ -11,23 +15,54 @@ public class PostgresqlDAOImpl extends JdbcDAOImpl {
         super(jdbcHikariClient);
     }
 
+    public PostgresqlDAOImpl(AbstractJdbcHikariClient jdbcHikariClient, LogPartitionEnum partition) {
+        super(jdbcHikariClient, partition);
+    }
+
     @Override
-    protected String getBatchAddSql() {
-        return "INSERT INTO \"processor_log\" ("
+    protected String getBatchAddSql(String table) {
+        return "INSERT INTO \"" + table + "\" ("
                 + "\"task_id\","
                 + "\"worker_address\","
                 + "\"content\","
+                + "\"message\","
                 + "\"time\""
-                + ") VALUES (?, ?, ?, ?)";
+                + ") VALUES (?, ?, ?, ?, ?)";
+    }
+
+    @Override
+    protected String getQueryByScrollSql(String table) {
+        return "SELECT * FROM \"" + table + "\" WHERE \"task_id\"=? AND \"time\" > ? ORDER BY \"time\" ASC limit ?";
+    }
+
+    @Override
+    protected String getDeleteSql(String table) {
+        return "delete from \"" + table + "\" where \"id\" in (select \"id\" from \"" + table + "\" where \"time\" < ? order by \"id\" asc limit ?)";
+    }
+
+    @Override
+    protected String getQueryBySearchSql(String table, String condition) {
+        return "SELECT * FROM \"" + table + "\" WHERE \"task_id\"=? AND \"time\" > ?" + condition + " ORDER BY \"time\" ASC limit ?";
+    }
+
+    @Override
+    protected String getPageBySearchSql(String table, String condition) {
+        return "SELECT * FROM \"" + table + "\" WHERE \"task_id\"=?" + condition + " ORDER BY \"time\" ASC, \"id\" ASC offset ? limit ?";
+    }
+
+    @Override
+    protected String getCountBySearchSql(String table, String condition) {
+        return "SELECT COUNT(*) FROM \"" + table + "\" WHERE \"task_id\"=?" + condition;
     }
 
     @Override
-    protected String getQueryByScrollSql() {
-        return "SELECT * FROM \"processor_log\" WHERE \"task_id\"=? AND \"time\" > ? ORDER BY \"time\" ASC limit ?";
+    protected String getSearchCondition(String searchKey) {
+        // Same expression as `idx_message_tsv` gin index.
+        return " AND to_tsvector('simple', \"message\") @@ plainto_tsquery('simple', ?)";
     }
 
     @Override
-    protected String getDeleteSql() {
-        return "delete from \"processor_log\" where \"time\" < ?";
+    protected List<Object> getSearchParameters(String searchKey) {
+        return Collections.singletonList(searchKey.trim());
     }
 }
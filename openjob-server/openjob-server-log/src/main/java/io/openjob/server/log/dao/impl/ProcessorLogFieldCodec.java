@@ -0,0 +1,87 @@
+package io.openjob.server.log.dao.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.openjob.server.log.dto.ProcessorLogFieldDTO;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codec of log fields saved in `content`, as a json object of field name and value.
+ * Fields are streamed with a shared thread-safe json factory, without a mapper or map for each log.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class ProcessorLogFieldCodec {
+
+    /**
+     * Estimated length of a field, to size the writer.
+     */
+    private static final int FIELD_LENGTH = 64;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private ProcessorLogFieldCodec() {
+
+    }
+
+    /**
+     * Encode fields in order.
+     *
+     * @param fields fields
+     * @return String
+     */
+    public static String encode(List<ProcessorLogFieldDTO> fields) {
+        StringWriter writer = new StringWriter(fields.size() * FIELD_LENGTH);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.writeStartObject();
+            for (ProcessorLogFieldDTO field : fields) {
+                generator.writeStringField(field.getName(), field.getValue());
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Decode fields in order, values which are not text are read as text.
+     *
+     * @param content content
+     * @return List
+     */
+    public static List<ProcessorLogFieldDTO> decode(String content) {
+        List<ProcessorLogFieldDTO> fields = new ArrayList<>();
+        if (StringUtils.isEmpty(content)) {
+            return fields;
+        }
+
+        try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Processor log content is not an object! content=" + content);
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (token.isStructStart()) {
+                    parser.skipChildren();
+                    fields.add(new ProcessorLogFieldDTO(name, null));
+                    continue;
+                }
+                fields.add(new ProcessorLogFieldDTO(name, parser.getValueAsString()));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,183 @@
+package io.openjob.server.log.dao.impl;
+
+import io.openjob.server.log.client.AbstractJdbcHikariClient;
+import io.openjob.server.log.constant.LogPartitionEnum;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Partition tables of processor log.
+ * Logs are saved in `processor_log_{period}` by time, and `processor_log` is kept as the oldest table written by older versions.
+ * Retention drops whole tables, and reads only go through tables of the time range.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Slf4j
+public class ProcessorLogTables {
+
+    /**
+     * Min interval(ms) to list tables again, when the table of current period is not created.
+     */
+    private static final long REFRESH_INTERVAL = 5000L;
+
+    /**
+     * Prefix of partition tables.
+     */
+    private static final String TABLE_PREFIX = AbstractJdbcHikariClient.PROCESSOR_LOG + "_";
+
+    private final AbstractJdbcHikariClient client;
+    private final LogPartitionEnum partition;
+    private final Pattern tablePattern;
+
+    /**
+     * Partition tables by start time of period.
+     */
+    private final NavigableMap<Long, String> partitions = new ConcurrentSkipListMap<>();
+
+    private volatile long refreshTime;
+
+    /**
+     * New ProcessorLogTables
+     *
+     * @param client    client
+     * @param partition partition
+     */
+    public ProcessorLogTables(AbstractJdbcHikariClient client, LogPartitionEnum partition) {
+        this.client = client;
+        this.partition = partition;
+        this.tablePattern = LogPartitionEnum.NONE.equals(partition) ? null
+                : Pattern.compile(TABLE_PREFIX + "\\d{" + partition.getFormatter().format(LocalDateTime.now()).length() + "}");
+    }
+
+    /**
+     * Whether logs are partitioned.
+     *
+     * @return Boolean
+     */
+    public Boolean isPartitioned() {
+        return !LogPartitionEnum.NONE.equals(this.partition);
+    }
+
+    /**
+     * Table to write log of time, created when not exists.
+     *
+     * @param time log time(ms)
+     * @return String
+     * @throws SQLException SQLException
+     */
+    public String getOrCreate(Long time) throws SQLException {
+        if (!this.isPartitioned()) {
+            return AbstractJdbcHikariClient.PROCESSOR_LOG;
+        }
+
+        long start = this.startOf(time);
+        String table = this.partitions.get(start);
+        if (Objects.nonNull(table)) {
+            return table;
+        }
+
+        table = this.nameOf(start);
+        this.client.createTable(table);
+        this.partitions.put(start, table);
+        log.info("Processor log table created! table={}", table);
+        return table;
+    }
+
+    /**
+     * Tables to read logs after time, oldest first.
+     *
+     * @param time time(ms), null for all tables.
+     * @return List
+     * @throws SQLException SQLException
+     */
+    public List<String> getTables(Long time) throws SQLException {
+        if (!this.isPartitioned()) {
+            return Collections.singletonList(AbstractJdbcHikariClient.PROCESSOR_LOG);
+        }
+
+        // Table of current period may be created by other servers.
+        long now = System.currentTimeMillis();
+        if (!this.partitions.containsKey(this.startOf(now)) && now - this.refreshTime > REFRESH_INTERVAL) {
+            this.refresh();
+        }
+
+        List<String> tables = new ArrayList<>();
+        tables.add(AbstractJdbcHikariClient.PROCESSOR_LOG);
+        tables.addAll(Objects.isNull(time) ? this.partitions.values() : this.partitions.tailMap(this.startOf(time), true).values());
+        return tables;
+    }
+
+    /**
+     * Drop tables of which all logs are before last time.
+     *
+     * @param lastTime last time(ms)
+     * @return List
+     * @throws SQLException SQLException
+     */
+    public List<String> dropBefore(Long lastTime) throws SQLException {
+        if (!this.isPartitioned()) {
+            return Collections.emptyList();
+        }
+
+        this.refresh();
+        List<String> dropped = new ArrayList<>();
+        for (Map.Entry<Long, String> entry : this.partitions.headMap(lastTime - this.partition.getPeriod(), true).entrySet()) {
+            this.client.dropTable(entry.getValue());
+            this.partitions.remove(entry.getKey());
+            dropped.add(entry.getValue());
+        }
+        return dropped;
+    }
+
+    /**
+     * List partition tables from database, tables created or dropped by other servers are synced.
+     *
+     * @throws SQLException SQLException
+     */
+    public synchronized void refresh() throws SQLException {
+        if (!this.isPartitioned()) {
+            return;
+        }
+
+        Set<Long> starts = new HashSet<>();
+        for (String table : this.client.listTables(TABLE_PREFIX)) {
+            if (this.tablePattern.matcher(table).matches()) {
+                long start = this.parseStart(table);
+                this.partitions.put(start, table);
+                starts.add(start);
+            }
+        }
+        this.partitions.keySet().retainAll(starts);
+        this.refreshTime = System.currentTimeMillis();
+    }
+
+    private long startOf(long time) {
+        return time - Math.floorMod(time, this.partition.getPeriod());
+    }
+
+    private String nameOf(long start) {
+        LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(start), ZoneOffset.UTC);
+        return TABLE_PREFIX + this.partition.getFormatter().format(dateTime);
+    }
+
+    private long parseStart(String table) {
+        String suffix = table.substring(TABLE_PREFIX.length());
+        String dateTime = LogPartitionEnum.DAY.equals(this.partition) ? suffix + "00" : suffix;
+        return LocalDateTime.parse(dateTime, LogPartitionEnum.HOUR.getFormatter()).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
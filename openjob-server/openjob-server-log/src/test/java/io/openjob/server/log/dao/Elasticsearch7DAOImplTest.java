@@ -1,5 +1,11 @@
 package io.openjob.server.log.dao;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
 import io.openjob.common.constant.LogFieldConstant;
 import io.openjob.common.util.DateUtil;
 import io.openjob.server.common.dto.PageDTO;
@@ -8,81 +14,339 @@ import io.openjob.server.log.client.Elasticsearch7Client;
 import io.openjob.server.log.dao.impl.Elasticsearch7DAOImpl;
 import io.openjob.server.log.dto.ProcessorLogDTO;
 import io.openjob.server.log.dto.ProcessorLogFieldDTO;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
-import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
 
 /**
+ * Elasticsearch7 DAO against an in-process HTTP stand-in of Elasticsearch.
+ *
  * @author stelin swoft@qq.com
  * @since 1.0.2
  */
 public class Elasticsearch7DAOImplTest {
-    private static Elasticsearch7DAOImpl elasticsearch7DAO;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static ElasticsearchStandIn standIn;
+    private Elasticsearch7DAOImpl elasticsearch7DAO;
 
-    @Test()
-    @Disabled
-    public void testBatchAdd() throws InterruptedException {
-        List<ProcessorLogDTO> jobInstanceTaskLogs = new ArrayList<>();
-        ProcessorLogDTO processorLogDTO = new ProcessorLogDTO();
-        processorLogDTO.setTime(DateUtil.milliLongTime());
-        processorLogDTO.setWorkerAddress("worker2Address");
-        processorLogDTO.setTaskId("taskId");
+    @BeforeAll
+    public static void startStandIn() throws IOException {
+        standIn = new ElasticsearchStandIn();
+    }
 
-        List<ProcessorLogFieldDTO> fieldList = new ArrayList<>();
-        ProcessorLogFieldDTO processorLogFieldDTO = new ProcessorLogFieldDTO("name", "jobbId");
-        ProcessorLogFieldDTO processorLogFieldDTO2 = new ProcessorLogFieldDTO(LogFieldConstant.MESSAGE, "elasticsearch7 test");
-        fieldList.add(processorLogFieldDTO);
-        fieldList.add(processorLogFieldDTO2);
-        processorLogDTO.setFields(fieldList);
-        jobInstanceTaskLogs.add(processorLogDTO);
+    @AfterAll
+    public static void stopStandIn() {
+        standIn.server.stop(0);
+    }
 
-        elasticsearch7DAO.batchAdd(jobInstanceTaskLogs);
+    @BeforeEach
+    public void resetStandIn() {
+        standIn.indices.clear();
+        standIn.docs.clear();
+        standIn.bulkSizes.clear();
+        standIn.bulkDelay = 0L;
+        standIn.maxInFlight.set(0);
+    }
 
-        Thread.sleep(5000L);
+    @AfterEach
+    public void destroyDAO() throws Exception {
+        if (this.elasticsearch7DAO != null) {
+            this.elasticsearch7DAO.destroy();
+        }
+    }
+
+    @Test
+    public void testBatchAddByDayOfLogTime() throws Exception {
+        this.elasticsearch7DAO = this.newDAO(3, 60_000L, 1);
+        long today = DateUtil.milliLongTime();
+        long yesterday = today - TimeUnit.DAYS.toMillis(1);
+
+        // Bulk of 3 actions is sent, the rest is sent on flush.
+        this.elasticsearch7DAO.batchAdd(Arrays.asList(this.newLog(yesterday, "a"), this.newLog(yesterday, "b"), this.newLog(today, "c")));
+        this.elasticsearch7DAO.batchAdd(Arrays.asList(this.newLog(today, "d"), this.newLog(today, "e")));
+        waitUntil(() -> standIn.docs.size() == 3);
+        this.elasticsearch7DAO.flush();
+        waitUntil(() -> standIn.docs.size() == 5);
+        Assertions.assertEquals(Arrays.asList(3, 2), standIn.bulkSizes);
+
+        String yesterdayIndex = "openjob_" + DateUtil.formatDateByTimestamp(TimeUnit.MILLISECONDS.toSeconds(yesterday));
+        String todayIndex = "openjob_" + DateUtil.formatDateByTimestamp(TimeUnit.MILLISECONDS.toSeconds(today));
+        Assertions.assertEquals(new ArrayList<>(Arrays.asList(yesterdayIndex, todayIndex)), standIn.indices.stream().sorted().collect(Collectors.toList()));
+        Assertions.assertEquals(Arrays.asList(yesterdayIndex, yesterdayIndex, todayIndex, todayIndex, todayIndex),
+                standIn.docs.stream().map(d -> d.get("_index").asText()).collect(Collectors.toList()));
+
+        // Id is generated by elasticsearch.
+        Assertions.assertTrue(standIn.docs.stream().noneMatch(d -> d.has("_id")));
+    }
+
+    @Test
+    public void testFlushInterval() throws Exception {
+        this.elasticsearch7DAO = this.newDAO(1000, 100L, 1);
+        long today = DateUtil.milliLongTime();
+        this.elasticsearch7DAO.batchAdd(Arrays.asList(this.newLog(today, "a"), this.newLog(today, "b")));
+        waitUntil(() -> standIn.docs.size() == 2);
+        Assertions.assertEquals(Arrays.asList(2), standIn.bulkSizes);
+    }
+
+    @Test
+    public void testConcurrentRequests() throws Exception {
+        this.elasticsearch7DAO = this.newDAO(1, 60_000L, 2);
+        standIn.bulkDelay = 200L;
+        long today = DateUtil.milliLongTime();
+        List<ProcessorLogDTO> logs = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            logs.add(this.newLog(today, String.valueOf(i)));
+        }
+
+        // Adding waits when 2 requests are in flight.
+        this.elasticsearch7DAO.batchAdd(logs);
+        waitUntil(() -> standIn.docs.size() == 6);
+        Assertions.assertEquals(2, standIn.maxInFlight.get());
     }
 
     @Test
-    @Disabled
     public void testQueryByScroll() throws Exception {
-        List<ProcessorLogDTO> processorLogDTOList = elasticsearch7DAO.queryByScroll("taskId", 0L, 3);
-        Assertions.assertNotNull(processorLogDTOList);
+        this.elasticsearch7DAO = this.newDAO(1000, 60_000L, 1);
+        long today = DateUtil.milliLongTime();
+        this.elasticsearch7DAO.batchAdd(Arrays.asList(this.newLog(today, "elasticsearch7 test")));
+        this.elasticsearch7DAO.flush();
+        waitUntil(() -> standIn.docs.size() == 1);
+
+        List<ProcessorLogDTO> processorLogDTOList = this.elasticsearch7DAO.queryByScroll("taskId", 0L, 3);
+        Assertions.assertEquals(1, processorLogDTOList.size());
+        Assertions.assertEquals(today, processorLogDTOList.get(0).getTime());
+        Map<String, String> fields = processorLogDTOList.get(0).getFields().stream()
+                .collect(Collectors.toMap(ProcessorLogFieldDTO::getName, ProcessorLogFieldDTO::getValue));
+        Assertions.assertEquals("elasticsearch7 test", fields.get(LogFieldConstant.MESSAGE));
+        Assertions.assertEquals("jobId", fields.get("name"));
     }
 
     @Test
-    @Disabled
     public void testQueryByPageSize() throws Exception {
-        PageDTO<ProcessorLogDTO> pageDTO = elasticsearch7DAO.queryByPageSize("taskId", "test", 1, 3);
-        Assertions.assertNotNull(pageDTO);
+        this.elasticsearch7DAO = this.newDAO(1000, 60_000L, 1);
+        long today = DateUtil.milliLongTime();
+        List<ProcessorLogDTO> logs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            logs.add(this.newLog(today + i, "elasticsearch7 test" + i));
+        }
+        logs.add(this.newLog(today + 4, "other"));
+        this.elasticsearch7DAO.batchAdd(logs);
+        this.elasticsearch7DAO.flush();
+        waitUntil(() -> standIn.docs.size() == 5);
+
+        // The second page of logs matched.
+        PageDTO<ProcessorLogDTO> pageDTO = this.elasticsearch7DAO.queryByPageSize("taskId", "test", 2, 3);
+        Assertions.assertEquals(4L, pageDTO.getTotal());
+        Assertions.assertEquals(Arrays.asList(today + 3), pageDTO.getList().stream().map(ProcessorLogDTO::getTime).collect(Collectors.toList()));
+        Assertions.assertEquals(2, pageDTO.getPage());
+        Assertions.assertEquals(3, pageDTO.getSize());
     }
 
     @Test
-    @Disabled
     public void testDeleteByLastTime() throws Exception {
-        elasticsearch7DAO.deleteByLastTime(DateUtil.timestamp());
+        this.elasticsearch7DAO = this.newDAO(1000, 60_000L, 1);
+        standIn.indices.addAll(Arrays.asList("openjob_20230101", "openjob_20230102", "openjob_20230103", "openjob2_20230101", "openjob_backup"));
+
+        // Indices of days before the day of last time are dropped.
+        long lastTime = LocalDateTime.of(2023, 1, 2, 12, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        this.elasticsearch7DAO.deleteByLastTime(lastTime, 1000);
+        Assertions.assertEquals(Arrays.asList("openjob2_20230101", "openjob_20230102", "openjob_20230103", "openjob_backup"),
+                standIn.indices.stream().sorted().collect(Collectors.toList()));
     }
 
     @Test
-    @Disabled
     public void testDoCreateIndex() {
-        elasticsearch7DAO.doCreateIndex("openjob_test");
+        this.elasticsearch7DAO = this.newDAO(1000, 60_000L, 1);
+        this.elasticsearch7DAO.doCreateIndex("openjob_test");
+        this.elasticsearch7DAO.doCreateIndex("openjob_test");
+        Assertions.assertTrue(standIn.indices.contains("openjob_test"));
     }
 
-    @BeforeAll
-    public static void CreateElasticsearch7() throws Exception {
+    private Elasticsearch7DAOImpl newDAO(Integer bulkActions, Long flushInterval, Integer concurrentRequests) {
         LogProperties.Elasticsearch7Properties elasticsearch7Properties = new LogProperties.Elasticsearch7Properties();
-        elasticsearch7Properties.setClusterNodes("localhost:9200");
+        elasticsearch7Properties.setClusterNodes("localhost:" + standIn.server.getAddress().getPort());
         elasticsearch7Properties.setProtocol("http");
-        elasticsearch7Properties.setSocketTimeout(3000);
-        elasticsearch7Properties.setConnectTimeout(3000);
-        elasticsearch7Properties.setResponseTimeout(3000);
-        elasticsearch7Properties.setBufferLimit(104857600);
-
-        Elasticsearch7Client elasticsearch7Client = new Elasticsearch7Client(elasticsearch7Properties);
-        elasticsearch7Client.afterPropertiesSet();
-        elasticsearch7DAO = new Elasticsearch7DAOImpl(elasticsearch7Client, elasticsearch7Properties);
+        elasticsearch7Properties.setBulkActions(bulkActions);
+        elasticsearch7Properties.setFlushInterval(flushInterval);
+        elasticsearch7Properties.setConcurrentRequests(concurrentRequests);
+
+        try {
+            Elasticsearch7Client elasticsearch7Client = new Elasticsearch7Client(elasticsearch7Properties);
+            elasticsearch7Client.afterPropertiesSet();
+            return new Elasticsearch7DAOImpl(elasticsearch7Client, elasticsearch7Properties);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private ProcessorLogDTO newLog(Long time, String message) {
+        ProcessorLogDTO processorLogDTO = new ProcessorLogDTO();
+        processorLogDTO.setTime(time);
+        processorLogDTO.setWorkerAddress("worker2Address");
+        processorLogDTO.setTaskId("taskId");
+
+        List<ProcessorLogFieldDTO> fieldList = new ArrayList<>();
+        fieldList.add(new ProcessorLogFieldDTO("name", "jobId"));
+        fieldList.add(new ProcessorLogFieldDTO(LogFieldConstant.MESSAGE, message));
+        processorLogDTO.setFields(fieldList);
+        return processorLogDTO;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "Wait timeout!");
+            Thread.sleep(10L);
+        }
+    }
+
+    /**
+     * Stand-in of the index, bulk and search apis used by the DAO.
+     */
+    private static class ElasticsearchStandIn {
+        private final HttpServer server;
+        private final Set<String> indices = ConcurrentHashMap.newKeySet();
+        private final List<ObjectNode> docs = new CopyOnWriteArrayList<>();
+        private final List<Integer> bulkSizes = new CopyOnWriteArrayList<>();
+        private final AtomicInteger inFlight = new AtomicInteger(0);
+        private final AtomicInteger maxInFlight = new AtomicInteger(0);
+        private volatile long bulkDelay;
+
+        private ElasticsearchStandIn() throws IOException {
+            this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            this.server.setExecutor(Executors.newCachedThreadPool());
+            this.server.createContext("/", this::handle);
+            this.server.start();
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            try {
+                String method = exchange.getRequestMethod();
+                String path = exchange.getRequestURI().getPath().substring(1);
+                String body = read(exchange.getRequestBody());
+                if ("_bulk".equals(path)) {
+                    this.bulk(exchange, body);
+                } else if (path.endsWith("/_search")) {
+                    this.search(exchange, body);
+                } else if ("HEAD".equals(method)) {
+                    boolean exists = this.indices.stream().anyMatch(i -> matches(path, i));
+                    exchange.sendResponseHeaders(exists ? 200 : 404, -1);
+                } else if ("PUT".equals(method)) {
+                    this.indices.add(path);
+                    respond(exchange, String.format("{\"acknowledged\":true,\"shards_acknowledged\":true,\"index\":\"%s\"}", path));
+                } else if ("DELETE".equals(method)) {
+                    this.indices.remove(path);
+                    respond(exchange, "{\"acknowledged\":true}");
+                } else {
+                    ObjectNode response = MAPPER.createObjectNode();
+                    this.indices.stream().filter(i -> matches(path, i)).forEach(i -> response.putObject(i).putObject("settings"));
+                    respond(exchange, response.toString());
+                }
+            } catch (Exception e) {
+                exchange.sendResponseHeaders(500, -1);
+            } finally {
+                exchange.close();
+            }
+        }
+
+        private void bulk(HttpExchange exchange, String body) throws Exception {
+            this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(this.bulkDelay);
+
+                // Lines of action and source.
+                String[] lines = body.split("\n");
+                ObjectNode response = MAPPER.createObjectNode().put("took", 1).put("errors", false);
+                ArrayNode items = response.putArray("items");
+                for (int i = 0; i + 1 < lines.length; i += 2) {
+                    ObjectNode action = (ObjectNode) MAPPER.readTree(lines[i]).get("index");
+                    action.set("_source", MAPPER.readTree(lines[i + 1]));
+                    this.docs.add(action);
+
+                    ObjectNode item = items.addObject().putObject("index");
+                    item.put("_index", action.get("_index").asText()).put("_type", "_doc").put("_id", String.valueOf(this.docs.size()))
+                            .put("_version", 1).put("result", "created").put("_seq_no", 0).put("_primary_term", 1).put("status", 201);
+                    item.putObject("_shards").put("total", 1).put("successful", 1).put("failed", 0);
+                }
+                this.bulkSizes.add(items.size());
+                respond(exchange, response.toString());
+            } finally {
+                this.inFlight.decrementAndGet();
+            }
+        }
+
+        /**
+         * Docs in order of adding, only search key of message, from and size are applied.
+         */
+        private void search(HttpExchange exchange, String body) throws IOException {
+            JsonNode request = body.isEmpty() ? MAPPER.createObjectNode() : MAPPER.readTree(body);
+            JsonNode multiMatch = request.findValue("multi_match");
+            String searchKey = multiMatch == null ? "" : multiMatch.get("query").asText();
+            List<ObjectNode> matched = this.docs.stream()
+                    .filter(d -> d.get("_source").path(LogFieldConstant.MESSAGE).asText().contains(searchKey))
+                    .collect(Collectors.toList());
+
+            ObjectNode response = MAPPER.createObjectNode().put("took", 1).put("timed_out", false);
+            response.putObject("_shards").put("total", 1).put("successful", 1).put("skipped", 0).put("failed", 0);
+            ObjectNode hits = response.putObject("hits");
+            hits.putObject("total").put("value", matched.size()).put("relation", "eq");
+            hits.putNull("max_score");
+            ArrayNode hitList = hits.putArray("hits");
+            int from = request.path("from").asInt(0);
+            int to = Math.min(matched.size(), from + request.path("size").asInt(10));
+            for (int i = from; i < to; i++) {
+                JsonNode doc = matched.get(i);
+                ObjectNode hit = hitList.addObject().put("_index", doc.get("_index").asText()).put("_type", "_doc").put("_id", String.valueOf(i));
+                hit.putNull("_score");
+                hit.set("_source", doc.get("_source"));
+            }
+            respond(exchange, response.toString());
+        }
+
+        private static boolean matches(String pattern, String index) {
+            return pattern.endsWith("*") ? index.startsWith(pattern.substring(0, pattern.length() - 1)) : pattern.equals(index);
+        }
+
+        private static String read(InputStream inputStream) throws IOException {
+            StringBuilder builder = new StringBuilder();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                builder.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+            }
+            return builder.toString();
+        }
+
+        private static void respond(HttpExchange exchange, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(bytes);
+            }
+        }
     }
 }
@@ -0,0 +1,263 @@
+package io.openjob.server.log.dao.impl;
+
+import io.openjob.common.constant.LogFieldConstant;
+import io.openjob.server.common.dto.PageDTO;
+import io.openjob.server.log.autoconfigure.LogProperties;
+import io.openjob.server.log.client.H2Client;
+import io.openjob.server.log.constant.LogPartitionEnum;
+import io.openjob.server.log.dto.ProcessorLogDTO;
+import io.openjob.server.log.dto.ProcessorLogFieldDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class H2LogDAOImplTest {
+
+    private static final int ROWS = 20_000;
+    private static final int BATCH = 1000;
+    private static final int TASKS = 100;
+
+    private H2Client h2Client;
+    private H2LogDAOImpl logDAO;
+
+    @BeforeEach
+    public void start() {
+        LogProperties.H2Properties h2Properties = new LogProperties.H2Properties();
+        h2Properties.getProperties().setUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false;");
+        h2Properties.getProperties().setUser("root");
+        h2Properties.getProperties().setPassword("");
+        this.h2Client = new H2Client(h2Properties);
+        this.h2Client.afterPropertiesSet();
+        this.logDAO = new H2LogDAOImpl(this.h2Client);
+    }
+
+    @AfterEach
+    public void stop() {
+        this.h2Client.shutdown();
+    }
+
+    @Test
+    public void testTokenize() {
+        Assertions.assertEquals(Arrays.asList("connect", "timeout", "after", "3000ms"),
+                new ArrayList<>(H2LogDAOImpl.tokenize("Connect timeout, after 3000ms! connect")));
+        Assertions.assertEquals(Arrays.asList("任", "务", "failed"), new ArrayList<>(H2LogDAOImpl.tokenize("任务failed")));
+        Assertions.assertTrue(H2LogDAOImpl.tokenize("%_!").isEmpty());
+
+        // Words deep in a stack trace are indexed.
+        StringBuilder trace = new StringBuilder("java.lang.IllegalStateException");
+        for (int i = 0; i < 1000; i++) {
+            trace.append("\n\tat Frame").append(i).append(".call");
+        }
+        Assertions.assertTrue(H2LogDAOImpl.tokenize(trace.toString()).contains("frame999"));
+    }
+
+    @Test
+    public void testQueryBySearch() throws Exception {
+        this.logDAO.batchAdd(Arrays.asList(
+                this.newLog("task1", 1L, "Job started", null),
+                this.newLog("task1", 2L, "Connect timeout", null),
+                this.newLog("task1", 3L, "Retry failed", "java.net.SocketTimeoutException: connect timeout"),
+                this.newLog("task2", 4L, "Connect timeout", null),
+                this.newLog("task1", 5L, "Connect refused", null)
+        ));
+
+        // Keyset pages
+        List<ProcessorLogDTO> first = this.logDAO.queryBySearch("task1", "TIMEOUT", 0L, 1);
+        Assertions.assertEquals(Collections.singletonList(2L), this.times(first));
+        List<ProcessorLogDTO> second = this.logDAO.queryBySearch("task1", "timeout", 2L, 10);
+        Assertions.assertEquals(Collections.singletonList(3L), this.times(second));
+
+        // All words are matched.
+        Assertions.assertEquals(Arrays.asList(2L, 3L), this.times(this.logDAO.queryBySearch("task1", "connect timeout", 0L, 10)));
+        Assertions.assertEquals(Collections.singletonList(5L), this.times(this.logDAO.queryBySearch("task1", "refused connect", 0L, 10)));
+
+        // Blank and no words.
+        Assertions.assertEquals(Arrays.asList(1L, 2L, 3L, 5L), this.times(this.logDAO.queryBySearch("task1", "", 0L, 10)));
+        Assertions.assertTrue(this.logDAO.queryBySearch("task1", "%", 0L, 10).isEmpty());
+
+        // Fields are kept.
+        ProcessorLogDTO log = first.get(0);
+        Assertions.assertEquals("task1", log.getTaskId());
+        Assertions.assertEquals("Connect timeout", log.getFields().stream()
+                .filter(f -> LogFieldConstant.MESSAGE.equals(f.getName())).findFirst().map(ProcessorLogFieldDTO::getValue).orElse(null));
+    }
+
+    @Test
+    public void testQueryByPageSize() throws Exception {
+        List<ProcessorLogDTO> logs = new ArrayList<>();
+        for (long i = 1; i <= 25; i++) {
+            logs.add(this.newLog("task1", i, i % 2 == 0 ? "even line " + i : "odd line " + i, null));
+        }
+        this.logDAO.batchAdd(logs);
+
+        PageDTO<ProcessorLogDTO> page = this.logDAO.queryByPageSize("task1", "even", 2, 5);
+        Assertions.assertEquals(12L, page.getTotal());
+        Assertions.assertEquals(Arrays.asList(12L, 14L, 16L, 18L, 20L), this.times(page.getList()));
+
+        PageDTO<ProcessorLogDTO> all = this.logDAO.queryByPageSize("task1", null, 3, 10);
+        Assertions.assertEquals(25L, all.getTotal());
+        Assertions.assertEquals(Arrays.asList(21L, 22L, 23L, 24L, 25L), this.times(all.getList()));
+
+        PageDTO<ProcessorLogDTO> like = this.logDAO.queryByPageSize("task1", "_", 1, 10);
+        Assertions.assertEquals(0L, like.getTotal());
+        Assertions.assertTrue(like.getList().isEmpty());
+    }
+
+    @Test
+    public void testDeleteByLastTime() throws Exception {
+        this.logDAO.batchAdd(Arrays.asList(
+                this.newLog("task1", 1L, "old timeout", null),
+                this.newLog("task1", 2L, "new timeout", null)
+        ));
+        this.logDAO.deleteByLastTime(2L);
+
+        Assertions.assertEquals(Collections.singletonList(2L), this.times(this.logDAO.queryBySearch("task1", "timeout", 0L, 10)));
+        Assertions.assertEquals(1L, this.logDAO.queryByPageSize("task1", "timeout", 1, 10).getTotal());
+    }
+
+    @Test
+    public void testDeleteByLastTimeInChunks() throws Exception {
+        List<ProcessorLogDTO> logs = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            logs.add(this.newLog("task1", i, "line " + i, null));
+        }
+        this.logDAO.batchAdd(logs);
+
+        // Two tokens of each expired line are deleted in chunks before lines.
+        Assertions.assertEquals(4, this.logDAO.deleteByLastTime(5L, 4));
+        Assertions.assertEquals(4, this.logDAO.deleteByLastTime(5L, 4));
+        Assertions.assertEquals(4, this.logDAO.deleteByLastTime(5L, 4));
+        Assertions.assertEquals(0, this.logDAO.deleteByLastTime(5L, 4));
+        Assertions.assertEquals(Collections.singletonList(5L), this.times(this.logDAO.queryBySearch("task1", "line", 0L, 10)));
+        Assertions.assertEquals(Collections.singletonList(5L), this.times(this.logDAO.queryByScroll("task1", 0L, 10)));
+    }
+
+    @Test
+    public void testPartition() throws Exception {
+        long day = TimeUnit.DAYS.toMillis(1);
+        long start = TimeUnit.DAYS.toMillis(20000);
+
+        // Written by older versions.
+        this.logDAO.batchAdd(Collections.singletonList(this.newLog("task1", start - 1, "legacy timeout", null)));
+
+        H2LogDAOImpl partitionDAO = new H2LogDAOImpl(this.h2Client, LogPartitionEnum.DAY);
+        partitionDAO.batchAdd(Arrays.asList(
+                this.newLog("task1", start, "day0 timeout", null),
+                this.newLog("task1", start + day, "day1 timeout", null),
+                this.newLog("task1", start + day + 1, "day1 refused", null),
+                this.newLog("task1", start + 2 * day, "day2 timeout", null)
+        ));
+        Assertions.assertEquals(Arrays.asList("processor_log_20241004", "processor_log_20241005", "processor_log_20241006"),
+                this.h2Client.listTables("processor_log_2"));
+
+        // Tables are read in order, and tables before time are pruned.
+        Assertions.assertEquals(Arrays.asList(start - 1, start, start + day, start + day + 1, start + 2 * day),
+                this.times(partitionDAO.queryByScroll("task1", 0L, 10)));
+        Assertions.assertEquals(Arrays.asList(start + day, start + day + 1),
+                this.times(partitionDAO.queryByScroll("task1", start, 2)));
+        Assertions.assertEquals(Arrays.asList(start + day, start + 2 * day),
+                this.times(partitionDAO.queryBySearch("task1", "timeout", start, 10)));
+
+        PageDTO<ProcessorLogDTO> page = partitionDAO.queryByPageSize("task1", "timeout", 2, 2);
+        Assertions.assertEquals(4L, page.getTotal());
+        Assertions.assertEquals(Arrays.asList(start + day, start + 2 * day), this.times(page.getList()));
+
+        // Tables ended before last time are dropped, other servers see it on failure.
+        H2LogDAOImpl otherDAO = new H2LogDAOImpl(this.h2Client, LogPartitionEnum.DAY);
+        otherDAO.tables.refresh();
+        partitionDAO.deleteByLastTime(start + day + 1);
+        Assertions.assertEquals(Arrays.asList("processor_log_20241005", "processor_log_20241006"),
+                this.h2Client.listTables("processor_log_2"));
+        Assertions.assertEquals(Arrays.asList(start + day, start + day + 1, start + 2 * day),
+                this.times(otherDAO.queryByScroll("task1", 0L, 10)));
+    }
+
+    @Test
+    public void testQueryBySearchRareWord() throws Exception {
+        for (int offset = 0; offset < ROWS; offset += BATCH) {
+            List<ProcessorLogDTO> logs = new ArrayList<>(BATCH);
+            for (int i = offset; i < Math.min(offset + BATCH, ROWS); i++) {
+                // One log in a thousand is an error.
+                String message = i % 1000 == 0
+                        ? "Execute failed, connection timeout after " + i + "ms"
+                        : "Execute task step " + i + " of processor success";
+                logs.add(this.newLog("task" + i % TASKS, (long) i, message, null));
+            }
+            this.logDAO.batchAdd(logs);
+        }
+
+        // Rare word, pages of matched rows only.
+        List<Long> expected = new ArrayList<>();
+        for (long i = 0; i < ROWS; i += 1000) {
+            expected.add(i);
+        }
+
+        List<Long> times = new ArrayList<>();
+        List<ProcessorLogDTO> logs;
+        long time = -1L;
+        do {
+            logs = this.logDAO.queryBySearch("task0", "timeout", time, 10);
+            Assertions.assertTrue(logs.size() <= 10);
+            times.addAll(this.times(logs));
+            time = logs.isEmpty() ? time : logs.get(logs.size() - 1).getTime();
+        } while (!logs.isEmpty());
+        Assertions.assertEquals(expected, times);
+    }
+
+    @Test
+    public void testQueryByScrollPages() throws Exception {
+        for (int offset = 0; offset < ROWS; offset += BATCH) {
+            List<ProcessorLogDTO> logs = new ArrayList<>(BATCH);
+            for (int i = offset; i < Math.min(offset + BATCH, ROWS); i++) {
+                logs.add(this.newLog("task0", (long) i, "Execute task step " + i + " of processor success", null));
+            }
+            this.logDAO.batchAdd(logs);
+        }
+
+        // Scroll all logs by pages, each log once and in order.
+        long time = -1L;
+        int count = 0;
+        List<ProcessorLogDTO> logs;
+        do {
+            logs = this.logDAO.queryByScroll("task0", time, BATCH);
+            for (ProcessorLogDTO log : logs) {
+                Assertions.assertEquals(count++, log.getTime());
+            }
+            time = logs.isEmpty() ? time : logs.get(logs.size() - 1).getTime();
+        } while (!logs.isEmpty());
+        Assertions.assertEquals(ROWS, count);
+    }
+
+    private List<Long> times(List<ProcessorLogDTO> logs) {
+        return logs.stream().map(ProcessorLogDTO::getTime).collect(Collectors.toList());
+    }
+
+    private ProcessorLogDTO newLog(String taskId, Long time, String message, String throwable) {
+        List<ProcessorLogFieldDTO> fields = new ArrayList<>();
+        fields.add(new ProcessorLogFieldDTO(LogFieldConstant.MESSAGE, message));
+        fields.add(new ProcessorLogFieldDTO(LogFieldConstant.LEVEL, "INFO"));
+        if (throwable != null) {
+            fields.add(new ProcessorLogFieldDTO(LogFieldConstant.THROWABLE, throwable));
+        }
+
+        ProcessorLogDTO log = new ProcessorLogDTO();
+        log.setTaskId(taskId);
+        log.setWorkerAddress("127.0.0.1:25588");
+        log.setTime(time);
+        log.setFields(fields);
+        return log;
+    }
+}
@@ -0,0 +1,54 @@
+package io.openjob.server.log.dao.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openjob.common.constant.LogFieldConstant;
+import io.openjob.server.log.dto.ProcessorLogFieldDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class ProcessorLogFieldCodecTest {
+    @Test
+    public void testEncodeAndDecode() {
+        List<ProcessorLogFieldDTO> fields = this.newFields("Quote \" and \\ and\nnew line 任务");
+        Assertions.assertEquals(fields, ProcessorLogFieldCodec.decode(ProcessorLogFieldCodec.encode(fields)));
+        Assertions.assertTrue(ProcessorLogFieldCodec.decode("").isEmpty());
+        Assertions.assertTrue(ProcessorLogFieldCodec.decode(null).isEmpty());
+    }
+
+    @Test
+    public void testCompatible() throws Exception {
+        // Content written by older versions is a map of fields.
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<ProcessorLogFieldDTO> fields = this.newFields("Task success");
+        Map<String, String> fieldMap = new LinkedHashMap<>();
+        fields.forEach(f -> fieldMap.put(f.getName(), f.getValue()));
+        Assertions.assertEquals(fields, ProcessorLogFieldCodec.decode(objectMapper.writeValueAsString(fieldMap)));
+
+        Map<String, String> decoded = objectMapper.readValue(ProcessorLogFieldCodec.encode(fields), new TypeReference<Map<String, String>>() {
+        });
+        Assertions.assertEquals(fieldMap, decoded);
+
+        // Values which are not text.
+        Assertions.assertEquals(Arrays.asList(new ProcessorLogFieldDTO("a", "1"), new ProcessorLogFieldDTO("b", null),
+                new ProcessorLogFieldDTO("c", "true")), ProcessorLogFieldCodec.decode("{\"a\":1,\"b\":{\"x\":[1]},\"c\":true}"));
+    }
+
+    private List<ProcessorLogFieldDTO> newFields(String message) {
+        List<ProcessorLogFieldDTO> fields = new ArrayList<>();
+        fields.add(new ProcessorLogFieldDTO(LogFieldConstant.MESSAGE, message));
+        fields.add(new ProcessorLogFieldDTO(LogFieldConstant.LEVEL, "INFO"));
+        fields.add(new ProcessorLogFieldDTO("thread", "openjob-worker-1"));
+        return fields;
+    }
+}
@@ -0,0 +1,26 @@
+package io.openjob.server.repository.constant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@AllArgsConstructor
+@Getter
+public enum InstanceStatTypeEnum {
+    /**
+     * Job instance.
+     */
+    JOB(1, "job"),
+
+    /**
+     * Delay instance.
+     */
+    DELAY(2, "delay"),
+    ;
+
+    private final Integer type;
+    private final String message;
+}
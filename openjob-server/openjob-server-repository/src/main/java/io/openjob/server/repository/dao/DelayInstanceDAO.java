@@ -1,9 +1,11 @@
 package io.openjob.server.repository.dao;
 
 import io.openjob.server.common.dto.PageDTO;
+import io.openjob.server.repository.dto.ClearRowDTO;
 import io.openjob.server.repository.dto.DelayInstancePageDTO;
 import io.openjob.server.repository.dto.DelayInstanceTotalDTO;
 import io.openjob.server.repository.dto.GroupCountDTO;
+import io.openjob.server.repository.dto.InstanceStatDTO;
 import io.openjob.server.repository.entity.DelayInstance;
 
 import java.util.List;
@@ -55,6 +57,14 @@ public interface DelayInstanceDAO {
      */
     PageDTO<DelayInstance> pageList(DelayInstancePageDTO instancePageDTO);
 
+    /**
+     * Count total of page list, as pages are queried without count.
+     *
+     * @param instancePageDTO instancePageDTO
+     * @return Long
+     */
+    Long countTotal(DelayInstancePageDTO instancePageDTO);
+
     /**
      * Update status
      *
@@ -147,4 +157,30 @@ public interface DelayInstanceDAO {
      * @return List
      */
     List<GroupCountDTO> countByNamespaceGroupByStatus(Long namespaceId, Long startTime, Long endTime);
+
+    /**
+     * Group by create hour and status, for instance stats.
+     *
+     * @param namespaceId namespaceId
+     * @param startTime   startTime
+     * @return List
+     */
+    List<InstanceStatDTO> countByNamespaceGroupByHourAndStatus(Long namespaceId, Long startTime);
+
+    /**
+     * Get rows to clear after id, in order of id.
+     *
+     * @param id   id
+     * @param size size
+     * @return List
+     */
+    List<ClearRowDTO> getClearRows(Long id, Integer size);
+
+    /**
+     * Delete by ids
+     *
+     * @param ids ids
+     * @return Integer
+     */
+    Integer deleteByIds(List<Long> ids);
 }
@@ -0,0 +1,91 @@
+package io.openjob.server.repository.dao;
+
+import io.openjob.server.repository.dto.GroupCountDTO;
+import io.openjob.server.repository.dto.InstanceStatDTO;
+
+import java.util.List;
+
+/**
+ * Hourly instance count of namespaces, as a rollup of job_instance and delay_instance for dashboard.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public interface InstanceStatDAO {
+
+    /**
+     * Replace counts from hour.
+     *
+     * @param type        type
+     * @param namespaceId namespaceId
+     * @param beginHour   begin hour, such as 2023010112
+     * @param stats       counts from hour
+     */
+    void replace(Integer type, Long namespaceId, Integer beginHour, List<InstanceStatDTO> stats);
+
+    /**
+     * Count total from hour.
+     *
+     * @param type        type
+     * @param namespaceId namespaceId
+     * @param beginHour   begin hour, zero for all
+     * @return Long
+     */
+    Long countTotal(Integer type, Long namespaceId, Integer beginHour);
+
+    /**
+     * Count by status group by hour.
+     *
+     * @param type        type
+     * @param namespaceId namespaceId
+     * @param beginHour   beginHour
+     * @param endHour     endHour
+     * @param status      status
+     * @return List
+     */
+    List<GroupCountDTO> countGroupByHour(Integer type, Long namespaceId, Integer beginHour, Integer endHour, Integer status);
+
+    /**
+     * Count by status group by date.
+     *
+     * @param type        type
+     * @param namespaceId namespaceId
+     * @param beginHour   beginHour
+     * @param endHour     endHour
+     * @param status      status
+     * @return List
+     */
+    List<GroupCountDTO> countGroupByDate(Integer type, Long namespaceId, Integer beginHour, Integer endHour, Integer status);
+
+    /**
+     * Count group by status.
+     *
+     * @param type        type
+     * @param namespaceId namespaceId
+     * @param beginHour   beginHour
+     * @param endHour     endHour
+     * @return List
+     */
+    List<GroupCountDTO> countGroupByStatus(Integer type, Long namespaceId, Integer beginHour, Integer endHour);
+
+    /**
+     * Approximate count of instances created in time range, rounded to hours.
+     *
+     * @param type        type
+     * @param namespaceId namespaceId
+     * @param beginTime   begin time, 0 or null for unbounded
+     * @param endTime     end time, 0 or null for unbounded
+     * @param status      status, null for all
+     * @return Long
+     */
+    Long countApproximate(Integer type, Long namespaceId, Long beginTime, Long endTime, Integer status);
+
+    /**
+     * Delete before hour.
+     *
+     * @param type     type
+     * @param statHour statHour
+     * @return Integer
+     */
+    Integer deleteBeforeHour(Integer type, Integer statHour);
+}
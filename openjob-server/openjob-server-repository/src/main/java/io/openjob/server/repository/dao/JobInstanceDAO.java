@@ -2,7 +2,9 @@ package io.openjob.server.repository.dao;
 
 import io.openjob.common.constant.InstanceStatusEnum;
 import io.openjob.server.common.dto.PageDTO;
+import io.openjob.server.repository.dto.ClearRowDTO;
 import io.openjob.server.repository.dto.GroupCountDTO;
+import io.openjob.server.repository.dto.InstanceStatDTO;
 import io.openjob.server.repository.dto.JobInstancePageDTO;
 import io.openjob.server.repository.entity.JobInstance;
 
@@ -57,24 +59,26 @@ public interface JobInstanceDAO {
     JobInstance getById(Long id);
 
     /**
-     * Get failover list.
+     * Get failover list. Instances created before min create time are skipped, so that partitions of expired days are pruned.
      *
-     * @param slotsIds    slots id.
-     * @param executeTime execute time.
-     * @param status      status list.
+     * @param slotsIds      slots id.
+     * @param minCreateTime min create time.
+     * @param executeTime   execute time.
+     * @param status        status list.
      * @return List
      */
-    List<JobInstance> getUnDispatchedList(Set<Long> slotsIds, Long executeTime, InstanceStatusEnum status);
+    List<JobInstance> getUnDispatchedList(Set<Long> slotsIds, Long minCreateTime, Long executeTime, InstanceStatusEnum status);
 
     /**
-     * Get failover list.
+     * Get failover list. Instances created before min create time are skipped, so that partitions of expired days are pruned.
      *
      * @param slotsIds       slots id.
+     * @param minCreateTime  min create time.
      * @param lastReportTime last report time.
      * @param status         status list.
      * @return List
      */
-    List<JobInstance> getFailoverList(Set<Long> slotsIds, Long lastReportTime, InstanceStatusEnum status);
+    List<JobInstance> getFailoverList(Set<Long> slotsIds, Long minCreateTime, Long lastReportTime, InstanceStatusEnum status);
 
     /**
      * Update to running.
@@ -113,6 +117,14 @@ public interface JobInstanceDAO {
      */
     PageDTO<JobInstance> pageList(JobInstancePageDTO jobInstancePageDTO);
 
+    /**
+     * Count total of page list, as pages are queried without count.
+     *
+     * @param jobInstancePageDTO jobInstancePageDTO
+     * @return Long
+     */
+    Long countTotal(JobInstancePageDTO jobInstancePageDTO);
+
     /**
      * Count total
      *
@@ -172,4 +184,41 @@ public interface JobInstanceDAO {
      * @return List
      */
     List<GroupCountDTO> countByNamespaceGroupByStatus(Long namespaceId, Long startTime, Long endTime);
+
+    /**
+     * Group by create hour and status, for instance stats.
+     *
+     * @param namespaceId namespaceId
+     * @param startTime   startTime
+     * @return List
+     */
+    List<InstanceStatDTO> countByNamespaceGroupByHourAndStatus(Long namespaceId, Long startTime);
+
+    /**
+     * Get rows to clear after id, in order of id.
+     *
+     * @param id   id
+     * @param size size
+     * @return List
+     */
+    List<ClearRowDTO> getClearRows(Long id, Integer size);
+
+    /**
+     * Get instances created between begin time and end time after id, in order of id.
+     *
+     * @param beginTime begin time
+     * @param endTime   end time, exclusive
+     * @param id        id
+     * @param size      size
+     * @return List
+     */
+    List<JobInstance> getListByCreateTime(Long beginTime, Long endTime, Long id, Integer size);
+
+    /**
+     * Delete by ids
+     *
+     * @param ids ids
+     * @return Integer
+     */
+    Integer deleteByIds(List<Long> ids);
 }
@@ -1,5 +1,6 @@
 package io.openjob.server.repository.dao;
 
+import io.openjob.server.repository.dto.ClearRowDTO;
 import io.openjob.server.repository.entity.JobInstanceLog;
 
 import java.util.List;
@@ -25,4 +26,32 @@ public interface JobInstanceLogDAO {
      * @return JobInstanceLog
      */
     List<JobInstanceLog> getByJobInstanceId(Long jobInstanceId);
+
+    /**
+     * Get rows to clear after id, in order of id.
+     *
+     * @param id   id
+     * @param size size
+     * @return List
+     */
+    List<ClearRowDTO> getClearRows(Long id, Integer size);
+
+    /**
+     * Get logs created between begin time and end time after id, in order of id.
+     *
+     * @param beginTime begin time
+     * @param endTime   end time, exclusive
+     * @param id        id
+     * @param size      size
+     * @return List
+     */
+    List<JobInstanceLog> getListByCreateTime(Long beginTime, Long endTime, Long id, Integer size);
+
+    /**
+     * Delete by ids
+     *
+     * @param ids ids
+     * @return Integer
+     */
+    Integer deleteByIds(List<Long> ids);
 }
@@ -0,0 +1,29 @@
+package io.openjob.server.repository.dao;
+
+import io.openjob.server.repository.entity.JobInstanceTaskCount;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public interface JobInstanceTaskCountDAO {
+
+    /**
+     * Batch save.
+     *
+     * @param countList countList
+     * @return Integer
+     */
+    Integer batchSave(List<JobInstanceTaskCount> countList);
+
+    /**
+     * Get task count by status. Summary page is preferred, otherwise pages are added up.
+     *
+     * @param jobInstanceId jobInstanceId
+     * @return Map
+     */
+    Map<Integer, Long> getStatusCount(Long jobInstanceId);
+}
@@ -1,9 +1,12 @@
 package io.openjob.server.repository.dao;
 
+import io.openjob.server.common.dto.PageDTO;
+import io.openjob.server.repository.dto.ClearRowDTO;
 import io.openjob.server.repository.entity.JobInstanceTask;
 import scala.Int;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author stelin swoft@qq.com
@@ -34,4 +37,40 @@ public interface JobInstanceTaskDAO {
      * @return JobInstanceTask
      */
     JobInstanceTask getByJobInstanceId(Long jobInstanceId);
+
+    /**
+     * Page list by job instance id.
+     *
+     * @param jobInstanceId jobInstanceId
+     * @param status        status, null is all
+     * @param page          page
+     * @param size          size
+     * @return PageDTO
+     */
+    PageDTO<JobInstanceTask> pageList(Long jobInstanceId, Integer status, Integer page, Integer size);
+
+    /**
+     * Get task count by status.
+     *
+     * @param jobInstanceId jobInstanceId
+     * @return Map
+     */
+    Map<Integer, Long> getStatusCount(Long jobInstanceId);
+
+    /**
+     * Get rows to clear after id, in order of id.
+     *
+     * @param id   id
+     * @param size size
+     * @return List
+     */
+    List<ClearRowDTO> getClearRows(Long id, Integer size);
+
+    /**
+     * Delete by ids
+     *
+     * @param ids ids
+     * @return Integer
+     */
+    Integer deleteByIds(List<Long> ids);
 }
@@ -53,4 +53,11 @@ public interface NamespaceDAO {
      * @return List
      */
     List<Namespace> getByIds(List<Long> ids);
+
+    /**
+     * Get all
+     *
+     * @return List
+     */
+    List<Namespace> getAll();
 }
@@ -0,0 +1,40 @@
+package io.openjob.server.repository.dao;
+
+import io.openjob.server.repository.dto.PartitionDTO;
+
+import java.util.List;
+
+/**
+ * Range partitions of create time, only MySQL and PostgreSQL are supported.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public interface PartitionDAO {
+
+    /**
+     * Get partitions in order of upper time, the max partition is the last.
+     *
+     * @param table table
+     * @return List, empty when table is not partitioned or database is not supported.
+     */
+    List<PartitionDTO> getPartitions(String table);
+
+    /**
+     * Add partition, split from the max partition.
+     *
+     * @param table     table
+     * @param name      partition name
+     * @param beginTime begin time
+     * @param endTime   end time, exclusive
+     */
+    void addPartition(String table, String name, Long beginTime, Long endTime);
+
+    /**
+     * Drop partition with its rows.
+     *
+     * @param table table
+     * @param name  partition name
+     */
+    void dropPartition(String table, String name);
+}
@@ -4,14 +4,16 @@ import io.openjob.common.constant.CommonConstant;
 import io.openjob.common.util.DateUtil;
 import io.openjob.server.common.dto.PageDTO;
 import io.openjob.server.repository.dao.DelayInstanceDAO;
+import io.openjob.server.repository.dto.ClearRowDTO;
 import io.openjob.server.repository.dto.DelayInstancePageDTO;
 import io.openjob.server.repository.dto.DelayInstanceTotalDTO;
 import io.openjob.server.repository.dto.GroupCountDTO;
+import io.openjob.server.repository.dto.InstanceStatDTO;
 import io.openjob.server.repository.entity.DelayInstance;
 import io.openjob.server.repository.repository.DelayInstanceRepository;
+import io.openjob.server.repository.util.QueryUtil;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
@@ -20,6 +22,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Nonnull;
+import javax.persistence.EntityManager;
 import javax.persistence.criteria.Predicate;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -39,10 +42,20 @@ public class DelayInstanceDAOImpl implements DelayInstanceDAO {
 
     private final JdbcTemplate jdbcTemplate;
 
+    private final EntityManager entityManager;
+
+    /**
+     * New DelayInstanceDAOImpl
+     *
+     * @param delayInstanceRepository delayInstanceRepository
+     * @param jdbcTemplate            jdbcTemplate
+     * @param entityManager           entityManager
+     */
     @Autowired
-    public DelayInstanceDAOImpl(DelayInstanceRepository delayInstanceRepository, JdbcTemplate jdbcTemplate) {
+    public DelayInstanceDAOImpl(DelayInstanceRepository delayInstanceRepository, JdbcTemplate jdbcTemplate, EntityManager entityManager) {
         this.delayInstanceRepository = delayInstanceRepository;
         this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -218,10 +231,48 @@ public class DelayInstanceDAOImpl implements DelayInstanceDAO {
         return this.delayInstanceRepository.getDelayGroupByStatus(namespaceId, startTime, endTime, CommonConstant.NO);
     }
 
+    @Override
+    public List<InstanceStatDTO> countByNamespaceGroupByHourAndStatus(Long namespaceId, Long startTime) {
+        return this.delayInstanceRepository.getDelayGroupHourStatus(namespaceId, startTime, CommonConstant.NO);
+    }
+
     @Override
     public PageDTO<DelayInstance> pageList(DelayInstancePageDTO instancePageDTO) {
+        // Rows after cursor, or by offset without cursor. One more row to know whether there is a next page.
+        Integer offset = Objects.isNull(instancePageDTO.getCursor()) ? (instancePageDTO.getPage() - 1) * instancePageDTO.getSize() : 0;
+        List<DelayInstance> list = QueryUtil.findAll(this.entityManager, DelayInstance.class, this.specification(instancePageDTO, instancePageDTO.getCursor()),
+                Sort.by(Sort.Direction.DESC, "id"), offset, instancePageDTO.getSize() + 1);
 
-        Specification<DelayInstance> specification = (root, query, criteriaBuilder) -> {
+        // Pagination
+        PageDTO<DelayInstance> pageDTO = new PageDTO<>();
+        if (!list.isEmpty()) {
+            pageDTO.setPage(instancePageDTO.getPage());
+            pageDTO.setSize(instancePageDTO.getSize());
+            pageDTO.setList(list.subList(0, Math.min(list.size(), instancePageDTO.getSize())));
+        }
+        if (list.size() > instancePageDTO.getSize()) {
+            pageDTO.setCursor(list.get(instancePageDTO.getSize() - 1).getId());
+        }
+        return pageDTO;
+    }
+
+    @Override
+    public Long countTotal(DelayInstancePageDTO instancePageDTO) {
+        return this.delayInstanceRepository.count(this.specification(instancePageDTO, null));
+    }
+
+    @Override
+    public List<ClearRowDTO> getClearRows(Long id, Integer size) {
+        return this.delayInstanceRepository.findClearRows(id, PageRequest.of(0, size));
+    }
+
+    @Override
+    public Integer deleteByIds(List<Long> ids) {
+        return this.delayInstanceRepository.deleteByIds(ids);
+    }
+
+    private Specification<DelayInstance> specification(DelayInstancePageDTO instancePageDTO, Long cursor) {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> conditions = new ArrayList<>();
 
             // Deleted
@@ -236,7 +287,7 @@ public class DelayInstanceDAOImpl implements DelayInstanceDAO {
             }
 
             // End time
-            if (Objects.nonNull(instancePageDTO.getBeginTime()) && instancePageDTO.getBeginTime() > 0) {
+            if (Objects.nonNull(instancePageDTO.getEndTime()) && instancePageDTO.getEndTime() > 0) {
                 conditions.add(criteriaBuilder.lessThanOrEqualTo(root.get("createTime").as(Long.class), instancePageDTO.getEndTime()));
             }
 
@@ -260,22 +311,13 @@ public class DelayInstanceDAOImpl implements DelayInstanceDAO {
                 conditions.add(criteriaBuilder.equal(root.get("status").as(Integer.class), instancePageDTO.getStatus()));
             }
 
+            // Cursor
+            if (Objects.nonNull(cursor)) {
+                conditions.add(criteriaBuilder.lessThan(root.get("id").as(Long.class), cursor));
+            }
+
             Predicate[] conditionAry = new Predicate[conditions.size()];
             return criteriaBuilder.and(conditions.toArray(conditionAry));
         };
-
-        // Pagination
-        PageDTO<DelayInstance> pageDTO = new PageDTO<>();
-        PageRequest pageRequest = PageRequest.of(instancePageDTO.getPage() - 1, instancePageDTO.getSize(), Sort.by(Sort.Direction.DESC, "id"));
-
-        // Query
-        Page<DelayInstance> pageList = this.delayInstanceRepository.findAll(specification, pageRequest);
-        if (!pageList.isEmpty()) {
-            pageDTO.setPage(instancePageDTO.getPage());
-            pageDTO.setSize(instancePageDTO.getSize());
-            pageDTO.setTotal(pageList.getTotalElements());
-            pageDTO.setList(pageList.toList());
-        }
-        return pageDTO;
     }
 }
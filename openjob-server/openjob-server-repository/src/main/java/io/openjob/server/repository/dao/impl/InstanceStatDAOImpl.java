@@ -0,0 +1,101 @@
+package io.openjob.server.repository.dao.impl;
+
+import io.openjob.common.util.DateUtil;
+import io.openjob.server.repository.dao.InstanceStatDAO;
+import io.openjob.server.repository.dto.GroupCountDTO;
+import io.openjob.server.repository.dto.InstanceStatDTO;
+import io.openjob.server.repository.entity.InstanceStat;
+import io.openjob.server.repository.repository.InstanceStatRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Component
+public class InstanceStatDAOImpl implements InstanceStatDAO {
+
+    /**
+     * Hours of date, such as 2023010112 / 100 = 20230101.
+     */
+    private static final Integer HOUR_DIVISOR = 100;
+
+    private final InstanceStatRepository instanceStatRepository;
+
+    @Autowired
+    public InstanceStatDAOImpl(InstanceStatRepository instanceStatRepository) {
+        this.instanceStatRepository = instanceStatRepository;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void replace(Integer type, Long namespaceId, Integer beginHour, List<InstanceStatDTO> stats) {
+        this.instanceStatRepository.deleteFromHour(type, namespaceId, beginHour);
+
+        Long now = DateUtil.timestamp();
+        List<InstanceStat> instanceStats = stats.stream()
+                .filter(s -> s.getStatHour() >= beginHour)
+                .map(s -> {
+                    InstanceStat instanceStat = new InstanceStat();
+                    instanceStat.setType(type);
+                    instanceStat.setNamespaceId(namespaceId);
+                    instanceStat.setStatHour(s.getStatHour());
+                    instanceStat.setStatus(s.getStatus());
+                    instanceStat.setTotal(s.getTotal());
+                    instanceStat.setCreateTime(now);
+                    instanceStat.setUpdateTime(now);
+                    return instanceStat;
+                }).collect(Collectors.toList());
+        this.instanceStatRepository.saveAll(instanceStats);
+    }
+
+    @Override
+    public Long countTotal(Integer type, Long namespaceId, Integer beginHour) {
+        return this.instanceStatRepository.sumTotal(type, namespaceId, beginHour);
+    }
+
+    @Override
+    public List<GroupCountDTO> countGroupByHour(Integer type, Long namespaceId, Integer beginHour, Integer endHour, Integer status) {
+        return this.instanceStatRepository.getGroupByHour(type, namespaceId, beginHour, endHour, status);
+    }
+
+    @Override
+    public List<GroupCountDTO> countGroupByDate(Integer type, Long namespaceId, Integer beginHour, Integer endHour, Integer status) {
+        Map<Integer, Long> dateCount = new TreeMap<>();
+        this.countGroupByHour(type, namespaceId, beginHour, endHour, status)
+                .forEach(c -> dateCount.merge(c.getGroupBy() / HOUR_DIVISOR, c.getCount(), Long::sum));
+        return dateCount.entrySet().stream()
+                .map(e -> new GroupCountDTO(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<GroupCountDTO> countGroupByStatus(Integer type, Long namespaceId, Integer beginHour, Integer endHour) {
+        return this.instanceStatRepository.getGroupByStatus(type, namespaceId, beginHour, endHour);
+    }
+
+    @Override
+    public Long countApproximate(Integer type, Long namespaceId, Long beginTime, Long endTime, Integer status) {
+        boolean hasBegin = Objects.nonNull(beginTime) && beginTime > 0;
+        boolean hasEnd = Objects.nonNull(endTime) && endTime > 0;
+        Integer beginHour = hasBegin ? DateUtil.formatHourByTimestamp(beginTime) : 0;
+        Integer endHour = hasEnd ? DateUtil.formatHourByTimestamp(endTime) : Integer.MAX_VALUE;
+        return this.countGroupByStatus(type, namespaceId, beginHour, endHour).stream()
+                .filter(c -> Objects.isNull(status) || status.equals(c.getGroupBy()))
+                .mapToLong(GroupCountDTO::getCount)
+                .sum();
+    }
+
+    @Override
+    public Integer deleteBeforeHour(Integer type, Integer statHour) {
+        return this.instanceStatRepository.deleteBeforeHour(type, statHour);
+    }
+}
@@ -6,17 +6,20 @@ import io.openjob.common.constant.TimeExpressionTypeEnum;
 import io.openjob.common.util.DateUtil;
 import io.openjob.server.common.dto.PageDTO;
 import io.openjob.server.repository.dao.JobInstanceDAO;
+import io.openjob.server.repository.dto.ClearRowDTO;
 import io.openjob.server.repository.dto.GroupCountDTO;
+import io.openjob.server.repository.dto.InstanceStatDTO;
 import io.openjob.server.repository.dto.JobInstancePageDTO;
 import io.openjob.server.repository.entity.JobInstance;
 import io.openjob.server.repository.repository.JobInstanceRepository;
+import io.openjob.server.repository.util.QueryUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import javax.persistence.EntityManager;
 import javax.persistence.criteria.Predicate;
 import java.util.ArrayList;
 import java.util.List;
@@ -30,10 +33,12 @@ import java.util.Set;
 @Component
 public class JobInstanceDAOImpl implements JobInstanceDAO {
     private final JobInstanceRepository jobInstanceRepository;
+    private final EntityManager entityManager;
 
     @Autowired
-    public JobInstanceDAOImpl(JobInstanceRepository jobInstanceRepository) {
+    public JobInstanceDAOImpl(JobInstanceRepository jobInstanceRepository, EntityManager entityManager) {
         this.jobInstanceRepository = jobInstanceRepository;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -65,14 +70,15 @@ public class JobInstanceDAOImpl implements JobInstanceDAO {
     }
 
     @Override
-    public List<JobInstance> getUnDispatchedList(Set<Long> slotsIds, Long executeTime, InstanceStatusEnum status) {
-        return this.jobInstanceRepository.findByExecuteTimeLessThanAndSlotsIdInAndStatusAndDeleted(executeTime, slotsIds, status.getStatus(), CommonConstant.NO);
+    public List<JobInstance> getUnDispatchedList(Set<Long> slotsIds, Long minCreateTime, Long executeTime, InstanceStatusEnum status) {
+        return this.jobInstanceRepository.findByCreateTimeGreaterThanEqualAndExecuteTimeLessThanAndSlotsIdInAndStatusAndDeleted(
+                minCreateTime, executeTime, slotsIds, status.getStatus(), CommonConstant.NO);
     }
 
     @Override
-    public List<JobInstance> getFailoverList(Set<Long> slotsIds, Long lastReportTime, InstanceStatusEnum statusEnum) {
-        return this.jobInstanceRepository.findByLastReportTimeLessThanAndSlotsIdInAndStatusAndTimeExpressionTypeNotAndDeleted(
-                lastReportTime, slotsIds, statusEnum.getStatus(), TimeExpressionTypeEnum.ONE_TIME.name(), CommonConstant.NO);
+    public List<JobInstance> getFailoverList(Set<Long> slotsIds, Long minCreateTime, Long lastReportTime, InstanceStatusEnum statusEnum) {
+        return this.jobInstanceRepository.findByCreateTimeGreaterThanEqualAndLastReportTimeLessThanAndSlotsIdInAndStatusAndTimeExpressionTypeNotAndDeleted(
+                minCreateTime, lastReportTime, slotsIds, statusEnum.getStatus(), TimeExpressionTypeEnum.ONE_TIME.name(), CommonConstant.NO);
     }
 
     @Override
@@ -143,9 +149,54 @@ public class JobInstanceDAOImpl implements JobInstanceDAO {
         return this.jobInstanceRepository.getJobInstanceGroupStatus(namespaceId, startTime, endTime, CommonConstant.NO);
     }
 
+    @Override
+    public List<InstanceStatDTO> countByNamespaceGroupByHourAndStatus(Long namespaceId, Long startTime) {
+        return this.jobInstanceRepository.getJobInstanceGroupHourStatus(namespaceId, startTime, CommonConstant.NO);
+    }
+
     @Override
     public PageDTO<JobInstance> pageList(JobInstancePageDTO instanceDTO) {
-        Specification<JobInstance> specification = (root, query, criteriaBuilder) -> {
+        // Rows after cursor, or by offset without cursor. One more row to know whether there is a next page.
+        Integer offset = Objects.isNull(instanceDTO.getCursor()) ? (instanceDTO.getPage() - 1) * instanceDTO.getSize() : 0;
+        List<JobInstance> list = QueryUtil.findAll(this.entityManager, JobInstance.class, this.specification(instanceDTO, instanceDTO.getCursor()),
+                Sort.by(Sort.Direction.DESC, "id"), offset, instanceDTO.getSize() + 1);
+
+        // Pagination
+        PageDTO<JobInstance> pageDTO = new PageDTO<>();
+        if (!list.isEmpty()) {
+            pageDTO.setPage(instanceDTO.getPage());
+            pageDTO.setSize(instanceDTO.getSize());
+            pageDTO.setList(list.subList(0, Math.min(list.size(), instanceDTO.getSize())));
+        }
+        if (list.size() > instanceDTO.getSize()) {
+            pageDTO.setCursor(list.get(instanceDTO.getSize() - 1).getId());
+        }
+        return pageDTO;
+    }
+
+    @Override
+    public Long countTotal(JobInstancePageDTO instanceDTO) {
+        return this.jobInstanceRepository.count(this.specification(instanceDTO, null));
+    }
+
+    @Override
+    public List<ClearRowDTO> getClearRows(Long id, Integer size) {
+        return this.jobInstanceRepository.findClearRows(id, PageRequest.of(0, size));
+    }
+
+    @Override
+    public List<JobInstance> getListByCreateTime(Long beginTime, Long endTime, Long id, Integer size) {
+        return this.jobInstanceRepository.findByCreateTimeGreaterThanEqualAndCreateTimeLessThanAndIdGreaterThanOrderByIdAsc(
+                beginTime, endTime, id, PageRequest.of(0, size));
+    }
+
+    @Override
+    public Integer deleteByIds(List<Long> ids) {
+        return this.jobInstanceRepository.deleteByIds(ids);
+    }
+
+    private Specification<JobInstance> specification(JobInstancePageDTO instanceDTO, Long cursor) {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> conditions = new ArrayList<>();
 
             // Deleted
@@ -179,27 +230,18 @@ public class JobInstanceDAOImpl implements JobInstanceDAO {
                 conditions.add(criteriaBuilder.greaterThanOrEqualTo(root.get("createTime").as(Long.class), instanceDTO.getBeginTime()));
             }
 
-            // Begin time
+            // End time
             if (Objects.nonNull(instanceDTO.getEndTime()) && instanceDTO.getEndTime() > 0) {
                 conditions.add(criteriaBuilder.lessThanOrEqualTo(root.get("createTime").as(Long.class), instanceDTO.getEndTime()));
             }
 
+            // Cursor
+            if (Objects.nonNull(cursor)) {
+                conditions.add(criteriaBuilder.lessThan(root.get("id").as(Long.class), cursor));
+            }
+
             Predicate[] conditionAry = new Predicate[conditions.size()];
             return criteriaBuilder.and(conditions.toArray(conditionAry));
         };
-
-        // Pagination
-        PageDTO<JobInstance> pageDTO = new PageDTO<>();
-        PageRequest pageRequest = PageRequest.of(instanceDTO.getPage() - 1, instanceDTO.getSize(), Sort.by(Sort.Direction.DESC, "id"));
-
-        // Query
-        Page<JobInstance> pageList = this.jobInstanceRepository.findAll(specification, pageRequest);
-        if (!pageList.isEmpty()) {
-            pageDTO.setPage(instanceDTO.getPage());
-            pageDTO.setSize(instanceDTO.getSize());
-            pageDTO.setTotal(pageList.getTotalElements());
-            pageDTO.setList(pageList.toList());
-        }
-        return pageDTO;
     }
 }
@@ -1,9 +1,11 @@
 package io.openjob.server.repository.dao.impl;
 
 import io.openjob.server.repository.dao.JobInstanceLogDAO;
+import io.openjob.server.repository.dto.ClearRowDTO;
 import io.openjob.server.repository.entity.JobInstanceLog;
 import io.openjob.server.repository.repository.JobInstanceLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -30,4 +32,20 @@ public class JobInstanceLogDAOImpl implements JobInstanceLogDAO {
     public List<JobInstanceLog> getByJobInstanceId(Long jobInstanceId) {
         return this.jobInstanceLogRepository.findByJobInstanceIdOrderByCreateTimeAsc(jobInstanceId);
     }
+
+    @Override
+    public List<ClearRowDTO> getClearRows(Long id, Integer size) {
+        return this.jobInstanceLogRepository.findClearRows(id, PageRequest.of(0, size));
+    }
+
+    @Override
+    public List<JobInstanceLog> getListByCreateTime(Long beginTime, Long endTime, Long id, Integer size) {
+        return this.jobInstanceLogRepository.findByCreateTimeGreaterThanEqualAndCreateTimeLessThanAndIdGreaterThanOrderByIdAsc(
+                beginTime, endTime, id, PageRequest.of(0, size));
+    }
+
+    @Override
+    public Integer deleteByIds(List<Long> ids) {
+        return this.jobInstanceLogRepository.deleteByIds(ids);
+    }
 }
@@ -0,0 +1,48 @@
+package io.openjob.server.repository.dao.impl;
+
+import io.openjob.server.repository.dao.JobInstanceTaskCountDAO;
+import io.openjob.server.repository.entity.JobInstanceTaskCount;
+import io.openjob.server.repository.repository.JobInstanceTaskCountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Component
+public class JobInstanceTaskCountDAOImpl implements JobInstanceTaskCountDAO {
+
+    private final JobInstanceTaskCountRepository jobInstanceTaskCountRepository;
+
+    @Autowired
+    public JobInstanceTaskCountDAOImpl(JobInstanceTaskCountRepository jobInstanceTaskCountRepository) {
+        this.jobInstanceTaskCountRepository = jobInstanceTaskCountRepository;
+    }
+
+    @Override
+    public Integer batchSave(List<JobInstanceTaskCount> countList) {
+        return this.jobInstanceTaskCountRepository.saveAll(countList).size();
+    }
+
+    @Override
+    public Map<Integer, Long> getStatusCount(Long jobInstanceId) {
+        Map<Integer, Long> statusCount = new TreeMap<>();
+        this.jobInstanceTaskCountRepository.findByJobInstanceId(jobInstanceId).stream()
+                .collect(Collectors.groupingBy(JobInstanceTaskCount::getCircleId))
+                .forEach((circleId, circleCounts) -> {
+                    // Summary page already contains all tasks of the circle.
+                    List<JobInstanceTaskCount> summaryCounts = circleCounts.stream()
+                            .filter(c -> JobInstanceTaskCount.SUMMARY_PAGE.equals(c.getReportPage()))
+                            .collect(Collectors.toList());
+                    List<JobInstanceTaskCount> counts = summaryCounts.isEmpty() ? circleCounts : summaryCounts;
+                    counts.forEach(c -> statusCount.merge(c.getStatus(), c.getTaskCount(), Long::sum));
+                });
+        return statusCount;
+    }
+}
@@ -1,12 +1,22 @@
 package io.openjob.server.repository.dao.impl;
 
+import io.openjob.server.common.dto.PageDTO;
 import io.openjob.server.repository.dao.JobInstanceTaskDAO;
+import io.openjob.server.repository.dto.ClearRowDTO;
+import io.openjob.server.repository.dto.GroupCountDTO;
 import io.openjob.server.repository.entity.JobInstanceTask;
 import io.openjob.server.repository.repository.JobInstanceTaskRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 /**
  * @author stelin swoft@qq.com
@@ -35,4 +45,42 @@ public class JobInstanceTaskDAOImpl implements JobInstanceTaskDAO {
     public JobInstanceTask getByJobInstanceId(Long jobInstanceId) {
         return this.jobInstanceTaskRepository.findByJobInstanceId(jobInstanceId);
     }
+
+    @Override
+    public PageDTO<JobInstanceTask> pageList(Long jobInstanceId, Integer status, Integer page, Integer size) {
+        PageRequest pageRequest = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.ASC, "id"));
+
+        // Query
+        Page<JobInstanceTask> pageList;
+        if (Objects.isNull(status)) {
+            pageList = this.jobInstanceTaskRepository.findByJobInstanceId(jobInstanceId, pageRequest);
+        } else {
+            pageList = this.jobInstanceTaskRepository.findByJobInstanceIdAndStatus(jobInstanceId, status, pageRequest);
+        }
+
+        PageDTO<JobInstanceTask> pageDTO = new PageDTO<>();
+        if (!pageList.isEmpty()) {
+            pageDTO.setPage(page);
+            pageDTO.setSize(size);
+            pageDTO.setTotal(pageList.getTotalElements());
+            pageDTO.setList(pageList.toList());
+        }
+        return pageDTO;
+    }
+
+    @Override
+    public Map<Integer, Long> getStatusCount(Long jobInstanceId) {
+        return this.jobInstanceTaskRepository.getGroupByStatus(jobInstanceId).stream()
+                .collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount, Long::sum, TreeMap::new));
+    }
+
+    @Override
+    public List<ClearRowDTO> getClearRows(Long id, Integer size) {
+        return this.jobInstanceTaskRepository.findClearRows(id, PageRequest.of(0, size));
+    }
+
+    @Override
+    public Integer deleteByIds(List<Long> ids) {
+        return this.jobInstanceTaskRepository.deleteByIds(ids);
+    }
 }
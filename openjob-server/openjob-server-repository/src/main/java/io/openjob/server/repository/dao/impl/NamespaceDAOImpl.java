@@ -102,4 +102,9 @@ public class NamespaceDAOImpl implements NamespaceDAO {
     public List<Namespace> getByIds(List<Long> ids) {
         return this.namespaceRepository.findAllById(ids);
     }
+
+    @Override
+    public List<Namespace> getAll() {
+        return this.namespaceRepository.findAll();
+    }
 }
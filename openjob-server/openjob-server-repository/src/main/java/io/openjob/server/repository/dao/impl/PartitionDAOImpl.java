@@ -0,0 +1,140 @@
+package io.openjob.server.repository.dao.impl;
+
+import io.openjob.server.repository.dao.PartitionDAO;
+import io.openjob.server.repository.dto.PartitionDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * MySQL partitions are range partitions ended by max partition p_max.
+ * PostgreSQL partitions are tables named as table_partition, rows out of partitions are in default partition table_p_max.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Component
+public class PartitionDAOImpl implements PartitionDAO {
+    private static final String MYSQL = "mysql";
+    private static final String MARIADB = "mariadb";
+    private static final String POSTGRESQL = "postgresql";
+
+    /**
+     * Max partition.
+     */
+    private static final String MAX_PARTITION = "p_max";
+
+    /**
+     * Max value of MySQL partition description.
+     */
+    private static final String MAX_VALUE = "MAXVALUE";
+
+    /**
+     * Bounds of PostgreSQL partition, such as FOR VALUES FROM ('1696089600') TO ('1696176000').
+     */
+    private static final Pattern LOWER_BOUND = Pattern.compile("FROM \\('?(-?\\d+)'?\\)");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('?(-?\\d+)'?\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Database of data source, detected on first use.
+     */
+    private volatile String database;
+
+    @Autowired
+    public PartitionDAOImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<PartitionDTO> getPartitions(String table) {
+        String database = this.getDatabase();
+        List<PartitionDTO> partitions;
+        if (MYSQL.equals(database)) {
+            String sql = "SELECT `PARTITION_NAME`, `PARTITION_DESCRIPTION` FROM `information_schema`.`PARTITIONS` "
+                    + "WHERE `TABLE_SCHEMA` = DATABASE() AND `TABLE_NAME` = ? AND `PARTITION_NAME` IS NOT NULL";
+            partitions = this.jdbcTemplate.query(sql, (rs, i) -> {
+                String description = rs.getString(2);
+                Long upperTime = MAX_VALUE.equalsIgnoreCase(description) ? null : Long.valueOf(description);
+                return new PartitionDTO(rs.getString(1), null, upperTime);
+            }, table);
+        } else if (POSTGRESQL.equals(database)) {
+            String sql = "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i "
+                    + "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent "
+                    + "WHERE p.relname = ? AND pg_table_is_visible(p.oid)";
+            String prefix = table + "_";
+            partitions = this.jdbcTemplate.query(sql, (rs, i) -> new PartitionDTO(rs.getString(1).substring(prefix.length()),
+                    this.getBound(LOWER_BOUND, rs.getString(2)), this.getBound(UPPER_BOUND, rs.getString(2))), table);
+        } else {
+            return new ArrayList<>();
+        }
+
+        partitions.sort(Comparator.comparing(PartitionDTO::getUpperTime, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        // Lower bound of MySQL range partition is upper bound of the partition before.
+        if (MYSQL.equals(database)) {
+            for (int i = 1; i < partitions.size(); i++) {
+                partitions.get(i).setLowerTime(partitions.get(i - 1).getUpperTime());
+            }
+        }
+        return partitions;
+    }
+
+    @Override
+    public void addPartition(String table, String name, Long beginTime, Long endTime) {
+        String database = this.getDatabase();
+        if (MYSQL.equals(database)) {
+            // Max partition only has rows after partitions, split without copying rows of other partitions.
+            this.jdbcTemplate.execute(String.format("ALTER TABLE `%s` REORGANIZE PARTITION `%s` INTO "
+                    + "(PARTITION `%s` VALUES LESS THAN (%d), PARTITION `%s` VALUES LESS THAN MAXVALUE)", table, MAX_PARTITION, name, endTime, MAX_PARTITION));
+            return;
+        }
+
+        if (POSTGRESQL.equals(database)) {
+            this.jdbcTemplate.execute(String.format("CREATE TABLE %s_%s PARTITION OF %s FOR VALUES FROM (%d) TO (%d)", table, name, table, beginTime, endTime));
+            return;
+        }
+        throw new UnsupportedOperationException("Partition is not supported! database=" + database);
+    }
+
+    @Override
+    public void dropPartition(String table, String name) {
+        String database = this.getDatabase();
+        if (MYSQL.equals(database)) {
+            this.jdbcTemplate.execute(String.format("ALTER TABLE `%s` DROP PARTITION `%s`", table, name));
+            return;
+        }
+
+        if (POSTGRESQL.equals(database)) {
+            this.jdbcTemplate.execute(String.format("DROP TABLE %s_%s", table, name));
+            return;
+        }
+        throw new UnsupportedOperationException("Partition is not supported! database=" + database);
+    }
+
+    private Long getBound(Pattern pattern, String expression) {
+        Matcher matcher = pattern.matcher(expression);
+        return matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    private String getDatabase() {
+        if (Objects.nonNull(this.database)) {
+            return this.database;
+        }
+
+        String productName = this.jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        String name = Objects.isNull(productName) ? "" : productName.toLowerCase(Locale.ROOT);
+        this.database = name.contains(MARIADB) ? MYSQL : name;
+        return this.database;
+    }
+}
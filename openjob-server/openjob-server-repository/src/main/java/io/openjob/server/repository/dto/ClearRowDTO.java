@@ -0,0 +1,38 @@
+package io.openjob.server.repository.dto;
+
+import lombok.Data;
+
+/**
+ * Row scanned by primary key to clear expired data.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Data
+public class ClearRowDTO {
+    private Long id;
+    private Long createTime;
+
+    /**
+     * Status, null for rows cleared by time only.
+     */
+    private Integer status;
+
+    public ClearRowDTO(Long id, Long createTime) {
+        this.id = id;
+        this.createTime = createTime;
+    }
+
+    /**
+     * New ClearRowDTO
+     *
+     * @param id         id
+     * @param createTime createTime
+     * @param status     status
+     */
+    public ClearRowDTO(Long id, Long createTime, Integer status) {
+        this.id = id;
+        this.createTime = createTime;
+        this.status = status;
+    }
+}
@@ -22,6 +22,11 @@ public class DelayInstancePageDTO {
 
     private Integer size;
 
+    /**
+     * Id of the last row of previous page, rows are queried after it instead of by offset.
+     */
+    private Long cursor;
+
     private Long beginTime;
 
     private Long endTime;
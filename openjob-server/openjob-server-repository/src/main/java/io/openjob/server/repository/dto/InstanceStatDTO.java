@@ -0,0 +1,29 @@
+package io.openjob.server.repository.dto;
+
+import lombok.Data;
+
+/**
+ * Instance count grouped by create hour and status.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Data
+public class InstanceStatDTO {
+    private Integer statHour;
+    private Integer status;
+    private Long total;
+
+    /**
+     * New InstanceStatDTO
+     *
+     * @param statHour statHour
+     * @param status   status
+     * @param total    total
+     */
+    public InstanceStatDTO(Integer statHour, Integer status, Long total) {
+        this.statHour = statHour;
+        this.status = status;
+        this.total = total;
+    }
+}
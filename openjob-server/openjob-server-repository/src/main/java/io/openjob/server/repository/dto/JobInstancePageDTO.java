@@ -25,4 +25,9 @@ public class JobInstancePageDTO {
     private Integer page;
 
     private Integer size;
+
+    /**
+     * Id of the last row of previous page, rows are queried after it instead of by offset.
+     */
+    private Long cursor;
 }
@@ -0,0 +1,32 @@
+package io.openjob.server.repository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Range partition of create time.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartitionDTO {
+
+    /**
+     * Partition name, such as p20231001.
+     */
+    private String name;
+
+    /**
+     * Lower bound(s) of create time, inclusive, null for the first or the default partition.
+     */
+    private Long lowerTime;
+
+    /**
+     * Upper bound(s) of create time, exclusive, null for the max partition.
+     */
+    private Long upperTime;
+}
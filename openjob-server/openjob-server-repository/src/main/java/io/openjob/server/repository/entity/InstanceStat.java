@@ -0,0 +1,58 @@
+package io.openjob.server.repository.entity;
+
+import lombok.Data;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Instance count of namespace grouped by create hour and status.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Data
+@Entity
+@Table(name = "`instance_stat`")
+public class InstanceStat {
+    @Id
+    @Column(name = "`id`")
+    @GeneratedValue(strategy = GenerationType.AUTO, generator = "native")
+    @GenericGenerator(name = "native", strategy = "native", parameters = {@Parameter(name = "sequence_name", value = "instance_stat_id")})
+    private Long id;
+
+    @Column(name = "`namespace_id`")
+    private Long namespaceId;
+
+    /**
+     * Type
+     *
+     * @see io.openjob.server.repository.constant.InstanceStatTypeEnum
+     */
+    @Column(name = "`type`")
+    private Integer type;
+
+    /**
+     * Create hour of instances, such as 2023010112.
+     */
+    @Column(name = "`stat_hour`")
+    private Integer statHour;
+
+    @Column(name = "`status`")
+    private Integer status;
+
+    @Column(name = "`total`")
+    private Long total;
+
+    @Column(name = "`create_time`")
+    private Long createTime;
+
+    @Column(name = "`update_time`")
+    private Long updateTime;
+}
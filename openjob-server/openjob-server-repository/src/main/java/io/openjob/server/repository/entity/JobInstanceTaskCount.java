@@ -0,0 +1,71 @@
+package io.openjob.server.repository.entity;
+
+import lombok.Data;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Task count of job instance grouped by status, one row for each reported page.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Data
+@Entity
+@Table(name = "`job_instance_task_count`")
+public class JobInstanceTaskCount {
+
+    /**
+     * Summary page.
+     */
+    public static final Long SUMMARY_PAGE = 0L;
+
+    @Id
+    @Column(name = "`id`")
+    @GeneratedValue(strategy = GenerationType.AUTO, generator = "native")
+    @GenericGenerator(name = "native", strategy = "native", parameters = {@Parameter(name = "sequence_name", value = "job_instance_task_count_id")})
+    private Long id;
+
+    @Column(name = "`job_id`")
+    private Long jobId;
+
+    @Column(name = "`job_instance_id`")
+    private Long jobInstanceId;
+
+    @Column(name = "`circle_id`")
+    private Long circleId;
+
+    /**
+     * Report page, zero is the summary of all pages.
+     */
+    @Column(name = "`report_page`")
+    private Long reportPage;
+
+    @Column(name = "`status`")
+    private Integer status;
+
+    @Column(name = "`task_count`")
+    private Long taskCount;
+
+    @Column(name = "`deleted`")
+    private Integer deleted;
+
+    /**
+     * Delete time
+     */
+    @Column(name = "`delete_time`")
+    private Long deleteTime;
+
+    @Column(name = "`create_time`")
+    private Long createTime;
+
+    @Column(name = "`update_time`")
+    private Long updateTime;
+}
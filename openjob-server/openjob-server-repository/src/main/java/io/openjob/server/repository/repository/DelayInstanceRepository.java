@@ -1,8 +1,11 @@
 package io.openjob.server.repository.repository;
 
+import io.openjob.server.repository.dto.ClearRowDTO;
 import io.openjob.server.repository.dto.DelayInstanceTotalDTO;
 import io.openjob.server.repository.dto.GroupCountDTO;
+import io.openjob.server.repository.dto.InstanceStatDTO;
 import io.openjob.server.repository.entity.DelayInstance;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -92,6 +95,18 @@ public interface DelayInstanceRepository extends JpaRepository<DelayInstance, Lo
             + "where d.namespaceId=?1 and d.createTime >= ?2 and d.createTime<=?3 and d.deleted=?4 GROUP BY d.status")
     List<GroupCountDTO> getDelayGroupByStatus(Long namespaceId, Long startTime, Long endTime, Integer deleted);
 
+    /**
+     * Group by create hour and status
+     *
+     * @param namespaceId namespaceId
+     * @param startTime   startTime
+     * @param deleted     deleted
+     * @return List
+     */
+    @Query(value = "SELECT new io.openjob.server.repository.dto.InstanceStatDTO(d.createTimeHour, d.status, count(d.id)) from DelayInstance as d "
+            + "where d.namespaceId=?1 and d.createTime >= ?2 and d.deleted=?3 GROUP BY d.createTimeHour, d.status")
+    List<InstanceStatDTO> getDelayGroupHourStatus(Long namespaceId, Long startTime, Integer deleted);
+
     /**
      * Find by task id.
      *
@@ -131,4 +146,26 @@ public interface DelayInstanceRepository extends JpaRepository<DelayInstance, Lo
      * @return DelayInstance
      */
     DelayInstance findFirstByDelayIdAndDeleted(Long delayId, Integer deleted);
+
+    /**
+     * Find rows to clear after id, in order of id.
+     *
+     * @param id       id
+     * @param pageable pageable
+     * @return List
+     */
+    @Query(value = "SELECT new io.openjob.server.repository.dto.ClearRowDTO(d.id, d.createTime, d.status) from DelayInstance as d "
+            + "where d.id > ?1 order by d.id asc")
+    List<ClearRowDTO> findClearRows(Long id, Pageable pageable);
+
+    /**
+     * Delete by ids
+     *
+     * @param ids ids
+     * @return Integer
+     */
+    @Modifying
+    @Transactional(rollbackFor = Exception.class)
+    @Query(value = "delete from DelayInstance as d where d.id in (?1)")
+    Integer deleteByIds(List<Long> ids);
 }
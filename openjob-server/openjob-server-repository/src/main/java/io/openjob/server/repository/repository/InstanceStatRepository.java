@@ -0,0 +1,80 @@
+package io.openjob.server.repository.repository;
+
+import io.openjob.server.repository.dto.GroupCountDTO;
+import io.openjob.server.repository.entity.InstanceStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public interface InstanceStatRepository extends JpaRepository<InstanceStat, Long> {
+
+    /**
+     * Sum total from hour.
+     *
+     * @param type        type
+     * @param namespaceId namespaceId
+     * @param statHour    begin hour
+     * @return Long
+     */
+    @Query(value = "SELECT coalesce(sum(s.total), 0) from InstanceStat as s where s.type=?1 and s.namespaceId=?2 and s.statHour >= ?3")
+    Long sumTotal(Integer type, Long namespaceId, Integer statHour);
+
+    /**
+     * Group by hour.
+     *
+     * @param type        type
+     * @param namespaceId namespaceId
+     * @param beginHour   beginHour
+     * @param endHour     endHour
+     * @param status      status
+     * @return List
+     */
+    @Query(value = "SELECT new io.openjob.server.repository.dto.GroupCountDTO(s.statHour, sum(s.total)) from InstanceStat as s "
+            + "where s.type=?1 and s.namespaceId=?2 and s.statHour >= ?3 and s.statHour <= ?4 and s.status=?5 GROUP BY s.statHour")
+    List<GroupCountDTO> getGroupByHour(Integer type, Long namespaceId, Integer beginHour, Integer endHour, Integer status);
+
+    /**
+     * Group by status.
+     *
+     * @param type        type
+     * @param namespaceId namespaceId
+     * @param beginHour   beginHour
+     * @param endHour     endHour
+     * @return List
+     */
+    @Query(value = "SELECT new io.openjob.server.repository.dto.GroupCountDTO(s.status, sum(s.total)) from InstanceStat as s "
+            + "where s.type=?1 and s.namespaceId=?2 and s.statHour >= ?3 and s.statHour <= ?4 GROUP BY s.status")
+    List<GroupCountDTO> getGroupByStatus(Integer type, Long namespaceId, Integer beginHour, Integer endHour);
+
+    /**
+     * Delete from hour.
+     *
+     * @param type        type
+     * @param namespaceId namespaceId
+     * @param statHour    begin hour
+     * @return Integer
+     */
+    @Modifying
+    @Transactional(rollbackFor = Exception.class)
+    @Query(value = "delete from InstanceStat as s where s.type=?1 and s.namespaceId=?2 and s.statHour >= ?3")
+    Integer deleteFromHour(Integer type, Long namespaceId, Integer statHour);
+
+    /**
+     * Delete before hour.
+     *
+     * @param type     type
+     * @param statHour statHour
+     * @return Integer
+     */
+    @Modifying
+    @Transactional(rollbackFor = Exception.class)
+    @Query(value = "delete from InstanceStat as s where s.type=?1 and s.statHour < ?2")
+    Integer deleteBeforeHour(Integer type, Integer statHour);
+}
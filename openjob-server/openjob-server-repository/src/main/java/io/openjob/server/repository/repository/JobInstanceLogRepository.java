@@ -1,7 +1,12 @@
 package io.openjob.server.repository.repository;
 
+import io.openjob.server.repository.dto.ClearRowDTO;
 import io.openjob.server.repository.entity.JobInstanceLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -18,4 +23,37 @@ public interface JobInstanceLogRepository extends JpaRepository<JobInstanceLog,
      * @return List
      */
     List<JobInstanceLog> findByJobInstanceIdOrderByCreateTimeAsc(Long jobInstanceId);
+
+    /**
+     * Find created between begin time and end time after id, in order of id.
+     *
+     * @param beginTime begin time
+     * @param endTime   end time, exclusive
+     * @param id        id
+     * @param pageable  pageable
+     * @return List
+     */
+    List<JobInstanceLog> findByCreateTimeGreaterThanEqualAndCreateTimeLessThanAndIdGreaterThanOrderByIdAsc(Long beginTime, Long endTime, Long id, Pageable pageable);
+
+    /**
+     * Find rows to clear after id, in order of id.
+     *
+     * @param id       id
+     * @param pageable pageable
+     * @return List
+     */
+    @Query(value = "SELECT new io.openjob.server.repository.dto.ClearRowDTO(l.id, l.createTime) from JobInstanceLog as l "
+            + "where l.id > ?1 order by l.id asc")
+    List<ClearRowDTO> findClearRows(Long id, Pageable pageable);
+
+    /**
+     * Delete by ids
+     *
+     * @param ids ids
+     * @return Integer
+     */
+    @Modifying
+    @Transactional(rollbackFor = Exception.class)
+    @Query(value = "delete from JobInstanceLog as l where l.id in (?1)")
+    Integer deleteByIds(List<Long> ids);
 }
@@ -1,7 +1,10 @@
 package io.openjob.server.repository.repository;
 
+import io.openjob.server.repository.dto.ClearRowDTO;
 import io.openjob.server.repository.dto.GroupCountDTO;
+import io.openjob.server.repository.dto.InstanceStatDTO;
 import io.openjob.server.repository.entity.JobInstance;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -61,6 +64,7 @@ public interface JobInstanceRepository extends JpaRepository<JobInstance, Long>,
     /**
      * Find failover list.
      *
+     * @param createTime     min create time
      * @param lastReportTime last report time
      * @param slotsIds       slots ids
      * @param status         status
@@ -68,19 +72,32 @@ public interface JobInstanceRepository extends JpaRepository<JobInstance, Long>,
      * @param deleted        deleted
      * @return List
      */
-    List<JobInstance> findByLastReportTimeLessThanAndSlotsIdInAndStatusAndTimeExpressionTypeNotAndDeleted(
-            Long lastReportTime, Set<Long> slotsIds, Integer status, String type, Integer deleted);
+    List<JobInstance> findByCreateTimeGreaterThanEqualAndLastReportTimeLessThanAndSlotsIdInAndStatusAndTimeExpressionTypeNotAndDeleted(
+            Long createTime, Long lastReportTime, Set<Long> slotsIds, Integer status, String type, Integer deleted);
 
     /**
      * Find not dispatch list.
      *
+     * @param createTime  min create time
      * @param executeTime execute time
      * @param slotsIds    slots ids.
      * @param status      status.
      * @param deleted     deleted
      * @return list
      */
-    List<JobInstance> findByExecuteTimeLessThanAndSlotsIdInAndStatusAndDeleted(Long executeTime, Set<Long> slotsIds, Integer status, Integer deleted);
+    List<JobInstance> findByCreateTimeGreaterThanEqualAndExecuteTimeLessThanAndSlotsIdInAndStatusAndDeleted(
+            Long createTime, Long executeTime, Set<Long> slotsIds, Integer status, Integer deleted);
+
+    /**
+     * Find created between begin time and end time after id, in order of id.
+     *
+     * @param beginTime begin time
+     * @param endTime   end time, exclusive
+     * @param id        id
+     * @param pageable  pageable
+     * @return List
+     */
+    List<JobInstance> findByCreateTimeGreaterThanEqualAndCreateTimeLessThanAndIdGreaterThanOrderByIdAsc(Long beginTime, Long endTime, Long id, Pageable pageable);
 
     /**
      * Find first by id and status.
@@ -161,4 +178,38 @@ public interface JobInstanceRepository extends JpaRepository<JobInstance, Long>,
     @Query(value = "SELECT new io.openjob.server.repository.dto.GroupCountDTO(j.status, count(j.id)) from JobInstance as j "
             + "where j.namespaceId=?1 and j.createTime >= ?2 and j.createTime<=?3 and j.deleted=?4 GROUP BY j.status ")
     List<GroupCountDTO> getJobInstanceGroupStatus(Long namespaceId, Long startTime, Long endTime, Integer deleted);
+
+    /**
+     * Group by create hour and status
+     *
+     * @param namespaceId namespaceId
+     * @param startTime   startTime
+     * @param deleted     deleted
+     * @return List
+     */
+    @Query(value = "SELECT new io.openjob.server.repository.dto.InstanceStatDTO(j.createTimeHour, j.status, count(j.id)) from JobInstance as j "
+            + "where j.namespaceId=?1 and j.createTime >= ?2 and j.deleted=?3 GROUP BY j.createTimeHour, j.status")
+    List<InstanceStatDTO> getJobInstanceGroupHourStatus(Long namespaceId, Long startTime, Integer deleted);
+
+    /**
+     * Find rows to clear after id, in order of id.
+     *
+     * @param id       id
+     * @param pageable pageable
+     * @return List
+     */
+    @Query(value = "SELECT new io.openjob.server.repository.dto.ClearRowDTO(j.id, j.createTime) from JobInstance as j "
+            + "where j.id > ?1 order by j.id asc")
+    List<ClearRowDTO> findClearRows(Long id, Pageable pageable);
+
+    /**
+     * Delete by ids
+     *
+     * @param ids ids
+     * @return Integer
+     */
+    @Modifying
+    @Transactional(rollbackFor = Exception.class)
+    @Query(value = "delete from JobInstance as j where j.id in (?1)")
+    Integer deleteByIds(List<Long> ids);
 }
@@ -0,0 +1,21 @@
+package io.openjob.server.repository.repository;
+
+import io.openjob.server.repository.entity.JobInstanceTaskCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public interface JobInstanceTaskCountRepository extends JpaRepository<JobInstanceTaskCount, Long> {
+
+    /**
+     * Find by job instance id.
+     *
+     * @param jobInstanceId jobInstanceId
+     * @return List
+     */
+    List<JobInstanceTaskCount> findByJobInstanceId(Long jobInstanceId);
+}
@@ -1,7 +1,16 @@
 package io.openjob.server.repository.repository;
 
+import io.openjob.server.repository.dto.ClearRowDTO;
+import io.openjob.server.repository.dto.GroupCountDTO;
 import io.openjob.server.repository.entity.JobInstanceTask;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 /**
  * @author stelin swoft@qq.com
@@ -16,4 +25,55 @@ public interface JobInstanceTaskRepository extends JpaRepository<JobInstanceTask
      * @return JobInstanceTask
      */
     JobInstanceTask findByJobInstanceId(Long jobInstanceId);
+
+    /**
+     * Find page by job instance id.
+     *
+     * @param jobInstanceId jobInstanceId
+     * @param pageable      pageable
+     * @return Page
+     */
+    Page<JobInstanceTask> findByJobInstanceId(Long jobInstanceId, Pageable pageable);
+
+    /**
+     * Find page by job instance id and status.
+     *
+     * @param jobInstanceId jobInstanceId
+     * @param status        status
+     * @param pageable      pageable
+     * @return Page
+     */
+    Page<JobInstanceTask> findByJobInstanceIdAndStatus(Long jobInstanceId, Integer status, Pageable pageable);
+
+    /**
+     * Group by status.
+     *
+     * @param jobInstanceId jobInstanceId
+     * @return List
+     */
+    @Query(value = "SELECT new io.openjob.server.repository.dto.GroupCountDTO(t.status, count(t.id)) from JobInstanceTask as t "
+            + "where t.jobInstanceId=?1 GROUP BY t.status")
+    List<GroupCountDTO> getGroupByStatus(Long jobInstanceId);
+
+    /**
+     * Find rows to clear after id, in order of id.
+     *
+     * @param id       id
+     * @param pageable pageable
+     * @return List
+     */
+    @Query(value = "SELECT new io.openjob.server.repository.dto.ClearRowDTO(t.id, t.createTime) from JobInstanceTask as t "
+            + "where t.id > ?1 order by t.id asc")
+    List<ClearRowDTO> findClearRows(Long id, Pageable pageable);
+
+    /**
+     * Delete by ids
+     *
+     * @param ids ids
+     * @return Integer
+     */
+    @Modifying
+    @Transactional(rollbackFor = Exception.class)
+    @Query(value = "delete from JobInstanceTask as t where t.id in (?1)")
+    Integer deleteByIds(List<Long> ids);
 }
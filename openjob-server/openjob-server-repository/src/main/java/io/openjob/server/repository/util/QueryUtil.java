@@ -0,0 +1,53 @@
+package io.openjob.server.repository.util;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class QueryUtil {
+    private QueryUtil() {
+
+    }
+
+    /**
+     * Find rows by specification, without the count query of page.
+     *
+     * @param entityManager entityManager
+     * @param domainClass   domain class
+     * @param specification specification
+     * @param sort          sort
+     * @param offset        offset
+     * @param limit         max rows
+     * @param <T>           domain type
+     * @return List
+     */
+    public static <T> List<T> findAll(EntityManager entityManager, Class<T> domainClass, Specification<T> specification,
+                                      Sort sort, Integer offset, Integer limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (Objects.nonNull(predicate)) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -2,15 +2,22 @@ package io.openjob.server.repository.dao;
 
 import com.google.common.collect.Lists;
 import io.openjob.common.util.DateUtil;
+import io.openjob.server.common.dto.PageDTO;
 import io.openjob.server.repository.RepositoryTest;
+import io.openjob.server.repository.dto.ClearRowDTO;
+import io.openjob.server.repository.dto.DelayInstancePageDTO;
 import io.openjob.server.repository.entity.DelayInstance;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * @author stelin swoft@qq.com
@@ -51,4 +58,77 @@ public class DelayInstanceDAOTest extends RepositoryTest {
         int count = this.delayInstanceDAO.batchSave(list);
         Assertions.assertEquals(count, saveSize);
     }
+
+    @Test
+    public void testClearRows() {
+        this.delayInstanceDAO.batchSave(this.newList(5));
+
+        // Chunks in order of id
+        List<ClearRowDTO> first = this.delayInstanceDAO.getClearRows(0L, 3);
+        Assertions.assertEquals(3, first.size());
+        List<ClearRowDTO> second = this.delayInstanceDAO.getClearRows(first.get(2).getId(), 3);
+        Assertions.assertEquals(2, second.size());
+        Assertions.assertTrue(second.get(0).getId() > first.get(2).getId());
+        Assertions.assertEquals(1, second.get(0).getStatus());
+
+        // Delete a chunk
+        List<Long> ids = first.stream().map(ClearRowDTO::getId).collect(Collectors.toList());
+        Assertions.assertEquals(3, this.delayInstanceDAO.deleteByIds(ids));
+        Assertions.assertEquals(second, this.delayInstanceDAO.getClearRows(0L, 10));
+    }
+
+    @Test
+    public void testPageListByCursor() {
+        this.delayInstanceDAO.batchSave(this.newList(5));
+        DelayInstancePageDTO pageDTO = new DelayInstancePageDTO();
+        pageDTO.setNamespaceId(1L);
+        pageDTO.setPage(1);
+        pageDTO.setSize(2);
+
+        // Pages in order of id desc, rows are queried after cursor.
+        List<Long> ids = new ArrayList<>();
+        PageDTO<DelayInstance> page;
+        do {
+            page = this.delayInstanceDAO.pageList(pageDTO);
+            page.getList().forEach(d -> ids.add(d.getId()));
+            pageDTO.setCursor(page.getCursor());
+            pageDTO.setPage(pageDTO.getPage() + 1);
+        } while (Objects.nonNull(page.getCursor()));
+        Assertions.assertEquals(5, ids.size());
+        Assertions.assertEquals(ids.stream().sorted(Comparator.reverseOrder()).collect(Collectors.toList()), ids);
+        Assertions.assertEquals(1, page.getList().size());
+
+        // Same as page by offset.
+        pageDTO.setCursor(null);
+        pageDTO.setPage(2);
+        List<Long> offsetIds = this.delayInstanceDAO.pageList(pageDTO).getList().stream().map(DelayInstance::getId).collect(Collectors.toList());
+        Assertions.assertEquals(ids.subList(2, 4), offsetIds);
+
+        // Count without cursor.
+        pageDTO.setCursor(ids.get(1));
+        Assertions.assertEquals(5L, this.delayInstanceDAO.countTotal(pageDTO));
+    }
+
+    private List<DelayInstance> newList(int size) {
+        List<DelayInstance> list = Lists.newArrayList();
+        for (int i = 0; i < size; i++) {
+            DelayInstance delayInstance = new DelayInstance();
+            delayInstance.setNamespaceId(1L);
+            delayInstance.setAppId(1L);
+            delayInstance.setTaskId(UUID.randomUUID().toString());
+            delayInstance.setTopic("topic");
+            delayInstance.setDelayId(2L);
+            delayInstance.setDelayParams("p");
+            delayInstance.setDelayExtra("e");
+            delayInstance.setStatus(1);
+            delayInstance.setFailStatus(0);
+            delayInstance.setExecuteTime(DateUtil.timestamp());
+            delayInstance.setDeleted(2);
+            delayInstance.setDeleteTime(0L);
+            delayInstance.setCreateTime(DateUtil.timestamp());
+            delayInstance.setUpdateTime(DateUtil.timestamp());
+            list.add(delayInstance);
+        }
+        return list;
+    }
 }
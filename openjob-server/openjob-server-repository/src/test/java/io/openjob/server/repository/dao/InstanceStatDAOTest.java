@@ -0,0 +1,127 @@
+package io.openjob.server.repository.dao;
+
+import io.openjob.common.constant.CommonConstant;
+import io.openjob.common.constant.InstanceStatusEnum;
+import io.openjob.common.util.DateUtil;
+import io.openjob.server.repository.RepositoryTest;
+import io.openjob.server.repository.constant.InstanceStatTypeEnum;
+import io.openjob.server.repository.dto.GroupCountDTO;
+import io.openjob.server.repository.entity.JobInstance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Sql(scripts = {"classpath:db/schema/job_instance.sql", "classpath:db/schema/instance_stat.sql"})
+public class InstanceStatDAOTest extends RepositoryTest {
+    private static final Integer JOB = InstanceStatTypeEnum.JOB.getType();
+    private static final Long NAMESPACE_ID = 1L;
+
+    private final InstanceStatDAO instanceStatDAO;
+    private final JobInstanceDAO jobInstanceDAO;
+
+    /**
+     * Instances from 2023-01-01 00:00:00, every 90 minutes for 3 days.
+     */
+    private final long beginTime = LocalDateTime.of(2023, 1, 1, 0, 0).atZone(ZoneId.systemDefault()).toEpochSecond();
+    private final long endTime = this.beginTime + TimeUnit.DAYS.toSeconds(3) - 1;
+
+    @Autowired
+    public InstanceStatDAOTest(InstanceStatDAO instanceStatDAO, JobInstanceDAO jobInstanceDAO) {
+        this.instanceStatDAO = instanceStatDAO;
+        this.jobInstanceDAO = jobInstanceDAO;
+    }
+
+    @Test
+    public void testSameAsInstanceCount() {
+        for (int i = 0; i < 48; i++) {
+            long createTime = this.beginTime + TimeUnit.MINUTES.toSeconds(90) * i;
+            Integer deleted = i % 7 == 0 ? CommonConstant.YES : CommonConstant.NO;
+            this.saveInstance(i % 3 == 0 ? 2L : NAMESPACE_ID, createTime, i % 5 + 1, deleted);
+        }
+        this.replace(this.beginTime);
+        this.assertSameAsInstanceCount();
+
+        // Instances of the last hours are changed and replaced.
+        long lastHour = this.endTime + 1 - TimeUnit.HOURS.toSeconds(2);
+        this.saveInstance(NAMESPACE_ID, lastHour + 10, InstanceStatusEnum.RUNNING.getStatus(), CommonConstant.NO);
+        this.saveInstance(NAMESPACE_ID, lastHour + 20, InstanceStatusEnum.SUCCESS.getStatus(), CommonConstant.NO);
+        this.replace(lastHour);
+        this.assertSameAsInstanceCount();
+    }
+
+    @Test
+    public void testDeleteBeforeHour() {
+        this.saveInstance(NAMESPACE_ID, this.beginTime, InstanceStatusEnum.SUCCESS.getStatus(), CommonConstant.NO);
+        this.saveInstance(NAMESPACE_ID, this.endTime, InstanceStatusEnum.SUCCESS.getStatus(), CommonConstant.NO);
+        this.replace(this.beginTime);
+        Assertions.assertEquals(2L, this.instanceStatDAO.countTotal(JOB, NAMESPACE_ID, 0));
+
+        Assertions.assertEquals(1, this.instanceStatDAO.deleteBeforeHour(JOB, DateUtil.formatHourByTimestamp(this.endTime)));
+        Assertions.assertEquals(1L, this.instanceStatDAO.countTotal(JOB, NAMESPACE_ID, 0));
+        Assertions.assertEquals(0L, this.instanceStatDAO.countTotal(InstanceStatTypeEnum.DELAY.getType(), NAMESPACE_ID, 0));
+    }
+
+    private void assertSameAsInstanceCount() {
+        Integer beginHour = DateUtil.formatHourByTimestamp(this.beginTime);
+        Integer endHour = DateUtil.formatHourByTimestamp(this.endTime);
+
+        // Total and new
+        Assertions.assertEquals(this.jobInstanceDAO.countTotalByNamespace(NAMESPACE_ID), this.instanceStatDAO.countTotal(JOB, NAMESPACE_ID, 0));
+        long dayTime = this.beginTime + TimeUnit.DAYS.toSeconds(1);
+        Assertions.assertEquals(this.jobInstanceDAO.countTotalByNamespaceAndCreateTime(NAMESPACE_ID, dayTime, this.endTime, null),
+                this.instanceStatDAO.countTotal(JOB, NAMESPACE_ID, DateUtil.formatHourByTimestamp(dayTime)));
+
+        // Group by hour and date
+        Stream.of(InstanceStatusEnum.values()).map(InstanceStatusEnum::getStatus).forEach(s -> {
+            Assertions.assertEquals(this.toMap(this.jobInstanceDAO.countByNamespaceGroupByHourTime(NAMESPACE_ID, this.beginTime, this.endTime, s)),
+                    this.toMap(this.instanceStatDAO.countGroupByHour(JOB, NAMESPACE_ID, beginHour, endHour, s)));
+            Assertions.assertEquals(this.toMap(this.jobInstanceDAO.countByNamespaceGroupByDateTime(NAMESPACE_ID, this.beginTime, this.endTime, s)),
+                    this.toMap(this.instanceStatDAO.countGroupByDate(JOB, NAMESPACE_ID, beginHour, endHour, s)));
+        });
+
+        // Group by status
+        Map<Integer, Long> statusCount = this.toMap(this.jobInstanceDAO.countByNamespaceGroupByStatus(NAMESPACE_ID, this.beginTime, this.endTime));
+        Assertions.assertFalse(statusCount.isEmpty());
+        Assertions.assertEquals(statusCount, this.toMap(this.instanceStatDAO.countGroupByStatus(JOB, NAMESPACE_ID, beginHour, endHour)));
+    }
+
+    private void replace(long time) {
+        Stream.of(NAMESPACE_ID, 2L).forEach(n -> this.instanceStatDAO.replace(JOB, n, DateUtil.formatHourByTimestamp(time),
+                this.jobInstanceDAO.countByNamespaceGroupByHourAndStatus(n, time)));
+    }
+
+    private Map<Integer, Long> toMap(List<GroupCountDTO> counts) {
+        return counts.stream().collect(Collectors.toMap(GroupCountDTO::getGroupBy, GroupCountDTO::getCount));
+    }
+
+    private void saveInstance(Long namespaceId, Long createTime, Integer status, Integer deleted) {
+        JobInstance jobInstance = new JobInstance();
+        jobInstance.setJobId(1L);
+        jobInstance.setParams("");
+        jobInstance.setSlotsId(1L);
+        jobInstance.setNamespaceId(namespaceId);
+        jobInstance.setAppId(1L);
+        jobInstance.setStatus(status);
+        jobInstance.setExecuteTime(createTime);
+        jobInstance.setDeleted(deleted);
+        jobInstance.setDeleteTime(0L);
+        jobInstance.setFailStatus(0);
+        jobInstance.setExecuteTimeout(0);
+        jobInstance.setUpdateTime(createTime);
+        jobInstance.setCreateTime(createTime);
+        this.jobInstanceDAO.save(jobInstance);
+    }
+}
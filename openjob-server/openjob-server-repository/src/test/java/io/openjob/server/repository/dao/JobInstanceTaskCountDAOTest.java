@@ -0,0 +1,62 @@
+package io.openjob.server.repository.dao;
+
+import io.openjob.common.constant.TaskStatusEnum;
+import io.openjob.common.util.DateUtil;
+import io.openjob.server.repository.RepositoryTest;
+import io.openjob.server.repository.entity.JobInstanceTaskCount;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Sql(scripts = "classpath:db/schema/job_instance_task_count.sql")
+public class JobInstanceTaskCountDAOTest extends RepositoryTest {
+    private final JobInstanceTaskCountDAO jobInstanceTaskCountDAO;
+
+    @Autowired
+    public JobInstanceTaskCountDAOTest(JobInstanceTaskCountDAO jobInstanceTaskCountDAO) {
+        this.jobInstanceTaskCountDAO = jobInstanceTaskCountDAO;
+    }
+
+    @Test
+    public void testGetStatusCount() {
+        Integer success = TaskStatusEnum.SUCCESS.getStatus();
+        Integer failed = TaskStatusEnum.FAILED.getStatus();
+
+        // Circle 1 is reported by pages, circle 2 by summary and detail pages.
+        this.jobInstanceTaskCountDAO.batchSave(Arrays.asList(
+                this.newCount(1L, 1L, success, 100L),
+                this.newCount(1L, 2L, success, 50L),
+                this.newCount(1L, 2L, failed, 2L),
+                this.newCount(2L, JobInstanceTaskCount.SUMMARY_PAGE, success, 1000L),
+                this.newCount(2L, JobInstanceTaskCount.SUMMARY_PAGE, failed, 10L),
+                this.newCount(2L, 2L, success, 500L)
+        ));
+
+        Map<Integer, Long> statusCount = this.jobInstanceTaskCountDAO.getStatusCount(1L);
+        Assertions.assertEquals(1150L, statusCount.get(success));
+        Assertions.assertEquals(12L, statusCount.get(failed));
+    }
+
+    private JobInstanceTaskCount newCount(Long circleId, Long page, Integer status, Long count) {
+        JobInstanceTaskCount taskCount = new JobInstanceTaskCount();
+        taskCount.setJobId(1L);
+        taskCount.setJobInstanceId(1L);
+        taskCount.setCircleId(circleId);
+        taskCount.setReportPage(page);
+        taskCount.setStatus(status);
+        taskCount.setTaskCount(count);
+        taskCount.setDeleted(2);
+        taskCount.setDeleteTime(0L);
+        taskCount.setCreateTime(DateUtil.timestamp());
+        taskCount.setUpdateTime(DateUtil.timestamp());
+        return taskCount;
+    }
+}
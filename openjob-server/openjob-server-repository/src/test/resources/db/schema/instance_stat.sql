@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS `instance_stat`
+(
+    `id`           bigint(20) unsigned NOT NULL AUTO_INCREMENT,
+    `namespace_id` bigint(20)          NOT NULL,
+    `type`         tinyint(2)          NOT NULL,
+    `stat_hour`    int(11)             NOT NULL,
+    `status`       tinyint(2)          NOT NULL,
+    `total`        bigint(20)          NOT NULL DEFAULT '0',
+    `create_time`  bigint(12)          NOT NULL,
+    `update_time`  bigint(12)          NOT NULL,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `udx_type_namespace_id_stat_hour_status` (`type`, `namespace_id`, `stat_hour`, `status`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
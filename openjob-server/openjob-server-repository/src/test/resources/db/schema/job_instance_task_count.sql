@@ -0,0 +1,17 @@
+CREATE TABLE IF NOT EXISTS `job_instance_task_count`
+(
+    `id`              bigint(20) unsigned NOT NULL AUTO_INCREMENT,
+    `job_id`          bigint(20)          NOT NULL,
+    `job_instance_id` bigint(20)          NOT NULL,
+    `circle_id`       bigint(20)          NOT NULL,
+    `report_page`     bigint(20)          NOT NULL DEFAULT '0',
+    `status`          tinyint(2)          NOT NULL DEFAULT '1',
+    `task_count`      bigint(20)          NOT NULL DEFAULT '0',
+    `deleted`         tinyint(2)          NOT NULL DEFAULT '2',
+    `delete_time`     bigint(12)          NOT NULL DEFAULT '0',
+    `create_time`     bigint(12)          NOT NULL,
+    `update_time`     bigint(12)          NOT NULL,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `udx_job_instance_id_circle_id_page_status` (`job_instance_id`, `circle_id`, `report_page`, `status`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
@@ -1,8 +1,11 @@
 package io.openjob.server.scheduler.autoconfigure;
 
+import io.openjob.server.scheduler.constant.WorkerSelectStrategyEnum;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.io.File;
+
 /**
  * @author stelin swoft@qq.com
  * @since 1.0.0
@@ -15,6 +18,9 @@ public class SchedulerProperties {
     private SchedulerProperties.Scheduler scheduler = new SchedulerProperties.Scheduler();
     private SchedulerProperties.Workflow workflow = new SchedulerProperties.Workflow();
     private Delay delay = new Delay();
+    private Clear clear = new Clear();
+    private Stat stat = new Stat();
+    private Partition partition = new Partition();
 
     @Data
     public static class Scheduler {
@@ -26,6 +32,11 @@ public class SchedulerProperties {
          * Executor keep alive time(Second)
          */
         private Integer executorKeepAliveTime = 90;
+
+        /**
+         * Worker select strategy: random, leastLoad or powerOfTwo.
+         */
+        private String workerSelectStrategy = WorkerSelectStrategyEnum.POWER_OF_TWO.getStrategy();
     }
 
     @Data
@@ -45,4 +56,66 @@ public class SchedulerProperties {
         private Boolean enable = false;
         private Integer zsetBathPopSize = 100;
     }
+
+    @Data
+    public static class Clear {
+
+        /**
+         * Rows of a delete chunk, each chunk is deleted in its own transaction.
+         */
+        private Integer chunkSize = 1000;
+
+        /**
+         * Rows deleted per second of all tables, 0 for unlimited.
+         */
+        private Integer rowsPerSecond = 2000;
+
+        /**
+         * Max time(Second) of a run, the rest is resumed by next run.
+         */
+        private Integer maxRunTime = 1800;
+    }
+
+    @Data
+    public static class Stat {
+
+        /**
+         * Recent hours of instance stats refreshed every minute.
+         */
+        private Integer refreshHours = 2;
+
+        /**
+         * Recent hours of instance stats compacted every hour, for instances completed later.
+         */
+        private Integer compactHours = 48;
+    }
+
+    @Data
+    public static class Partition {
+
+        /**
+         * Whether to maintain day partitions of job instance tables, tables are converted by scripts of db/partition.
+         */
+        private Boolean enable = false;
+
+        /**
+         * Days of partitions created ahead.
+         */
+        private Integer preCreateDays = 3;
+
+        /**
+         * Whether to archive expired partitions into compressed files before dropped.
+         */
+        private Boolean archiveEnable = false;
+
+        /**
+         * Archive directory, archives are written by the node of first slots.
+         */
+        private String archiveDir = System.getProperty("java.io.tmpdir") + File.separator + "openjob" + File.separator + "archive";
+
+        /**
+         * Days of archives kept.
+         */
+        private Integer archiveKeepDays = 180;
+    }
 }
@@ -0,0 +1,49 @@
+package io.openjob.server.scheduler.constant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Getter
+@AllArgsConstructor
+public enum WorkerSelectStrategyEnum {
+
+    /**
+     * Random worker.
+     */
+    RANDOM("random"),
+
+    /**
+     * Least loaded worker.
+     */
+    LEAST_LOAD("leastLoad"),
+
+    /**
+     * Less loaded one of two random workers.
+     */
+    POWER_OF_TWO("powerOfTwo"),
+    ;
+
+    /**
+     * Strategy
+     */
+    private final String strategy;
+
+    /**
+     * Get by strategy, random is default.
+     *
+     * @param strategy strategy
+     * @return WorkerSelectStrategyEnum
+     */
+    public static WorkerSelectStrategyEnum getByStrategy(String strategy) {
+        return Arrays.stream(values())
+                .filter(s -> s.getStrategy().equals(strategy))
+                .findFirst()
+                .orElse(RANDOM);
+    }
+}
@@ -18,7 +18,7 @@ public class ClearScheduling {
         this.clearService = clearService;
     }
 
-    @Scheduled(cron = "0 0 0 * * ?")
+    @Scheduled(cron = "0 0 * * * ?")
     public void clearData() {
         this.clearService.clearData();
     }
@@ -0,0 +1,25 @@
+package io.openjob.server.scheduler.scheduling;
+
+import io.openjob.server.scheduler.service.InstanceStatService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Component
+public class InstanceStatScheduling {
+    private final InstanceStatService instanceStatService;
+
+    @Autowired
+    public InstanceStatScheduling(InstanceStatService instanceStatService) {
+        this.instanceStatService = instanceStatService;
+    }
+
+    @Scheduled(cron = "30 * * * * ?")
+    public void statInstance() {
+        this.instanceStatService.statInstance();
+    }
+}
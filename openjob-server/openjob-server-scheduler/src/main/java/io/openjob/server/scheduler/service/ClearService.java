@@ -4,50 +4,110 @@ import io.openjob.common.constant.TaskStatusEnum;
 import io.openjob.common.util.DateUtil;
 import io.openjob.server.common.ClusterContext;
 import io.openjob.server.log.dao.LogDAO;
+import io.openjob.server.repository.constant.InstanceStatTypeEnum;
 import io.openjob.server.repository.constant.ServerStatusEnum;
 import io.openjob.server.repository.constant.WorkerStatusEnum;
 import io.openjob.server.repository.dao.DelayInstanceDAO;
+import io.openjob.server.repository.dao.InstanceStatDAO;
 import io.openjob.server.repository.dao.JobInstanceDAO;
+import io.openjob.server.repository.dao.JobInstanceLogDAO;
+import io.openjob.server.repository.dao.JobInstanceTaskDAO;
 import io.openjob.server.repository.dao.ServerDAO;
 import io.openjob.server.repository.dao.WorkerDAO;
+import io.openjob.server.repository.dto.ClearRowDTO;
+import io.openjob.server.scheduler.autoconfigure.SchedulerProperties;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
+ * Expired data is deleted by chunks in order of primary key, so that each transaction is small,
+ * and deleted rows per second are limited to keep replication and scheduler writes smooth.
+ * A run stops at max run time, and the next run resumes each table from its cursor.
+ *
  * @author stelin swoft@qq.com
  * @since 1.0.2
  */
 @Slf4j
 @Service
-public class ClearService {
+public class ClearService implements DisposableBean {
     private final JobInstanceDAO jobInstanceDAO;
+    private final JobInstanceTaskDAO jobInstanceTaskDAO;
+    private final JobInstanceLogDAO jobInstanceLogDAO;
     private final DelayInstanceDAO delayInstanceDAO;
+    private final InstanceStatDAO instanceStatDAO;
     private final ServerDAO serverDAO;
     private final WorkerDAO workerDAO;
     private final LogDAO logDAO;
+    private final InstancePartitionService instancePartitionService;
+    private final SchedulerProperties schedulerProperties;
 
+    /**
+     * Runs in its own thread, scheduling thread is shared with job scheduling.
+     */
+    private final ExecutorService executorService = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), r -> new Thread(r, "openjob-clear"));
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * Last id scanned of tables, when a run stops before the end.
+     */
+    private final Map<String, Long> cursors = new ConcurrentHashMap<>();
+
+    private long startTime;
+    private long deadline;
+    private long deletedCount;
 
     /**
      * Init
      *
-     * @param jobInstanceDAO   jobInstanceDAO
-     * @param delayInstanceDAO delayInstanceDAO
-     * @param serverDAO        serverDAO
-     * @param workerDAO        workerDAO
-     * @param logDAO           logDAO
+     * @param jobInstanceDAO      jobInstanceDAO
+     * @param jobInstanceTaskDAO  jobInstanceTaskDAO
+     * @param jobInstanceLogDAO   jobInstanceLogDAO
+     * @param delayInstanceDAO    delayInstanceDAO
+     * @param instanceStatDAO     instanceStatDAO
+     * @param serverDAO           serverDAO
+     * @param workerDAO           workerDAO
+     * @param logDAO                   logDAO
+     * @param instancePartitionService instancePartitionService
+     * @param schedulerProperties      schedulerProperties
      */
     public ClearService(JobInstanceDAO jobInstanceDAO,
+                        JobInstanceTaskDAO jobInstanceTaskDAO,
+                        JobInstanceLogDAO jobInstanceLogDAO,
                         DelayInstanceDAO delayInstanceDAO,
+                        InstanceStatDAO instanceStatDAO,
                         ServerDAO serverDAO,
                         WorkerDAO workerDAO,
-                        LogDAO logDAO) {
+                        LogDAO logDAO,
+                        InstancePartitionService instancePartitionService,
+                        SchedulerProperties schedulerProperties) {
         this.jobInstanceDAO = jobInstanceDAO;
+        this.jobInstanceTaskDAO = jobInstanceTaskDAO;
+        this.jobInstanceLogDAO = jobInstanceLogDAO;
         this.delayInstanceDAO = delayInstanceDAO;
+        this.instanceStatDAO = instanceStatDAO;
         this.serverDAO = serverDAO;
         this.workerDAO = workerDAO;
         this.logDAO = logDAO;
+        this.instancePartitionService = instancePartitionService;
+        this.schedulerProperties = schedulerProperties;
     }
 
     /**
@@ -60,12 +120,28 @@ public class ClearService {
             return;
         }
 
-        try {
-            // Do clear
-            this.doClear();
-        } catch (Exception e) {
-            log.error("System data clear failed!", e);
+        // Last run is not finished.
+        if (!this.running.compareAndSet(false, true)) {
+            log.info("System data clear is running!");
+            return;
         }
+
+        this.executorService.submit(() -> {
+            try {
+                // Do clear
+                this.doClear();
+            } catch (Exception e) {
+                log.error("System data clear failed!", e);
+            } finally {
+                this.running.set(false);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        // Interrupt the running chunk wait.
+        this.executorService.shutdownNow();
     }
 
     /**
@@ -83,12 +159,33 @@ public class ClearService {
         Integer workerKeepDays = ClusterContext.getSystem().getWorkerKeepDays();
         Integer logKeepDays = jobKeepDays >= delayKeepDays ? jobKeepDays : delayKeepDays;
 
+        this.startTime = System.currentTimeMillis();
+        this.deadline = this.startTime + TimeUnit.SECONDS.toMillis(this.schedulerProperties.getClear().getMaxRunTime());
+        this.deletedCount = 0L;
+
+        // Partitioned tables are cleared by dropping partitions of expired days, only rows out of day partitions are deleted by chunks.
+        Long jobLastTime = timestamp - oneDay * jobKeepDays;
+        Map<String, Long> partitions = this.instancePartitionService.maintain(jobLastTime);
+
         // Job instance
-        Long jobInstanceCount = this.jobInstanceDAO.deleteByCreateTim(timestamp - oneDay * jobKeepDays);
+        Long jobInstanceCount = this.clearRows(InstancePartitionService.JOB_INSTANCE, partitions.getOrDefault(InstancePartitionService.JOB_INSTANCE, jobLastTime),
+                r -> false, this.jobInstanceDAO::getClearRows, this.jobInstanceDAO::deleteByIds);
+
+        // Job instance task and log
+        Long jobInstanceTaskCount = this.clearRows("job_instance_task", jobLastTime, r -> false,
+                this.jobInstanceTaskDAO::getClearRows, this.jobInstanceTaskDAO::deleteByIds);
+        Long jobInstanceLogCount = this.clearRows(InstancePartitionService.JOB_INSTANCE_LOG, partitions.getOrDefault(InstancePartitionService.JOB_INSTANCE_LOG, jobLastTime),
+                r -> false, this.jobInstanceLogDAO::getClearRows, this.jobInstanceLogDAO::deleteByIds);
 
         // Delay instance
-        Long delayInstanceCount = this.delayInstanceDAO.deleteByCreateTimeAndNotStatus(
-                timestamp - oneDay * delayKeepDays, TaskStatusEnum.INIT.getStatus());
+        Long delayLastTime = timestamp - oneDay * delayKeepDays;
+        Long delayInstanceCount = this.clearRows("delay_instance", delayLastTime,
+                r -> TaskStatusEnum.INIT.getStatus().equals(r.getStatus()),
+                this.delayInstanceDAO::getClearRows, this.delayInstanceDAO::deleteByIds);
+
+        // Instance stat
+        Integer statCount = this.instanceStatDAO.deleteBeforeHour(InstanceStatTypeEnum.JOB.getType(), DateUtil.formatHourByTimestamp(jobLastTime))
+                + this.instanceStatDAO.deleteBeforeHour(InstanceStatTypeEnum.DELAY.getType(), DateUtil.formatHourByTimestamp(delayLastTime));
 
         // Server
         Long serverCount = this.serverDAO.deleteByCreateTimeAndStatus(
@@ -98,10 +195,113 @@ public class ClearService {
         Long workerCount = this.workerDAO.deleteByCreateTimeAndStatus(
                 timestamp - oneDay * workerKeepDays, WorkerStatusEnum.OFFLINE.getStatus());
 
-        log.info("System data clear success!jobInstanceCount={} delayInstanceCount={} serverCount={} workerCount={}",
-                jobInstanceCount, delayInstanceCount, serverCount, workerCount);
-
         // Processor log
-        this.logDAO.deleteByLastTime((timestamp - oneDay * logKeepDays) * 1000);
+        Long logCount = this.clearLogs((timestamp - oneDay * logKeepDays) * 1000);
+
+        log.info("System data clear success!jobInstanceCount={} jobInstanceTaskCount={} jobInstanceLogCount={} delayInstanceCount={}"
+                        + " statCount={} serverCount={} workerCount={} logCount={} partitions={} cursors={}", jobInstanceCount, jobInstanceTaskCount,
+                jobInstanceLogCount, delayInstanceCount, statCount, serverCount, workerCount, logCount, partitions, this.cursors);
+    }
+
+    /**
+     * Clear rows created before last time, by chunks in order of id.
+     *
+     * @param table          table
+     * @param lastTime       last time
+     * @param keepFunction   rows to keep
+     * @param rowsFunction   rows after id
+     * @param deleteFunction delete by ids
+     * @return Long
+     */
+    private Long clearRows(String table, Long lastTime, Predicate<ClearRowDTO> keepFunction,
+                           BiFunction<Long, Integer, List<ClearRowDTO>> rowsFunction, Function<List<Long>, Integer> deleteFunction) {
+        Integer chunkSize = this.schedulerProperties.getClear().getChunkSize();
+        Long cursor = this.cursors.getOrDefault(table, 0L);
+        long count = 0L;
+        while (true) {
+            // Resumed from cursor by next run.
+            if (System.currentTimeMillis() >= this.deadline) {
+                this.cursors.put(table, cursor);
+                log.info("System data clear paused! table={} cursor={}", table, cursor);
+                return count;
+            }
+
+            List<ClearRowDTO> rows = rowsFunction.apply(cursor, chunkSize);
+            boolean finished = rows.size() < chunkSize;
+            List<Long> ids = new ArrayList<>(rows.size());
+            for (ClearRowDTO row : rows) {
+                // Rows are created in order of id, rows after are not expired.
+                if (row.getCreateTime() > lastTime) {
+                    finished = true;
+                    break;
+                }
+
+                if (!keepFunction.test(row)) {
+                    ids.add(row.getId());
+                }
+            }
+
+            if (!ids.isEmpty()) {
+                count += deleteFunction.apply(ids);
+                this.throttle(ids.size());
+            }
+
+            if (finished) {
+                this.cursors.remove(table);
+                return count;
+            }
+            cursor = rows.get(rows.size() - 1).getId();
+        }
+    }
+
+    /**
+     * Clear processor logs before last time, by chunks.
+     *
+     * @param lastTime last time(ms)
+     * @return Long
+     * @throws Exception Exception
+     */
+    private Long clearLogs(Long lastTime) throws Exception {
+        Integer chunkSize = this.schedulerProperties.getClear().getChunkSize();
+        long count = 0L;
+        int deleted;
+        do {
+            // Oldest logs are always deleted first, next run goes on without a cursor.
+            if (System.currentTimeMillis() >= this.deadline) {
+                log.info("System data clear paused! table=processor_log");
+                return count;
+            }
+
+            deleted = this.logDAO.deleteByLastTime(lastTime, chunkSize);
+            count += deleted;
+            this.throttle(deleted);
+        } while (deleted >= chunkSize);
+        return count;
+    }
+
+    /**
+     * Wait until deleted rows of this run are within rows per second.
+     *
+     * @param rows rows deleted
+     */
+    private void throttle(int rows) {
+        Integer rowsPerSecond = this.schedulerProperties.getClear().getRowsPerSecond();
+        if (Objects.isNull(rowsPerSecond) || rowsPerSecond <= 0) {
+            return;
+        }
+
+        this.deletedCount += rows;
+        long waitTime = this.deletedCount * 1000 / rowsPerSecond - (System.currentTimeMillis() - this.startTime);
+        if (waitTime <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(waitTime);
+        } catch (InterruptedException e) {
+            // Stop at next chunk.
+            Thread.currentThread().interrupt();
+            this.deadline = 0L;
+        }
     }
 }
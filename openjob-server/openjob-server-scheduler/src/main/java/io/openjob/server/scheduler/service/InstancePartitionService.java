@@ -0,0 +1,229 @@
+package io.openjob.server.scheduler.service;
+
+import io.openjob.common.util.DateUtil;
+import io.openjob.server.repository.dao.JobInstanceDAO;
+import io.openjob.server.repository.dao.JobInstanceLogDAO;
+import io.openjob.server.repository.dao.PartitionDAO;
+import io.openjob.server.repository.dto.PartitionDTO;
+import io.openjob.server.repository.entity.JobInstance;
+import io.openjob.server.repository.entity.JobInstanceLog;
+import io.openjob.server.scheduler.autoconfigure.SchedulerProperties;
+import io.openjob.server.scheduler.storage.InstanceArchiveStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Day partitions of job instance tables, converted by scripts of db/partition. Partitions of days ahead are created,
+ * and a partition is dropped when all its rows are expired, so that expired rows are not deleted one by one.
+ * Expired partitions are archived into compressed files before dropped when archive is enabled.
+ * Rows of days without partition, such as days when servers were stopped, are in the default partition of PostgreSQL,
+ * they are deleted by chunks as rows of tables not partitioned, and are not archived.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Slf4j
+@Service
+public class InstancePartitionService {
+    public static final String JOB_INSTANCE = "job_instance";
+    public static final String JOB_INSTANCE_LOG = "job_instance_log";
+
+    /**
+     * Partition name prefix, such as p20231001.
+     */
+    private static final String PARTITION_PREFIX = "p";
+
+    private final PartitionDAO partitionDAO;
+    private final JobInstanceDAO jobInstanceDAO;
+    private final JobInstanceLogDAO jobInstanceLogDAO;
+    private final InstanceArchiveStorage instanceArchiveStorage;
+    private final SchedulerProperties schedulerProperties;
+
+    /**
+     * New InstancePartitionService
+     *
+     * @param partitionDAO           partitionDAO
+     * @param jobInstanceDAO         jobInstanceDAO
+     * @param jobInstanceLogDAO      jobInstanceLogDAO
+     * @param instanceArchiveStorage instanceArchiveStorage
+     * @param schedulerProperties    schedulerProperties
+     */
+    public InstancePartitionService(PartitionDAO partitionDAO,
+                                    JobInstanceDAO jobInstanceDAO,
+                                    JobInstanceLogDAO jobInstanceLogDAO,
+                                    InstanceArchiveStorage instanceArchiveStorage,
+                                    SchedulerProperties schedulerProperties) {
+        this.partitionDAO = partitionDAO;
+        this.jobInstanceDAO = jobInstanceDAO;
+        this.jobInstanceLogDAO = jobInstanceLogDAO;
+        this.instanceArchiveStorage = instanceArchiveStorage;
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    /**
+     * Maintain partitions of job instance tables.
+     *
+     * @param lastTime rows created before last time are expired
+     * @return clear time of tables, expired rows created before it are not in day partitions and are deleted by chunks.
+     * Tables not partitioned are not included.
+     */
+    public Map<String, Long> maintain(Long lastTime) {
+        Map<String, Long> clearTimes = new LinkedHashMap<>();
+        SchedulerProperties.Partition partition = this.schedulerProperties.getPartition();
+        if (!Boolean.TRUE.equals(partition.getEnable())) {
+            return clearTimes;
+        }
+
+        this.maintainTable(JOB_INSTANCE, lastTime, clearTimes, this.jobInstanceDAO::getListByCreateTime, JobInstance::getId);
+        this.maintainTable(JOB_INSTANCE_LOG, lastTime, clearTimes, this.jobInstanceLogDAO::getListByCreateTime, JobInstanceLog::getId);
+
+        // Archives kept.
+        if (Boolean.TRUE.equals(partition.getArchiveEnable()) && partition.getArchiveKeepDays() > 0) {
+            LocalDate keepDate = LocalDate.now().minusDays(partition.getArchiveKeepDays());
+            try {
+                Integer count = this.instanceArchiveStorage.deleteBeforeDate(DateUtil.formatDateByTimestamp(this.toTimestamp(keepDate)));
+                log.info("Instance archive delete success! count={}", count);
+            } catch (Exception e) {
+                log.error("Instance archive delete failed!", e);
+            }
+        }
+        return clearTimes;
+    }
+
+    /**
+     * Maintain partitions of table, failure of a table is only logged, and no rows of it are deleted by chunks.
+     *
+     * @param table        table
+     * @param lastTime     last time
+     * @param clearTimes   clear time of tables
+     * @param rowsFunction rows created between begin time and end time after id
+     * @param idFunction   id of row
+     * @param <T>          row type
+     */
+    private <T> void maintainTable(String table, Long lastTime, Map<String, Long> clearTimes,
+                                   RowsFunction<T> rowsFunction, Function<T, Long> idFunction) {
+        try {
+            List<PartitionDTO> partitions = this.partitionDAO.getPartitions(table);
+            if (partitions.isEmpty()) {
+                return;
+            }
+
+            clearTimes.put(table, 0L);
+            this.createPartitions(table, partitions);
+            int dropped = this.dropPartitions(table, partitions, lastTime, rowsFunction, idFunction);
+
+            // Rows before the first day partition kept are out of day partitions.
+            long clearTime = lastTime;
+            for (PartitionDTO partition : partitions.subList(dropped, partitions.size())) {
+                if (Objects.nonNull(partition.getUpperTime())) {
+                    clearTime = Math.min(lastTime, Objects.isNull(partition.getLowerTime()) ? 0L : partition.getLowerTime());
+                    break;
+                }
+            }
+            clearTimes.put(table, clearTime);
+            log.info("Instance partition maintain success! table={} dropped={} clearTime={}", table, dropped, clearTime);
+        } catch (Exception e) {
+            log.error("Instance partition maintain failed! table={}", table, e);
+        }
+    }
+
+    /**
+     * Create partitions of days ahead. Days are created from tomorrow, rows of days without partition are in the max partition.
+     *
+     * @param table      table
+     * @param partitions partitions
+     */
+    private void createPartitions(String table, List<PartitionDTO> partitions) {
+        LocalDate today = LocalDate.now();
+        long beginTime = this.toTimestamp(today.plusDays(1));
+        for (PartitionDTO partition : partitions) {
+            if (Objects.nonNull(partition.getUpperTime())) {
+                beginTime = Math.max(beginTime, partition.getUpperTime());
+            }
+        }
+
+        long aheadTime = this.toTimestamp(today.plusDays(this.schedulerProperties.getPartition().getPreCreateDays() + 1));
+        while (beginTime < aheadTime) {
+            LocalDate day = Instant.ofEpochSecond(beginTime).atZone(ZoneId.systemDefault()).toLocalDate();
+            long endTime = this.toTimestamp(day.plusDays(1));
+            String name = PARTITION_PREFIX + DateUtil.formatDateByTimestamp(beginTime);
+            this.partitionDAO.addPartition(table, name, beginTime, endTime);
+            log.info("Instance partition add success! table={} partition={}", table, name);
+            beginTime = endTime;
+        }
+    }
+
+    /**
+     * Drop partitions with all rows created before last time, in order of upper time.
+     *
+     * @param table        table
+     * @param partitions   partitions
+     * @param lastTime     last time
+     * @param rowsFunction rows function
+     * @param idFunction   id function
+     * @param <T>          row type
+     * @return Integer
+     * @throws Exception Exception
+     */
+    private <T> Integer dropPartitions(String table, List<PartitionDTO> partitions, Long lastTime,
+                                       RowsFunction<T> rowsFunction, Function<T, Long> idFunction) throws Exception {
+        boolean archive = Boolean.TRUE.equals(this.schedulerProperties.getPartition().getArchiveEnable());
+        Integer chunkSize = this.schedulerProperties.getClear().getChunkSize();
+        int count = 0;
+        long lowerTime = 0L;
+        for (PartitionDTO partition : partitions) {
+            Long upperTime = partition.getUpperTime();
+            if (Objects.isNull(upperTime) || upperTime > lastTime) {
+                break;
+            }
+
+            // Archived as the last day of partition, the first partition has no lower bound.
+            if (archive) {
+                long beginTime = lowerTime;
+                Integer date = DateUtil.formatDateByTimestamp(upperTime - 1);
+                Long rows = this.instanceArchiveStorage.archive(table, date, (id, size) -> rowsFunction.apply(beginTime, upperTime, id, size),
+                        idFunction, chunkSize);
+                log.info("Instance partition archive success! table={} partition={} date={} rows={}", table, partition.getName(), date, rows);
+            }
+
+            this.partitionDAO.dropPartition(table, partition.getName());
+            log.info("Instance partition drop success! table={} partition={}", table, partition.getName());
+            lowerTime = upperTime;
+            count++;
+        }
+        return count;
+    }
+
+    private long toTimestamp(LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    /**
+     * Rows created between begin time and end time after id, in order of id.
+     *
+     * @param <T> row type
+     */
+    @FunctionalInterface
+    private interface RowsFunction<T> {
+
+        /**
+         * Apply
+         *
+         * @param beginTime begin time
+         * @param endTime   end time, exclusive
+         * @param id        id
+         * @param size      size
+         * @return List
+         */
+        List<T> apply(Long beginTime, Long endTime, Long id, Integer size);
+    }
+}
@@ -0,0 +1,161 @@
+package io.openjob.server.scheduler.service;
+
+import io.openjob.common.util.DateUtil;
+import io.openjob.server.common.ClusterContext;
+import io.openjob.server.repository.constant.InstanceStatTypeEnum;
+import io.openjob.server.repository.dao.DelayInstanceDAO;
+import io.openjob.server.repository.dao.InstanceStatDAO;
+import io.openjob.server.repository.dao.JobInstanceDAO;
+import io.openjob.server.repository.dao.NamespaceDAO;
+import io.openjob.server.repository.dto.InstanceStatDTO;
+import io.openjob.server.repository.entity.Namespace;
+import io.openjob.server.scheduler.autoconfigure.SchedulerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+
+/**
+ * Hourly instance stats of namespaces, the dashboard is served from stats instead of counting instances.
+ * Stats of recent hours are replaced by counts of instances created in these hours, instances change status within hours,
+ * and hours before are compacted less often. All hours kept are compacted on the first run of a node.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Slf4j
+@Service
+public class InstanceStatService implements DisposableBean {
+    private final JobInstanceDAO jobInstanceDAO;
+    private final DelayInstanceDAO delayInstanceDAO;
+    private final NamespaceDAO namespaceDAO;
+    private final InstanceStatDAO instanceStatDAO;
+    private final SchedulerProperties schedulerProperties;
+
+    /**
+     * Runs in its own thread, scheduling thread is shared with job scheduling.
+     */
+    private final ExecutorService executorService = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), r -> new Thread(r, "openjob-stat"));
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * Last compact time, 0 for all hours kept.
+     */
+    private volatile long compactTime;
+
+    /**
+     * New InstanceStatService
+     *
+     * @param jobInstanceDAO      jobInstanceDAO
+     * @param delayInstanceDAO    delayInstanceDAO
+     * @param namespaceDAO        namespaceDAO
+     * @param instanceStatDAO     instanceStatDAO
+     * @param schedulerProperties schedulerProperties
+     */
+    public InstanceStatService(JobInstanceDAO jobInstanceDAO,
+                               DelayInstanceDAO delayInstanceDAO,
+                               NamespaceDAO namespaceDAO,
+                               InstanceStatDAO instanceStatDAO,
+                               SchedulerProperties schedulerProperties) {
+        this.jobInstanceDAO = jobInstanceDAO;
+        this.delayInstanceDAO = delayInstanceDAO;
+        this.namespaceDAO = namespaceDAO;
+        this.instanceStatDAO = instanceStatDAO;
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    /**
+     * Stat instances
+     */
+    public void statInstance() {
+        // First slots to stat, node of first slots may change.
+        if (!ClusterContext.getCurrentSlots().contains(1L)) {
+            this.compactTime = 0L;
+            return;
+        }
+
+        // Last run is not finished.
+        if (!this.running.compareAndSet(false, true)) {
+            log.info("Instance stat is running!");
+            return;
+        }
+
+        this.executorService.submit(() -> {
+            try {
+                this.doStat();
+            } catch (Exception e) {
+                log.error("Instance stat failed!", e);
+            } finally {
+                this.running.set(false);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        this.executorService.shutdownNow();
+    }
+
+    /**
+     * Do stat
+     */
+    private void doStat() {
+        long startTime = DateUtil.milliLongTime();
+        long timestamp = DateUtil.timestamp();
+        long hours;
+        if (this.compactTime == 0L) {
+            Integer jobKeepDays = ClusterContext.getSystem().getJobKeepDays();
+            Integer delayKeepDays = ClusterContext.getSystem().getDelayKeepDays();
+            hours = TimeUnit.DAYS.toHours(Math.max(jobKeepDays, delayKeepDays)) + 1;
+        } else if (timestamp - this.compactTime >= TimeUnit.HOURS.toSeconds(1)) {
+            hours = this.schedulerProperties.getStat().getCompactHours();
+        } else {
+            hours = this.schedulerProperties.getStat().getRefreshHours();
+        }
+
+        // Instances created from the begin of hour.
+        Long beginTime = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(hours - 1)
+                .atZone(ZoneId.systemDefault()).toEpochSecond();
+        Integer beginHour = DateUtil.formatHourByTimestamp(beginTime);
+        List<Namespace> namespaces = this.namespaceDAO.getAll();
+        for (Namespace namespace : namespaces) {
+            this.statNamespace(InstanceStatTypeEnum.JOB, namespace.getId(), beginTime, beginHour, this.jobInstanceDAO::countByNamespaceGroupByHourAndStatus);
+            this.statNamespace(InstanceStatTypeEnum.DELAY, namespace.getId(), beginTime, beginHour, this.delayInstanceDAO::countByNamespaceGroupByHourAndStatus);
+        }
+
+        // Refreshed every minute, only compaction is logged.
+        if (hours <= this.schedulerProperties.getStat().getRefreshHours()) {
+            return;
+        }
+
+        this.compactTime = timestamp;
+        log.info("Instance stat compact success! hours={} namespaces={} cost={}ms", hours, namespaces.size(), DateUtil.milliLongTime() - startTime);
+    }
+
+    /**
+     * Stat instances of namespace
+     *
+     * @param type          type
+     * @param namespaceId   namespaceId
+     * @param beginTime     begin time of hour
+     * @param beginHour     begin hour
+     * @param countFunction count by namespace and begin time
+     */
+    private void statNamespace(InstanceStatTypeEnum type, Long namespaceId, Long beginTime, Integer beginHour,
+                               BiFunction<Long, Long, List<InstanceStatDTO>> countFunction) {
+        List<InstanceStatDTO> stats = countFunction.apply(namespaceId, beginTime);
+        this.instanceStatDAO.replace(type.getType(), namespaceId, beginHour, stats);
+    }
+}
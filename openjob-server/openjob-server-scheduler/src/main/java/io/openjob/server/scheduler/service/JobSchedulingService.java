@@ -37,6 +37,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -76,9 +77,12 @@ public class JobSchedulingService {
         Set<JobInstance> dispatchList = new HashSet<>();
         Set<Long> currentSlots = ClusterContext.getCurrentSlots();
 
+        // Instances created before keep days are expired, partitions of expired days are pruned.
+        long minCreateTime = DateUtil.timestamp() - TimeUnit.DAYS.toSeconds(ClusterContext.getSystem().getJobKeepDays());
+
         // Retry dispatch list.
         long executeTime = DateUtil.timestamp() - this.schedulerProperties.getInstanceFailPeriodTime();
-        List<JobInstance> unDispatchList = this.jobInstanceDAO.getUnDispatchedList(currentSlots, executeTime, InstanceStatusEnum.WAITING);
+        List<JobInstance> unDispatchList = this.jobInstanceDAO.getUnDispatchedList(currentSlots, minCreateTime, executeTime, InstanceStatusEnum.WAITING);
         if (!CollectionUtils.isEmpty(unDispatchList)) {
             dispatchList.addAll(unDispatchList);
             log.info("Retry dispatch list!{}", unDispatchList.stream().map(JobInstance::getId).collect(Collectors.toList()));
@@ -87,7 +91,7 @@ public class JobSchedulingService {
         // Fail over list.
         // Must exclude one time job.
         long failoverReportTime = DateUtil.timestamp() - this.schedulerProperties.getInstanceFailPeriodTime();
-        List<JobInstance> failoverList = this.jobInstanceDAO.getFailoverList(currentSlots, failoverReportTime, InstanceStatusEnum.RUNNING);
+        List<JobInstance> failoverList = this.jobInstanceDAO.getFailoverList(currentSlots, minCreateTime, failoverReportTime, InstanceStatusEnum.RUNNING);
         if (!CollectionUtils.isEmpty(failoverList)) {
             dispatchList.addAll(failoverList);
             log.info("Retry failover list!{}", failoverList.stream().map(JobInstance::getId).collect(Collectors.toList()));
@@ -19,6 +19,8 @@ import io.openjob.server.repository.dao.JobInstanceDAO;
 import io.openjob.server.repository.dao.JobInstanceLogDAO;
 import io.openjob.server.repository.entity.JobInstance;
 import io.openjob.server.repository.entity.JobInstanceLog;
+import io.openjob.server.scheduler.autoconfigure.SchedulerProperties;
+import io.openjob.server.scheduler.constant.WorkerSelectStrategyEnum;
 import io.openjob.server.scheduler.timer.SchedulerTimerTask;
 import io.openjob.server.scheduler.util.WorkerUtil;
 import lombok.extern.slf4j.Slf4j;
@@ -40,10 +42,19 @@ import java.util.Set;
 public class SchedulerTimerService {
     private final JobInstanceLogDAO jobInstanceLogDAO;
     private final JobInstanceDAO jobInstanceDAO;
+    private final SchedulerProperties schedulerProperties;
 
-    public SchedulerTimerService(JobInstanceLogDAO jobInstanceLogDAO, JobInstanceDAO jobInstanceDAO) {
+    /**
+     * New SchedulerTimerService
+     *
+     * @param jobInstanceLogDAO   jobInstanceLogDAO
+     * @param jobInstanceDAO      jobInstanceDAO
+     * @param schedulerProperties schedulerProperties
+     */
+    public SchedulerTimerService(JobInstanceLogDAO jobInstanceLogDAO, JobInstanceDAO jobInstanceDAO, SchedulerProperties schedulerProperties) {
         this.jobInstanceLogDAO = jobInstanceLogDAO;
         this.jobInstanceDAO = jobInstanceDAO;
+        this.schedulerProperties = schedulerProperties;
     }
 
     /**
@@ -93,7 +104,8 @@ public class SchedulerTimerService {
         submitReq.setTimeExpression(task.getTimeExpression());
         submitReq.setExecuteTimeout(task.getExecuteTimeout());
 
-        WorkerDTO workerDTO = WorkerUtil.selectWorkerByAppId(task.getAppid(), failoverList);
+        WorkerSelectStrategyEnum strategy = WorkerSelectStrategyEnum.getByStrategy(this.schedulerProperties.getScheduler().getWorkerSelectStrategy());
+        WorkerDTO workerDTO = WorkerUtil.selectWorkerByAppId(task.getAppid(), failoverList, strategy);
         if (Objects.isNull(workerDTO)) {
             this.addInstanceLog(task.getJobId(), task.getTaskId(), "No worker nodes are available!");
             log.error("No worker nodes are available! taskId={} appid={}", task.getTaskId(), task.getAppid());
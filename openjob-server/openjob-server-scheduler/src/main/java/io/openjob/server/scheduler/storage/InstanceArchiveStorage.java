@@ -0,0 +1,251 @@
+package io.openjob.server.scheduler.storage;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.openjob.common.util.JsonUtil;
+import io.openjob.server.common.dto.PageDTO;
+import io.openjob.server.scheduler.autoconfigure.SchedulerProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archive rows of expired partitions into compressed files, one file for each table and day.
+ * A file is gzip of json lines in order of id, written to a temporary file first, so that a file read is always complete.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Component
+public class InstanceArchiveStorage {
+
+    /**
+     * Archive file suffix.
+     */
+    private static final String FILE_SUFFIX = ".json.gz";
+
+    /**
+     * Temporary file suffix.
+     */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Separator of table and date.
+     */
+    private static final String SEPARATOR = "_";
+
+    /**
+     * Date length, such as 20231001.
+     */
+    private static final int DATE_LENGTH = 8;
+
+    private final SchedulerProperties schedulerProperties;
+
+    @Autowired
+    public InstanceArchiveStorage(SchedulerProperties schedulerProperties) {
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    /**
+     * Archive rows of a day, an archive written before is replaced.
+     *
+     * @param table        table
+     * @param date         date, such as 20231001
+     * @param rowsFunction rows after id
+     * @param idFunction   id of row
+     * @param size         rows of a read
+     * @param <T>          row type
+     * @return rows archived
+     * @throws IOException IOException
+     */
+    public <T> Long archive(String table, Integer date, BiFunction<Long, Integer, List<T>> rowsFunction,
+                            Function<T, Long> idFunction, Integer size) throws IOException {
+        Path path = this.getPath(table, date);
+        Path tempPath = Paths.get(path + TEMP_SUFFIX);
+        Files.createDirectories(path.getParent());
+
+        long count = 0L;
+        long cursor = 0L;
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(tempPath)), StandardCharsets.UTF_8))) {
+            List<T> rows;
+            do {
+                rows = rowsFunction.apply(cursor, size);
+                for (T row : rows) {
+                    writer.write(JsonUtil.encode(row));
+                    writer.newLine();
+                }
+
+                count += rows.size();
+                if (!rows.isEmpty()) {
+                    cursor = idFunction.apply(rows.get(rows.size() - 1));
+                }
+            } while (rows.size() >= size);
+        }
+
+        // No rows to archive.
+        if (count == 0L) {
+            Files.delete(tempPath);
+            return count;
+        }
+
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * Archived dates of table, the latest first.
+     *
+     * @param table table
+     * @return List
+     * @throws IOException IOException
+     */
+    public List<Integer> getDates(String table) throws IOException {
+        List<Integer> dates = new ArrayList<>();
+        this.forEachFile(path -> {
+            String name = path.getFileName().toString();
+            if (name.length() != table.length() + SEPARATOR.length() + DATE_LENGTH + FILE_SUFFIX.length() || !name.startsWith(table + SEPARATOR)) {
+                return;
+            }
+            dates.add(Integer.valueOf(name.substring(table.length() + SEPARATOR.length(), name.length() - FILE_SUFFIX.length())));
+        });
+
+        dates.sort(Comparator.reverseOrder());
+        return dates;
+    }
+
+    /**
+     * Page list of archived rows.
+     *
+     * @param table  table
+     * @param date   date
+     * @param type   row type
+     * @param filter filter
+     * @param page   page
+     * @param size   size
+     * @param <T>    row type
+     * @return PageDTO
+     * @throws IOException IOException
+     */
+    public <T> PageDTO<T> pageList(String table, Integer date, Class<T> type, Predicate<T> filter, Integer page, Integer size) throws IOException {
+        long offset = (long) (page - 1) * size;
+        AtomicLong matched = new AtomicLong(0L);
+        List<T> list = new ArrayList<>();
+        this.read(table, date, type, row -> {
+            if (!filter.test(row)) {
+                return;
+            }
+
+            if (matched.getAndIncrement() >= offset && list.size() < size) {
+                list.add(row);
+            }
+        });
+
+        PageDTO<T> pageDTO = new PageDTO<>();
+        pageDTO.setPage(page);
+        pageDTO.setSize(size);
+        pageDTO.setTotal(matched.get());
+        pageDTO.setList(list);
+        return pageDTO;
+    }
+
+    /**
+     * Archived rows.
+     *
+     * @param table  table
+     * @param date   date
+     * @param type   row type
+     * @param filter filter
+     * @param <T>    row type
+     * @return List
+     * @throws IOException IOException
+     */
+    public <T> List<T> getList(String table, Integer date, Class<T> type, Predicate<T> filter) throws IOException {
+        List<T> list = new ArrayList<>();
+        this.read(table, date, type, row -> {
+            if (filter.test(row)) {
+                list.add(row);
+            }
+        });
+        return list;
+    }
+
+    /**
+     * Delete archives of dates before.
+     *
+     * @param date date, archives of date are kept
+     * @return Integer
+     * @throws IOException IOException
+     */
+    public Integer deleteBeforeDate(Integer date) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        this.forEachFile(path -> {
+            String name = path.getFileName().toString();
+            int end = name.length() - FILE_SUFFIX.length();
+            String fileDate = name.substring(Math.max(end - DATE_LENGTH, 0), end);
+            if (fileDate.compareTo(String.valueOf(date)) < 0) {
+                paths.add(path);
+            }
+        });
+
+        int count = 0;
+        for (Path path : paths) {
+            if (Files.deleteIfExists(path)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private <T> void read(String table, Integer date, Class<T> type, Consumer<T> consumer) throws IOException {
+        Path path = this.getPath(table, date);
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        // Archives written before columns are removed are still readable.
+        ObjectReader reader = JsonUtil.OBJECT_MAPPER.readerFor(type).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(path)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                consumer.accept(reader.readValue(line));
+            }
+        }
+    }
+
+    private void forEachFile(Consumer<Path> consumer) throws IOException {
+        Path directory = Paths.get(this.schedulerProperties.getPartition().getArchiveDir());
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.filter(p -> p.getFileName().toString().endsWith(FILE_SUFFIX)).forEach(consumer);
+        }
+    }
+
+    private Path getPath(String table, Integer date) {
+        return Paths.get(this.schedulerProperties.getPartition().getArchiveDir(), table + SEPARATOR + date + FILE_SUFFIX);
+    }
+}
@@ -2,9 +2,12 @@ package io.openjob.server.scheduler.util;
 
 import io.openjob.server.common.ClusterContext;
 import io.openjob.server.common.dto.WorkerDTO;
+import io.openjob.server.common.dto.WorkerMetricDTO;
+import io.openjob.server.scheduler.constant.WorkerSelectStrategyEnum;
 import org.springframework.util.CollectionUtils;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
@@ -15,6 +18,11 @@ import java.util.stream.Collectors;
  */
 public class WorkerUtil {
 
+    /**
+     * Metrics older than expire time(ms) are unknown.
+     */
+    private static final long METRIC_EXPIRE_TIME = 30_000L;
+
     /**
      * Select one worker by appid.
      *
@@ -23,6 +31,19 @@ public class WorkerUtil {
      * @return WorkerDTO
      */
     public static WorkerDTO selectWorkerByAppId(Long appId, Set<String> failoverList) {
+        return selectWorkerByAppId(appId, failoverList, WorkerSelectStrategyEnum.RANDOM);
+    }
+
+    /**
+     * Select one worker by appid with strategy.
+     * Workers without metric reported to current node are scored as the average of others.
+     *
+     * @param appId        appId
+     * @param failoverList failover list.
+     * @param strategy     strategy
+     * @return WorkerDTO
+     */
+    public static WorkerDTO selectWorkerByAppId(Long appId, Set<String> failoverList, WorkerSelectStrategyEnum strategy) {
         List<WorkerDTO> workers = ClusterContext.getWorkersByAppId(appId);
         if (CollectionUtils.isEmpty(workers)) {
             return null;
@@ -35,7 +56,126 @@ public class WorkerUtil {
             return null;
         }
 
-        int index = ThreadLocalRandom.current().nextInt(availableWorkers.size());
-        return availableWorkers.get(index);
+        WorkerDTO selected;
+        if (WorkerSelectStrategyEnum.LEAST_LOAD.equals(strategy)) {
+            selected = selectLeastLoad(availableWorkers);
+        } else if (WorkerSelectStrategyEnum.POWER_OF_TWO.equals(strategy)) {
+            selected = selectPowerOfTwo(availableWorkers);
+        } else {
+            selected = availableWorkers.get(ThreadLocalRandom.current().nextInt(availableWorkers.size()));
+        }
+
+        // Count dispatch until next report.
+        WorkerMetricDTO metric = getMetric(selected);
+        if (Objects.nonNull(metric)) {
+            metric.getDispatched().incrementAndGet();
+        }
+        return selected;
+    }
+
+    /**
+     * Worker load score, higher is busier.
+     *
+     * @param metric metric
+     * @return double
+     */
+    public static double score(WorkerMetricDTO metric) {
+        int processors = Math.max(1, Objects.isNull(metric.getProcessors()) ? 1 : metric.getProcessors());
+        double cpu = Objects.isNull(metric.getCpuLoad()) || metric.getCpuLoad() < 0 ? 0D : metric.getCpuLoad();
+
+        double heap = 0D;
+        if (Objects.nonNull(metric.getHeapUsed()) && Objects.nonNull(metric.getHeapMax()) && metric.getHeapMax() > 0) {
+            heap = (double) metric.getHeapUsed() / metric.getHeapMax();
+        }
+
+        // Busy threads and waiting work per processor.
+        long busy = (long) nullToZero(metric.getContainerThreads())
+                + nullToZero(metric.getContainerSize())
+                + nullToZero(metric.getDelayQueueSize())
+                + metric.getDispatched().get();
+        return cpu + heap + (double) busy / processors;
+    }
+
+    private static WorkerDTO selectLeastLoad(List<WorkerDTO> workers) {
+        double[] scores = scores(workers);
+        if (Objects.isNull(scores)) {
+            return workers.get(ThreadLocalRandom.current().nextInt(workers.size()));
+        }
+
+        // Random start, so that ties are spread.
+        int start = ThreadLocalRandom.current().nextInt(workers.size());
+        int best = start;
+        for (int i = 1; i < workers.size(); i++) {
+            int index = (start + i) % workers.size();
+            if (scores[index] < scores[best]) {
+                best = index;
+            }
+        }
+        return workers.get(best);
+    }
+
+    private static WorkerDTO selectPowerOfTwo(List<WorkerDTO> workers) {
+        int size = workers.size();
+        int first = ThreadLocalRandom.current().nextInt(size);
+        if (size == 1) {
+            return workers.get(first);
+        }
+
+        int second = ThreadLocalRandom.current().nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        double[] scores = scores(workers);
+        if (Objects.isNull(scores)) {
+            return workers.get(first);
+        }
+        return scores[second] < scores[first] ? workers.get(second) : workers.get(first);
+    }
+
+    /**
+     * Scores of workers, unknown workers are scored as the average of known.
+     *
+     * @param workers workers
+     * @return double[], null when none is known.
+     */
+    private static double[] scores(List<WorkerDTO> workers) {
+        double[] scores = new double[workers.size()];
+        boolean[] known = new boolean[workers.size()];
+        double total = 0D;
+        int knownSize = 0;
+        for (int i = 0; i < workers.size(); i++) {
+            WorkerMetricDTO metric = getMetric(workers.get(i));
+            if (Objects.nonNull(metric)) {
+                scores[i] = score(metric);
+                known[i] = true;
+                total += scores[i];
+                knownSize++;
+            }
+        }
+
+        if (knownSize == 0) {
+            return null;
+        }
+
+        double average = total / knownSize;
+        for (int i = 0; i < workers.size(); i++) {
+            if (!known[i]) {
+                scores[i] = average;
+            }
+        }
+        return scores;
+    }
+
+    private static WorkerMetricDTO getMetric(WorkerDTO worker) {
+        WorkerMetricDTO metric = ClusterContext.getWorkerMetric(worker.getAddress());
+        if (Objects.isNull(metric) || System.currentTimeMillis() - metric.getReportTime() > METRIC_EXPIRE_TIME) {
+            return null;
+        }
+        return metric;
+    }
+
+    private static int nullToZero(Integer value) {
+        return Objects.isNull(value) ? 0 : value;
     }
 }
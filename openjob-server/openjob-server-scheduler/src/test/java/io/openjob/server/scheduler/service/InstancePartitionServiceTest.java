@@ -0,0 +1,286 @@
+package io.openjob.server.scheduler.service;
+
+import io.openjob.common.util.DateUtil;
+import io.openjob.server.common.ClusterContext;
+import io.openjob.server.common.dto.SystemDTO;
+import io.openjob.server.log.dao.LogDAO;
+import io.openjob.server.repository.dao.DelayInstanceDAO;
+import io.openjob.server.repository.dao.InstanceStatDAO;
+import io.openjob.server.repository.dao.JobInstanceDAO;
+import io.openjob.server.repository.dao.JobInstanceLogDAO;
+import io.openjob.server.repository.dao.JobInstanceTaskDAO;
+import io.openjob.server.repository.dao.PartitionDAO;
+import io.openjob.server.repository.dao.ServerDAO;
+import io.openjob.server.repository.dao.WorkerDAO;
+import io.openjob.server.repository.dto.ClearRowDTO;
+import io.openjob.server.repository.dto.PartitionDTO;
+import io.openjob.server.repository.entity.JobInstance;
+import io.openjob.server.scheduler.autoconfigure.SchedulerProperties;
+import io.openjob.server.scheduler.storage.InstanceArchiveStorage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Partitions of "job_instance" are day partitions of PostgreSQL, days of -4 and -3 have no partition and are in default partition.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class InstancePartitionServiceTest {
+    private static final String TABLE = InstancePartitionService.JOB_INSTANCE;
+
+    @TempDir
+    Path tempDir;
+
+    private final List<String> operations = new CopyOnWriteArrayList<>();
+    private final List<JobInstance> instances = new CopyOnWriteArrayList<>();
+    private final Map<String, List<PartitionDTO>> partitions = new HashMap<>();
+    private SchedulerProperties schedulerProperties;
+    private InstanceArchiveStorage archiveStorage;
+    private InstancePartitionService partitionService;
+
+    @BeforeEach
+    public void before() {
+        this.schedulerProperties = new SchedulerProperties();
+        this.schedulerProperties.getPartition().setEnable(true);
+        this.schedulerProperties.getPartition().setArchiveDir(this.tempDir.toString());
+        this.schedulerProperties.getClear().setRowsPerSecond(0);
+
+        List<PartitionDTO> tablePartitions = new ArrayList<>();
+        tablePartitions.add(new PartitionDTO("p_init", null, this.time(-6)));
+        tablePartitions.add(this.newPartition(-6));
+        tablePartitions.add(this.newPartition(-5));
+        tablePartitions.add(this.newPartition(-2));
+        tablePartitions.add(this.newPartition(-1));
+        tablePartitions.add(this.newPartition(0));
+        tablePartitions.add(new PartitionDTO("p_max", null, null));
+        this.partitions.put(TABLE, tablePartitions);
+
+        // An instance of each day.
+        for (int day = -8; day <= 0; day++) {
+            JobInstance instance = new JobInstance();
+            instance.setId((long) day + 9);
+            instance.setCreateTime(this.time(day) + 100);
+            this.instances.add(instance);
+        }
+
+        this.archiveStorage = new FakeArchiveStorage(this.schedulerProperties, this.operations);
+        this.partitionService = new InstancePartitionService(new FakePartitionDAO(this.partitions, this.instances, this.operations),
+                this.newJobInstanceDAO(), this.newDAO(JobInstanceLogDAO.class, new HashMap<>()), this.archiveStorage, this.schedulerProperties);
+    }
+
+    @Test
+    public void testDisabled() {
+        this.schedulerProperties.getPartition().setEnable(false);
+        Assertions.assertTrue(this.partitionService.maintain(this.time(-2) + 3600).isEmpty());
+        Assertions.assertTrue(this.operations.isEmpty());
+    }
+
+    @Test
+    public void testMaintain() throws Exception {
+        this.schedulerProperties.getPartition().setArchiveEnable(true);
+        Map<String, Long> clearTimes = this.partitionService.maintain(this.time(-2) + 3600);
+
+        // Days ahead are created, expired partitions are archived before dropped in order of upper time.
+        Assertions.assertEquals(Arrays.asList(
+                "add " + this.partitionName(1), "add " + this.partitionName(2), "add " + this.partitionName(3),
+                "archive " + this.date(-7), "drop p_init",
+                "archive " + this.date(-6), "drop " + this.partitionName(-6),
+                "archive " + this.date(-5), "drop " + this.partitionName(-5)), this.operations);
+
+        // The first partition has no lower bound.
+        Assertions.assertEquals(Arrays.asList(this.time(-8) + 100, this.time(-7) + 100), this.archiveStorage.getList(TABLE, this.date(-7),
+                JobInstance.class, i -> true).stream().map(JobInstance::getCreateTime).collect(Collectors.toList()));
+        Assertions.assertEquals(1, this.archiveStorage.getList(TABLE, this.date(-5), JobInstance.class, i -> true).size());
+
+        // Rows before the first partition kept are in default partition, log table is not partitioned.
+        Assertions.assertEquals(Collections.singletonMap(TABLE, this.time(-2)), clearTimes);
+    }
+
+    @Test
+    public void testMaintainFailed() {
+        this.partitions.put(InstancePartitionService.JOB_INSTANCE_LOG, Collections.singletonList(new PartitionDTO("p_max", null, null)));
+
+        // Adding partition of log table fails, no rows of it are deleted by chunks.
+        Map<String, Long> clearTimes = this.partitionService.maintain(this.time(-2) + 3600);
+        Assertions.assertEquals(0L, clearTimes.get(InstancePartitionService.JOB_INSTANCE_LOG));
+        Assertions.assertEquals(this.time(-2), clearTimes.get(TABLE));
+    }
+
+    @Test
+    public void testClearData() throws Exception {
+        SystemDTO system = ClusterContext.getSystem();
+        Set<Long> slots = new HashSet<>(ClusterContext.getCurrentSlots());
+        SystemDTO clearSystem = new SystemDTO();
+        clearSystem.setJobKeepDays(2);
+        clearSystem.setDelayKeepDays(2);
+        clearSystem.setServerKeepDays(2);
+        clearSystem.setWorkerKeepDays(2);
+        ClusterContext.refreshSystem(clearSystem);
+        ClusterContext.refreshCurrentSlots(Collections.singleton(1L));
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Map<String, Function<Object[], Object>> logMethods = new HashMap<>();
+        logMethods.put("deleteByLastTime", args -> {
+            latch.countDown();
+            return 0;
+        });
+
+        ClearService clearService = new ClearService(this.newJobInstanceDAO(), this.newDAO(JobInstanceTaskDAO.class, new HashMap<>()),
+                this.newDAO(JobInstanceLogDAO.class, new HashMap<>()), this.newDAO(DelayInstanceDAO.class, new HashMap<>()),
+                this.newDAO(InstanceStatDAO.class, new HashMap<>()), this.newDAO(ServerDAO.class, new HashMap<>()),
+                this.newDAO(WorkerDAO.class, new HashMap<>()), this.newDAO(LogDAO.class, logMethods), this.partitionService, this.schedulerProperties);
+        try {
+            clearService.clearData();
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            clearService.destroy();
+            ClusterContext.refreshSystem(system);
+            ClusterContext.refreshCurrentSlots(slots);
+        }
+
+        // Expired partitions are dropped, rows of default partition are deleted by chunks, rows of partitions kept are not.
+        Assertions.assertEquals(Arrays.asList(this.time(-2) + 100, this.time(-1) + 100, this.time(0) + 100),
+                this.instances.stream().map(JobInstance::getCreateTime).collect(Collectors.toList()));
+        Assertions.assertTrue(this.operations.contains("delete " + Arrays.asList(5L, 6L)));
+    }
+
+    private JobInstanceDAO newJobInstanceDAO() {
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("getListByCreateTime", args -> this.getRows(i -> i.getCreateTime() >= (Long) args[0] && i.getCreateTime() < (Long) args[1],
+                (Long) args[2], (Integer) args[3]));
+        methods.put("getClearRows", args -> this.getRows(i -> true, (Long) args[0], (Integer) args[1]).stream()
+                .map(i -> new ClearRowDTO(i.getId(), i.getCreateTime())).collect(Collectors.toList()));
+        methods.put("deleteByIds", args -> {
+            List<?> ids = (List<?>) args[0];
+            this.operations.add("delete " + ids);
+            this.instances.removeIf(i -> ids.contains(i.getId()));
+            return ids.size();
+        });
+        return this.newDAO(JobInstanceDAO.class, methods);
+    }
+
+    private List<JobInstance> getRows(Predicate<JobInstance> filter, Long id, Integer size) {
+        return this.instances.stream().filter(i -> i.getId() > id && filter.test(i)).limit(size).collect(Collectors.toList());
+    }
+
+    /**
+     * DAO of methods, other methods return empty values.
+     *
+     * @param type    DAO type
+     * @param methods methods by name
+     * @param <T>     DAO type
+     * @return DAO
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T newDAO(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> function = methods.get(method.getName());
+            if (Objects.nonNull(function)) {
+                return function.apply(args);
+            }
+
+            Map<Class<?>, Supplier<Object>> values = new HashMap<>();
+            values.put(Integer.class, () -> 0);
+            values.put(Long.class, () -> 0L);
+            values.put(List.class, ArrayList::new);
+            return values.getOrDefault(method.getReturnType(), () -> null).get();
+        });
+    }
+
+    private PartitionDTO newPartition(int day) {
+        return new PartitionDTO(this.partitionName(day), this.time(day), this.time(day + 1));
+    }
+
+    private String partitionName(int day) {
+        return "p" + this.date(day);
+    }
+
+    private Integer date(int day) {
+        return DateUtil.formatDateByTimestamp(this.time(day));
+    }
+
+    private Long time(int day) {
+        return LocalDate.now().plusDays(day).atStartOfDay(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    /**
+     * Partitions of tables, rows of a dropped partition are dropped with it.
+     */
+    private static class FakePartitionDAO implements PartitionDAO {
+        private final Map<String, List<PartitionDTO>> partitions;
+        private final List<JobInstance> instances;
+        private final List<String> operations;
+
+        FakePartitionDAO(Map<String, List<PartitionDTO>> partitions, List<JobInstance> instances, List<String> operations) {
+            this.partitions = partitions;
+            this.instances = instances;
+            this.operations = operations;
+        }
+
+        @Override
+        public List<PartitionDTO> getPartitions(String table) {
+            return new ArrayList<>(this.partitions.getOrDefault(table, new ArrayList<>()));
+        }
+
+        @Override
+        public void addPartition(String table, String name, Long beginTime, Long endTime) {
+            if (!TABLE.equals(table)) {
+                throw new UnsupportedOperationException("Partition is not supported! table=" + table);
+            }
+            this.operations.add("add " + name);
+        }
+
+        @Override
+        public void dropPartition(String table, String name) {
+            this.operations.add("drop " + name);
+            PartitionDTO partition = this.partitions.get(table).stream().filter(p -> p.getName().equals(name)).findFirst().orElseThrow(IllegalStateException::new);
+            long lowerTime = Objects.isNull(partition.getLowerTime()) ? Long.MIN_VALUE : partition.getLowerTime();
+            this.instances.removeIf(i -> i.getCreateTime() >= lowerTime && i.getCreateTime() < partition.getUpperTime());
+        }
+    }
+
+    /**
+     * Archive storage recording archived dates.
+     */
+    private static class FakeArchiveStorage extends InstanceArchiveStorage {
+        private final List<String> operations;
+
+        FakeArchiveStorage(SchedulerProperties schedulerProperties, List<String> operations) {
+            super(schedulerProperties);
+            this.operations = operations;
+        }
+
+        @Override
+        public <T> Long archive(String table, Integer date, BiFunction<Long, Integer, List<T>> rowsFunction,
+                                Function<T, Long> idFunction, Integer size) throws IOException {
+            this.operations.add("archive " + date);
+            return super.archive(table, date, rowsFunction, idFunction, size);
+        }
+    }
+}
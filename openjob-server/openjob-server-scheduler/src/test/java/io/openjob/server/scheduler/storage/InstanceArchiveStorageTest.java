@@ -0,0 +1,87 @@
+package io.openjob.server.scheduler.storage;
+
+import io.openjob.server.common.dto.PageDTO;
+import io.openjob.server.repository.entity.JobInstance;
+import io.openjob.server.scheduler.autoconfigure.SchedulerProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class InstanceArchiveStorageTest {
+    private static final String TABLE = "job_instance";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testArchive() throws Exception {
+        InstanceArchiveStorage storage = this.newStorage();
+        List<JobInstance> instances = this.newInstanceList(250);
+
+        // Rows are read by chunks after id.
+        Long count = storage.archive(TABLE, 20231001, (id, size) -> instances.stream().filter(i -> i.getId() > id).limit(size)
+                .collect(Collectors.toList()), JobInstance::getId, 100);
+        Assertions.assertEquals(250L, count);
+        Assertions.assertEquals(0L, storage.archive(TABLE, 20231002, (id, size) -> new ArrayList<>(), JobInstance::getId, 100));
+        Assertions.assertEquals(Collections.singletonList(20231001), storage.getDates(TABLE));
+
+        // Namespace 1 is every other instance.
+        PageDTO<JobInstance> pageDTO = storage.pageList(TABLE, 20231001, JobInstance.class, i -> i.getNamespaceId().equals(1L), 2, 50);
+        Assertions.assertEquals(125L, pageDTO.getTotal());
+        Assertions.assertEquals(50, pageDTO.getList().size());
+        Assertions.assertEquals(101L, pageDTO.getList().get(0).getId());
+        Assertions.assertEquals("params-101", pageDTO.getList().get(0).getParams());
+
+        List<JobInstance> list = storage.getList(TABLE, 20231001, JobInstance.class, i -> i.getId() > 248L);
+        Assertions.assertEquals(Arrays.asList(249L, 250L), list.stream().map(JobInstance::getId).collect(Collectors.toList()));
+        Assertions.assertTrue(storage.getList(TABLE, 20231003, JobInstance.class, i -> true).isEmpty());
+    }
+
+    @Test
+    public void testDeleteBeforeDate() throws Exception {
+        InstanceArchiveStorage storage = this.newStorage();
+        List<JobInstance> instances = this.newInstanceList(1);
+        for (Integer date : Arrays.asList(20231001, 20231002, 20231003)) {
+            storage.archive(TABLE, date, (id, size) -> id == 0L ? instances : new ArrayList<>(), JobInstance::getId, 100);
+            storage.archive(TABLE + "_log", date, (id, size) -> id == 0L ? instances : new ArrayList<>(), JobInstance::getId, 100);
+        }
+
+        // Dates of other tables are not listed.
+        Assertions.assertEquals(Arrays.asList(20231003, 20231002, 20231001), storage.getDates(TABLE));
+        Assertions.assertEquals(4, storage.deleteBeforeDate(20231003));
+        Assertions.assertEquals(Collections.singletonList(20231003), storage.getDates(TABLE));
+        Assertions.assertEquals(Collections.singletonList(20231003), storage.getDates(TABLE + "_log"));
+    }
+
+    private InstanceArchiveStorage newStorage() {
+        SchedulerProperties schedulerProperties = new SchedulerProperties();
+        schedulerProperties.getPartition().setArchiveDir(this.tempDir.toString());
+        return new InstanceArchiveStorage(schedulerProperties);
+    }
+
+    private List<JobInstance> newInstanceList(int size) {
+        List<JobInstance> instances = new ArrayList<>();
+        for (long i = 1; i <= size; i++) {
+            JobInstance instance = new JobInstance();
+            instance.setId(i);
+            instance.setNamespaceId(i % 2);
+            instance.setJobId(1L);
+            instance.setParams("params-" + i);
+            instance.setStatus(1);
+            instance.setCreateTime(1696089600L + i);
+            instances.add(instance);
+        }
+        return instances;
+    }
+}
@@ -0,0 +1,98 @@
+package io.openjob.server.scheduler.timer.util;
+
+import io.openjob.server.common.ClusterContext;
+import io.openjob.server.common.dto.WorkerDTO;
+import io.openjob.server.common.dto.WorkerMetricDTO;
+import io.openjob.server.scheduler.constant.WorkerSelectStrategyEnum;
+import io.openjob.server.scheduler.util.WorkerUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class WorkerUtilTest {
+    private static final Long APP_ID = 100L;
+
+    @BeforeEach
+    public void setUp() {
+        List<WorkerDTO> workers = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            WorkerDTO workerDTO = new WorkerDTO();
+            workerDTO.setAppId(APP_ID);
+            workerDTO.setAddress("127.0.0.1:2502" + i);
+            workers.add(workerDTO);
+        }
+
+        Map<Long, List<WorkerDTO>> appWorkers = new HashMap<>();
+        appWorkers.put(APP_ID, workers);
+        ClusterContext.refreshAppWorkers(appWorkers);
+
+        ClusterContext.refreshWorkerMetric("127.0.0.1:25021", this.metric(0.9D, 8));
+        ClusterContext.refreshWorkerMetric("127.0.0.1:25022", this.metric(0.1D, 0));
+        ClusterContext.refreshWorkerMetric("127.0.0.1:25023", this.metric(0.5D, 4));
+    }
+
+    @Test
+    public void testLeastLoad() {
+        WorkerDTO worker = WorkerUtil.selectWorkerByAppId(APP_ID, Collections.emptySet(), WorkerSelectStrategyEnum.LEAST_LOAD);
+        Assertions.assertEquals("127.0.0.1:25022", worker.getAddress());
+
+        // Failover worker is skipped.
+        WorkerDTO failover = WorkerUtil.selectWorkerByAppId(APP_ID, new HashSet<>(Collections.singletonList("127.0.0.1:25022")), WorkerSelectStrategyEnum.LEAST_LOAD);
+        Assertions.assertEquals("127.0.0.1:25023", failover.getAddress());
+    }
+
+    @Test
+    public void testPowerOfTwo() {
+        // Two workers are always compared, so the less loaded one is always selected.
+        Set<String> failoverList = new HashSet<>(Collections.singletonList("127.0.0.1:25023"));
+        for (int i = 0; i < 8; i++) {
+            WorkerDTO worker = WorkerUtil.selectWorkerByAppId(APP_ID, failoverList, WorkerSelectStrategyEnum.POWER_OF_TWO);
+            Assertions.assertEquals("127.0.0.1:25022", worker.getAddress());
+        }
+    }
+
+    @Test
+    public void testPowerOfTwoNeverMostLoaded() {
+        // The most loaded worker scores 3.0, others score below it until six dispatches, whichever two are compared.
+        for (int i = 0; i < 6; i++) {
+            WorkerDTO worker = WorkerUtil.selectWorkerByAppId(APP_ID, Collections.emptySet(), WorkerSelectStrategyEnum.POWER_OF_TWO);
+            Assertions.assertNotEquals("127.0.0.1:25021", worker.getAddress());
+        }
+    }
+
+    @Test
+    public void testDispatchedSpreads() {
+        // Dispatches since last report are counted, so that least load does not always select the same worker.
+        Map<String, Integer> selected = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            WorkerDTO worker = WorkerUtil.selectWorkerByAppId(APP_ID, Collections.emptySet(), WorkerSelectStrategyEnum.LEAST_LOAD);
+            selected.merge(worker.getAddress(), 1, Integer::sum);
+        }
+        Assertions.assertTrue(selected.size() > 1);
+    }
+
+    private WorkerMetricDTO metric(Double cpuLoad, Integer containerThreads) {
+        WorkerMetricDTO metric = new WorkerMetricDTO();
+        metric.setCpuLoad(cpuLoad);
+        metric.setProcessors(4);
+        metric.setHeapUsed(100L);
+        metric.setHeapMax(1000L);
+        metric.setContainerThreads(containerThreads);
+        metric.setContainerSize(0);
+        metric.setDelayQueueSize(0);
+        metric.setReportTime(System.currentTimeMillis());
+        return metric;
+    }
+}
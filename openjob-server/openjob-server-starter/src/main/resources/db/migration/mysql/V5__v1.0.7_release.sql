@@ -0,0 +1,18 @@
+#`job_instance_task_count`
+# ------------------------------------------------------------
+CREATE TABLE `job_instance_task_count`
+(
+    `id`              bigint(20) unsigned NOT NULL AUTO_INCREMENT COMMENT 'PK',
+    `job_id`          bigint(20) unsigned NOT NULL COMMENT 'Job id',
+    `job_instance_id` bigint(20) unsigned NOT NULL COMMENT 'Instance id',
+    `circle_id`       bigint(20) unsigned NOT NULL COMMENT 'Circle id',
+    `report_page`     bigint(20) unsigned NOT NULL DEFAULT '0' COMMENT 'Report page, 0=summary',
+    `status`          tinyint(2) unsigned NOT NULL DEFAULT '1' COMMENT 'Instance task status',
+    `task_count`      bigint(20) unsigned NOT NULL DEFAULT '0' COMMENT 'Task count',
+    `deleted`         tinyint(2) NOT NULL DEFAULT '2' COMMENT 'Delete status. 1=yes 2=no',
+    `delete_time`     bigint(12) unsigned NOT NULL DEFAULT '0' COMMENT 'Delete time',
+    `create_time`     bigint(12) unsigned NOT NULL COMMENT 'Create time',
+    `update_time`     bigint(12) unsigned NOT NULL COMMENT 'Update time',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `udx_job_instance_id_circle_id_page_status` (`job_instance_id`, `circle_id`, `report_page`, `status`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,23 @@
+#`processor_log`
+# ------------------------------------------------------------
+# Log server may have added the column to the table already, so each change is guarded.
+SET @sql = (SELECT IF(COUNT(*) = 0,
+                      'ALTER TABLE `processor_log` ADD COLUMN `message` longtext COMMENT ''Message and throwable for search'' AFTER `content`',
+                      'SELECT 1')
+            FROM information_schema.COLUMNS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'processor_log' AND COLUMN_NAME = 'message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @sql = (SELECT IF(COUNT(*) = 0,
+                      'ALTER TABLE `processor_log` ADD FULLTEXT KEY `ftx_message` (`message`)',
+                      'SELECT 1')
+            FROM information_schema.STATISTICS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'processor_log' AND INDEX_NAME = 'ftx_message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+# Lines written before the column are not backfilled, so that upgrade does not rewrite the whole table in one transaction.
+# They are still read without a search key, only not matched by search, and are removed by log retention.
@@ -0,0 +1,15 @@
+#`instance_stat`
+# ------------------------------------------------------------
+CREATE TABLE `instance_stat`
+(
+    `id`           bigint(20) unsigned NOT NULL AUTO_INCREMENT COMMENT 'PK',
+    `namespace_id` bigint(20) unsigned NOT NULL COMMENT 'Namespace id',
+    `type`         tinyint(2) unsigned NOT NULL COMMENT 'Type. 1=job 2=delay',
+    `stat_hour`    int(11) unsigned NOT NULL COMMENT 'Create hour of instances, such as 2023010112',
+    `status`       tinyint(2) unsigned NOT NULL COMMENT 'Instance status',
+    `total`        bigint(20) unsigned NOT NULL DEFAULT '0' COMMENT 'Instance count',
+    `create_time`  bigint(12) unsigned NOT NULL COMMENT 'Create time',
+    `update_time`  bigint(12) unsigned NOT NULL COMMENT 'Update time',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `udx_type_namespace_id_stat_hour_status` (`type`, `namespace_id`, `stat_hour`, `status`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
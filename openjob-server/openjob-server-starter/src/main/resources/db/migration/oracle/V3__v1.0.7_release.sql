@@ -0,0 +1,41 @@
+-- ----------------------------
+-- Table structure for job_instance_task_count
+-- ----------------------------
+CREATE TABLE "job_instance_task_count" (
+                                     "id" NUMBER(20,0) NOT NULL ,
+                                     "job_id" NUMBER(20,0),
+                                     "job_instance_id" NUMBER(20,0),
+                                     "circle_id" NUMBER(20,0),
+                                     "report_page" NUMBER(20,0),
+                                     "status" NUMBER(4,0),
+                                     "task_count" NUMBER(20,0),
+                                     "deleted" NUMBER(4,0) ,
+                                     "delete_time" NUMBER(20,0) ,
+                                     "create_time" NUMBER(20,0),
+                                     "update_time" NUMBER(20,0)
+);
+COMMENT ON COLUMN "job_instance_task_count"."id" IS 'PK';
+COMMENT ON COLUMN "job_instance_task_count"."job_id" IS 'Job id';
+COMMENT ON COLUMN "job_instance_task_count"."job_instance_id" IS 'Instance id';
+COMMENT ON COLUMN "job_instance_task_count"."circle_id" IS 'Circle id';
+COMMENT ON COLUMN "job_instance_task_count"."report_page" IS 'Report page, 0=summary';
+COMMENT ON COLUMN "job_instance_task_count"."status" IS 'Instance task status';
+COMMENT ON COLUMN "job_instance_task_count"."task_count" IS 'Task count';
+COMMENT ON COLUMN "job_instance_task_count"."deleted" IS 'Delete status. 1=yes 2=no';
+COMMENT ON COLUMN "job_instance_task_count"."delete_time" IS 'Delete time';
+COMMENT ON COLUMN "job_instance_task_count"."create_time" IS 'Create time';
+COMMENT ON COLUMN "job_instance_task_count"."update_time" IS 'Update time';
+
+ALTER TABLE "job_instance_task_count" ADD PRIMARY KEY ("id");
+CREATE UNIQUE INDEX "udx_jitc_instance_circle_page"
+    ON "job_instance_task_count" ("job_instance_id" ASC, "circle_id" ASC, "report_page" ASC, "status" ASC);
+
+-- Create sequence
+create sequence job_instance_task_count_id
+    minvalue 1
+    maxvalue 999999999999
+    start with 1
+    increment by 1
+    cache 20
+cycle
+;
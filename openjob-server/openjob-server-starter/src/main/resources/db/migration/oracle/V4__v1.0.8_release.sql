@@ -0,0 +1,7 @@
+-- ----------------------------
+-- Search column for processor_log
+-- ----------------------------
+ALTER TABLE "processor_log" ADD "message" CLOB;
+COMMENT ON COLUMN "processor_log"."message" IS 'Message and throwable for search';
+-- Lines written before the column are not backfilled, so that upgrade does not rewrite the whole table in one transaction.
+-- They are still read without a search key, only not matched by search, and are removed by log retention.
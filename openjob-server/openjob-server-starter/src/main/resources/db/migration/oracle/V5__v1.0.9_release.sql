@@ -0,0 +1,35 @@
+-- ----------------------------
+-- Table structure for instance_stat
+-- ----------------------------
+CREATE TABLE "instance_stat" (
+                                     "id" NUMBER(20,0) NOT NULL ,
+                                     "namespace_id" NUMBER(20,0),
+                                     "type" NUMBER(4,0),
+                                     "stat_hour" NUMBER(11,0),
+                                     "status" NUMBER(4,0),
+                                     "total" NUMBER(20,0),
+                                     "create_time" NUMBER(20,0),
+                                     "update_time" NUMBER(20,0)
+);
+COMMENT ON COLUMN "instance_stat"."id" IS 'PK';
+COMMENT ON COLUMN "instance_stat"."namespace_id" IS 'Namespace id';
+COMMENT ON COLUMN "instance_stat"."type" IS 'Type. 1=job 2=delay';
+COMMENT ON COLUMN "instance_stat"."stat_hour" IS 'Create hour of instances, such as 2023010112';
+COMMENT ON COLUMN "instance_stat"."status" IS 'Instance status';
+COMMENT ON COLUMN "instance_stat"."total" IS 'Instance count';
+COMMENT ON COLUMN "instance_stat"."create_time" IS 'Create time';
+COMMENT ON COLUMN "instance_stat"."update_time" IS 'Update time';
+
+ALTER TABLE "instance_stat" ADD PRIMARY KEY ("id");
+CREATE UNIQUE INDEX "udx_is_type_ns_hour_status"
+    ON "instance_stat" ("type" ASC, "namespace_id" ASC, "stat_hour" ASC, "status" ASC);
+
+-- Create sequence
+create sequence instance_stat_id
+    minvalue 1
+    maxvalue 999999999999
+    start with 1
+    increment by 1
+    cache 20
+cycle
+;
@@ -0,0 +1,39 @@
+-- ----------------------------
+-- Table structure for job_instance_task_count
+-- ----------------------------
+DROP TABLE IF EXISTS "job_instance_task_count";
+create sequence job_instance_task_count_id start with 1 increment by 1 no minvalue no maxvalue cache 1;
+CREATE TABLE "job_instance_task_count" (
+                                     "id" numeric(20,0) NOT NULL DEFAULT nextval('job_instance_task_count_id'::regclass),
+                                     "job_id" numeric(20,0),
+                                     "job_instance_id" numeric(20,0),
+                                     "circle_id" numeric(20,0),
+                                     "report_page" numeric(20,0),
+                                     "status" int2,
+                                     "task_count" numeric(20,0),
+                                     "deleted" int2,
+                                     "delete_time" numeric(20,0),
+                                     "create_time" numeric(20,0),
+                                     "update_time" numeric(20,0)
+)
+;
+ALTER TABLE "job_instance_task_count" OWNER TO "postgres";
+COMMENT ON COLUMN "job_instance_task_count"."id" IS 'PK';
+COMMENT ON COLUMN "job_instance_task_count"."job_id" IS 'Job id';
+COMMENT ON COLUMN "job_instance_task_count"."job_instance_id" IS 'Instance id';
+COMMENT ON COLUMN "job_instance_task_count"."circle_id" IS 'Circle id';
+COMMENT ON COLUMN "job_instance_task_count"."report_page" IS 'Report page, 0=summary';
+COMMENT ON COLUMN "job_instance_task_count"."status" IS 'Instance task status';
+COMMENT ON COLUMN "job_instance_task_count"."task_count" IS 'Task count';
+COMMENT ON COLUMN "job_instance_task_count"."deleted" IS 'Delete status. 1=yes 2=no';
+COMMENT ON COLUMN "job_instance_task_count"."delete_time" IS 'Delete time';
+COMMENT ON COLUMN "job_instance_task_count"."create_time" IS 'Create time';
+COMMENT ON COLUMN "job_instance_task_count"."update_time" IS 'Update time';
+
+ALTER TABLE "job_instance_task_count" ADD CONSTRAINT "job_instance_task_count_pkey" PRIMARY KEY ("id");
+CREATE UNIQUE INDEX "udx_job_instance_id_circle_id_page_status" ON "job_instance_task_count" USING btree (
+  "job_instance_id" "pg_catalog"."numeric_ops" ASC NULLS LAST,
+  "circle_id" "pg_catalog"."numeric_ops" ASC NULLS LAST,
+  "report_page" "pg_catalog"."numeric_ops" ASC NULLS LAST,
+  "status" "pg_catalog"."int2_ops" ASC NULLS LAST
+);
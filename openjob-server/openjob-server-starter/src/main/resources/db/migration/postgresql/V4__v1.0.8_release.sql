@@ -0,0 +1,8 @@
+-- ----------------------------
+-- Search column for processor_log
+-- ----------------------------
+ALTER TABLE "processor_log" ADD COLUMN IF NOT EXISTS "message" text COLLATE "pg_catalog"."default";
+COMMENT ON COLUMN "processor_log"."message" IS 'Message and throwable for search';
+-- Lines written before the column are not backfilled, so that upgrade does not rewrite the whole table in one transaction.
+-- They are still read without a search key, only not matched by search, and are removed by log retention.
+CREATE INDEX IF NOT EXISTS "idx_message_tsv" ON "processor_log" USING gin (to_tsvector('simple', "message"));
@@ -0,0 +1,33 @@
+-- ----------------------------
+-- Table structure for instance_stat
+-- ----------------------------
+DROP TABLE IF EXISTS "instance_stat";
+create sequence instance_stat_id start with 1 increment by 1 no minvalue no maxvalue cache 1;
+CREATE TABLE "instance_stat" (
+                                     "id" numeric(20,0) NOT NULL DEFAULT nextval('instance_stat_id'::regclass),
+                                     "namespace_id" numeric(20,0),
+                                     "type" int2,
+                                     "stat_hour" int4,
+                                     "status" int2,
+                                     "total" numeric(20,0),
+                                     "create_time" numeric(20,0),
+                                     "update_time" numeric(20,0)
+)
+;
+ALTER TABLE "instance_stat" OWNER TO "postgres";
+COMMENT ON COLUMN "instance_stat"."id" IS 'PK';
+COMMENT ON COLUMN "instance_stat"."namespace_id" IS 'Namespace id';
+COMMENT ON COLUMN "instance_stat"."type" IS 'Type. 1=job 2=delay';
+COMMENT ON COLUMN "instance_stat"."stat_hour" IS 'Create hour of instances, such as 2023010112';
+COMMENT ON COLUMN "instance_stat"."status" IS 'Instance status';
+COMMENT ON COLUMN "instance_stat"."total" IS 'Instance count';
+COMMENT ON COLUMN "instance_stat"."create_time" IS 'Create time';
+COMMENT ON COLUMN "instance_stat"."update_time" IS 'Update time';
+
+ALTER TABLE "instance_stat" ADD CONSTRAINT "instance_stat_pkey" PRIMARY KEY ("id");
+CREATE UNIQUE INDEX "udx_type_namespace_id_stat_hour_status" ON "instance_stat" USING btree (
+  "type" "pg_catalog"."int2_ops" ASC NULLS LAST,
+  "namespace_id" "pg_catalog"."numeric_ops" ASC NULLS LAST,
+  "stat_hour" "pg_catalog"."int4_ops" ASC NULLS LAST,
+  "status" "pg_catalog"."int2_ops" ASC NULLS LAST
+);
@@ -0,0 +1,32 @@
+# Day partitions of `job_instance` and `job_instance_log`, not a migration, run once by hand with servers stopped.
+# Rows are copied by ALTER TABLE, all rows before tomorrow are kept in partition `p_init`.
+# Set time zone of the session to time zone of servers, partitions are days of servers.
+# Then enable `openjob.scheduler.partition.enable`, partitions of days ahead are created and expired days are dropped by servers.
+# `job_instance_task` is not partitioned, its unique key `udx_task_id` can not include `create_time`.
+SET @tomorrow = UNIX_TIMESTAMP(CURDATE() + INTERVAL 1 DAY);
+
+#`job_instance`
+# ------------------------------------------------------------
+ALTER TABLE `job_instance`
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (`id`, `create_time`);
+
+SET @sql = CONCAT('ALTER TABLE `job_instance` PARTITION BY RANGE (`create_time`) (',
+                  'PARTITION `p_init` VALUES LESS THAN (', @tomorrow, '), ',
+                  'PARTITION `p_max` VALUES LESS THAN MAXVALUE)');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+#`job_instance_log`
+# ------------------------------------------------------------
+ALTER TABLE `job_instance_log`
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (`id`, `create_time`);
+
+SET @sql = CONCAT('ALTER TABLE `job_instance_log` PARTITION BY RANGE (`create_time`) (',
+                  'PARTITION `p_init` VALUES LESS THAN (', @tomorrow, '), ',
+                  'PARTITION `p_max` VALUES LESS THAN MAXVALUE)');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
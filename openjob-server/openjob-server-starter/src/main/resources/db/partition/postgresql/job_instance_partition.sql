@@ -0,0 +1,58 @@
+-- Day partitions of "job_instance" and "job_instance_log", not a migration, run once by hand with servers stopped.
+-- Rows are not copied, a table is attached as partition "<table>_p_init" of all rows before tomorrow, only indexes are rebuilt.
+-- Set time zone of the session to time zone of servers, partitions are days of servers.
+-- Then enable "openjob.scheduler.partition.enable", partitions of days ahead are created and expired days are dropped by servers.
+-- Rows of days without partition are in default partition "<table>_p_max".
+-- "job_instance_task" is not partitioned, its unique index "udx_task_id" can not include "create_time".
+
+-- ----------------------------
+-- job_instance
+-- ----------------------------
+ALTER TABLE "job_instance" RENAME TO "job_instance_p_init";
+ALTER TABLE "job_instance_p_init" DROP CONSTRAINT "job_instance_pkey";
+ALTER TABLE "job_instance_p_init" ALTER COLUMN "create_time" SET NOT NULL;
+DROP INDEX "idx_create_time_day_job_instance";
+DROP INDEX "idx_create_time_hour_job_instance";
+DROP INDEX "idx_execute_time_slots_id";
+DROP INDEX "idx_job_id_status";
+DROP INDEX "idx_last_report_time_slots_id";
+DROP INDEX "idx_namespace_id_app_id_job_id_create_time";
+DROP INDEX "idx_namespace_id_create_time_job_instance";
+
+CREATE TABLE "job_instance" (LIKE "job_instance_p_init" INCLUDING DEFAULTS INCLUDING COMMENTS) PARTITION BY RANGE ("create_time");
+ALTER TABLE "job_instance" OWNER TO "postgres";
+ALTER TABLE "job_instance" ADD CONSTRAINT "job_instance_pkey" PRIMARY KEY ("id", "create_time");
+CREATE INDEX "idx_create_time_day_job_instance" ON "job_instance" USING btree ("create_time", "create_time_date");
+CREATE INDEX "idx_create_time_hour_job_instance" ON "job_instance" USING btree ("create_time", "create_time_hour");
+CREATE INDEX "idx_execute_time_slots_id" ON "job_instance" USING btree ("execute_time", "slots_id");
+CREATE INDEX "idx_job_id_status" ON "job_instance" USING btree ("job_id", "status");
+CREATE INDEX "idx_last_report_time_slots_id" ON "job_instance" USING btree ("last_report_time", "slots_id");
+CREATE INDEX "idx_namespace_id_app_id_job_id_create_time" ON "job_instance" USING btree ("namespace_id", "app_id", "job_id", "create_time");
+CREATE INDEX "idx_namespace_id_create_time_job_instance" ON "job_instance" USING btree ("namespace_id", "create_time");
+
+DO $$
+BEGIN
+    EXECUTE format('ALTER TABLE "job_instance" ATTACH PARTITION "job_instance_p_init" FOR VALUES FROM (MINVALUE) TO (%s)',
+                   extract(epoch FROM date_trunc('day', now()) + interval '1 day')::bigint);
+END $$;
+CREATE TABLE "job_instance_p_max" PARTITION OF "job_instance" DEFAULT;
+
+-- ----------------------------
+-- job_instance_log
+-- ----------------------------
+ALTER TABLE "job_instance_log" RENAME TO "job_instance_log_p_init";
+ALTER TABLE "job_instance_log_p_init" DROP CONSTRAINT "job_instance_log_pkey";
+ALTER TABLE "job_instance_log_p_init" ALTER COLUMN "create_time" SET NOT NULL;
+DROP INDEX "idx_job_instance_id_create_time";
+
+CREATE TABLE "job_instance_log" (LIKE "job_instance_log_p_init" INCLUDING DEFAULTS INCLUDING COMMENTS) PARTITION BY RANGE ("create_time");
+ALTER TABLE "job_instance_log" OWNER TO "postgres";
+ALTER TABLE "job_instance_log" ADD CONSTRAINT "job_instance_log_pkey" PRIMARY KEY ("id", "create_time");
+CREATE INDEX "idx_job_instance_id_create_time" ON "job_instance_log" USING btree ("job_instance_id", "create_time");
+
+DO $$
+BEGIN
+    EXECUTE format('ALTER TABLE "job_instance_log" ATTACH PARTITION "job_instance_log_p_init" FOR VALUES FROM (MINVALUE) TO (%s)',
+                   extract(epoch FROM date_trunc('day', now()) + interval '1 day')::bigint);
+END $$;
+CREATE TABLE "job_instance_log_p_max" PARTITION OF "job_instance_log" DEFAULT;
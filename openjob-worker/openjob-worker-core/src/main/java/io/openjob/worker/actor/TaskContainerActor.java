@@ -1,6 +1,7 @@
 package io.openjob.worker.actor;
 
 import io.openjob.common.actor.BaseActor;
+import io.openjob.common.actor.DeliveryAckTracker;
 import io.openjob.common.response.Result;
 import io.openjob.common.response.WorkerResponse;
 import io.openjob.common.util.KryoUtil;
@@ -76,6 +77,7 @@ public class TaskContainerActor extends BaseActor {
 
         WorkerResponse workerResponse = new WorkerResponse();
         workerResponse.setDeliveryId(stopReq.getDeliveryId());
+        workerResponse.setAckDeliveryId(DeliveryAckTracker.ack(getSender(), stopReq.getDeliveryId()));
         getSender().tell(Result.success(workerResponse), getSelf());
     }
 
@@ -92,6 +94,7 @@ public class TaskContainerActor extends BaseActor {
 
         WorkerResponse workerResponse = new WorkerResponse();
         workerResponse.setDeliveryId(destroyReq.getDeliveryId());
+        workerResponse.setAckDeliveryId(DeliveryAckTracker.ack(getSender(), destroyReq.getDeliveryId()));
         getSender().tell(Result.success(workerResponse), getSelf());
     }
 
@@ -1,6 +1,7 @@
 package io.openjob.worker.actor;
 
 import io.openjob.common.actor.BaseActor;
+import io.openjob.common.actor.DeliveryAckTracker;
 import io.openjob.common.constant.JobInstanceStopEnum;
 import io.openjob.common.request.ServerCheckTaskMasterRequest;
 import io.openjob.common.request.ServerStopJobInstanceRequest;
@@ -110,7 +111,7 @@ public class TaskMasterActor extends BaseActor {
             taskMaster.updateStatus(batchTaskStatusReq);
         }
 
-        WorkerResponse workerResponse = new WorkerResponse(batchTaskStatusReq.getDeliveryId());
+        WorkerResponse workerResponse = new WorkerResponse(batchTaskStatusReq.getDeliveryId(), DeliveryAckTracker.ack(getSender(), batchTaskStatusReq.getDeliveryId()));
         getSender().tell(Result.success(workerResponse), getSelf());
     }
 
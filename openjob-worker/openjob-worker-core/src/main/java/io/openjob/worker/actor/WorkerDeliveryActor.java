@@ -0,0 +1,472 @@
+package io.openjob.worker.actor;
+
+import akka.actor.AbstractActorWithTimers;
+import akka.actor.ActorSelection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.openjob.common.actor.DeliveryAckTracker;
+import io.openjob.common.constant.AkkaConstant;
+import io.openjob.common.constant.StatusEnum;
+import io.openjob.common.request.DeliveryRequest;
+import io.openjob.common.request.WorkerDelayStatusRequest;
+import io.openjob.common.request.WorkerJobInstanceStatusRequest;
+import io.openjob.common.response.Result;
+import io.openjob.common.response.ServerResponse;
+import io.openjob.common.response.WorkerResponse;
+import io.openjob.common.util.KryoUtil;
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.WorkerConstant;
+import io.openjob.worker.init.WorkerConfig;
+import io.openjob.worker.persistence.DeliveryLog;
+import io.openjob.worker.request.ContainerBatchTaskStatusRequest;
+import io.openjob.worker.request.MasterDestroyContainerRequest;
+import io.openjob.worker.request.MasterStopContainerRequest;
+import io.openjob.worker.util.WorkerUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * At least once delivery without akka persistence.
+ * Deliveries are numbered by destination channel, confirmed by single or cumulative acks,
+ * and redelivered with a backoff based on the measured round trip time.
+ * Unconfirmed deliveries can be kept in a group committed local log to survive restart.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Slf4j
+public class WorkerDeliveryActor extends AbstractActorWithTimers {
+
+    /**
+     * Unconfirmed deliveries of all actors.
+     */
+    private static final AtomicLong UNCONFIRMED = Metrics.gauge(WorkerConstant.METRIC_DELIVERY_UNCONFIRMED, new AtomicLong(0));
+
+    /**
+     * Redelivered counter.
+     */
+    private static final Counter REDELIVERED = Metrics.counter(WorkerConstant.METRIC_DELIVERY_REDELIVERED);
+
+    /**
+     * Redeliver timer.
+     */
+    private static final String REDELIVER_TICK = "redeliver-tick";
+
+    /**
+     * Log flush timer.
+     */
+    private static final String FLUSH_TICK = "flush-tick";
+
+    /**
+     * Max uncommitted log bytes before flushing.
+     */
+    private static final int MAX_UNCOMMITTED_SIZE = 1024 * 1024;
+
+    /**
+     * Log size to rewrite.
+     */
+    private static final long REWRITE_SIZE = 64 * 1024 * 1024L;
+
+    /**
+     * Redeliver interval jitter.
+     */
+    private static final double JITTER = 0.2D;
+
+    /**
+     * Idle channel expire time(ns).
+     */
+    private static final long CHANNEL_EXPIRE_TIME = TimeUnit.MINUTES.toNanos(5);
+
+    /**
+     * Max channel id.
+     */
+    private static final int MAX_CHANNEL_ID = (1 << (Long.SIZE - DeliveryAckTracker.CHANNEL_SHIFT - 1)) - 1;
+
+    private final Integer id;
+    private final long minInterval;
+    private final long maxInterval;
+    private final int burst;
+    private final Map<String, Channel> channels = new HashMap<>();
+    private final Map<Integer, Channel> channelIds = new HashMap<>();
+    private final PriorityQueue<Delivery> redeliverQueue = new PriorityQueue<>(Comparator.comparingLong(d -> d.dueTime));
+    private final List<Delivery> uncommitted = new ArrayList<>();
+    private DeliveryLog deliveryLog;
+    private int nextChannelId;
+
+    /**
+     * Smoothed round trip time(ns), negative means not measured.
+     */
+    private double smoothedRtt = -1;
+
+    /**
+     * Round trip time variation(ns).
+     */
+    private double rttVariation;
+
+    /**
+     * New worker delivery actor.
+     *
+     * @param id actor id.
+     */
+    public WorkerDeliveryActor(Integer id) {
+        this.id = id;
+        this.minInterval = OpenjobConfig.getLong(WorkerConstant.WORKER_DELIVERY_REDELIVER_MIN_INTERVAL, WorkerConstant.DEFAULT_WORKER_DELIVERY_REDELIVER_MIN_INTERVAL);
+        this.maxInterval = OpenjobConfig.getLong(WorkerConstant.WORKER_DELIVERY_REDELIVER_MAX_INTERVAL, WorkerConstant.DEFAULT_WORKER_DELIVERY_REDELIVER_MAX_INTERVAL);
+        this.burst = OpenjobConfig.getInteger(WorkerConstant.WORKER_DELIVERY_REDELIVER_BURST, WorkerConstant.DEFAULT_WORKER_DELIVERY_REDELIVER_BURST);
+    }
+
+    @Override
+    public void preStart() throws Exception {
+        long tickInterval = Math.max(this.minInterval / 4, 10L);
+        getTimers().startTimerWithFixedDelay(REDELIVER_TICK, REDELIVER_TICK, Duration.ofMillis(tickInterval));
+
+        if (!OpenjobConfig.getBoolean(WorkerConstant.WORKER_DELIVERY_LOG_ENABLE, false)) {
+            return;
+        }
+
+        String defaultDirectory = System.getProperty("java.io.tmpdir") + File.separator + "openjob" + File.separator + "delivery";
+        String directory = OpenjobConfig.getString(WorkerConstant.WORKER_DELIVERY_LOG_DIR, defaultDirectory);
+        String name = String.format("%s_%s-%d.log", WorkerConfig.getWorkerHost(), WorkerConfig.getWorkerPort(), this.id);
+        this.deliveryLog = new DeliveryLog(directory, name);
+
+        // Recovered deliveries are delivered again as new ones. Old records are compacted only after
+        // new ones are committed, so that a crash in between loses no delivery.
+        Map<Long, byte[]> recovered = this.deliveryLog.recover();
+        recovered.values().forEach(b -> this.handleRequest((DeliveryRequest) KryoUtil.deserialize(b)));
+        this.flush();
+        this.deliveryLog.rewrite(this.getUnconfirmedDeliveries());
+        log.info("Delivery log recovered! name={} size={}", name, recovered.size());
+
+        long flushInterval = OpenjobConfig.getLong(WorkerConstant.WORKER_DELIVERY_LOG_FLUSH_INTERVAL, WorkerConstant.DEFAULT_WORKER_DELIVERY_LOG_FLUSH_INTERVAL);
+        getTimers().startTimerWithFixedDelay(FLUSH_TICK, FLUSH_TICK, Duration.ofMillis(flushInterval));
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        UNCONFIRMED.addAndGet(-this.channels.values().stream().mapToLong(c -> c.unconfirmed.size()).sum());
+        if (Objects.nonNull(this.deliveryLog)) {
+            this.deliveryLog.close();
+        }
+    }
+
+    @Override
+    public Receive createReceive() {
+        return receiveBuilder()
+                .match(DeliveryRequest.class, this::handleRequest)
+                .match(Result.class, this::handleResult)
+                .matchEquals(REDELIVER_TICK, t -> this.redeliver())
+                .matchEquals(FLUSH_TICK, t -> this.flush())
+                .build();
+    }
+
+    /**
+     * Handle delivery request.
+     *
+     * @param request request.
+     */
+    public void handleRequest(DeliveryRequest request) {
+        String destination = this.getDestination(request);
+        if (Objects.isNull(destination)) {
+            log.warn("Delivery request not supported! request={}", request);
+            return;
+        }
+
+        // Numbered by channel, so that receiver can answer cumulative ack.
+        Channel channel = this.channels.computeIfAbsent(destination, d -> this.newChannel());
+        long sequence = ++channel.sequence;
+        channel.accessTime = System.nanoTime();
+
+        Delivery delivery = new Delivery(DeliveryAckTracker.getDeliveryId(channel.id, sequence), request);
+        request.setDeliveryId(delivery.deliveryId);
+        channel.unconfirmed.put(sequence, delivery);
+        UNCONFIRMED.incrementAndGet();
+
+        // Without log, deliver at once.
+        if (Objects.isNull(this.deliveryLog)) {
+            this.send(delivery);
+            return;
+        }
+
+        // Deliver after group commit.
+        try {
+            this.deliveryLog.appendDelivery(delivery.deliveryId, KryoUtil.serialize(request));
+        } catch (IOException e) {
+            log.error("Delivery log append failed! deliveryId={}", delivery.deliveryId, e);
+        }
+
+        this.uncommitted.add(delivery);
+        if (this.deliveryLog.uncommittedSize() >= MAX_UNCOMMITTED_SIZE) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Handle result
+     *
+     * @param result result.
+     */
+    public void handleResult(Result<?> result) {
+        if (StatusEnum.FAIL.getStatus().equals(result.getStatus()) || Objects.isNull(result.getData())) {
+            log.warn("Handle result fail! message={}", result.getMessage());
+            return;
+        }
+
+        if (result.getData() instanceof WorkerResponse) {
+            WorkerResponse workerResponse = (WorkerResponse) result.getData();
+            this.confirm(workerResponse.getDeliveryId(), workerResponse.getAckDeliveryId());
+            return;
+        }
+
+        if (result.getData() instanceof ServerResponse) {
+            ServerResponse serverResponse = (ServerResponse) result.getData();
+            this.confirm(serverResponse.getDeliveryId(), serverResponse.getAckDeliveryId());
+            return;
+        }
+
+        log.error("Handle result data not defined data={}", result.getData().toString());
+    }
+
+    protected void confirm(Long deliveryId, Long ackDeliveryId) {
+        long now = System.nanoTime();
+        if (Objects.nonNull(deliveryId)) {
+            Channel channel = this.channelIds.get(DeliveryAckTracker.getChannel(deliveryId));
+            if (Objects.nonNull(channel)) {
+                Delivery delivery = channel.unconfirmed.remove(DeliveryAckTracker.getSequence(deliveryId));
+                if (Objects.nonNull(delivery)) {
+                    // Only deliveries sent once are sampled.
+                    if (delivery.attempts == 1) {
+                        this.updateRtt(now - delivery.sendTime);
+                    }
+                    this.confirmed(delivery);
+                }
+            }
+        }
+
+        // Cumulative ack confirms all deliveries up to it.
+        if (Objects.nonNull(ackDeliveryId)) {
+            Channel channel = this.channelIds.get(DeliveryAckTracker.getChannel(ackDeliveryId));
+            if (Objects.nonNull(channel)) {
+                Iterator<Delivery> iterator = channel.unconfirmed.headMap(DeliveryAckTracker.getSequence(ackDeliveryId), true).values().iterator();
+                while (iterator.hasNext()) {
+                    this.confirmed(iterator.next());
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    protected void redeliver() {
+        long now = System.nanoTime();
+        int count = 0;
+        while (!this.redeliverQueue.isEmpty() && count < this.burst) {
+            Delivery delivery = this.redeliverQueue.peek();
+            if (delivery.confirmed) {
+                this.redeliverQueue.poll();
+                continue;
+            }
+
+            if (delivery.dueTime > now) {
+                break;
+            }
+
+            this.redeliverQueue.poll();
+            this.send(delivery);
+            count++;
+        }
+
+        if (count > 0) {
+            REDELIVERED.increment(count);
+            log.debug("Redelivered! count={} rto={}ms", count, TimeUnit.NANOSECONDS.toMillis(this.getRetransmitTimeout()));
+        }
+
+        // Remove idle channels without unconfirmed delivery.
+        long expireTime = now - CHANNEL_EXPIRE_TIME;
+        this.channels.values().removeIf(c -> {
+            boolean expired = c.unconfirmed.isEmpty() && c.accessTime < expireTime;
+            if (expired) {
+                this.channelIds.remove(c.id);
+            }
+            return expired;
+        });
+    }
+
+    protected void flush() {
+        if (Objects.isNull(this.deliveryLog)) {
+            return;
+        }
+
+        try {
+            this.deliveryLog.commit();
+
+            // Rewrite with unconfirmed deliveries only.
+            if (this.deliveryLog.size() >= REWRITE_SIZE) {
+                this.deliveryLog.rewrite(this.getUnconfirmedDeliveries());
+            }
+        } catch (IOException e) {
+            log.error("Delivery log commit failed!", e);
+        }
+
+        // Committed deliveries are sent.
+        this.uncommitted.stream().filter(d -> !d.confirmed).forEach(this::send);
+        this.uncommitted.clear();
+    }
+
+    private Map<Long, byte[]> getUnconfirmedDeliveries() {
+        Map<Long, byte[]> deliveries = new LinkedHashMap<>();
+        this.channels.values().forEach(c -> c.unconfirmed.values().forEach(d -> deliveries.put(d.deliveryId, KryoUtil.serialize(d.request))));
+        return deliveries;
+    }
+
+    private void send(Delivery delivery) {
+        ActorSelection selection = this.getSelection(delivery.request);
+        selection.tell(delivery.request, getSelf());
+
+        delivery.attempts++;
+        delivery.sendTime = System.nanoTime();
+        delivery.dueTime = delivery.sendTime + this.getRedeliverInterval(delivery.attempts);
+        this.redeliverQueue.add(delivery);
+    }
+
+    private void confirmed(Delivery delivery) {
+        delivery.confirmed = true;
+        UNCONFIRMED.decrementAndGet();
+
+        if (Objects.nonNull(this.deliveryLog)) {
+            try {
+                this.deliveryLog.appendConfirm(delivery.deliveryId);
+            } catch (IOException e) {
+                log.error("Delivery log confirm failed! deliveryId={}", delivery.deliveryId, e);
+            }
+        }
+    }
+
+    private Channel newChannel() {
+        // Channel id is reused after wrapping, old one has long been expired.
+        do {
+            this.nextChannelId = this.nextChannelId >= MAX_CHANNEL_ID ? 1 : this.nextChannelId + 1;
+        } while (this.channelIds.containsKey(this.nextChannelId));
+
+        Channel channel = new Channel(this.nextChannelId);
+        this.channelIds.put(channel.id, channel);
+        return channel;
+    }
+
+    private void updateRtt(long rtt) {
+        if (this.smoothedRtt < 0) {
+            this.smoothedRtt = rtt;
+            this.rttVariation = rtt / 2.0;
+            return;
+        }
+
+        this.rttVariation = 0.75 * this.rttVariation + 0.25 * Math.abs(this.smoothedRtt - rtt);
+        this.smoothedRtt = 0.875 * this.smoothedRtt + 0.125 * rtt;
+    }
+
+    private long getRetransmitTimeout() {
+        long min = TimeUnit.MILLISECONDS.toNanos(this.minInterval);
+        if (this.smoothedRtt < 0) {
+            return min;
+        }
+
+        long timeout = (long) (this.smoothedRtt + 4 * this.rttVariation);
+        return Math.min(Math.max(timeout, min), TimeUnit.MILLISECONDS.toNanos(this.maxInterval));
+    }
+
+    private long getRedeliverInterval(int attempts) {
+        // Fixed interval.
+        long max = TimeUnit.MILLISECONDS.toNanos(this.maxInterval);
+        if (this.maxInterval <= this.minInterval) {
+            return max;
+        }
+
+        // Exponential backoff with jitter, so that redeliveries are spread out.
+        long interval = this.getRetransmitTimeout() << Math.min(attempts - 1, 16);
+        interval = Math.min(interval, max);
+        double jitter = 1 + ThreadLocalRandom.current().nextDouble(-JITTER, JITTER);
+        return (long) (interval * jitter);
+    }
+
+    private String getDestination(DeliveryRequest request) {
+        if (request instanceof ContainerBatchTaskStatusRequest) {
+            return ((ContainerBatchTaskStatusRequest) request).getMasterActorPath();
+        }
+
+        if (request instanceof WorkerJobInstanceStatusRequest) {
+            return AkkaConstant.SERVER_ACTOR_WORKER_INSTANCE;
+        }
+
+        if (request instanceof WorkerDelayStatusRequest) {
+            return AkkaConstant.SERVER_ACTOR_WORKER_DELAY_INSTANCE_STATUS;
+        }
+
+        if (request instanceof MasterDestroyContainerRequest) {
+            return WorkerUtil.getWorkerActorPath(((MasterDestroyContainerRequest) request).getWorkerAddress(), "");
+        }
+
+        if (request instanceof MasterStopContainerRequest) {
+            return WorkerUtil.getWorkerActorPath(((MasterStopContainerRequest) request).getWorkerAddress(), "");
+        }
+        return null;
+    }
+
+    private ActorSelection getSelection(DeliveryRequest request) {
+        // Server actor is selected on every send, so that redelivery follows server change.
+        if (request instanceof WorkerJobInstanceStatusRequest) {
+            return WorkerUtil.getServerWorkerJobInstanceActor();
+        }
+
+        if (request instanceof WorkerDelayStatusRequest) {
+            return WorkerUtil.getServerDelayStatusActor();
+        }
+
+        if (request instanceof MasterDestroyContainerRequest) {
+            return WorkerUtil.getWorkerContainerActor(((MasterDestroyContainerRequest) request).getWorkerAddress());
+        }
+
+        if (request instanceof MasterStopContainerRequest) {
+            return WorkerUtil.getWorkerContainerActor(((MasterStopContainerRequest) request).getWorkerAddress());
+        }
+        return getContext().actorSelection(((ContainerBatchTaskStatusRequest) request).getMasterActorPath());
+    }
+
+    private static class Channel {
+        private final int id;
+        private final TreeMap<Long, Delivery> unconfirmed = new TreeMap<>();
+        private long sequence;
+        private long accessTime;
+
+        Channel(int id) {
+            this.id = id;
+        }
+    }
+
+    private static class Delivery {
+        private final Long deliveryId;
+        private final DeliveryRequest request;
+        private int attempts;
+        private long sendTime;
+        private long dueTime;
+        private boolean confirmed;
+
+        Delivery(Long deliveryId, DeliveryRequest request) {
+            this.deliveryId = deliveryId;
+            this.request = request;
+        }
+    }
+}
@@ -25,7 +25,7 @@ public class WorkerPersistentRoutingActor extends UntypedAbstractActor {
         this.size = size;
 
         for (int i = 0; i < size; i++) {
-            ActorRef actorRef = getContext().actorOf(Props.create(WorkerPersistentActor.class, i));
+            ActorRef actorRef = getContext().actorOf(Props.create(WorkerDeliveryActor.class, i));
             actors.add(actorRef);
         }
     }
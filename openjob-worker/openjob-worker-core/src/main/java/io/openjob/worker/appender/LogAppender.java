@@ -1,11 +1,22 @@
 package io.openjob.worker.appender;
 
+import io.openjob.common.task.BatchPolicy;
+import io.openjob.common.task.TaskQueue;
+import io.openjob.common.util.LogFieldUtil;
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.LogOverflowPolicyEnum;
+import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.dto.LogContentDTO;
 import io.openjob.worker.task.LogTaskConsumer;
-import io.openjob.common.task.TaskQueue;
+import io.openjob.worker.util.LogUtil;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
+ * Appends job logs without blocking the logging thread, unless overflow policy is block.
+ *
  * @author stelin swoft@qq.com
  * @since 1.0.0
  */
@@ -13,35 +24,103 @@ import lombok.extern.slf4j.Slf4j;
 public class LogAppender {
     public static final LogAppender INSTANCE = new LogAppender();
 
+    /**
+     * Queue usage over which low level logs are dropped or sampled.
+     */
+    private static final double OVERFLOW_WATERMARK = 0.8D;
+
+    private static final String LEVEL_DEBUG = "DEBUG";
+    private static final String LEVEL_TRACE = "TRACE";
+    private static final String LEVEL_ERROR = "ERROR";
+    private static final String LEVEL_FATAL = "FATAL";
+
     protected TaskQueue<LogContentDTO> logQueue;
 
     protected LogTaskConsumer logTaskConsumer;
 
+    private final LogOverflowPolicyEnum overflowPolicy;
+
+    private final Integer sampleRate;
+
+    private final Integer watermark;
+
+    private final AtomicLong sampleCount = new AtomicLong(0);
+
     private LogAppender() {
-        logQueue = new TaskQueue<>(0L, 10240);
+        this(new TaskQueue<>(0L, OpenjobConfig.getInteger(WorkerConstant.WORKER_LOG_QUEUE_SIZE, WorkerConstant.DEFAULT_WORKER_LOG_QUEUE_SIZE)),
+                LogOverflowPolicyEnum.parse(OpenjobConfig.getString(WorkerConstant.WORKER_LOG_OVERFLOW_POLICY, LogOverflowPolicyEnum.DROP_DEBUG_FIRST.getPolicy())),
+                OpenjobConfig.getInteger(WorkerConstant.WORKER_LOG_OVERFLOW_SAMPLE_RATE, WorkerConstant.DEFAULT_WORKER_LOG_OVERFLOW_SAMPLE_RATE));
+
         logTaskConsumer = new LogTaskConsumer(
                 0L,
                 1,
                 1,
                 "Openjob-log-consumer",
-                100,
+                OpenjobConfig.getInteger(WorkerConstant.WORKER_LOG_BATCH_SIZE, WorkerConstant.DEFAULT_WORKER_LOG_BATCH_SIZE),
                 "Openjob-log-consumer-poll",
                 logQueue
         );
+        logTaskConsumer.setBatchPolicy(new BatchPolicy<>(
+                OpenjobConfig.getInteger(WorkerConstant.WORKER_LOG_BATCH_SIZE, WorkerConstant.DEFAULT_WORKER_LOG_BATCH_SIZE),
+                OpenjobConfig.getLong(WorkerConstant.WORKER_LOG_BATCH_LINGER, WorkerConstant.DEFAULT_WORKER_LOG_BATCH_LINGER),
+                OpenjobConfig.getLong(WorkerConstant.WORKER_LOG_BATCH_BYTES, WorkerConstant.DEFAULT_WORKER_LOG_BATCH_BYTES),
+                c -> LogFieldUtil.fieldSize(c.getFieldList())
+        ));
 
         logTaskConsumer.start();
     }
 
+    /**
+     * New LogAppender without consumer.
+     *
+     * @param logQueue       log queue
+     * @param overflowPolicy overflow policy
+     * @param sampleRate     keep one of sample rate logs when sampled
+     */
+    LogAppender(TaskQueue<LogContentDTO> logQueue, LogOverflowPolicyEnum overflowPolicy, Integer sampleRate) {
+        this.logQueue = logQueue;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.watermark = (int) (logQueue.getCapacity() * OVERFLOW_WATERMARK);
+    }
+
     /**
      * Append content.
      *
      * @param logContentDTO logContentDTO
      */
     public void append(LogContentDTO logContentDTO) {
-        try {
-            logQueue.submit(logContentDTO);
-        } catch (InterruptedException e) {
-            log.error("", e);
+        if (LogOverflowPolicyEnum.BLOCK.equals(this.overflowPolicy)) {
+            try {
+                logQueue.submit(logContentDTO);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LogUtil.addDroppedCount();
+            }
+            return;
+        }
+
+        if (this.isOverflowDropped(logContentDTO) || !logQueue.offer(logContentDTO)) {
+            LogUtil.addDroppedCount();
+        }
+    }
+
+    /**
+     * Whether to drop log when queue is nearly full.
+     *
+     * @param logContentDTO logContentDTO
+     * @return boolean
+     */
+    private boolean isOverflowDropped(LogContentDTO logContentDTO) {
+        if (logQueue.size() < this.watermark) {
+            return false;
+        }
+
+        String level = logContentDTO.getLevel();
+        if (LogOverflowPolicyEnum.SAMPLE.equals(this.overflowPolicy)) {
+            boolean error = LEVEL_ERROR.equalsIgnoreCase(level) || LEVEL_FATAL.equalsIgnoreCase(level);
+            return !error && this.sampleCount.incrementAndGet() % this.sampleRate != 0;
         }
+        return Objects.nonNull(level) && (LEVEL_DEBUG.equalsIgnoreCase(level) || LEVEL_TRACE.equalsIgnoreCase(level));
     }
 }
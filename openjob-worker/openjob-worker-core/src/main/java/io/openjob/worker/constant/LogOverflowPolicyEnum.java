@@ -0,0 +1,49 @@
+package io.openjob.worker.constant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Getter
+@AllArgsConstructor
+public enum LogOverflowPolicyEnum {
+
+    /**
+     * Drop debug and trace logs when queue is nearly full, drop all logs when full.
+     */
+    DROP_DEBUG_FIRST("dropDebugFirst"),
+
+    /**
+     * Keep one of sample rate logs except errors when queue is nearly full, drop all logs when full.
+     */
+    SAMPLE("sample"),
+
+    /**
+     * Block the logging thread until queue has free space.
+     */
+    BLOCK("block"),
+    ;
+
+    /**
+     * Policy
+     */
+    private final String policy;
+
+    /**
+     * Parse policy, default is drop debug first.
+     *
+     * @param policy policy
+     * @return LogOverflowPolicyEnum
+     */
+    public static LogOverflowPolicyEnum parse(String policy) {
+        return Arrays.stream(values())
+                .filter(p -> p.getPolicy().equalsIgnoreCase(policy))
+                .findFirst()
+                .orElse(DROP_DEBUG_FIRST);
+    }
+}
@@ -0,0 +1,57 @@
+package io.openjob.worker.constant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Getter
+@AllArgsConstructor
+public enum TaskReportModeEnum {
+
+    /**
+     * Report all tasks, large task list is compressed in chunks.
+     */
+    DETAIL("detail"),
+
+    /**
+     * Report status count with failed and sampled tasks only.
+     */
+    SUMMARY("summary"),
+
+    /**
+     * Report summary first, then the remaining tasks in compressed chunks.
+     */
+    SUMMARY_DETAIL("summary_detail"),
+    ;
+
+    /**
+     * Mode
+     */
+    private final String mode;
+
+    /**
+     * Parse mode, default is detail.
+     *
+     * @param mode mode
+     * @return TaskReportModeEnum
+     */
+    public static TaskReportModeEnum parse(String mode) {
+        return Arrays.stream(values())
+                .filter(m -> m.getMode().equalsIgnoreCase(mode))
+                .findFirst()
+                .orElse(DETAIL);
+    }
+
+    public Boolean isSummary() {
+        return SUMMARY.equals(this) || SUMMARY_DETAIL.equals(this);
+    }
+
+    public Boolean isDetail() {
+        return DETAIL.equals(this) || SUMMARY_DETAIL.equals(this);
+    }
+}
@@ -35,6 +35,31 @@ public class WorkerConstant {
     public static final String WORKER_DELAY_PULL_SLEEP = "openjob.worker.delay.pull.sleep";
     public static final String WORKER_DELAY_PULL_STEP = "openjob.worker.delay.pull.step";
     public static final String WORKER_DELAY_TIMEOUT = "openjob.worker.delay.timeout";
+    public static final String WORKER_TASK_BODY_DIR = "openjob.worker.task.body.dir";
+    public static final String WORKER_TASK_BODY_SEGMENT_SIZE = "openjob.worker.task.body.segment.size";
+    public static final String WORKER_BROADCAST_PARALLELISM = "openjob.worker.broadcast.parallelism";
+    public static final String WORKER_TASK_REPORT_MODE = "openjob.worker.task.report.mode";
+    public static final String WORKER_TASK_REPORT_CHUNK_SIZE = "openjob.worker.task.report.chunk.size";
+    public static final String WORKER_TASK_REPORT_FAILED_SIZE = "openjob.worker.task.report.failed.size";
+    public static final String WORKER_TASK_REPORT_SAMPLE_SIZE = "openjob.worker.task.report.sample.size";
+    public static final String WORKER_DELIVERY_REDELIVER_MIN_INTERVAL = "openjob.worker.delivery.redeliver.min.interval";
+    public static final String WORKER_DELIVERY_REDELIVER_MAX_INTERVAL = "openjob.worker.delivery.redeliver.max.interval";
+    public static final String WORKER_DELIVERY_REDELIVER_BURST = "openjob.worker.delivery.redeliver.burst";
+    public static final String WORKER_DELIVERY_LOG_ENABLE = "openjob.worker.delivery.log.enable";
+    public static final String WORKER_DELIVERY_LOG_DIR = "openjob.worker.delivery.log.dir";
+    public static final String WORKER_DELIVERY_LOG_FLUSH_INTERVAL = "openjob.worker.delivery.log.flush.interval";
+    public static final String WORKER_SERVER_CONNECTIONS = "openjob.worker.server.connections";
+    public static final String WORKER_SERVER_FAIL_COOLDOWN = "openjob.worker.server.fail.cooldown";
+    public static final String WORKER_LOG_BATCH_SIZE = "openjob.worker.log.batch.size";
+    public static final String WORKER_LOG_BATCH_LINGER = "openjob.worker.log.batch.linger";
+    public static final String WORKER_LOG_BATCH_BYTES = "openjob.worker.log.batch.bytes";
+    public static final String WORKER_LOG_QUEUE_SIZE = "openjob.worker.log.queue.size";
+    public static final String WORKER_LOG_OVERFLOW_POLICY = "openjob.worker.log.overflow.policy";
+    public static final String WORKER_LOG_OVERFLOW_SAMPLE_RATE = "openjob.worker.log.overflow.sample.rate";
+    public static final String WORKER_LOG_SHIP_RETRY_TIMES = "openjob.worker.log.ship.retry.times";
+    public static final String WORKER_LOG_SHIP_TIMEOUT = "openjob.worker.log.ship.timeout";
+    public static final String WORKER_TASK_STATUS_BATCH_SIZE = "openjob.worker.task.status.batch.size";
+    public static final String WORKER_TASK_STATUS_BATCH_LINGER = "openjob.worker.task.status.batch.linger";
 
     /**
      * Default worker config.
@@ -57,6 +82,26 @@ public class WorkerConstant {
     public static final Long DEFAULT_WORKER_DELAY_PULL_SLEEP = 500L;
     public static final Long DEFAULT_WORKER_DELAY_PULL_STEP = 500L;
     public static final Long DEFAULT_WORKER_DELAY_TIMEOUT = 3000L;
+    public static final Integer DEFAULT_WORKER_TASK_BODY_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final Integer DEFAULT_WORKER_BROADCAST_PARALLELISM = 32;
+    public static final Long DEFAULT_WORKER_TASK_REPORT_CHUNK_SIZE = 5000L;
+    public static final Long DEFAULT_WORKER_TASK_REPORT_FAILED_SIZE = 100L;
+    public static final Long DEFAULT_WORKER_TASK_REPORT_SAMPLE_SIZE = 10L;
+    public static final Long DEFAULT_WORKER_DELIVERY_REDELIVER_MIN_INTERVAL = 2000L;
+    public static final Long DEFAULT_WORKER_DELIVERY_REDELIVER_MAX_INTERVAL = 60000L;
+    public static final Integer DEFAULT_WORKER_DELIVERY_REDELIVER_BURST = 1000;
+    public static final Long DEFAULT_WORKER_DELIVERY_LOG_FLUSH_INTERVAL = 10L;
+    public static final Integer DEFAULT_WORKER_SERVER_CONNECTIONS = 3;
+    public static final Long DEFAULT_WORKER_SERVER_FAIL_COOLDOWN = 10000L;
+    public static final Integer DEFAULT_WORKER_LOG_BATCH_SIZE = 100;
+    public static final Long DEFAULT_WORKER_LOG_BATCH_LINGER = 500L;
+    public static final Long DEFAULT_WORKER_LOG_BATCH_BYTES = 256 * 1024L;
+    public static final Integer DEFAULT_WORKER_LOG_QUEUE_SIZE = 10240;
+    public static final Integer DEFAULT_WORKER_LOG_OVERFLOW_SAMPLE_RATE = 10;
+    public static final Integer DEFAULT_WORKER_LOG_SHIP_RETRY_TIMES = 3;
+    public static final Long DEFAULT_WORKER_LOG_SHIP_TIMEOUT = 3000L;
+    public static final Integer DEFAULT_WORKER_TASK_STATUS_BATCH_SIZE = 50;
+    public static final Long DEFAULT_WORKER_TASK_STATUS_BATCH_LINGER = 500L;
 
 
     /**
@@ -66,4 +111,12 @@ public class WorkerConstant {
     public static final String MAP_TASK_REDUCE_NAME = "MR_TASK_REDUCE";
 
     public static final String BROADCAST_NAME = "BROADCAST_TASK";
+
+    /**
+     * Metric
+     */
+    public static final String METRIC_BROADCAST_FAN_OUT = "openjob.worker.broadcast.fanout";
+    public static final String METRIC_BROADCAST_FAN_OUT_FAILED = "openjob.worker.broadcast.fanout.failed";
+    public static final String METRIC_DELIVERY_REDELIVERED = "openjob.worker.delivery.redelivered";
+    public static final String METRIC_DELIVERY_UNCONFIRMED = "openjob.worker.delivery.unconfirmed";
 }
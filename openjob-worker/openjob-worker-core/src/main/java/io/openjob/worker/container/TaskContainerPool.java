@@ -23,4 +23,23 @@ public class TaskContainerPool {
     public static void remove(Long containerId) {
         TASK_CONTAINER_POOL.remove(containerId);
     }
+
+    public static int size() {
+        return TASK_CONTAINER_POOL.size();
+    }
+
+    /**
+     * Active threads of thread task containers.
+     *
+     * @return int
+     */
+    public static int activeCount() {
+        int count = 0;
+        for (TaskContainer container : TASK_CONTAINER_POOL.values()) {
+            if (container instanceof ThreadTaskContainer) {
+                count += ((ThreadTaskContainer) container).getActiveCount();
+            }
+        }
+        return count;
+    }
 }
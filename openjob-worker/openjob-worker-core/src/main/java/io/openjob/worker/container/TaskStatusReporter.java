@@ -1,5 +1,8 @@
 package io.openjob.worker.container;
 
+import io.openjob.common.task.BatchPolicy;
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.request.ContainerTaskStatusRequest;
 import io.openjob.worker.task.ContainerTaskStatusConsumer;
 import io.openjob.common.task.TaskQueue;
@@ -21,10 +24,14 @@ public class TaskStatusReporter {
                 1,
                 1,
                 "Openjob-container-status",
-                50,
+                OpenjobConfig.getInteger(WorkerConstant.WORKER_TASK_STATUS_BATCH_SIZE, WorkerConstant.DEFAULT_WORKER_TASK_STATUS_BATCH_SIZE),
                 "Openjob-container-status-consumer",
                 TASK_QUEUE
         );
+        TASK_CONSUMER.setBatchPolicy(BatchPolicy.of(
+                OpenjobConfig.getInteger(WorkerConstant.WORKER_TASK_STATUS_BATCH_SIZE, WorkerConstant.DEFAULT_WORKER_TASK_STATUS_BATCH_SIZE),
+                OpenjobConfig.getLong(WorkerConstant.WORKER_TASK_STATUS_BATCH_LINGER, WorkerConstant.DEFAULT_WORKER_TASK_STATUS_BATCH_LINGER)
+        ));
 
         TASK_CONSUMER.start();
     }
@@ -43,6 +43,18 @@ public class ThreadTaskContainer extends BaseTaskContainer {
         this.executorService.submit(new ThreadTaskProcessor(jobContext));
     }
 
+    /**
+     * Active threads.
+     *
+     * @return int
+     */
+    public int getActiveCount() {
+        if (this.executorService instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) this.executorService).getActiveCount();
+        }
+        return 0;
+    }
+
     @Override
     public void stop(Integer type) {
         // stop
@@ -12,6 +12,7 @@ import org.h2.jdbc.JdbcBatchUpdateException;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -197,4 +198,54 @@ public class TaskDAO {
             return 0;
         }
     }
+
+    /**
+     * Count task group by status.
+     *
+     * @param instanceId instance id.
+     * @param circleId   circle id.
+     * @return Map
+     */
+    public Map<Integer, Long> countTaskGroupByStatus(Long instanceId, Long circleId) {
+        try {
+            return taskPersistence.countTaskGroupByStatus(instanceId, circleId);
+        } catch (SQLException e) {
+            log.error("Task countTaskGroupByStatus failed!", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Get list by status.
+     *
+     * @param instanceId instance id.
+     * @param circleId   circle id.
+     * @param status     status.
+     * @param size       size
+     * @return List
+     */
+    public List<Task> getListByStatus(Long instanceId, Long circleId, Integer status, Long size) {
+        try {
+            return taskPersistence.findListByStatus(instanceId, circleId, status, size);
+        } catch (SQLException e) {
+            log.error("Task getListByStatus failed!", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Delete by instance id and circle id.
+     *
+     * @param instanceId instance id.
+     * @param circleId   circle id.
+     * @return effect rows.
+     */
+    public Integer deleteByInstanceIdAndCircleId(Long instanceId, Long circleId) {
+        try {
+            return taskPersistence.deleteByInstanceIdAndCircleId(instanceId, circleId);
+        } catch (SQLException e) {
+            log.error("Task deleteByInstanceIdAndCircleId failed!", e);
+            throw new RuntimeException(e);
+        }
+    }
 }
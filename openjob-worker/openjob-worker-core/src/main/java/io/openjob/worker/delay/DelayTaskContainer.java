@@ -87,6 +87,15 @@ public class DelayTaskContainer {
         }
     }
 
+    /**
+     * Tasks waiting in queue.
+     *
+     * @return int
+     */
+    public int getQueueSize() {
+        return this.executorService.getQueue().size();
+    }
+
     /**
      * Stop
      */
@@ -29,6 +29,19 @@ public class DelayTaskContainerPool {
         return DELAY_TASK_POOL.computeIfAbsent(delayId, creator);
     }
 
+    /**
+     * Tasks waiting in all delay containers.
+     *
+     * @return int
+     */
+    public static int queueSize() {
+        int size = 0;
+        for (DelayTaskContainer container : DELAY_TASK_POOL.values()) {
+            size += container.getQueueSize();
+        }
+        return size;
+    }
+
     public static void stop() {
         DELAY_TASK_POOL.forEach((t, c) -> c.stop());
     }
@@ -1,9 +1,9 @@
 package io.openjob.worker.delay;
 
+import io.openjob.common.constant.AkkaConstant;
 import io.openjob.common.request.WorkerDelayTopicPullRequest;
 import io.openjob.common.response.ServerDelayTopicPullResponse;
 import io.openjob.common.util.DateUtil;
-import io.openjob.common.util.FutureUtil;
 import io.openjob.worker.config.OpenjobConfig;
 import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.dao.DelayDAO;
@@ -50,7 +50,7 @@ public class DelayTaskMaster {
         WorkerDelayTopicPullRequest pullRequest = new WorkerDelayTopicPullRequest();
         pullRequest.setAppName(appName);
 
-        ServerDelayTopicPullResponse response = FutureUtil.mustAsk(WorkerUtil.getServerDelayInstanceActor(), pullRequest, ServerDelayTopicPullResponse.class, 3000L);
+        ServerDelayTopicPullResponse response = WorkerUtil.askServer(AkkaConstant.SERVER_ACTOR_WORKER_DELAY_INSTANCE, pullRequest, ServerDelayTopicPullResponse.class, 3000L);
         Long timestamp = DateUtil.timestamp();
 
         // Delay topic
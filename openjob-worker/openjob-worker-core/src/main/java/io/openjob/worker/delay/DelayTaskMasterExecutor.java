@@ -1,13 +1,12 @@
 package io.openjob.worker.delay;
 
-import akka.actor.ActorSelection;
 import com.google.common.collect.Lists;
+import io.openjob.common.constant.AkkaConstant;
 import io.openjob.common.request.WorkerDelayItemPullRequest;
 import io.openjob.common.request.WorkerDelayPullRequest;
 import io.openjob.common.response.ServerDelayInstanceResponse;
 import io.openjob.common.response.ServerDelayPullResponse;
 import io.openjob.common.util.DateUtil;
-import io.openjob.common.util.FutureUtil;
 import io.openjob.worker.config.OpenjobConfig;
 import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.dao.DelayDAO;
@@ -85,8 +84,7 @@ public class DelayTaskMasterExecutor implements Runnable {
         delayPullRequest.setPullItems(pullTopicItems);
 
         // Pull delay instance by akka.
-        ActorSelection instanceActor = WorkerUtil.getServerDelayInstancePullActor();
-        ServerDelayPullResponse delayPullResponse = FutureUtil.mustAsk(instanceActor, delayPullRequest, ServerDelayPullResponse.class, 3000L);
+        ServerDelayPullResponse delayPullResponse = WorkerUtil.askServer(AkkaConstant.SERVER_ACTOR_WORKER_DELAY_INSTANCE_PULL, delayPullRequest, ServerDelayPullResponse.class, 3000L);
 
         //  All topic empty.
         if (CollectionUtils.isEmpty(delayPullResponse.getDelayInstanceResponses())) {
@@ -1,8 +1,8 @@
 package io.openjob.worker.delay;
 
+import io.openjob.common.constant.AkkaConstant;
 import io.openjob.common.request.WorkerDelayAddRequest;
 import io.openjob.common.response.ServerDelayAddResponse;
-import io.openjob.common.util.FutureUtil;
 import io.openjob.worker.config.OpenjobConfig;
 import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.exception.DelayException;
@@ -79,7 +79,7 @@ public class OpenjobDelayTemplate {
         request.setExtra(message.getExtra());
         request.setExecuteTime(message.getExecuteTime());
 
-        ServerDelayAddResponse response = FutureUtil.mustAsk(WorkerUtil.getServerDelayInstanceActor(), request, ServerDelayAddResponse.class, timeout);
+        ServerDelayAddResponse response = WorkerUtil.askServer(AkkaConstant.SERVER_ACTOR_WORKER_DELAY_INSTANCE, request, ServerDelayAddResponse.class, timeout);
         log.info("Delay task send success! taskId={}", response.getTaskId());
         return message.getTaskId();
     }
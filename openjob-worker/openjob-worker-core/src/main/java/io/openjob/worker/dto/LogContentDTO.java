@@ -15,6 +15,11 @@ import java.util.List;
 public class LogContentDTO {
     private List<WorkerJobInstanceTaskLogFieldRequest> fieldList;
 
+    /**
+     * Log level, not reported.
+     */
+    private String level;
+
     public LogContentDTO() {
         this.fieldList = new ArrayList<>();
     }
@@ -32,6 +37,7 @@ public class LogContentDTO {
     }
 
     public void addLevelField(String level) {
+        this.level = level;
         this.addField(LogFieldConstant.LEVEL, level);
     }
 
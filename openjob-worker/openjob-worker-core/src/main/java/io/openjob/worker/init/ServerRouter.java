@@ -0,0 +1,246 @@
+package io.openjob.worker.init;
+
+import akka.actor.ActorSelection;
+import akka.actor.Identify;
+import akka.pattern.Patterns;
+import io.openjob.common.util.FutureUtil;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Routes worker requests over several servers.
+ * A server is selected by smoothed round trip time and requests in flight,
+ * a failed request is retried on the next server, and a failed server is skipped for a cooldown.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Slf4j
+public class ServerRouter {
+
+    /**
+     * Weight of new round trip time sample.
+     */
+    private static final double RTT_ALPHA = 0.2D;
+
+    /**
+     * Servers connected at most.
+     */
+    private final Integer connections;
+
+    /**
+     * Cooldown(ms) of failed server.
+     */
+    private final Long failCooldown;
+
+    /**
+     * Actor selection by server address and actor name.
+     */
+    private final BiFunction<String, String, ActorSelection> selector;
+
+    /**
+     * Connected servers.
+     */
+    private volatile List<ServerNode> servers = Collections.emptyList();
+
+    /**
+     * New ServerRouter
+     *
+     * @param connections  servers connected at most
+     * @param failCooldown cooldown(ms) of failed server
+     * @param selector     actor selection by server address and actor name
+     */
+    public ServerRouter(Integer connections, Long failCooldown, BiFunction<String, String, ActorSelection> selector) {
+        this.connections = connections;
+        this.failCooldown = failCooldown;
+        this.selector = selector;
+    }
+
+    /**
+     * Refresh servers, connected servers still online are kept with their statistics.
+     *
+     * @param addresses online server addresses
+     */
+    public synchronized void refresh(List<String> addresses) {
+        Map<String, ServerNode> current = this.servers.stream().collect(Collectors.toMap(ServerNode::getAddress, Function.identity()));
+
+        List<String> candidates = new ArrayList<>(addresses);
+        Collections.shuffle(candidates);
+        candidates.sort(Comparator.comparing(a -> !current.containsKey(a)));
+
+        List<ServerNode> refreshed = candidates.stream()
+                .limit(this.connections)
+                .map(a -> current.getOrDefault(a, new ServerNode(a)))
+                .collect(Collectors.toList());
+        this.servers = Collections.unmodifiableList(refreshed);
+        log.info("Refresh connected servers success! servers={}", refreshed.stream().map(ServerNode::getAddress).collect(Collectors.toList()));
+    }
+
+    /**
+     * Select the best server.
+     *
+     * @return String, null when no server.
+     */
+    public String select() {
+        List<ServerNode> candidates = this.candidates();
+        return candidates.isEmpty() ? null : candidates.get(0).getAddress();
+    }
+
+    /**
+     * Ask server, retried on next server when failed.
+     *
+     * @param actorName   server actor name
+     * @param request     request
+     * @param ignoredType ignored type
+     * @param ms          timeout(ms) of each server
+     * @param <T>         ignoredType
+     * @return ignoredType
+     */
+    public <T> T ask(String actorName, Object request, Class<T> ignoredType, Long ms) {
+        return this.ask(actorName, request, ignoredType, ms, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Ask servers at most, retried on next server when failed.
+     * Callers retrying by themselves ask one server, so that a failed server is skipped by the next retry.
+     *
+     * @param actorName   server actor name
+     * @param request     request
+     * @param ignoredType ignored type
+     * @param ms          timeout(ms) of each server
+     * @param maxServers  servers asked at most
+     * @param <T>         ignoredType
+     * @return ignoredType
+     */
+    public <T> T ask(String actorName, Object request, Class<T> ignoredType, Long ms, Integer maxServers) {
+        List<ServerNode> candidates = this.candidates();
+        if (CollectionUtils.isEmpty(candidates)) {
+            throw new RuntimeException("No servers are available!");
+        }
+
+        RuntimeException lastException = null;
+        for (ServerNode server : candidates.subList(0, Math.min(maxServers, candidates.size()))) {
+            server.inFlight.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                T response = FutureUtil.mustAsk(this.selector.apply(server.getAddress(), actorName), request, ignoredType, ms);
+                server.success(System.nanoTime() - start);
+                return response;
+            } catch (RuntimeException exception) {
+                server.fail(this.failCooldown);
+                lastException = exception;
+                log.warn("Ask server failed, try next server! server={} actor={}", server.getAddress(), actorName);
+            } finally {
+                server.inFlight.decrementAndGet();
+            }
+        }
+        throw lastException;
+    }
+
+    /**
+     * Probe round trip time of connected servers, so that idle servers are measured and kept connected.
+     *
+     * @param actorName server actor name
+     * @param ms        timeout(ms)
+     */
+    public void probe(String actorName, Long ms) {
+        for (ServerNode server : this.servers) {
+            long start = System.nanoTime();
+            Patterns.ask(this.selector.apply(server.getAddress(), actorName), new Identify(server.getAddress()), Duration.ofMillis(ms))
+                    .whenComplete((r, e) -> {
+                        if (Objects.isNull(e)) {
+                            server.success(System.nanoTime() - start);
+                        } else {
+                            server.fail(this.failCooldown);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Connected servers.
+     *
+     * @return List
+     */
+    public List<ServerNode> getServers() {
+        return this.servers;
+    }
+
+    /**
+     * Servers ordered by load, servers in cooldown are last.
+     *
+     * @return List
+     */
+    private List<ServerNode> candidates() {
+        long now = System.currentTimeMillis();
+        List<ServerNode> candidates = new ArrayList<>(this.servers);
+        Collections.shuffle(candidates);
+        candidates.sort(Comparator.comparing((ServerNode s) -> s.isCooling(now)).thenComparingDouble(ServerNode::score));
+        return candidates;
+    }
+
+    @Getter
+    public static class ServerNode {
+
+        /**
+         * Server address.
+         */
+        private final String address;
+
+        /**
+         * Requests in flight.
+         */
+        private final AtomicInteger inFlight = new AtomicInteger(0);
+
+        /**
+         * Smoothed round trip time(ms), negative is not measured.
+         */
+        private volatile double rtt = -1D;
+
+        /**
+         * Cooldown end time(ms).
+         */
+        private volatile long coolingUntil;
+
+        ServerNode(String address) {
+            this.address = address;
+        }
+
+        /**
+         * Load score, lower is better. Server not measured is preferred, so that it is measured.
+         *
+         * @return double
+         */
+        double score() {
+            return Math.max(this.rtt, 0D) * (this.inFlight.get() + 1);
+        }
+
+        boolean isCooling(long now) {
+            return this.coolingUntil > now;
+        }
+
+        synchronized void success(long nanos) {
+            double sample = nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+            this.rtt = this.rtt < 0 ? sample : this.rtt + RTT_ALPHA * (sample - this.rtt);
+            this.coolingUntil = 0L;
+        }
+
+        void fail(long cooldown) {
+            this.coolingUntil = System.currentTimeMillis() + cooldown;
+        }
+    }
+}
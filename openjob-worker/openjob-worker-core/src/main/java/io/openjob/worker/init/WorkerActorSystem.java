@@ -7,6 +7,7 @@ import akka.routing.RoundRobinPool;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import io.openjob.common.constant.AkkaConstant;
+import io.openjob.common.kryo.KryoPool;
 import io.openjob.worker.actor.DelayTaskMasterActor;
 import io.openjob.worker.actor.TaskContainerActor;
 import io.openjob.worker.actor.TaskMasterActor;
@@ -15,6 +16,13 @@ import io.openjob.worker.actor.WorkerPersistentRoutingActor;
 import io.openjob.worker.config.OpenjobConfig;
 import io.openjob.worker.constant.WorkerAkkaConstant;
 import io.openjob.worker.constant.WorkerConstant;
+import io.openjob.worker.request.ContainerBatchTaskStatusRequest;
+import io.openjob.worker.request.ContainerTaskStatusRequest;
+import io.openjob.worker.request.MasterBatchStartContainerRequest;
+import io.openjob.worker.request.MasterDestroyContainerRequest;
+import io.openjob.worker.request.MasterStartContainerRequest;
+import io.openjob.worker.request.MasterStopContainerRequest;
+import io.openjob.worker.request.ProcessorMapTaskRequest;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
@@ -52,6 +60,8 @@ public class WorkerActorSystem {
             return;
         }
 
+        this.registerKryo();
+
         String akkaConfigFile = OpenjobConfig.getString(WorkerConstant.WORKER_AKKA_CONFIG_FILE, WorkerConstant.DEFAULT_WORKER_AKKA_CONFIG_FILENAME);
         Config defaultConfig = ConfigFactory.load(akkaConfigFile);
         Map<String, String> newConfig = new HashMap<>(16);
@@ -60,11 +70,6 @@ public class WorkerActorSystem {
         newConfig.put("akka.remote.artery.canonical.hostname", WorkerConfig.getWorkerHost());
         newConfig.put("akka.remote.artery.canonical.port", String.valueOf(WorkerConfig.getWorkerPort()));
 
-        // Persistence
-        newConfig.put("akka.persistence.journal.leveldb.dir", this.getPersistencePath("journal"));
-        newConfig.put("akka.persistence.snapshot-store.local.dir", this.getPersistencePath("snapshots"));
-
-
         Config config = ConfigFactory.parseMap(newConfig).withFallback(defaultConfig);
         actorSystem = ActorSystem.create(AkkaConstant.WORKER_SYSTEM_NAME, config);
 
@@ -77,7 +82,7 @@ public class WorkerActorSystem {
                 .withDispatcher(WorkerAkkaConstant.DISPATCHER_HEARTBEAT);
         actorSystem.actorOf(props, AkkaConstant.WORKER_ACTOR_HEARTBEAT);
 
-        // At least once persistent actor.
+        // At least once delivery actor.
         int persistentNum = OpenjobConfig.getInteger(WorkerConstant.WORKER_TASK_PERSISTENT_ACTOR_NUM, WorkerConstant.DEFAULT_WORKER_PERSISTENT_ACTOR_NUM);
         Props persistentProps = Props.create(WorkerPersistentRoutingActor.class, persistentNum)
                 .withDispatcher(WorkerAkkaConstant.DISPATCHER_PERSISTENT_ROUTING);
@@ -125,12 +130,15 @@ public class WorkerActorSystem {
     }
 
     /**
-     * Get persistence
-     *
-     * @param type type
-     * @return String
+     * Register worker messages with stable ids.
      */
-    private String getPersistencePath(String type) {
-        return String.format("target/%s.%d/%s", WorkerConfig.getWorkerHost(), WorkerConfig.getWorkerPort(), type);
+    private void registerKryo() {
+        KryoPool.register(80, ContainerBatchTaskStatusRequest.class);
+        KryoPool.register(81, ContainerTaskStatusRequest.class);
+        KryoPool.register(82, MasterBatchStartContainerRequest.class);
+        KryoPool.register(83, MasterDestroyContainerRequest.class);
+        KryoPool.register(84, MasterStartContainerRequest.class);
+        KryoPool.register(85, MasterStopContainerRequest.class);
+        KryoPool.register(86, ProcessorMapTaskRequest.class);
     }
 }
@@ -8,6 +8,7 @@ import io.openjob.worker.config.OpenjobConfig;
 import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.dto.ClusterDTO;
 import io.openjob.worker.util.HttpClientUtil;
+import io.openjob.worker.util.WorkerUtil;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.client.config.RequestConfig;
@@ -17,7 +18,6 @@ import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.List;
 import java.util.Objects;
-import java.util.Random;
 
 /**
  * @author stelin swoft@qq.com
@@ -32,6 +32,11 @@ public class WorkerConfig {
      */
     private static final Integer SERVER_SPLIT_SIZE = 2;
 
+    /**
+     * Server host and port separator.
+     */
+    private static final String SERVER_SEPARATOR = ":";
+
     /**
      * Worker host name.
      */
@@ -63,14 +68,9 @@ public class WorkerConfig {
     private static String serverAddress;
 
     /**
-     * Server host.
-     */
-    private static volatile String serverHost;
-
-    /**
-     * Server port
+     * Server router.
      */
-    private static volatile Integer serverPort;
+    private static volatile ServerRouter serverRouter;
 
     /**
      * Init
@@ -91,6 +91,12 @@ public class WorkerConfig {
         String defaultAddress = String.format("%s://%s:%d", "http", IpUtil.getLocalAddress(), WorkerConstant.DEFAULT_SERVER_ADDRESS_PORT);
         serverAddress = OpenjobConfig.getString(WorkerConstant.SERVER_ADDRESS, defaultAddress);
 
+        // Server router
+        Integer connections = OpenjobConfig.getInteger(WorkerConstant.WORKER_SERVER_CONNECTIONS, WorkerConstant.DEFAULT_WORKER_SERVER_CONNECTIONS);
+        Long failCooldown = OpenjobConfig.getLong(WorkerConstant.WORKER_SERVER_FAIL_COOLDOWN, WorkerConstant.DEFAULT_WORKER_SERVER_FAIL_COOLDOWN);
+        serverRouter = new ServerRouter(connections, failCooldown, (address, name) -> WorkerActorSystem.getActorSystem()
+                .actorSelection(WorkerUtil.getServerActorPath(address, name)));
+
         // Refresh server
         refreshServer();
     }
@@ -122,19 +128,16 @@ public class WorkerConfig {
                 throw new RuntimeException("No servers are available!");
             }
 
-            // Select one server
-            Random random = new Random();
-            int n = random.nextInt(servers.size());
-            String selectServer = servers.get(n);
-            String[] serverSplit = selectServer.split(":");
-            if (!SERVER_SPLIT_SIZE.equals(serverSplit.length)) {
-                throw new RuntimeException("Select server format error!server=" + selectServer);
-            }
+            // Server format
+            servers.forEach(s -> {
+                if (!SERVER_SPLIT_SIZE.equals(s.split(SERVER_SEPARATOR).length)) {
+                    throw new RuntimeException("Select server format error!server=" + s);
+                }
+            });
 
-            // Refresh
-            serverHost = serverSplit[0];
-            serverPort = Integer.valueOf(serverSplit[1]);
-            log.info("Refresh server success! server={} port={}", serverHost, serverPort);
+            // Refresh, requests are routed over connected servers.
+            serverRouter.refresh(servers);
+            log.info("Refresh server success! servers={}", servers);
         } catch (Throwable e) {
             log.error("Refresh server failed!", e);
         }
@@ -160,11 +163,16 @@ public class WorkerConfig {
         return delayEnable;
     }
 
-    public static String getServerHost() {
-        return serverHost;
+    /**
+     * Address of the best server, such as 127.0.0.1:25588, selected once for host and port.
+     *
+     * @return String, null when no server.
+     */
+    public static String getServerAddress() {
+        return Objects.isNull(serverRouter) ? null : serverRouter.select();
     }
 
-    public static Integer getServerPort() {
-        return serverPort;
+    public static ServerRouter getServerRouter() {
+        return serverRouter;
     }
 }
@@ -1,26 +1,28 @@
 package io.openjob.worker.init;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.openjob.common.constant.AkkaConstant;
 import io.openjob.common.request.WorkerHeartbeatRequest;
 import io.openjob.common.response.ServerHeartbeatResponse;
-import io.openjob.common.util.FutureUtil;
+import io.openjob.common.util.DeltaUtil;
 import io.openjob.worker.OpenjobWorker;
 import io.openjob.worker.config.OpenjobConfig;
 import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.master.TaskMasterPool;
+import io.openjob.worker.util.MetricUtil;
 import io.openjob.worker.util.WorkerUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.CollectionUtils;
 
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 /**
  * @author stelin swoft@qq.com
@@ -40,6 +42,21 @@ public class WorkerHeartbeat {
      */
     private final AtomicInteger failCounter = new AtomicInteger(0);
 
+    /**
+     * Online worker version known by worker, null is unknown.
+     */
+    private Long workerVersion;
+
+    /**
+     * Running job instance ids acknowledged by server.
+     */
+    private Set<Long> ackedRunningIds;
+
+    /**
+     * Running job instance version acknowledged by server, null is unknown.
+     */
+    private Long ackedRunningVersion;
+
     /**
      * New WorkerHeartbeat
      *
@@ -80,17 +97,42 @@ public class WorkerHeartbeat {
     private void doWorkerHeartbeat() {
         int failTimes = OpenjobConfig.getInteger(WorkerConstant.WORKER_HEARTBEAT_FAIL_TIMES, WorkerConstant.DEFAULT_WORKER_HEARTBEAT_FAIL_TIMES);
         String workerAddress = WorkerConfig.getWorkerAddress();
-        String serverAddress = WorkerConfig.getServerHost();
+        String serverAddress = WorkerConfig.getServerAddress();
 
         WorkerHeartbeatRequest heartbeatReq = new WorkerHeartbeatRequest();
         heartbeatReq.setAppId(WorkerContext.getAppId());
         heartbeatReq.setAddress(workerAddress);
         heartbeatReq.setAppName(OpenjobConfig.getString(WorkerConstant.WORKER_APP_NAME));
         heartbeatReq.setVersion("1.0");
-        heartbeatReq.setRunningJobInstanceIds(TaskMasterPool.getRunningTask());
+        heartbeatReq.setWorkerVersion(this.workerVersion);
+        heartbeatReq.setMetric(MetricUtil.collect());
+
+        // Only changes since the version acknowledged by server.
+        Set<Long> runningIds = new HashSet<>(TaskMasterPool.getRunningTask());
+        heartbeatReq.setRunningVersion(DeltaUtil.version(runningIds));
+        if (Objects.isNull(this.ackedRunningVersion)) {
+            heartbeatReq.setRunningJobInstanceIds(new ArrayList<>(runningIds));
+        } else {
+            heartbeatReq.setRunningBaseVersion(this.ackedRunningVersion);
+            heartbeatReq.setAddedJobInstanceIds(new ArrayList<>(DeltaUtil.difference(runningIds, this.ackedRunningIds)));
+            heartbeatReq.setRemovedJobInstanceIds(new ArrayList<>(DeltaUtil.difference(this.ackedRunningIds, runningIds)));
+        }
+
         try {
             //Heartbeat
-            ServerHeartbeatResponse heartbeatResponse = FutureUtil.mustAsk(WorkerUtil.getServerHeartbeatActor(), heartbeatReq, ServerHeartbeatResponse.class, 3000L);
+            ServerHeartbeatResponse heartbeatResponse = WorkerUtil.askServer(AkkaConstant.SERVER_ACTOR_WORKER_HEARTBEAT, heartbeatReq, ServerHeartbeatResponse.class, 3000L);
+
+            // Measure other connected servers.
+            WorkerConfig.getServerRouter().probe(AkkaConstant.SERVER_ACTOR_WORKER_HEARTBEAT, 3000L);
+
+            // Acknowledged running job instances, full list is sent next time if not matched.
+            if (heartbeatReq.getRunningVersion().equals(heartbeatResponse.getRunningVersion())) {
+                this.ackedRunningIds = runningIds;
+                this.ackedRunningVersion = heartbeatReq.getRunningVersion();
+            } else {
+                this.ackedRunningIds = null;
+                this.ackedRunningVersion = null;
+            }
 
             // Refresh worker.
             this.refresh(heartbeatResponse);
@@ -102,7 +144,7 @@ public class WorkerHeartbeat {
             log.error(String.format("Worker heartbeat fail. serverAddress=%s workerAddress=%s failTimes=%s", serverAddress, workerAddress, count), e);
 
             if (count >= failTimes) {
-                log.info("Begin to refresh server! server={} port={} failTimes={}", WorkerConfig.getServerHost(), WorkerConfig.getServerPort(), failTimes);
+                log.info("Begin to refresh server! serverAddress={} failTimes={}", serverAddress, failTimes);
                 WorkerConfig.refreshServer();
 
                 // Reset counter
@@ -130,30 +172,31 @@ public class WorkerHeartbeat {
      * @param heartbeatResponse heartbeatResponse
      */
     private void refreshOnlineWorkers(ServerHeartbeatResponse heartbeatResponse) {
+        // Full list or changes since known version.
+        Set<String> onlineWorkers = heartbeatResponse.getWorkerAddressList();
+        if (Objects.isNull(onlineWorkers)) {
+            onlineWorkers = DeltaUtil.apply(WorkerContext.getOnlineWorkers(), heartbeatResponse.getAddedWorkerAddresses(), heartbeatResponse.getRemovedWorkerAddresses());
+
+            // Full list is required next time.
+            if (!DeltaUtil.version(onlineWorkers).equals(heartbeatResponse.getWorkerVersion())) {
+                log.warn("Online workers version not matched! version={}", heartbeatResponse.getWorkerVersion());
+                this.workerVersion = null;
+                return;
+            }
+        }
+        this.workerVersion = heartbeatResponse.getWorkerVersion();
+
         // Offline workers.
         // Must before refresh context online workers.
-        Set<String> offlineWorkers = new HashSet<>(WorkerContext.getOnlineWorkers());
-        offlineWorkers.removeAll(heartbeatResponse.getWorkerAddressList());
+        Set<String> offlineWorkers = DeltaUtil.difference(WorkerContext.getOnlineWorkers(), onlineWorkers);
         if (!CollectionUtils.isEmpty(offlineWorkers)) {
             log.info("Offline workers! workers={}", offlineWorkers);
             TaskMasterPool.offlineWorkers(offlineWorkers);
         }
 
-        // Online worker unique.
-        String onlineWorkerUnique = heartbeatResponse.getWorkerAddressList()
-                .stream()
-                .sorted(Comparator.comparing(String::hashCode))
-                .collect(Collectors.toList()).toString();
-
-        // Context worker unique.
-        String contextWorkerUnique = WorkerContext.getOnlineWorkers()
-                .stream()
-                .sorted(Comparator.comparing(String::hashCode))
-                .collect(Collectors.toList()).toString();
-
         // Refresh online workers.
-        if (!onlineWorkerUnique.equals(contextWorkerUnique)) {
-            this.openjobWorker.getWorkerContext().refreshOnlineWorkers(heartbeatResponse.getWorkerAddressList());
+        if (!onlineWorkers.equals(WorkerContext.getOnlineWorkers())) {
+            this.openjobWorker.getWorkerContext().refreshOnlineWorkers(onlineWorkers);
         }
     }
 }
@@ -1,10 +1,11 @@
 package io.openjob.worker.init;
 
+import io.openjob.common.constant.AkkaConstant;
 import io.openjob.common.constant.ProtocolTypeEnum;
 import io.openjob.common.request.WorkerStartRequest;
 import io.openjob.common.response.ServerWorkerStartResponse;
-import io.openjob.common.util.FutureUtil;
 import io.openjob.worker.OpenjobWorker;
+import io.openjob.worker.util.MetricUtil;
 import io.openjob.worker.util.WorkerUtil;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,15 +28,16 @@ public class WorkerRegister {
      * Register
      */
     public void register() {
-        String serverAddress = WorkerConfig.getServerHost();
+        String serverAddress = WorkerConfig.getServerAddress();
 
         WorkerStartRequest startReq = new WorkerStartRequest();
         startReq.setAddress(WorkerConfig.getWorkerAddress());
         startReq.setAppName(WorkerConfig.getAppName());
         startReq.setProtocolType(ProtocolTypeEnum.AKKA.getType());
+        startReq.setMetric(MetricUtil.collect());
 
         try {
-            ServerWorkerStartResponse response = FutureUtil.mustAsk(WorkerUtil.getServerWorkerActor(), startReq, ServerWorkerStartResponse.class, 15000L);
+            ServerWorkerStartResponse response = WorkerUtil.askServer(AkkaConstant.SERVER_ACTOR_WORKER, startReq, ServerWorkerStartResponse.class, 15000L);
             log.info("Register worker success. serverAddress={} workerAddress={}", serverAddress, WorkerConfig.getWorkerAddress());
 
             // Do register.
@@ -1,8 +1,8 @@
 package io.openjob.worker.init;
 
+import io.openjob.common.constant.AkkaConstant;
 import io.openjob.common.request.WorkerStopRequest;
 import io.openjob.common.response.ServerResponse;
-import io.openjob.common.util.FutureUtil;
 import io.openjob.worker.OpenjobWorker;
 import io.openjob.worker.util.WorkerUtil;
 import lombok.extern.slf4j.Slf4j;
@@ -45,7 +45,7 @@ public class WorkerShutdown {
      * Openjob worker stop.
      */
     private void stop() {
-        String serverAddress = WorkerConfig.getServerHost();
+        String serverAddress = WorkerConfig.getServerAddress();
         String workerAddress = WorkerConfig.getWorkerAddress();
         String appName = WorkerConfig.getAppName();
 
@@ -54,7 +54,7 @@ public class WorkerShutdown {
         stopRequest.setAddress(workerAddress);
 
         try {
-            FutureUtil.mustAsk(WorkerUtil.getServerWorkerActor(), stopRequest, ServerResponse.class, 3000L);
+            WorkerUtil.askServer(AkkaConstant.SERVER_ACTOR_WORKER, stopRequest, ServerResponse.class, 3000L);
         } catch (Throwable e) {
             log.error("Stop worker fail. serverAddress={} workerAddress={} message={}", serverAddress, workerAddress, e.getMessage());
         }
@@ -11,9 +11,14 @@ import io.openjob.common.constant.TaskStatusEnum;
 import io.openjob.common.constant.TimeExpressionTypeEnum;
 import io.openjob.common.request.WorkerJobInstanceStatusRequest;
 import io.openjob.common.request.WorkerJobInstanceTaskRequest;
+import io.openjob.common.util.CompressUtil;
 import io.openjob.common.util.DateUtil;
+import io.openjob.common.util.KryoUtil;
 import io.openjob.common.util.TaskUtil;
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.TaskReportModeEnum;
 import io.openjob.worker.constant.WorkerAkkaConstant;
+import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.dao.TaskDAO;
 import io.openjob.worker.dto.JobInstanceDTO;
 import io.openjob.worker.entity.Task;
@@ -26,8 +31,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.util.CollectionUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -41,6 +49,11 @@ import java.util.stream.Collectors;
 @Slf4j
 public abstract class AbstractTaskMaster implements TaskMaster {
 
+    /**
+     * Task list not larger than this size is reported without compression.
+     */
+    protected static final Integer PLAIN_REPORT_SIZE = 100;
+
     protected AtomicLong taskIdGenerator = new AtomicLong(0);
 
     protected AtomicLong circleIdGenerator = new AtomicLong(0);
@@ -231,6 +244,7 @@ public abstract class AbstractTaskMaster implements TaskMaster {
         task.setTaskName(startRequest.getTaskName());
         task.setStatus(TaskStatusEnum.INIT.getStatus());
         task.setWorkerAddress(workerAddress);
+        task.setTaskBody(startRequest.getTask());
         return task;
     }
 
@@ -242,6 +256,7 @@ public abstract class AbstractTaskMaster implements TaskMaster {
         containerRequest.setParentTaskId(TaskUtil.getRandomUniqueIdLastId(task.getTaskParentId()));
         containerRequest.setCircleId(task.getCircleId());
         containerRequest.setTaskName(task.getTaskName());
+        containerRequest.setTask(task.getTaskBody());
         return containerRequest;
     }
 
@@ -285,7 +300,6 @@ public abstract class AbstractTaskMaster implements TaskMaster {
         return nonFinishCount <= 0;
     }
 
-    @SuppressWarnings("all")
     protected void doCompleteTask() {
         long circleId = this.circleIdGenerator.get();
         long instanceId = this.jobInstanceDTO.getJobInstanceId();
@@ -294,10 +308,27 @@ public abstract class AbstractTaskMaster implements TaskMaster {
         int instanceStatus = this.getInstanceStatus();
         int failStatus = this.getFailStatus();
 
-        long size = 100;
+        String mode = OpenjobConfig.getString(WorkerConstant.WORKER_TASK_REPORT_MODE, TaskReportModeEnum.DETAIL.getMode());
+        TaskReportModeEnum reportMode = TaskReportModeEnum.parse(mode);
+
         long page = CommonConstant.FIRST_PAGE;
+
+        // Summary report.
+        if (reportMode.isSummary()) {
+            this.doReportSummary(instanceStatus, failStatus);
+            page++;
+
+            // Summary only, remaining tasks are dropped.
+            if (!reportMode.isDetail()) {
+                this.taskDAO.deleteByInstanceIdAndCircleId(instanceId, circleId);
+                return;
+            }
+        }
+
+        // Detail report.
+        long size = OpenjobConfig.getLong(WorkerConstant.WORKER_TASK_REPORT_CHUNK_SIZE, WorkerConstant.DEFAULT_WORKER_TASK_REPORT_CHUNK_SIZE);
         while (true) {
-            List<Task> queryTask = TaskDAO.INSTANCE.getList(instanceId, circleId, size);
+            List<Task> queryTask = this.taskDAO.getList(instanceId, circleId, size);
 
             // Empty query.
             if (CollectionUtils.isEmpty(queryTask)) {
@@ -309,30 +340,24 @@ public abstract class AbstractTaskMaster implements TaskMaster {
                     .map(this::convertToTaskRequest)
                     .collect(Collectors.toList());
 
-            WorkerJobInstanceStatusRequest instanceRequest = new WorkerJobInstanceStatusRequest();
-            instanceRequest.setCircleId(circleId);
-            instanceRequest.setJobInstanceId(instanceId);
-            instanceRequest.setJobId(this.jobInstanceDTO.getJobId());
-            instanceRequest.setStatus(instanceStatus);
-            instanceRequest.setFailStatus(failStatus);
-            instanceRequest.setTaskRequestList(taskRequestList);
-            instanceRequest.setPage(page);
+            WorkerJobInstanceStatusRequest instanceRequest = this.getInstanceStatusRequest(instanceStatus, failStatus, page);
+
+            // Small task list is sent as it is, large task list is compressed.
+            if (taskRequestList.size() <= PLAIN_REPORT_SIZE) {
+                instanceRequest.setTaskRequestList(taskRequestList);
+            } else {
+                instanceRequest.setCompressedTaskList(CompressUtil.compress(KryoUtil.serialize(taskRequestList)));
+            }
 
             WorkerActorSystem.atLeastOnceDelivery(instanceRequest, null);
 
             // Delete tasks.
             List<String> deleteTaskIds = queryTask.stream().map(Task::getTaskId).collect(Collectors.toList());
-            taskDAO.batchDeleteByTaskIds(deleteTaskIds);
+            this.taskDAO.batchDeleteByTaskIds(deleteTaskIds);
 
             // Next page.
             page++;
 
-            try {
-                Thread.sleep(30);
-            } catch (InterruptedException e) {
-                log.error("DoCompleteTask sleep error!", e);
-            }
-
             // Query complete.
             if (queryTask.size() < size) {
                 break;
@@ -340,6 +365,51 @@ public abstract class AbstractTaskMaster implements TaskMaster {
         }
     }
 
+    /**
+     * Report status count with failed and sampled tasks.
+     *
+     * @param instanceStatus instance status
+     * @param failStatus     fail status
+     */
+    protected void doReportSummary(Integer instanceStatus, Integer failStatus) {
+        long circleId = this.circleIdGenerator.get();
+        long instanceId = this.jobInstanceDTO.getJobInstanceId();
+        long failedSize = OpenjobConfig.getLong(WorkerConstant.WORKER_TASK_REPORT_FAILED_SIZE, WorkerConstant.DEFAULT_WORKER_TASK_REPORT_FAILED_SIZE);
+        long sampleSize = OpenjobConfig.getLong(WorkerConstant.WORKER_TASK_REPORT_SAMPLE_SIZE, WorkerConstant.DEFAULT_WORKER_TASK_REPORT_SAMPLE_SIZE);
+
+        // Failed tasks first, then sampled tasks of other status.
+        Map<Integer, Long> rawStatusCount = this.taskDAO.countTaskGroupByStatus(instanceId, circleId);
+        List<Task> reportTasks = new ArrayList<>(this.taskDAO.getListByStatus(instanceId, circleId, TaskStatusEnum.FAILED.getStatus(), failedSize));
+        rawStatusCount.keySet().stream()
+                .filter(s -> !TaskStatusEnum.isFailed(s))
+                .forEach(s -> reportTasks.addAll(this.taskDAO.getListByStatus(instanceId, circleId, s, sampleSize)));
+
+        // Status count after stop conversion.
+        Map<Integer, Long> statusCount = new HashMap<>(16);
+        rawStatusCount.forEach((s, c) -> statusCount.merge(this.getTaskStatus(s), c, Long::sum));
+
+        WorkerJobInstanceStatusRequest instanceRequest = this.getInstanceStatusRequest(instanceStatus, failStatus, CommonConstant.FIRST_PAGE);
+        instanceRequest.setTaskStatusCount(statusCount);
+        instanceRequest.setTaskRequestList(reportTasks.stream().map(this::convertToTaskRequest).collect(Collectors.toList()));
+        WorkerActorSystem.atLeastOnceDelivery(instanceRequest, null);
+
+        // Reported tasks are not reported again.
+        if (!reportTasks.isEmpty()) {
+            this.taskDAO.batchDeleteByTaskIds(reportTasks.stream().map(Task::getTaskId).collect(Collectors.toList()));
+        }
+    }
+
+    protected WorkerJobInstanceStatusRequest getInstanceStatusRequest(Integer instanceStatus, Integer failStatus, Long page) {
+        WorkerJobInstanceStatusRequest instanceRequest = new WorkerJobInstanceStatusRequest();
+        instanceRequest.setCircleId(this.circleIdGenerator.get());
+        instanceRequest.setJobInstanceId(this.jobInstanceDTO.getJobInstanceId());
+        instanceRequest.setJobId(this.jobInstanceDTO.getJobId());
+        instanceRequest.setStatus(instanceStatus);
+        instanceRequest.setFailStatus(failStatus);
+        instanceRequest.setPage(page);
+        return instanceRequest;
+    }
+
     protected Integer getInstanceStatus() {
         // Normal stop
         if (JobInstanceStopEnum.isNormal(this.stopping.get())) {
@@ -1,24 +1,37 @@
 package io.openjob.worker.master;
 
 import akka.actor.ActorContext;
-import akka.actor.ActorSelection;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.openjob.common.constant.TaskStatusEnum;
 import io.openjob.common.response.WorkerResponse;
 import io.openjob.common.util.FutureUtil;
+import io.openjob.worker.config.OpenjobConfig;
 import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.context.JobContext;
 import io.openjob.worker.dto.JobInstanceDTO;
+import io.openjob.worker.entity.Task;
 import io.openjob.worker.init.WorkerContext;
 import io.openjob.worker.processor.ProcessorHandler;
 import io.openjob.worker.request.MasterStartContainerRequest;
 import io.openjob.worker.util.ProcessorUtil;
 import io.openjob.worker.util.WorkerUtil;
+import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * @author stelin swoft@qq.com
  * @since 1.0.0
  */
+@Slf4j
 public class BroadcastTaskMaster extends AbstractDistributeTaskMaster {
     public BroadcastTaskMaster(JobInstanceDTO jobInstanceDTO, ActorContext actorContext) {
         super(jobInstanceDTO, actorContext);
@@ -46,22 +59,96 @@ public class BroadcastTaskMaster extends AbstractDistributeTaskMaster {
             e.printStackTrace();
         }
 
-        WorkerContext.getOnlineWorkers().forEach(workerAddress -> {
-            ActorSelection workerSelection = WorkerUtil.getWorkerContainerActor(workerAddress);
-            MasterStartContainerRequest startRequest = this.getMasterStartContainerRequest();
+        List<String> workers = new ArrayList<>(WorkerContext.getOnlineWorkers());
+        List<MasterStartContainerRequest> startRequests = workers.stream()
+                .map(w -> this.getMasterStartContainerRequest())
+                .collect(Collectors.toList());
 
-            // Persist tasks.
-            this.persistTasks(workerAddress, Collections.singletonList(startRequest));
+        // Persist all broadcast tasks in one batch.
+        List<Task> taskList = new ArrayList<>(workers.size());
+        for (int i = 0; i < workers.size(); i++) {
+            taskList.add(this.convertToTask(startRequests.get(i), workers.get(i)));
+        }
+        this.taskDAO.batchAdd(taskList);
+
+        // Add container workers and switch running status.
+        this.containerWorkers.addAll(workers);
+        this.running.set(true);
+
+        // Fan out
+        this.fanOut(workers, startRequests);
+
+        // Add task manager
+        this.addTask2Manager();
+    }
+
+    /**
+     * Dispatch start requests concurrently, at most `parallelism` requests are in flight.
+     *
+     * @param workers       workers
+     * @param startRequests start requests
+     */
+    protected void fanOut(List<String> workers, List<MasterStartContainerRequest> startRequests) {
+        int parallelism = OpenjobConfig.getInteger(WorkerConstant.WORKER_BROADCAST_PARALLELISM, WorkerConstant.DEFAULT_WORKER_BROADCAST_PARALLELISM);
+        Semaphore semaphore = new Semaphore(parallelism);
+        AtomicInteger failedCount = new AtomicInteger(0);
+        long startTime = System.nanoTime();
+
+        List<CompletableFuture<WorkerResponse>> futures = new ArrayList<>(workers.size());
+        for (int i = 0; i < workers.size(); i++) {
+            String workerAddress = workers.get(i);
+            MasterStartContainerRequest startRequest = startRequests.get(i);
 
             try {
-                FutureUtil.mustAsk(workerSelection, startRequest, WorkerResponse.class, 3000L);
-            } catch (Exception e) {
-                e.printStackTrace();
+                semaphore.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Broadcast fan out interrupted! jobInstanceId={}", this.jobInstanceDTO.getJobInstanceId());
+                return;
             }
+
+            CompletableFuture<WorkerResponse> future = FutureUtil.ask(WorkerUtil.getWorkerContainerActor(workerAddress), startRequest, WorkerResponse.class, 3000L)
+                    .whenComplete((r, e) -> {
+                        semaphore.release();
+                        if (e != null) {
+                            failedCount.incrementAndGet();
+                            this.failTask(workerAddress, startRequest, e);
+                        }
+                    });
+            futures.add(future);
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((r, e) -> {
+            long elapsed = System.nanoTime() - startTime;
+            Timer.builder(WorkerConstant.METRIC_BROADCAST_FAN_OUT)
+                    .description("Broadcast fan out duration")
+                    .tag("result", failedCount.get() > 0 ? "partial" : "success")
+                    .register(Metrics.globalRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            Metrics.counter(WorkerConstant.METRIC_BROADCAST_FAN_OUT_FAILED).increment(failedCount.get());
+
+            log.info("Broadcast fan out complete! jobInstanceId={} workers={} failed={} cost={}ms",
+                    this.jobInstanceDTO.getJobInstanceId(), workers.size(), failedCount.get(), TimeUnit.NANOSECONDS.toMillis(elapsed));
         });
+    }
 
-        // Add task manager
-        this.addTask2Manager();
+    /**
+     * Worker is unreachable, fail the task so that instance can complete.
+     *
+     * @param workerAddress worker address
+     * @param startRequest  start request
+     * @param throwable     throwable
+     */
+    protected void failTask(String workerAddress, MasterStartContainerRequest startRequest, Throwable throwable) {
+        log.error("Broadcast dispatch failed! workerAddress={} taskId={} message={}", workerAddress, startRequest.getTaskUniqueId(), throwable.getMessage());
+
+        String result = String.format("Broadcast dispatch to %s failed! message=%s", workerAddress, throwable.getMessage());
+        Task task = new Task(startRequest.getTaskUniqueId(), TaskStatusEnum.FAILED.getStatus(), result);
+        try {
+            this.taskDAO.batchUpdateStatusByTaskId(Collections.singletonList(task), TaskStatusEnum.FAILED.getStatus());
+        } catch (Throwable e) {
+            log.error("Broadcast fail task failed!", e);
+        }
     }
 
     protected void postProcess() {
@@ -0,0 +1,196 @@
+package io.openjob.worker.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Append only log of unconfirmed deliveries. Records are buffered and written with one fsync
+ * for each commit, so that many deliveries share the cost of one disk flush.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class DeliveryLog implements Closeable {
+
+    /**
+     * Delivery record.
+     */
+    private static final byte DELIVERY = 1;
+
+    /**
+     * Confirm record.
+     */
+    private static final byte CONFIRM = 2;
+
+    /**
+     * Log path.
+     */
+    private final Path path;
+
+    /**
+     * Uncommitted records.
+     */
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    /**
+     * Uncommitted records output.
+     */
+    private final DataOutputStream bufferOutput = new DataOutputStream(this.buffer);
+
+    /**
+     * Log channel.
+     */
+    private FileChannel channel;
+
+    /**
+     * New DeliveryLog
+     *
+     * @param directory directory
+     * @param name      log name
+     * @throws IOException IOException
+     */
+    public DeliveryLog(String directory, String name) throws IOException {
+        Path directoryPath = Paths.get(directory);
+        Files.createDirectories(directoryPath);
+
+        this.path = directoryPath.resolve(name);
+        this.channel = this.open(this.path);
+    }
+
+    /**
+     * Recover unconfirmed deliveries, a torn record at the end is ignored.
+     *
+     * @return delivery id to body
+     * @throws IOException IOException
+     */
+    public Map<Long, byte[]> recover() throws IOException {
+        Map<Long, byte[]> deliveries = new LinkedHashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.path)))) {
+            while (true) {
+                byte type = in.readByte();
+                long deliveryId = in.readLong();
+                if (type == CONFIRM) {
+                    deliveries.remove(deliveryId);
+                    continue;
+                }
+
+                byte[] body = new byte[in.readInt()];
+                in.readFully(body);
+                deliveries.put(deliveryId, body);
+            }
+        } catch (EOFException eofException) {
+            return deliveries;
+        }
+    }
+
+    /**
+     * Append delivery.
+     *
+     * @param deliveryId delivery id
+     * @param body       body
+     * @throws IOException IOException
+     */
+    public void appendDelivery(long deliveryId, byte[] body) throws IOException {
+        this.bufferOutput.writeByte(DELIVERY);
+        this.bufferOutput.writeLong(deliveryId);
+        this.bufferOutput.writeInt(body.length);
+        this.bufferOutput.write(body);
+    }
+
+    /**
+     * Append confirm.
+     *
+     * @param deliveryId delivery id
+     * @throws IOException IOException
+     */
+    public void appendConfirm(long deliveryId) throws IOException {
+        this.bufferOutput.writeByte(CONFIRM);
+        this.bufferOutput.writeLong(deliveryId);
+    }
+
+    /**
+     * Uncommitted bytes.
+     *
+     * @return int
+     */
+    public int uncommittedSize() {
+        return this.buffer.size();
+    }
+
+    /**
+     * Write uncommitted records and flush to disk.
+     *
+     * @throws IOException IOException
+     */
+    public void commit() throws IOException {
+        if (this.buffer.size() == 0) {
+            return;
+        }
+
+        ByteBuffer byteBuffer = ByteBuffer.wrap(this.buffer.toByteArray());
+        this.buffer.reset();
+        while (byteBuffer.hasRemaining()) {
+            this.channel.write(byteBuffer);
+        }
+        this.channel.force(false);
+    }
+
+    /**
+     * Log size.
+     *
+     * @return long
+     * @throws IOException IOException
+     */
+    public long size() throws IOException {
+        return this.channel.size();
+    }
+
+    /**
+     * Rewrite log with unconfirmed deliveries only.
+     *
+     * @param deliveries delivery id to body
+     * @throws IOException IOException
+     */
+    public void rewrite(Map<Long, byte[]> deliveries) throws IOException {
+        this.commit();
+
+        Path rewritePath = this.path.resolveSibling(this.path.getFileName() + ".rewrite");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(rewritePath))) {
+            for (Map.Entry<Long, byte[]> entry : deliveries.entrySet()) {
+                out.writeByte(DELIVERY);
+                out.writeLong(entry.getKey());
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+        }
+
+        this.channel.close();
+        Files.move(rewritePath, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.channel = this.open(this.path);
+        this.channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.commit();
+        this.channel.close();
+    }
+
+    private FileChannel open(Path logPath) throws IOException {
+        return FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
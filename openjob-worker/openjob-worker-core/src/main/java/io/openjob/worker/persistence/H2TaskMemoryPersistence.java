@@ -1,16 +1,23 @@
 package io.openjob.worker.persistence;
 
 import io.openjob.common.constant.TaskStatusEnum;
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.entity.Task;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -25,12 +32,26 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
      */
     private final H2ConnectionPool connectionPool;
 
+    /**
+     * Task body storage.
+     */
+    private final MappedTaskBodyStorage bodyStorage;
+
     /**
      * constructor.
      */
     public H2TaskMemoryPersistence() {
         this.connectionPool = new H2ConnectionPool();
 
+        String defaultDirectory = Paths.get(System.getProperty("java.io.tmpdir"), "openjob").toString();
+        String bodyDirectory = OpenjobConfig.getString(WorkerConstant.WORKER_TASK_BODY_DIR, defaultDirectory);
+        Integer segmentSize = OpenjobConfig.getInteger(WorkerConstant.WORKER_TASK_BODY_SEGMENT_SIZE, WorkerConstant.DEFAULT_WORKER_TASK_BODY_SEGMENT_SIZE);
+        try {
+            this.bodyStorage = new MappedTaskBodyStorage(bodyDirectory, segmentSize);
+        } catch (IOException e) {
+            throw new RuntimeException("Task body storage initialize failed!", e);
+        }
+
         try {
             this.initTable();
         } catch (Exception e) {
@@ -51,7 +72,8 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
                 + "  `status` tinyint(2) unsigned NOT NULL DEFAULT '1',"
                 + "  `worker_address` varchar(64) NOT NULL DEFAULT '',"
                 + "  `result` longtext,"
-                + "  `task_body` blob,"
+                + "  `body_address` bigint(20) NOT NULL DEFAULT '-1',"
+                + "  `body_length` int(11) NOT NULL DEFAULT '0',"
                 + "  `create_time` bigint(12) unsigned NOT NULL,"
                 + "  `update_time` bigint(12) unsigned NOT NULL,"
                 + "  PRIMARY KEY (`id`),"
@@ -77,10 +99,11 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
                 + "`status`,"
                 + "`worker_address`,"
                 + "`result`,"
-                + "`task_body`,"
+                + "`body_address`,"
+                + "`body_length`,"
                 + "`create_time`,"
                 + "`update_time`"
-                + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+                + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
         PreparedStatement ps = null;
         try (Connection connection = this.connectionPool.getConnection()) {
@@ -96,9 +119,10 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
                 ps.setInt(7, task.getStatus());
                 ps.setString(8, task.getWorkerAddress());
                 ps.setString(9, task.getResult());
-                ps.setBytes(10, task.getTaskBody());
-                ps.setLong(11, task.getCreateTime());
-                ps.setLong(12, task.getUpdateTime());
+                ps.setLong(10, this.appendBody(task.getTaskBody()));
+                ps.setInt(11, Objects.isNull(task.getTaskBody()) ? 0 : task.getTaskBody().length);
+                ps.setLong(12, task.getCreateTime());
+                ps.setLong(13, task.getUpdateTime());
                 ps.addBatch();
             }
             int[] result = ps.executeBatch();
@@ -122,7 +146,7 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
             rs = ps.executeQuery();
 
             if (rs.next()) {
-                return convert(rs);
+                return convert(rs, true);
             }
 
             return null;
@@ -135,11 +159,32 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
 
     @Override
     public Integer batchDeleteByTaskIds(List<String> taskIds) throws SQLException {
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+
+        String placeholders = StringUtils.join(Collections.nCopies(taskIds.size(), "?"), ",");
+        String bodySql = String.format("SELECT `body_address`,`body_length` FROM `task` WHERE `task_id` IN (%s)", placeholders);
         String sql = "DELETE FROM `task` WHERE `task_id` = ?";
 
+        List<long[]> bodies = new ArrayList<>();
         PreparedStatement ps = null;
         try (Connection connection = this.connectionPool.getConnection()) {
             connection.setAutoCommit(false);
+
+            // Body references to reclaim.
+            try (PreparedStatement bodyPs = connection.prepareStatement(bodySql)) {
+                for (int i = 0; i < taskIds.size(); i++) {
+                    bodyPs.setString(i + 1, taskIds.get(i));
+                }
+
+                try (ResultSet rs = bodyPs.executeQuery()) {
+                    while (rs.next()) {
+                        bodies.add(new long[]{rs.getLong("body_address"), rs.getInt("body_length")});
+                    }
+                }
+            }
+
             ps = connection.prepareStatement(sql);
             for (String taskId : taskIds) {
                 ps.setString(1, taskId);
@@ -149,6 +194,9 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
             int[] counts = ps.executeBatch();
             connection.commit();
             connection.setAutoCommit(true);
+
+            // Release bodies after rows deleted.
+            bodies.forEach(b -> this.bodyStorage.release(b[0], (int) b[1]));
             return counts.length;
         } finally {
             if (Objects.nonNull(ps)) {
@@ -261,7 +309,7 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
 
             List<Task> taskList = new ArrayList<>();
             while (rs.next()) {
-                taskList.add(convert(rs));
+                taskList.add(convert(rs, true));
             }
             return taskList;
         } finally {
@@ -302,9 +350,55 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
             ps.setLong(3, size);
             rs = ps.executeQuery();
 
+            // Task list is only used to report status, body is not required.
+            List<Task> taskList = new ArrayList<>();
+            while (rs.next()) {
+                taskList.add(convert(rs, false));
+            }
+            return taskList;
+        } finally {
+            if (Objects.nonNull(rs)) {
+                rs.close();
+            }
+        }
+    }
+
+    @Override
+    public Map<Integer, Long> countTaskGroupByStatus(Long instanceId, Long circleId) throws SQLException {
+        String sql = "SELECT `status`, COUNT(*) AS `total` FROM `task` WHERE `instance_id`=? AND `circle_id`=? GROUP BY `status`";
+
+        ResultSet rs = null;
+        try (Connection connection = this.connectionPool.getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, instanceId);
+            ps.setLong(2, circleId);
+            rs = ps.executeQuery();
+
+            Map<Integer, Long> statusCount = new HashMap<>(16);
+            while (rs.next()) {
+                statusCount.put(rs.getInt("status"), rs.getLong("total"));
+            }
+            return statusCount;
+        } finally {
+            if (Objects.nonNull(rs)) {
+                rs.close();
+            }
+        }
+    }
+
+    @Override
+    public List<Task> findListByStatus(Long instanceId, Long circleId, Integer status, Long size) throws SQLException {
+        ResultSet rs = null;
+        String sql = "SELECT * FROM `task` WHERE `instance_id`=? AND `circle_id`=? AND `status`=? LIMIT ?";
+        try (Connection connection = this.connectionPool.getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, instanceId);
+            ps.setLong(2, circleId);
+            ps.setInt(3, status);
+            ps.setLong(4, size);
+            rs = ps.executeQuery();
+
             List<Task> taskList = new ArrayList<>();
             while (rs.next()) {
-                taskList.add(convert(rs));
+                taskList.add(convert(rs, false));
             }
             return taskList;
         } finally {
@@ -314,13 +408,63 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
         }
     }
 
+    @Override
+    public Integer deleteByInstanceIdAndCircleId(Long instanceId, Long circleId) throws SQLException {
+        String bodySql = "SELECT `body_address`,`body_length` FROM `task` WHERE `instance_id`=? AND `circle_id`=? AND `body_address`<>-1";
+        String sql = "DELETE FROM `task` WHERE `instance_id`=? AND `circle_id`=?";
+
+        List<long[]> bodies = new ArrayList<>();
+        try (Connection connection = this.connectionPool.getConnection()) {
+            connection.setAutoCommit(false);
+
+            // Body references to reclaim.
+            try (PreparedStatement bodyPs = connection.prepareStatement(bodySql)) {
+                bodyPs.setLong(1, instanceId);
+                bodyPs.setLong(2, circleId);
+                try (ResultSet rs = bodyPs.executeQuery()) {
+                    while (rs.next()) {
+                        bodies.add(new long[]{rs.getLong("body_address"), rs.getInt("body_length")});
+                    }
+                }
+            }
+
+            int rows;
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setLong(1, instanceId);
+                ps.setLong(2, circleId);
+                rows = ps.executeUpdate();
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+
+            // Release bodies after rows deleted.
+            bodies.forEach(b -> this.bodyStorage.release(b[0], (int) b[1]));
+            return rows;
+        }
+    }
+
+    /**
+     * Append task body to storage.
+     *
+     * @param body body
+     * @return body address
+     */
+    private long appendBody(byte[] body) throws SQLException {
+        try {
+            return this.bodyStorage.append(body);
+        } catch (IOException e) {
+            throw new SQLException("Task body append failed!", e);
+        }
+    }
+
     /**
      * Convert result set to Task object.
      *
-     * @param rs result set.
+     * @param rs       result set.
+     * @param withBody whether to read task body.
      * @return Task
      */
-    private Task convert(ResultSet rs) throws SQLException {
+    private Task convert(ResultSet rs, Boolean withBody) throws SQLException {
         Task task = new Task();
         task.setJobId(rs.getLong("job_id"));
         task.setInstanceId(rs.getLong("instance_id"));
@@ -331,7 +475,9 @@ public class H2TaskMemoryPersistence implements TaskPersistence {
         task.setStatus(rs.getInt("status"));
         task.setResult(rs.getString("result"));
         task.setWorkerAddress(rs.getString("worker_address"));
-        task.setTaskBody(rs.getBytes("task_body"));
+        if (withBody) {
+            task.setTaskBody(this.bodyStorage.read(rs.getLong("body_address"), rs.getInt("body_length")));
+        }
         task.setCreateTime(rs.getLong("create_time"));
         task.setUpdateTime(rs.getLong("update_time"));
         return task;
@@ -0,0 +1,303 @@
+package io.openjob.worker.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append only task body storage backed by memory mapped segment files.
+ * A body is referenced by an address, high 32 bits is segment id and low 32 bits is position.
+ * Each body is preceded by a state byte, so that a body is released once, and positions are never reused.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+@Slf4j
+public class MappedTaskBodyStorage {
+
+    /**
+     * Address of empty body.
+     */
+    public static final long NULL_ADDRESS = -1L;
+
+    /**
+     * Segment file prefix.
+     */
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    /**
+     * Segment id bits.
+     */
+    private static final int SEGMENT_SHIFT = 32;
+
+    /**
+     * Position mask.
+     */
+    private static final long POSITION_MASK = 0xFFFFFFFFL;
+
+    /**
+     * State byte before body.
+     */
+    private static final int HEADER_SIZE = 1;
+    private static final byte LIVE = 1;
+    private static final byte RELEASED = 0;
+
+    /**
+     * Segment directory.
+     */
+    private final Path directory;
+
+    /**
+     * Segment size.
+     */
+    private final Integer segmentSize;
+
+    /**
+     * Segments.
+     */
+    private final Map<Integer, Segment> segments = new ConcurrentHashMap<>();
+
+    /**
+     * Active segment to append.
+     */
+    private Segment activeSegment;
+
+    /**
+     * Next segment id.
+     */
+    private int nextSegmentId;
+
+    /**
+     * New MappedTaskBodyStorage
+     *
+     * @param baseDirectory base directory
+     * @param segmentSize   segment size
+     * @throws IOException IOException
+     */
+    public MappedTaskBodyStorage(String baseDirectory, Integer segmentSize) throws IOException {
+        Path basePath = Paths.get(baseDirectory);
+        Files.createDirectories(basePath);
+
+        this.directory = Files.createTempDirectory(basePath, "task-body-");
+        this.directory.toFile().deleteOnExit();
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Append body.
+     *
+     * @param body body
+     * @return address
+     * @throws IOException IOException
+     */
+    public synchronized long append(byte[] body) throws IOException {
+        if (Objects.isNull(body)) {
+            return NULL_ADDRESS;
+        }
+
+        int size = HEADER_SIZE + body.length;
+        if (Objects.isNull(this.activeSegment) || this.activeSegment.remaining() < size) {
+            this.rollSegment(size);
+        }
+
+        Segment segment = this.activeSegment;
+        int position = segment.writePosition;
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(position);
+        buffer.put(LIVE);
+        buffer.put(body);
+
+        segment.writePosition += size;
+        segment.liveBytes.addAndGet(body.length);
+        return ((long) segment.id << SEGMENT_SHIFT) | position;
+    }
+
+    /**
+     * Read body.
+     *
+     * @param address address
+     * @param length  length
+     * @return body
+     */
+    public byte[] read(long address, int length) {
+        if (address == NULL_ADDRESS) {
+            return null;
+        }
+
+        byte[] body = new byte[length];
+        if (length == 0) {
+            return body;
+        }
+
+        Segment segment = this.segments.get(getSegmentId(address));
+        if (Objects.isNull(segment)) {
+            throw new IllegalStateException(String.format("Task body segment has been reclaimed! address=%d", address));
+        }
+
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(getPosition(address) + HEADER_SIZE);
+        buffer.get(body);
+        return body;
+    }
+
+    /**
+     * Release body, sealed segment will be reclaimed when all bodies released. Releasing a body again is ignored.
+     *
+     * @param address address
+     * @param length  length
+     */
+    public void release(long address, int length) {
+        if (address == NULL_ADDRESS || length == 0) {
+            return;
+        }
+
+        Segment segment = this.segments.get(getSegmentId(address));
+        if (Objects.isNull(segment) || !segment.release(getPosition(address))) {
+            return;
+        }
+
+        if (segment.liveBytes.addAndGet(-length) <= 0) {
+            this.reclaim(segment);
+        }
+    }
+
+    /**
+     * Segment count.
+     *
+     * @return Integer
+     */
+    public Integer segmentCount() {
+        return this.segments.size();
+    }
+
+    /**
+     * Live bytes of all segments.
+     *
+     * @return Long
+     */
+    public Long liveBytes() {
+        return this.segments.values().stream().mapToLong(s -> s.liveBytes.get()).sum();
+    }
+
+    private synchronized void reclaim(Segment segment) {
+        // Active segment is reclaimed after sealed.
+        if (segment == this.activeSegment) {
+            return;
+        }
+
+        if (Objects.isNull(this.segments.remove(segment.id))) {
+            return;
+        }
+
+        segment.close();
+    }
+
+    private void rollSegment(int minSize) throws IOException {
+        Segment previous = this.activeSegment;
+
+        int size = Math.max(this.segmentSize, minSize);
+        this.activeSegment = new Segment(this.nextSegmentId++, this.directory, size);
+        this.segments.put(this.activeSegment.id, this.activeSegment);
+
+        // Previous segment is sealed, reclaim if no live body.
+        if (Objects.nonNull(previous) && previous.liveBytes.get() <= 0) {
+            this.reclaim(previous);
+        }
+    }
+
+    private static int getSegmentId(long address) {
+        return (int) (address >>> SEGMENT_SHIFT);
+    }
+
+    private static int getPosition(long address) {
+        return (int) (address & POSITION_MASK);
+    }
+
+    private static class Segment {
+        private final Integer id;
+        private final File file;
+        private final MappedByteBuffer buffer;
+        private final AtomicLong liveBytes = new AtomicLong(0);
+        private int writePosition;
+        private boolean closed;
+
+        Segment(Integer id, Path directory, Integer size) throws IOException {
+            this.id = id;
+            this.file = directory.resolve(SEGMENT_PREFIX + id).toFile();
+            this.file.deleteOnExit();
+
+            // Mapping stays valid after the channel is closed.
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(this.file, "rw")) {
+                this.buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+        }
+
+        int remaining() {
+            return this.buffer.capacity() - this.writePosition;
+        }
+
+        /**
+         * Mark body at position released.
+         *
+         * @param position position
+         * @return false when released before or segment closed.
+         */
+        synchronized boolean release(int position) {
+            if (this.closed || this.buffer.get(position) != LIVE) {
+                return false;
+            }
+
+            this.buffer.put(position, RELEASED);
+            return true;
+        }
+
+        synchronized void close() {
+            // Unmapped now instead of by gc, so that memory of segment is freed when reclaimed.
+            this.closed = true;
+            unmap(this.buffer);
+
+            try {
+                Files.deleteIfExists(this.file.toPath());
+            } catch (IOException e) {
+                log.warn("Task body segment close failed! file={} message={}", this.file, e.getMessage());
+            }
+        }
+
+        private static void unmap(MappedByteBuffer buffer) {
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Method invokeCleaner;
+                try {
+                    invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                } catch (NoSuchMethodException e) {
+                    // Java 8
+                    Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                    cleanerMethod.setAccessible(true);
+                    Object cleaner = cleanerMethod.invoke(buffer);
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                    return;
+                }
+
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                invokeCleaner.invoke(field.get(null), buffer);
+            } catch (Exception e) {
+                log.warn("Task body segment unmap failed, unmapped by gc! message={}", e.getMessage());
+            }
+        }
+    }
+}
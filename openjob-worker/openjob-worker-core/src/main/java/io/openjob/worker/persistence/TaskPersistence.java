@@ -4,6 +4,7 @@ import io.openjob.worker.entity.Task;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author stelin swoft@qq.com
@@ -106,4 +107,36 @@ public interface TaskPersistence {
      * @throws SQLException SQLException
      */
     List<Task> pullFailoverListBySize(Long instanceId, Long size) throws SQLException;
+
+    /**
+     * Count task group by status.
+     *
+     * @param instanceId instance id
+     * @param circleId   circle id
+     * @return Map
+     * @throws SQLException SQLException
+     */
+    Map<Integer, Long> countTaskGroupByStatus(Long instanceId, Long circleId) throws SQLException;
+
+    /**
+     * Find list by status.
+     *
+     * @param instanceId instance id
+     * @param circleId   circle id
+     * @param status     status
+     * @param size       size
+     * @return List
+     * @throws SQLException SQLException
+     */
+    List<Task> findListByStatus(Long instanceId, Long circleId, Integer status, Long size) throws SQLException;
+
+    /**
+     * Delete by instance id and circle id.
+     *
+     * @param instanceId instance id
+     * @param circleId   circle id
+     * @return Integer
+     * @throws SQLException SQLException
+     */
+    Integer deleteByInstanceIdAndCircleId(Long instanceId, Long circleId) throws SQLException;
 }
@@ -1,5 +1,6 @@
 package io.openjob.worker.request;
 
+import io.openjob.common.request.DeliveryRequest;
 import lombok.Data;
 
 import java.io.Serializable;
@@ -9,7 +10,7 @@ import java.io.Serializable;
  * @since 1.0.0
  */
 @Data
-public class MasterDestroyContainerRequest implements Serializable {
+public class MasterDestroyContainerRequest implements Serializable, DeliveryRequest {
     private Long deliveryId;
 
     private Long jobId;
@@ -1,14 +1,21 @@
 package io.openjob.worker.task;
 
+import io.openjob.common.constant.AkkaConstant;
 import io.openjob.common.request.WorkerJobInstanceTaskLogFieldRequest;
 import io.openjob.common.request.WorkerJobInstanceTaskLogRequest;
+import io.openjob.common.response.ServerResponse;
 import io.openjob.common.task.BaseConsumer;
 import io.openjob.common.task.TaskQueue;
+import io.openjob.common.util.LogFieldUtil;
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.WorkerConstant;
 import io.openjob.worker.dto.LogContentDTO;
+import io.openjob.worker.util.LogUtil;
 import io.openjob.worker.util.WorkerUtil;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -18,6 +25,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class LogTaskConsumer extends BaseConsumer<LogContentDTO> {
 
+    /**
+     * Retry interval(ms), doubled on each retry.
+     */
+    private static final long RETRY_INTERVAL = 200L;
+
+    /**
+     * Max retry interval(ms).
+     */
+    private static final long RETRY_MAX_INTERVAL = 5000L;
+
     public LogTaskConsumer(Long id,
                            Integer consumerCoreThreadNum,
                            Integer consumerMaxThreadNum,
@@ -47,13 +64,35 @@ public class LogTaskConsumer extends BaseConsumer<LogContentDTO> {
             //Field list.
             List<List<WorkerJobInstanceTaskLogFieldRequest>> fieldList = this.contentList.stream()
                     .map(LogContentDTO::getFieldList).collect(Collectors.toList());
-            logRequest.setFieldList(fieldList);
+            logRequest.setContent(LogFieldUtil.encodeFields(fieldList));
+
+            // Retried until acknowledged, dropped after retry times. Each time asks one server,
+            // a failed server is cooling down, so that the next time goes to another server.
+            Integer retryTimes = OpenjobConfig.getInteger(WorkerConstant.WORKER_LOG_SHIP_RETRY_TIMES, WorkerConstant.DEFAULT_WORKER_LOG_SHIP_RETRY_TIMES);
+            Long timeout = OpenjobConfig.getLong(WorkerConstant.WORKER_LOG_SHIP_TIMEOUT, WorkerConstant.DEFAULT_WORKER_LOG_SHIP_TIMEOUT);
+            for (int i = 0; i <= retryTimes; i++) {
+                try {
+                    WorkerUtil.askServer(AkkaConstant.SERVER_ACTOR_WORKER_INSTANCE_TASK_LOG, logRequest, ServerResponse.class, timeout, 1);
+                    return;
+                } catch (Throwable throwable) {
+                    log.warn("Ship task log failed! lines={} times={} message={}", fieldList.size(), i + 1, throwable.getMessage());
+                }
 
-            try {
-                WorkerUtil.getServerWorkerJobInstanceTaskLogActor().tell(logRequest, null);
-            } catch (Throwable throwable) {
-                log.error("Log appender error", throwable);
+                // No wait after the last time.
+                if (i >= retryTimes) {
+                    break;
+                }
+
+                try {
+                    TimeUnit.MILLISECONDS.sleep(Math.min(RETRY_MAX_INTERVAL, RETRY_INTERVAL << i));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
             }
+
+            log.error("Task log dropped after retry! lines={}", fieldList.size());
+            fieldList.forEach(f -> LogUtil.addDroppedCount());
         }
     }
 }
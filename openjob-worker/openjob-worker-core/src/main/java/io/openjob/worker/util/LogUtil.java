@@ -7,6 +7,7 @@ import io.openjob.worker.dto.LogContentDTO;
 import io.openjob.worker.init.WorkerConfig;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author stelin swoft@qq.com
@@ -14,6 +15,11 @@ import java.util.Objects;
  */
 public class LogUtil {
 
+    /**
+     * Logs dropped by appenders since started.
+     */
+    private static final AtomicLong DROPPED_COUNT = new AtomicLong(0);
+
     /**
      * Get log content.
      *
@@ -46,4 +52,20 @@ public class LogUtil {
         logContent.addDelayTopic(context.getDelayTopic());
         return logContent;
     }
+
+    /**
+     * Count dropped log.
+     */
+    public static void addDroppedCount() {
+        DROPPED_COUNT.incrementAndGet();
+    }
+
+    /**
+     * Logs dropped since started.
+     *
+     * @return Long
+     */
+    public static Long getDroppedCount() {
+        return DROPPED_COUNT.get();
+    }
 }
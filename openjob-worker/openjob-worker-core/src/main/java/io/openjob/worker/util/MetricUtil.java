@@ -0,0 +1,67 @@
+package io.openjob.worker.util;
+
+import io.openjob.common.request.WorkerStartRequest;
+import io.openjob.worker.container.TaskContainerPool;
+import io.openjob.worker.delay.DelayTaskContainerPool;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class MetricUtil {
+
+    /**
+     * Unknown cpu load.
+     */
+    private static final double UNKNOWN_CPU_LOAD = -1D;
+
+    private MetricUtil() {
+
+    }
+
+    /**
+     * Collect runtime load of worker.
+     *
+     * @return Metric
+     */
+    public static WorkerStartRequest.Metric collect() {
+        OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+        WorkerStartRequest.Metric metric = new WorkerStartRequest.Metric();
+        metric.setProcessors(osBean.getAvailableProcessors());
+        metric.setCpuLoad(getCpuLoad(osBean));
+        metric.setHeapUsed(heap.getUsed());
+        metric.setHeapMax(heap.getMax() > 0 ? heap.getMax() : heap.getCommitted());
+        metric.setContainerThreads(TaskContainerPool.activeCount());
+        metric.setContainerSize(TaskContainerPool.size());
+        metric.setDelayQueueSize(DelayTaskContainerPool.queueSize());
+        metric.setLogDropped(LogUtil.getDroppedCount());
+        return metric;
+    }
+
+    /**
+     * Process cpu load, or system load average per processor when not supported.
+     *
+     * @param osBean os bean
+     * @return double
+     */
+    private static double getCpuLoad(OperatingSystemMXBean osBean) {
+        if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+            double load = ((com.sun.management.OperatingSystemMXBean) osBean).getProcessCpuLoad();
+            if (load >= 0) {
+                return load;
+            }
+        }
+
+        double average = osBean.getSystemLoadAverage();
+        if (average < 0) {
+            return UNKNOWN_CPU_LOAD;
+        }
+        return Math.min(1D, average / osBean.getAvailableProcessors());
+    }
+}
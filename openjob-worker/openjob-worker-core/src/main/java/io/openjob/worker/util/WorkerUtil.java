@@ -54,26 +54,6 @@ public class WorkerUtil {
         return WorkerActorSystem.getActorSystem().actorSelection(getServerActorPath(address, AkkaConstant.SERVER_ACTOR_WORKER_INSTANCE));
     }
 
-    public static ActorSelection getServerWorkerJobInstanceTaskLogActor() {
-        String address = getServerAddress();
-        return WorkerActorSystem.getActorSystem().actorSelection(getServerActorPath(address, AkkaConstant.SERVER_ACTOR_WORKER_INSTANCE_TASK_LOG));
-    }
-
-    public static ActorSelection getServerHeartbeatActor() {
-        String address = getServerAddress();
-        return WorkerActorSystem.getActorSystem().actorSelection(getServerActorPath(address, AkkaConstant.SERVER_ACTOR_WORKER_HEARTBEAT));
-    }
-
-    public static ActorSelection getServerDelayInstanceActor() {
-        String address = getServerAddress();
-        return WorkerActorSystem.getActorSystem().actorSelection(getServerActorPath(address, AkkaConstant.SERVER_ACTOR_WORKER_DELAY_INSTANCE));
-    }
-
-    public static ActorSelection getServerDelayInstancePullActor() {
-        String address = getServerAddress();
-        return WorkerActorSystem.getActorSystem().actorSelection(getServerActorPath(address, AkkaConstant.SERVER_ACTOR_WORKER_DELAY_INSTANCE_PULL));
-    }
-
     public static ActorSelection getServerDelayStatusActor() {
         String address = getServerAddress();
         return WorkerActorSystem.getActorSystem().actorSelection(getServerActorPath(address, AkkaConstant.SERVER_ACTOR_WORKER_DELAY_INSTANCE_STATUS));
@@ -92,8 +72,42 @@ public class WorkerUtil {
         return String.format(AkkaConstant.AKKA_PATH_FORMAT, AkkaConstant.SERVER_SYSTEM_NAME, address, name);
     }
 
+    /**
+     * Address of the best server.
+     *
+     * @return String
+     */
     public static String getServerAddress() {
-        return String.format("%s:%d", WorkerConfig.getServerHost(), WorkerConfig.getServerPort());
+        return WorkerConfig.getServerAddress();
+    }
+
+    /**
+     * Ask server, retried on next server when failed.
+     *
+     * @param actorName   server actor name
+     * @param request     request
+     * @param ignoredType ignored type
+     * @param ms          timeout(ms) of each server
+     * @param <T>         ignoredType
+     * @return ignoredType
+     */
+    public static <T> T askServer(String actorName, Object request, Class<T> ignoredType, Long ms) {
+        return WorkerConfig.getServerRouter().ask(actorName, request, ignoredType, ms);
+    }
+
+    /**
+     * Ask servers at most, retried on next server when failed.
+     *
+     * @param actorName   server actor name
+     * @param request     request
+     * @param ignoredType ignored type
+     * @param ms          timeout(ms) of each server
+     * @param maxServers  servers asked at most
+     * @param <T>         ignoredType
+     * @return ignoredType
+     */
+    public static <T> T askServer(String actorName, Object request, Class<T> ignoredType, Long ms, Integer maxServers) {
+        return WorkerConfig.getServerRouter().ask(actorName, request, ignoredType, ms, maxServers);
     }
 
     public static String getWorkerActorPath(String address, String path) {
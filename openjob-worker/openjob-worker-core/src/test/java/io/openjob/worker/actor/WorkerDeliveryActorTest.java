@@ -0,0 +1,165 @@
+package io.openjob.worker.actor;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import com.typesafe.config.ConfigFactory;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.openjob.common.actor.DeliveryAckTracker;
+import io.openjob.common.response.Result;
+import io.openjob.common.response.WorkerResponse;
+import io.openjob.worker.config.OpenjobConfig;
+import io.openjob.worker.constant.WorkerConstant;
+import io.openjob.worker.request.ContainerBatchTaskStatusRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redelivery of unconfirmed messages and recovery from delivery log.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class WorkerDeliveryActorTest {
+    private static final int MESSAGE_COUNT = 1000;
+    private static final long PROCESS_TIME = 1L;
+
+    @AfterEach
+    public void after() {
+        OpenjobConfig.removeConfig(WorkerConstant.WORKER_DELIVERY_REDELIVER_MIN_INTERVAL);
+        OpenjobConfig.removeConfig(WorkerConstant.WORKER_DELIVERY_REDELIVER_MAX_INTERVAL);
+        OpenjobConfig.removeConfig(WorkerConstant.WORKER_DELIVERY_LOG_ENABLE);
+        OpenjobConfig.removeConfig(WorkerConstant.WORKER_DELIVERY_LOG_DIR);
+    }
+
+    @Test
+    public void testRedeliverUntilConfirmed() throws Exception {
+        this.setConfig(false, Files.createTempDirectory("openjob").toString());
+
+        // First receipt of each message is not acked.
+        Map<Long, Integer> received = this.deliver(true, 1);
+        Assertions.assertEquals(MESSAGE_COUNT, received.size());
+        Assertions.assertTrue(received.values().stream().allMatch(c -> c >= 2));
+    }
+
+    @Test
+    public void testRedeliveryBounded() throws Exception {
+        this.setConfig(false, Files.createTempDirectory("openjob").toString());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            long startTime = System.nanoTime();
+            Map<Long, Integer> received = this.deliver(true, Integer.MAX_VALUE);
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            Assertions.assertEquals(MESSAGE_COUNT, received.size());
+
+            // Redeliveries back off from 50ms to 200ms, jitter waits at least 40ms, 80ms and then 160ms.
+            double redelivered = registry.counter(WorkerConstant.METRIC_DELIVERY_REDELIVERED).count();
+            long bound = MESSAGE_COUNT * (3 + elapsed / 160);
+            Assertions.assertTrue(redelivered > 0);
+            Assertions.assertTrue(redelivered <= bound, String.format("redelivered=%s bound=%s", redelivered, bound));
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    @Test
+    public void testRecoverFromLog() throws Exception {
+        this.setConfig(true, Files.createTempDirectory("openjob").toString());
+
+        // Nothing is acked before stop, all deliveries are left in log.
+        Map<Long, Integer> unconfirmed = this.deliver(true, Integer.MAX_VALUE);
+        Assertions.assertEquals(MESSAGE_COUNT, unconfirmed.size());
+
+        // Recovered deliveries are delivered by a new actor.
+        Map<Long, Integer> recovered = this.deliver(false, 0);
+        Assertions.assertEquals(MESSAGE_COUNT, recovered.size());
+    }
+
+    private void setConfig(Boolean logEnable, String logDir) {
+        OpenjobConfig.setConfig(WorkerConstant.WORKER_DELIVERY_REDELIVER_MIN_INTERVAL, "50");
+        OpenjobConfig.setConfig(WorkerConstant.WORKER_DELIVERY_REDELIVER_MAX_INTERVAL, "200");
+        OpenjobConfig.setConfig(WorkerConstant.WORKER_DELIVERY_LOG_ENABLE, String.valueOf(logEnable));
+        OpenjobConfig.setConfig(WorkerConstant.WORKER_DELIVERY_LOG_DIR, logDir);
+    }
+
+    /**
+     * Deliver messages until each is received.
+     *
+     * @param send      whether to send messages, or only recover from log
+     * @param dropTimes receipts of each message not acked
+     * @return receipts of messages
+     * @throws Exception Exception
+     */
+    private Map<Long, Integer> deliver(Boolean send, Integer dropTimes) throws Exception {
+        ActorSystem system = ActorSystem.create("delivery", ConfigFactory.parseString("akka.actor.provider = local")
+                .withFallback(ConfigFactory.defaultReference()));
+        try {
+            Map<Long, Integer> received = new ConcurrentHashMap<>(MESSAGE_COUNT);
+            ActorRef receiver = system.actorOf(Props.create(SlowReceiverActor.class, received, dropTimes), "master");
+            ActorRef delivery = system.actorOf(Props.create(WorkerDeliveryActor.class, 0));
+
+            for (long i = 0; send && i < MESSAGE_COUNT; i++) {
+                ContainerBatchTaskStatusRequest request = new ContainerBatchTaskStatusRequest();
+                request.setJobInstanceId(i);
+                request.setMasterActorPath(receiver.path().toStringWithoutAddress());
+                delivery.tell(request, ActorRef.noSender());
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            while (!this.isReceived(received, dropTimes) && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            return received;
+        } finally {
+            system.terminate();
+            system.getWhenTerminated().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private boolean isReceived(Map<Long, Integer> received, Integer dropTimes) {
+        if (received.size() < MESSAGE_COUNT) {
+            return false;
+        }
+
+        // Never acked messages are received once.
+        int times = dropTimes == Integer.MAX_VALUE ? 1 : dropTimes + 1;
+        return received.values().stream().allMatch(c -> c >= times);
+    }
+
+    public static class SlowReceiverActor extends AbstractActor {
+        private final Map<Long, Integer> received;
+        private final Integer dropTimes;
+
+        public SlowReceiverActor(Map<Long, Integer> received, Integer dropTimes) {
+            this.received = received;
+            this.dropTimes = dropTimes;
+        }
+
+        @Override
+        public Receive createReceive() {
+            return receiveBuilder()
+                    .match(ContainerBatchTaskStatusRequest.class, this::handle)
+                    .build();
+        }
+
+        private void handle(ContainerBatchTaskStatusRequest request) throws InterruptedException {
+            TimeUnit.MILLISECONDS.sleep(PROCESS_TIME);
+            Integer times = this.received.merge(request.getJobInstanceId(), 1, Integer::sum);
+            if (times <= this.dropTimes) {
+                return;
+            }
+
+            Long ackDeliveryId = DeliveryAckTracker.ack(getSender(), request.getDeliveryId());
+            getSender().tell(Result.success(new WorkerResponse(request.getDeliveryId(), ackDeliveryId)), getSelf());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.openjob.worker.appender;
+
+import io.openjob.common.task.TaskQueue;
+import io.openjob.worker.constant.LogOverflowPolicyEnum;
+import io.openjob.worker.dto.LogContentDTO;
+import io.openjob.worker.util.LogUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appenders here have no consumer, as if the server is stalled.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class LogAppenderTest {
+
+    private static final int THREADS = 4;
+    private static final int LOGS = 50_000;
+
+    @Test
+    public void testDropDebugFirst() {
+        TaskQueue<LogContentDTO> queue = new TaskQueue<>(0L, 100);
+        LogAppender appender = new LogAppender(queue, LogOverflowPolicyEnum.DROP_DEBUG_FIRST, 10);
+        long dropped = LogUtil.getDroppedCount();
+
+        append(appender, "INFO", 80);
+        append(appender, "DEBUG", 10);
+        Assertions.assertEquals(80, queue.size());
+
+        // Other levels are kept until full.
+        append(appender, "INFO", 30);
+        Assertions.assertEquals(100, queue.size());
+        Assertions.assertEquals(20, LogUtil.getDroppedCount() - dropped);
+    }
+
+    @Test
+    public void testSample() {
+        TaskQueue<LogContentDTO> queue = new TaskQueue<>(0L, 100);
+        LogAppender appender = new LogAppender(queue, LogOverflowPolicyEnum.SAMPLE, 10);
+
+        append(appender, "INFO", 80);
+        append(appender, "INFO", 50);
+        Assertions.assertEquals(85, queue.size());
+
+        // Errors are not sampled.
+        append(appender, "ERROR", 5);
+        Assertions.assertEquals(90, queue.size());
+    }
+
+    /**
+     * Logging threads are never blocked when the server is stalled, each log is either queued or dropped.
+     */
+    @Test
+    public void testStalledServer() throws InterruptedException {
+        for (LogOverflowPolicyEnum policy : Arrays.asList(LogOverflowPolicyEnum.DROP_DEBUG_FIRST, LogOverflowPolicyEnum.SAMPLE)) {
+            TaskQueue<LogContentDTO> queue = new TaskQueue<>(0L, 10240);
+            LogAppender appender = new LogAppender(queue, policy, 10);
+            long dropped = LogUtil.getDroppedCount();
+            ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+            CountDownLatch latch = new CountDownLatch(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                executorService.submit(() -> {
+                    for (int i = 0; i < LOGS; i++) {
+                        appender.append(newContent(i % 2 == 0 ? "DEBUG" : "INFO"));
+                    }
+                    latch.countDown();
+                });
+            }
+
+            // Never blocked.
+            Assertions.assertTrue(latch.await(30, TimeUnit.SECONDS));
+            executorService.shutdownNow();
+
+            Assertions.assertTrue(queue.size() <= 10240);
+            Assertions.assertEquals(THREADS * LOGS, queue.size() + LogUtil.getDroppedCount() - dropped);
+        }
+
+        // Block policy stalls the logging thread.
+        LogAppender appender = new LogAppender(new TaskQueue<>(0L, 10240), LogOverflowPolicyEnum.BLOCK, 10);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        CountDownLatch latch = new CountDownLatch(1);
+        executorService.submit(() -> {
+            append(appender, "INFO", 10241);
+            latch.countDown();
+        });
+        Assertions.assertFalse(latch.await(500, TimeUnit.MILLISECONDS));
+        executorService.shutdownNow();
+    }
+
+    private static void append(LogAppender appender, String level, int size) {
+        for (int i = 0; i < size; i++) {
+            appender.append(newContent(level));
+        }
+    }
+
+    private static LogContentDTO newContent(String level) {
+        LogContentDTO content = new LogContentDTO();
+        content.addLevelField(level);
+        content.addMessageField("message");
+        return content;
+    }
+}
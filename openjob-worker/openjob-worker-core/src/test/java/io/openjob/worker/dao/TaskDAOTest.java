@@ -5,6 +5,7 @@ import io.openjob.worker.entity.Task;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -151,4 +152,29 @@ public class TaskDAOTest {
         Set<Long> collect = getList.stream().map(Task::getJobId).collect(Collectors.toSet());
         Assertions.assertEquals(collect.size(), testSize);
     }
+
+    @Test
+    public void testTaskBody() {
+        String taskId = String.valueOf(UUID.randomUUID());
+        byte[] taskBody = "map task body".getBytes(StandardCharsets.UTF_8);
+
+        Task task = new Task();
+        task.setJobId(1L);
+        task.setInstanceId(13L);
+        task.setCircleId(0L);
+        task.setTaskId(taskId);
+        task.setTaskName("MAP");
+        task.setTaskParentId(String.valueOf(0));
+        task.setStatus(1);
+        task.setWorkerAddress("");
+        task.setTaskBody(taskBody);
+        TaskDAO.INSTANCE.add(task);
+
+        Task queryTask = TaskDAO.INSTANCE.getByTaskId(taskId);
+        Assertions.assertArrayEquals(taskBody, queryTask.getTaskBody());
+
+        int deleteRows = TaskDAO.INSTANCE.batchDeleteByTaskIds(Collections.singletonList(taskId));
+        Assertions.assertEquals(deleteRows, 1);
+        Assertions.assertNull(TaskDAO.INSTANCE.getByTaskId(taskId));
+    }
 }
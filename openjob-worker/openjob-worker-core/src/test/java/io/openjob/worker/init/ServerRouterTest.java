@@ -0,0 +1,156 @@
+package io.openjob.worker.init;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import io.openjob.common.constant.AkkaConstant;
+import io.openjob.common.request.WorkerHeartbeatRequest;
+import io.openjob.common.response.Result;
+import io.openjob.common.response.ServerHeartbeatResponse;
+import io.openjob.worker.util.WorkerUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routing over several in-process server actor systems, one of them is slowed.
+ *
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class ServerRouterTest {
+    private static final long SLOW_TIME = 50L;
+
+    private final List<ActorSystem> servers = new ArrayList<>();
+    private final List<String> addresses = new ArrayList<>();
+    private final Map<String, AtomicInteger> handled = new ConcurrentHashMap<>();
+    private ActorSystem worker;
+    private ServerRouter router;
+
+    private void start() {
+        this.servers.clear();
+        this.addresses.clear();
+        this.handled.clear();
+        for (int i = 0; i < 3; i++) {
+            ActorSystem server = ActorSystem.create(AkkaConstant.SERVER_SYSTEM_NAME, this.remoteConfig());
+            String address = String.format("127.0.0.1:%d", server.provider().getDefaultAddress().getPort().get());
+            AtomicInteger counter = new AtomicInteger();
+            long delay = i == 0 ? SLOW_TIME : 0L;
+            server.actorOf(Props.create(HeartbeatActor.class, counter, delay), AkkaConstant.SERVER_ACTOR_WORKER_HEARTBEAT);
+
+            this.servers.add(server);
+            this.addresses.add(address);
+            this.handled.put(address, counter);
+        }
+
+        this.worker = ActorSystem.create(AkkaConstant.WORKER_SYSTEM_NAME, this.remoteConfig());
+        this.router = new ServerRouter(3, 10000L, (address, name) -> this.worker.actorSelection(WorkerUtil.getServerActorPath(address, name)));
+        this.router.refresh(this.addresses);
+    }
+
+    private void stop() {
+        this.servers.forEach(this::shutdown);
+        this.shutdown(this.worker);
+    }
+
+    @Test
+    public void testRouteByRoundTripTime() {
+        this.start();
+        try {
+            this.routeByRoundTripTime();
+        } finally {
+            this.stop();
+        }
+    }
+
+    @Test
+    public void testFailover() {
+        this.start();
+        try {
+            this.failover();
+        } finally {
+            this.stop();
+        }
+    }
+
+    private void routeByRoundTripTime() {
+        int requests = 200;
+        for (int i = 0; i < requests; i++) {
+            this.router.ask(AkkaConstant.SERVER_ACTOR_WORKER_HEARTBEAT, new WorkerHeartbeatRequest(), ServerHeartbeatResponse.class, 3000L);
+        }
+
+        int slow = this.handled.get(this.addresses.get(0)).get();
+        Assertions.assertTrue(slow < requests / 10);
+    }
+
+    private void failover() {
+        // Warm up, so that all servers are measured.
+        for (int i = 0; i < 10; i++) {
+            this.router.ask(AkkaConstant.SERVER_ACTOR_WORKER_HEARTBEAT, new WorkerHeartbeatRequest(), ServerHeartbeatResponse.class, 3000L);
+        }
+
+        // Fast servers are gone, requests fail over to the slow one.
+        this.shutdown(this.servers.get(1));
+        this.shutdown(this.servers.get(2));
+
+        // One server of each ask, a failed server is skipped by the next ask.
+        Assertions.assertThrows(RuntimeException.class, () -> this.router.ask(AkkaConstant.SERVER_ACTOR_WORKER_HEARTBEAT, new WorkerHeartbeatRequest(), ServerHeartbeatResponse.class, 500L, 1));
+        Assertions.assertThrows(RuntimeException.class, () -> this.router.ask(AkkaConstant.SERVER_ACTOR_WORKER_HEARTBEAT, new WorkerHeartbeatRequest(), ServerHeartbeatResponse.class, 500L, 1));
+        Assertions.assertNotNull(this.router.ask(AkkaConstant.SERVER_ACTOR_WORKER_HEARTBEAT, new WorkerHeartbeatRequest(), ServerHeartbeatResponse.class, 500L, 1));
+        for (int i = 0; i < 5; i++) {
+            ServerHeartbeatResponse response = this.router.ask(AkkaConstant.SERVER_ACTOR_WORKER_HEARTBEAT, new WorkerHeartbeatRequest(), ServerHeartbeatResponse.class, 500L);
+            Assertions.assertNotNull(response);
+        }
+        Assertions.assertEquals(this.addresses.get(0), this.router.select());
+    }
+
+    private void shutdown(ActorSystem system) {
+        try {
+            system.terminate();
+            system.getWhenTerminated().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Config remoteConfig() {
+        return ConfigFactory.parseString("akka.actor.provider = remote\n"
+                        + "akka.remote.artery.canonical.hostname = \"127.0.0.1\"\n"
+                        + "akka.remote.artery.canonical.port = 0\n"
+                        + "akka.actor.serializers.kryo = \"io.openjob.common.kryo.KryoSerializer\"\n"
+                        + "akka.actor.serialization-bindings {\"java.io.Serializable\" = kryo}\n"
+                        + "akka.log-dead-letters = off\n")
+                .withFallback(ConfigFactory.defaultReference());
+    }
+
+    public static class HeartbeatActor extends AbstractActor {
+        private final AtomicInteger counter;
+        private final long delay;
+
+        public HeartbeatActor(AtomicInteger counter, Long delay) {
+            this.counter = counter;
+            this.delay = delay;
+        }
+
+        @Override
+        public Receive createReceive() {
+            return receiveBuilder()
+                    .match(WorkerHeartbeatRequest.class, r -> {
+                        this.counter.incrementAndGet();
+                        if (this.delay > 0) {
+                            Thread.sleep(this.delay);
+                        }
+                        getSender().tell(Result.success(new ServerHeartbeatResponse()), getSelf());
+                    })
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.openjob.worker.persistence;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class DeliveryLogTest {
+    @Test
+    public void testRecover() throws Exception {
+        Path directory = Files.createTempDirectory("openjob");
+        DeliveryLog deliveryLog = new DeliveryLog(directory.toString(), "delivery.log");
+        deliveryLog.appendDelivery(1L, "first".getBytes(StandardCharsets.UTF_8));
+        deliveryLog.appendDelivery(2L, "second".getBytes(StandardCharsets.UTF_8));
+        deliveryLog.appendConfirm(1L);
+        Assertions.assertEquals(0L, deliveryLog.size());
+
+        // Group commit.
+        deliveryLog.commit();
+        Assertions.assertEquals(0, deliveryLog.uncommittedSize());
+
+        // Uncommitted records are lost.
+        deliveryLog.appendDelivery(3L, "third".getBytes(StandardCharsets.UTF_8));
+        Map<Long, byte[]> recovered = deliveryLog.recover();
+        Assertions.assertEquals(1, recovered.size());
+        Assertions.assertEquals("second", new String(recovered.get(2L), StandardCharsets.UTF_8));
+        deliveryLog.close();
+
+        // Torn record at the end.
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("delivery.log").toFile(), "rw")) {
+            file.setLength(file.length() - 2);
+        }
+        DeliveryLog reopened = new DeliveryLog(directory.toString(), "delivery.log");
+        recovered = reopened.recover();
+        Assertions.assertEquals(1, recovered.size());
+        Assertions.assertEquals("second", new String(recovered.get(2L), StandardCharsets.UTF_8));
+        reopened.close();
+    }
+
+    @Test
+    public void testRewrite() throws Exception {
+        Path directory = Files.createTempDirectory("openjob");
+        DeliveryLog deliveryLog = new DeliveryLog(directory.toString(), "delivery.log");
+        for (long i = 1; i <= 100; i++) {
+            deliveryLog.appendDelivery(i, new byte[64]);
+            deliveryLog.appendConfirm(i);
+        }
+        deliveryLog.commit();
+        long size = deliveryLog.size();
+
+        Map<Long, byte[]> deliveries = new LinkedHashMap<>();
+        deliveries.put(101L, new byte[64]);
+        deliveryLog.rewrite(deliveries);
+        Assertions.assertTrue(deliveryLog.size() < size);
+
+        // Append after rewrite.
+        deliveryLog.appendDelivery(102L, new byte[8]);
+        deliveryLog.commit();
+        Assertions.assertEquals(2, deliveryLog.recover().size());
+        deliveryLog.close();
+    }
+}
@@ -0,0 +1,74 @@
+package io.openjob.worker.persistence;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * @author stelin swoft@qq.com
+ * @since 1.0.6
+ */
+public class MappedTaskBodyStorageTest {
+    @Test
+    public void testAppendAndRead() throws Exception {
+        MappedTaskBodyStorage storage = new MappedTaskBodyStorage(Files.createTempDirectory("openjob").toString(), 1024);
+
+        byte[] body = "task body".getBytes(StandardCharsets.UTF_8);
+        long address = storage.append(body);
+        Assertions.assertArrayEquals(body, storage.read(address, body.length));
+
+        // Empty body
+        Assertions.assertEquals(MappedTaskBodyStorage.NULL_ADDRESS, storage.append(null));
+        Assertions.assertNull(storage.read(MappedTaskBodyStorage.NULL_ADDRESS, 0));
+
+        // Large body in dedicated segment.
+        byte[] largeBody = new byte[4096];
+        largeBody[4095] = 1;
+        long largeAddress = storage.append(largeBody);
+        Assertions.assertArrayEquals(largeBody, storage.read(largeAddress, largeBody.length));
+        Assertions.assertArrayEquals(body, storage.read(address, body.length));
+    }
+
+    @Test
+    public void testReclaim() throws Exception {
+        MappedTaskBodyStorage storage = new MappedTaskBodyStorage(Files.createTempDirectory("openjob").toString(), 64);
+
+        byte[] body = new byte[40];
+        long first = storage.append(body);
+        long second = storage.append(body);
+        Assertions.assertEquals(2, storage.segmentCount());
+
+        // Sealed segment is reclaimed.
+        storage.release(first, body.length);
+        Assertions.assertEquals(1, storage.segmentCount());
+
+        // Active segment is kept.
+        storage.release(second, body.length);
+        Assertions.assertEquals(1, storage.segmentCount());
+        Assertions.assertEquals(0L, storage.liveBytes());
+    }
+
+    @Test
+    public void testReleaseTwice() throws Exception {
+        MappedTaskBodyStorage storage = new MappedTaskBodyStorage(Files.createTempDirectory("openjob").toString(), 1024);
+
+        byte[] body = "task body".getBytes(StandardCharsets.UTF_8);
+        long first = storage.append(body);
+        long second = storage.append(body);
+
+        // Released once only, the other body is still live.
+        storage.release(first, body.length);
+        storage.release(first, body.length);
+        Assertions.assertEquals((long) body.length, storage.liveBytes());
+        Assertions.assertArrayEquals(body, storage.read(second, body.length));
+
+        // Address of a reclaimed segment is ignored.
+        storage.append(new byte[2048]);
+        storage.release(second, body.length);
+        storage.release(second, body.length);
+        Assertions.assertEquals(1, storage.segmentCount());
+        Assertions.assertEquals(2048L, storage.liveBytes());
+    }
+}